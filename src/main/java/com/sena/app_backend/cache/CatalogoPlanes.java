@@ -0,0 +1,213 @@
+package com.sena.app_backend.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sena.app_backend.dto.response.AlquilerPreviewAdminDto;
+import com.sena.app_backend.dto.response.AlquilerPreviewUserDto;
+import com.sena.app_backend.dto.response.PlanResponse;
+import com.sena.app_backend.dto.response.PreciosPlan;
+import com.sena.app_backend.model.Plan;
+import com.sena.app_backend.repository.PlanRepository;
+import com.sena.app_backend.util.CalculadorPreciosPlan;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché en memoria del catálogo de planes.
+ * <p>
+ * Los planes casi nunca cambian, así que se cargan una vez con sus
+ * {@link PreciosPlan} ya calculados (con la comisión de {@link TablaComisiones})
+ * y se sirven desde memoria en la creación de alquileres y en las vistas previas.
+ * El catálogo se invalida cuando PlanServiceImpl publica un
+ * {@link PlanesModificadosEvent} o cuando cambian las comisiones
+ * ({@link ComisionesModificadasEvent}); el catálogo se reconstruye en ese momento.
+ * Esos eventos solo llegan al nodo que hizo el cambio, así que además cada nodo
+ * recarga planes y comisiones cada {@code planes.catalogo.refrescoMs} ({@link #refrescar()}):
+ * los demás nodos convergen solos en ese intervalo, sin depender de una llamada externa.
+ * <p>
+ * Además guarda las respuestas de GET /api/planes y /api/alquileres/preview/all
+ * ya serializadas (una por vista de rol) con su ETag, para servirlas sin
+ * volver a serializar en cada petición.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogoPlanes {
+
+  private final PlanRepository planRepo;
+  private final TablaComisiones tablaComisiones;
+  private final ObjectMapper objectMapper;
+
+  /** Snapshot inmutable actual; null significa que hay que recargar. */
+  private volatile Snapshot snapshot;
+
+  /** Se incrementa en cada invalidación para descartar cargas concurrentes obsoletas. */
+  private final AtomicLong version = new AtomicLong();
+
+  /**
+   * Busca un plan en el catálogo.
+   *
+   * @param planId ID del plan
+   * @return el plan con sus precios, o vacío si no existe
+   */
+  public Optional<PlanCacheado> buscar(Long planId) {
+    return Optional.ofNullable(actual().porId.get(planId));
+  }
+
+  /** Vistas previas de todos los planes para el administrador. */
+  public List<AlquilerPreviewAdminDto> previewsAdmin() {
+    return actual().previewsAdmin;
+  }
+
+  /** Vistas previas de todos los planes para el usuario. */
+  public List<AlquilerPreviewUserDto> previewsUser() {
+    return actual().previewsUser;
+  }
+
+  /** JSON de GET /api/planes. */
+  public PayloadJson payloadPlanes() {
+    return actual().jsonPlanes;
+  }
+
+  /** JSON de /api/alquileres/preview/all para el administrador. */
+  public PayloadJson payloadPreviewsAdmin() {
+    return actual().jsonPreviewsAdmin;
+  }
+
+  /** JSON de /api/alquileres/preview/all para usuarios y anónimos. */
+  public PayloadJson payloadPreviewsUser() {
+    return actual().jsonPreviewsUser;
+  }
+
+  /** Descarta el catálogo; la siguiente lectura lo recarga desde la BD. */
+  public void invalidar() {
+    version.incrementAndGet();
+    snapshot = null;
+  }
+
+  /**
+   * Invalida y reconstruye el catálogo tras el commit de cualquier cambio en los
+   * planes (o de inmediato si el cambio se hizo fuera de una transacción).
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPlanesModificados(PlanesModificadosEvent event) {
+    invalidar();
+    actual();
+  }
+
+  /**
+   * Tras el commit de un cambio de comisiones recarga la tabla de comisiones y
+   * recalcula los precios de todos los planes.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onComisionesModificadas(ComisionesModificadasEvent event) {
+    tablaComisiones.invalidar();
+    invalidar();
+    actual();
+  }
+
+  /**
+   * Recarga periódica desde la BD. El snapshot nuevo reemplaza al actual sin pasar por null,
+   * así que las lecturas nunca esperan la recarga; si hubo una invalidación mientras se
+   * cargaba, se descarta.
+   */
+  @Scheduled(fixedDelayString = "${planes.catalogo.refrescoMs:30000}",
+      initialDelayString = "${planes.catalogo.refrescoMs:30000}")
+  public void refrescar() {
+    tablaComisiones.invalidar();
+    long v = version.get();
+    Snapshot s = cargar();
+    synchronized (this) {
+      if (version.get() == v) {
+        snapshot = s;
+      }
+    }
+  }
+
+  private Snapshot actual() {
+    Snapshot s = snapshot;
+    if (s != null) {
+      return s;
+    }
+    synchronized (this) {
+      s = snapshot;
+      if (s != null) {
+        return s;
+      }
+      long v = version.get();
+      s = cargar();
+      // Si alguien invalidó mientras cargábamos, servimos esta copia pero no la guardamos
+      if (version.get() == v) {
+        snapshot = s;
+      }
+      return s;
+    }
+  }
+
+  private Snapshot cargar() {
+    Map<Long, PlanCacheado> porId = new LinkedHashMap<>();
+    for (Plan plan : planRepo.findAll()) {
+      PreciosPlan pr = CalculadorPreciosPlan.calculate(plan, tablaComisiones.tasaPara(plan.getId()));
+      AlquilerPreviewAdminDto admin = new AlquilerPreviewAdminDto(
+          plan.getId(), plan.getNombre(), plan.getDuracionDias(),
+          pr.getGananciaPromedioDiaria(), pr.getPrecioBruto(),
+          pr.getPrecioAlquiler(), pr.getGananciaMaxUsuario(),
+          pr.getIngresoPlataforma()
+      );
+      AlquilerPreviewUserDto user = new AlquilerPreviewUserDto(
+          plan.getId(), plan.getNombre(), plan.getDuracionDias(),
+          pr.getGananciaPromedioDiaria(), pr.getPrecioBruto(),
+          pr.getPrecioAlquiler(), pr.getGananciaMaxUsuario()
+      );
+      porId.put(plan.getId(), new PlanCacheado(
+          plan.getId(), plan.getNombre(), plan.getGananciaMin(), plan.getGananciaMax(),
+          plan.getDuracionDias(), pr, admin, user));
+    }
+    List<PlanResponse> planes = porId.values().stream()
+        .map(p -> PlanResponse.builder()
+            .id(p.getId())
+            .nombre(p.getNombre())
+            .gananciaMin(p.getGananciaMin())
+            .gananciaMax(p.getGananciaMax())
+            .duracionDias(p.getDuracionDias())
+            .build())
+        .toList();
+    List<AlquilerPreviewAdminDto> previewsAdmin =
+        porId.values().stream().map(PlanCacheado::getPreviewAdmin).toList();
+    List<AlquilerPreviewUserDto> previewsUser =
+        porId.values().stream().map(PlanCacheado::getPreviewUser).toList();
+
+    return new Snapshot(
+        Collections.unmodifiableMap(porId),
+        previewsAdmin,
+        previewsUser,
+        serializar(planes),
+        serializar(previewsAdmin),
+        serializar(previewsUser)
+    );
+  }
+
+  private PayloadJson serializar(Object valor) {
+    try {
+      return new PayloadJson(objectMapper.writeValueAsBytes(valor));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("No se pudo serializar el catálogo de planes", e);
+    }
+  }
+
+  private record Snapshot(Map<Long, PlanCacheado> porId,
+                          List<AlquilerPreviewAdminDto> previewsAdmin,
+                          List<AlquilerPreviewUserDto> previewsUser,
+                          PayloadJson jsonPlanes,
+                          PayloadJson jsonPreviewsAdmin,
+                          PayloadJson jsonPreviewsUser) {
+  }
+}
@@ -0,0 +1,12 @@
+package com.sena.app_backend.cache;
+
+import lombok.Value;
+
+/**
+ * Evento publicado cuando se crea, modifica o elimina una comisión.
+ * Tras el commit se recarga {@link TablaComisiones} y se recalcula el catálogo de planes.
+ */
+@Value
+public class ComisionesModificadasEvent {
+  Long comisionId;
+}
@@ -0,0 +1,39 @@
+package com.sena.app_backend.cache;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Respuesta JSON ya serializada junto con su ETag fuerte.
+ * El ETag es un hash SHA-256 del cuerpo, así que cambia solo si cambian los bytes.
+ */
+@Getter
+public class PayloadJson {
+
+  private final byte[] cuerpo;
+  private final String etag;
+
+  public PayloadJson(byte[] cuerpo) {
+    this.cuerpo = cuerpo;
+    this.etag = "\"" + sha256(cuerpo) + "\"";
+  }
+
+  private static String sha256(byte[] datos) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(datos);
+      // 16 bytes son suficientes para distinguir versiones del catálogo
+      return HexFormat.of().formatHex(hash, 0, 16);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 no disponible", e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return new String(cuerpo, StandardCharsets.UTF_8);
+  }
+}
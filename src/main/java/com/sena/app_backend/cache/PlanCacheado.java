@@ -0,0 +1,24 @@
+package com.sena.app_backend.cache;
+
+import com.sena.app_backend.dto.response.AlquilerPreviewAdminDto;
+import com.sena.app_backend.dto.response.AlquilerPreviewUserDto;
+import com.sena.app_backend.dto.response.PreciosPlan;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Copia inmutable de un plan junto con sus precios ya calculados
+ * y las vistas previas listas para devolver.
+ */
+@Value
+public class PlanCacheado {
+  Long id;
+  String nombre;
+  BigDecimal gananciaMin;
+  BigDecimal gananciaMax;
+  BigDecimal duracionDias;
+  PreciosPlan precios;
+  AlquilerPreviewAdminDto previewAdmin;
+  AlquilerPreviewUserDto previewUser;
+}
@@ -0,0 +1,13 @@
+package com.sena.app_backend.cache;
+
+import lombok.Value;
+
+/**
+ * Evento que se publica cuando se crea, actualiza o elimina un plan.
+ * Lo escucha {@link CatalogoPlanes} para invalidar su copia en memoria.
+ */
+@Value
+public class PlanesModificadosEvent {
+  /** ID del plan modificado (null si afecta a todo el catálogo) */
+  Long planId;
+}
@@ -0,0 +1,99 @@
+package com.sena.app_backend.cache;
+
+import com.sena.app_backend.model.ComisionPlan;
+import com.sena.app_backend.repository.ComisionPlanRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tabla en memoria de las comisiones activas.
+ * <p>
+ * Se carga de la tabla comision_plan en un snapshot inmutable (mapa planId → tasa más
+ * la tasa por defecto) que se reemplaza de una sola vez al cambiar las comisiones, así
+ * que las búsquedas son O(1) y nunca consultan la BD. Si no hay comisión por defecto
+ * en la BD se usa {@code comisiones.porDefecto}.
+ * <p>
+ * Funciona igual que {@link CatalogoPlanes}: {@link #invalidar()} descarta el snapshot
+ * y la siguiente lectura lo recarga.
+ */
+@Component
+public class TablaComisiones {
+
+  private final ComisionPlanRepository comisionRepo;
+  private final BigDecimal porDefectoConfig;
+
+  /** Snapshot inmutable actual; null significa que hay que recargar. */
+  private volatile Snapshot snapshot;
+
+  /** Se incrementa en cada invalidación para descartar cargas concurrentes obsoletas. */
+  private final AtomicLong version = new AtomicLong();
+
+  public TablaComisiones(ComisionPlanRepository comisionRepo,
+                         @Value("${comisiones.porDefecto:0.10}") BigDecimal porDefectoConfig) {
+    this.comisionRepo = comisionRepo;
+    this.porDefectoConfig = porDefectoConfig;
+  }
+
+  /**
+   * Comisión vigente para un plan: la propia del plan o, si no tiene, la por defecto.
+   *
+   * @param planId ID del plan (puede ser null)
+   */
+  public BigDecimal tasaPara(Long planId) {
+    Snapshot s = actual();
+    BigDecimal tasa = planId == null ? null : s.porPlan.get(planId);
+    return tasa != null ? tasa : s.porDefecto;
+  }
+
+  /** Comisión por defecto vigente. */
+  public BigDecimal porDefecto() {
+    return actual().porDefecto;
+  }
+
+  /** Descarta la tabla; la siguiente lectura la recarga desde la BD. */
+  public void invalidar() {
+    version.incrementAndGet();
+    snapshot = null;
+  }
+
+  private Snapshot actual() {
+    Snapshot s = snapshot;
+    if (s != null) {
+      return s;
+    }
+    synchronized (this) {
+      s = snapshot;
+      if (s != null) {
+        return s;
+      }
+      long v = version.get();
+      s = cargar();
+      // Si alguien invalidó mientras cargábamos, usamos esta copia pero no la guardamos
+      if (version.get() == v) {
+        snapshot = s;
+      }
+      return s;
+    }
+  }
+
+  private Snapshot cargar() {
+    Map<Long, BigDecimal> porPlan = new HashMap<>();
+    BigDecimal porDefecto = porDefectoConfig;
+    for (ComisionPlan c : comisionRepo.findActivas()) {
+      if (c.getPlan() == null) {
+        porDefecto = c.getTasa();
+      } else {
+        porPlan.put(c.getPlan().getId(), c.getTasa());
+      }
+    }
+    return new Snapshot(Map.copyOf(porPlan), porDefecto);
+  }
+
+  private record Snapshot(Map<Long, BigDecimal> porPlan, BigDecimal porDefecto) {
+  }
+}
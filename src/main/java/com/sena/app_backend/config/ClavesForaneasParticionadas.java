@@ -0,0 +1,54 @@
+package com.sena.app_backend.config;
+
+import com.sena.app_backend.model.PlataformaTransaccionCuenta;
+import com.sena.app_backend.model.Transaccion;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.mapping.ForeignKey;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Con {@code particionado.habilitado=true} Hibernate deja de crear las claves foráneas de las
+ * tablas que particiona {@link com.sena.app_backend.service.impl.ParticionadoServiceImpl}.
+ * <p>
+ * Las entidades conservan la FK, que es lo que tienen las instalaciones sin particionado.
+ * MySQL no admite FK en tablas particionadas: {@code migrar()} las elimina y, sin esta clase,
+ * {@code ddl-auto=update} intentaría crearlas otra vez en cada arranque (y fallaría).
+ * El precio del particionado es que la integridad de {@code monedero_id} y {@code account_id}
+ * queda a cargo de la aplicación.
+ */
+@Component
+@ConditionalOnProperty(name = "particionado.habilitado", havingValue = "true")
+public class ClavesForaneasParticionadas implements HibernatePropertiesCustomizer {
+
+  static final List<Class<?>> ENTIDADES = List.of(PlataformaTransaccionCuenta.class, Transaccion.class);
+
+  @Override
+  public void customize(Map<String, Object> propiedades) {
+    propiedades.put("hibernate.integrator_provider", (IntegratorProvider) () -> List.of(new SinClavesForaneas()));
+  }
+
+  static class SinClavesForaneas implements Integrator {
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext contexto, SessionFactoryImplementor sessionFactory) {
+      for (Class<?> entidad : ENTIDADES) {
+        metadata.getEntityBinding(entidad.getName()).getTable().getForeignKeys().values()
+            .forEach(ForeignKey::disableCreation);
+      }
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry registro) {
+    }
+  }
+}
@@ -25,6 +25,9 @@ public class CorsConfig {
             // Encabezados que el cliente puede enviar (Content-Type, Authorization, etc.)
             .allowedHeaders("*")
 
+            // Encabezados de respuesta que el front puede leer
+            .exposedHeaders("Idempotent-Replayed", "Location", "Preference-Applied")
+
             // Si necesitas enviar y recibir cookies o cabeceras de autorización
             .allowCredentials(true)
 
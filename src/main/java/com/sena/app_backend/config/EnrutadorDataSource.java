@@ -0,0 +1,97 @@
+package com.sena.app_backend.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envía las transacciones {@code readOnly} a las réplicas (por turnos) y todo lo demás a la
+ * primaria. Debe usarse detrás de un {@code LazyConnectionDataSourceProxy}: la conexión real se
+ * pide en la primera sentencia, cuando la transacción ya marcó si es de solo lectura.
+ * <p>
+ * Lectura de las propias escrituras: si {@code ventanaMs > 0}, después de una transacción de
+ * escritura del usuario autenticado sus lecturas van a la primaria durante esa ventana, para que
+ * no vea datos anteriores a su cambio por el retraso de replicación. El registro es por nodo.
+ */
+public class EnrutadorDataSource extends AbstractRoutingDataSource {
+
+  static final String PRIMARIA = "primaria";
+  private static final int MAX_USUARIOS = 10_000;
+
+  private final int replicas;
+  private final long ventanaMs;
+  private final AtomicInteger turno = new AtomicInteger();
+  /** Usuario → instante (ms) hasta el que sus lecturas van a la primaria. */
+  private final Map<String, Long> escriturasRecientes = new ConcurrentHashMap<>();
+
+  public EnrutadorDataSource(DataSource primaria, List<DataSource> replicas, long ventanaMs) {
+    this.replicas = replicas.size();
+    this.ventanaMs = ventanaMs;
+    Map<Object, Object> destinos = new HashMap<>();
+    destinos.put(PRIMARIA, primaria);
+    for (int i = 0; i < replicas.size(); i++) {
+      destinos.put(clave(i), replicas.get(i));
+    }
+    setTargetDataSources(destinos);
+    setDefaultTargetDataSource(primaria);
+    afterPropertiesSet();
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    String usuario = usuarioActual();
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      if (TransactionSynchronizationManager.isActualTransactionActive()) {
+        registrarEscritura(usuario);
+      }
+      return PRIMARIA;
+    }
+    if (replicas == 0 || escribioHacePoco(usuario)) {
+      return PRIMARIA;
+    }
+    return clave(Math.floorMod(turno.getAndIncrement(), replicas));
+  }
+
+  private void registrarEscritura(String usuario) {
+    if (usuario == null || ventanaMs <= 0) {
+      return;
+    }
+    long ahora = System.currentTimeMillis();
+    if (escriturasRecientes.size() >= MAX_USUARIOS) {
+      escriturasRecientes.values().removeIf(hasta -> hasta <= ahora);
+    }
+    escriturasRecientes.put(usuario, ahora + ventanaMs);
+  }
+
+  private boolean escribioHacePoco(String usuario) {
+    if (usuario == null) {
+      return false;
+    }
+    Long hasta = escriturasRecientes.get(usuario);
+    if (hasta == null) {
+      return false;
+    }
+    if (hasta <= System.currentTimeMillis()) {
+      escriturasRecientes.remove(usuario, hasta);
+      return false;
+    }
+    return true;
+  }
+
+  private static String usuarioActual() {
+    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+    return auth == null || !auth.isAuthenticated() ? null : auth.getName();
+  }
+
+  static String clave(int replica) {
+    return "replica-" + replica;
+  }
+}
@@ -0,0 +1,117 @@
+package com.sena.app_backend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Migraciones versionadas del esquema que {@code ddl-auto=update} no hace.
+ * <p>
+ * Hibernate crea tablas y columnas nuevas, pero nunca cambia el tipo de una columna existente
+ * (p. ej. de ENUM nativo a VARCHAR), así que esos cambios viven en
+ * {@code db/migraciones/V<n>__<descripcion>.sql}. Al arrancar, después de que Hibernate
+ * actualice el esquema, se aplican en orden de versión los scripts que no figuran en
+ * {@code migracion_esquema} y se registran. Los scripts deben ser idempotentes: dos nodos
+ * que arrancan a la vez pueden aplicar el mismo antes de que uno lo registre.
+ */
+@Component
+public class MigracionesEsquema {
+
+  static final String UBICACION = "classpath*:db/migraciones/V*__*.sql";
+
+  private final JdbcTemplate jdbc;
+  private final boolean habilitado;
+
+  /** Depende del EntityManagerFactory para correr después de que Hibernate cree o actualice el esquema. */
+  public MigracionesEsquema(JdbcTemplate jdbc, EntityManagerFactory emf,
+                            @Value("${esquema.migraciones.habilitado:true}") boolean habilitado) {
+    this.jdbc = jdbc;
+    this.habilitado = habilitado;
+  }
+
+  @PostConstruct
+  public void aplicar() {
+    if (!habilitado) {
+      return;
+    }
+    jdbc.execute("CREATE TABLE IF NOT EXISTS migracion_esquema ("
+        + "version VARCHAR(100) NOT NULL PRIMARY KEY, aplicada DATETIME NOT NULL)");
+    Set<String> aplicadas = new HashSet<>(jdbc.queryForList("SELECT version FROM migracion_esquema", String.class));
+    for (Resource script : scripts()) {
+      String version = version(script);
+      if (aplicadas.contains(version)) {
+        continue;
+      }
+      for (String sentencia : sentencias(leer(script))) {
+        jdbc.execute(sentencia);
+      }
+      jdbc.update("INSERT IGNORE INTO migracion_esquema (version, aplicada) VALUES (?, NOW())", version);
+      System.out.printf("Migración de esquema aplicada: %s%n", version);
+    }
+  }
+
+  /** Scripts ordenados por el número de versión (V2 antes que V10). */
+  static List<Resource> scripts() {
+    try {
+      List<Resource> r = new ArrayList<>(Arrays.asList(new PathMatchingResourcePatternResolver().getResources(UBICACION)));
+      r.sort(Comparator.comparingInt(MigracionesEsquema::numero));
+      return r;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Nombre del archivo sin extensión, p. ej. {@code V1__estado_alquiler_varchar}. */
+  static String version(Resource script) {
+    String nombre = script.getFilename();
+    return nombre.substring(0, nombre.length() - ".sql".length());
+  }
+
+  private static int numero(Resource script) {
+    String v = version(script);
+    return Integer.parseInt(v.substring(1, v.indexOf("__")));
+  }
+
+  /** Sentencias separadas por ';' al final de línea, sin las líneas de comentario (--). */
+  static List<String> sentencias(String sql) {
+    StringBuilder sinComentarios = new StringBuilder();
+    for (String linea : sql.split("\\R")) {
+      if (!linea.strip().startsWith("--")) {
+        sinComentarios.append(linea).append('\n');
+      }
+    }
+    List<String> r = new ArrayList<>();
+    for (String s : sinComentarios.toString().split(";\\s*\\n")) {
+      String sentencia = s.strip();
+      if (sentencia.endsWith(";")) {
+        sentencia = sentencia.substring(0, sentencia.length() - 1).strip();
+      }
+      if (!sentencia.isEmpty()) {
+        r.add(sentencia);
+      }
+    }
+    return r;
+  }
+
+  private static String leer(Resource script) {
+    try {
+      return script.getContentAsString(StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.sena.app_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tamaño del pool de conexiones para el perfil {@code rendimiento}.
+ * <p>
+ * MySQL no atiende más consultas en paralelo que núcleos tiene (más los hilos esperando disco),
+ * así que un pool mayor solo mueve la cola de las peticiones al servidor de base de datos.
+ * El tamaño sale de {@code núcleos de la BD × 2 + 1}, limitado por la concurrencia esperada
+ * de la aplicación (hilos web + tareas programadas que usan la BD a la vez), y el pool es fijo
+ * (mínimo = máximo) para no abrir conexiones bajo carga.
+ */
+@Component
+@Profile("rendimiento")
+public class PoolConexionesConfig implements BeanPostProcessor {
+
+  private final int nucleosBd;
+  private final int concurrencia;
+
+  public PoolConexionesConfig(@Value("${rendimiento.pool.nucleosBd:4}") int nucleosBd,
+                              @Value("${rendimiento.pool.concurrencia:50}") int concurrencia) {
+    this.nucleosBd = nucleosBd;
+    this.concurrencia = concurrencia;
+  }
+
+  @Override
+  public Object postProcessBeforeInitialization(Object bean, String beanName) {
+    if (bean instanceof HikariDataSource ds) {
+      int tamano = tamanoPool(nucleosBd, concurrencia);
+      ds.setMaximumPoolSize(tamano);
+      ds.setMinimumIdle(tamano);
+      System.out.printf("Pool de conexiones %s: %d conexiones (núcleos BD %d, concurrencia %d)%n",
+          ds.getPoolName(), tamano, nucleosBd, concurrencia);
+    }
+    return bean;
+  }
+
+  /** núcleos × 2 + 1, entre 2 y la concurrencia esperada. */
+  static int tamanoPool(int nucleosBd, int concurrencia) {
+    int porNucleos = Math.max(1, nucleosBd) * 2 + 1;
+    return Math.max(2, Math.min(porNucleos, concurrencia));
+  }
+}
@@ -0,0 +1,71 @@
+package com.sena.app_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Perfil {@code replicas}: las transacciones de solo lectura ({@code @Transactional(readOnly = true)})
+ * se atienden en réplicas de MySQL. La primaria usa {@code spring.datasource.*}; cada URL de
+ * {@code replicas.urls} abre un pool propio de solo lectura con el mismo usuario y los mismos
+ * ajustes de Hikari, y publica sus métricas hikaricp.* con su nombre de pool.
+ */
+@Configuration
+@Profile("replicas")
+public class ReplicasDataSourceConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primariaDataSource(DataSourceProperties props) {
+    HikariDataSource ds = props.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    ds.setPoolName(EnrutadorDataSource.PRIMARIA);
+    return ds;
+  }
+
+  @Bean(destroyMethod = "cerrar")
+  public Replicas replicas(HikariDataSource primariaDataSource,
+                           @Value("${replicas.urls}") List<String> urls,
+                           ObjectProvider<MeterRegistry> metricas) {
+    List<HikariDataSource> pools = new ArrayList<>();
+    for (int i = 0; i < urls.size(); i++) {
+      HikariDataSource ds = new HikariDataSource();
+      primariaDataSource.copyStateTo(ds);
+      ds.setJdbcUrl(urls.get(i).trim());
+      ds.setPoolName(EnrutadorDataSource.clave(i));
+      ds.setReadOnly(true);
+      metricas.ifAvailable(r -> ds.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(r)));
+      pools.add(ds);
+    }
+    return new Replicas(pools);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(HikariDataSource primariaDataSource,
+                               Replicas replicas,
+                               @Value("${replicas.leerPropiasEscriturasMs:0}") long ventanaMs) {
+    return new LazyConnectionDataSourceProxy(
+        new EnrutadorDataSource(primariaDataSource, new ArrayList<>(replicas.pools()), ventanaMs));
+  }
+
+  /** Pools de las réplicas; se cierran con el contexto. */
+  public record Replicas(List<HikariDataSource> pools) {
+
+    public void cerrar() {
+      pools.forEach(HikariDataSource::close);
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.sena.app_backend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Migración de ids para el perfil {@code ids-agrupados}.
+ * <p>
+ * Antes de la primera inserción deja la fila de cada tabla en {@code secuencia_id} por encima
+ * del mayor id existente (incluidas las tablas de archivo, que conservan los ids originales),
+ * de modo que el primer bloque reservado empiece en MAX(id) + 1. Es idempotente: nunca baja
+ * un valor ya avanzado. Las columnas siguen siendo AUTO_INCREMENT, así que volver a IDENTITY
+ * no necesita migración (InnoDB sube el contador con los ids explícitos).
+ * <p>
+ * Los nodos con IDENTITY y con el generador agrupado no deben convivir sobre la misma base:
+ * el perfil se activa en todos los nodos en el mismo despliegue.
+ */
+@Component
+@Profile("ids-agrupados")
+public class SecuenciasIdInicializador {
+
+  /** Debe coincidir con allocation-size de META-INF/orm-ids-agrupados.xml. */
+  static final int TAMANO_BLOQUE = 50;
+
+  /** Segmento de secuencia_id → tablas cuyos ids comparte. */
+  static final Map<String, List<String>> TABLAS = Map.of(
+      "alquiler", List.of("alquiler", "alquiler_archivo"),
+      "transaccion", List.of("transaccion", "transaccion_archivo"),
+      "platforma_transaccion_cuenta", List.of("platforma_transaccion_cuenta", "platforma_transaccion_cuenta_archivo"),
+      "refresh_tokens", List.of("refresh_tokens"),
+      "evento_outbox", List.of("evento_outbox"),
+      "trabajo_provisionamiento", List.of("trabajo_provisionamiento"));
+
+  private final JdbcTemplate jdbc;
+
+  /** Depende del EntityManagerFactory para correr después de que Hibernate cree o actualice el esquema. */
+  public SecuenciasIdInicializador(JdbcTemplate jdbc, EntityManagerFactory emf) {
+    this.jdbc = jdbc;
+  }
+
+  @PostConstruct
+  public void sembrar() {
+    jdbc.execute("CREATE TABLE IF NOT EXISTS secuencia_id ("
+        + "nombre VARCHAR(255) NOT NULL PRIMARY KEY, siguiente BIGINT)");
+    TABLAS.forEach((segmento, tablas) -> {
+      long maximo = 0;
+      for (String tabla : tablas) {
+        Long m = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + tabla, Long.class);
+        maximo = Math.max(maximo, m == null ? 0 : m);
+      }
+      // El optimizador pooled entrega [valor - bloque + 1, valor] con el primer valor leído
+      long valor = maximo + TAMANO_BLOQUE;
+      jdbc.update("INSERT INTO secuencia_id (nombre, siguiente) VALUES (?, ?) AS nuevo "
+          + "ON DUPLICATE KEY UPDATE siguiente = GREATEST(siguiente, nuevo.siguiente)", segmento, valor);
+      System.out.printf("Ids agrupados: %s empieza después de %d%n", segmento, maximo);
+    });
+  }
+}
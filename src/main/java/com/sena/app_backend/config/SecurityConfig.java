@@ -2,6 +2,7 @@ package com.sena.app_backend.config;
 
 import com.sena.app_backend.security.JwtAuthenticationFilter;
 import com.sena.app_backend.security.JwtUtil;
+import com.sena.app_backend.security.UsuariosBloqueados;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -24,6 +25,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
   private final JwtUtil jwtUtil;
+  private final UsuariosBloqueados usuariosBloqueados;
 
   /**
    * Configuración de seguridad para la aplicación.
@@ -75,6 +77,8 @@ public class SecurityConfig {
             .requestMatchers(HttpMethod.GET, "/api/usuarios").hasAuthority("ADMINISTRADOR")
             .requestMatchers(HttpMethod.PUT, "/api/admin/**").hasAuthority("ADMINISTRADOR")
             .requestMatchers("/api/usuarios/{id}").hasAnyAuthority("USUARIO","ADMINISTRADOR")
+            .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+            .requestMatchers("/actuator/**").hasAuthority("ADMINISTRADOR")
             .anyRequest().authenticated()
         )
 
@@ -85,7 +89,7 @@ public class SecurityConfig {
 
         // 5) Registramos el filtro de JWT antes del filtro de autenticación basado en usuario/clave
         .addFilterBefore(
-            new JwtAuthenticationFilter(jwtUtil),
+            new JwtAuthenticationFilter(jwtUtil, usuariosBloqueados),
             UsernamePasswordAuthenticationFilter.class
         );
 
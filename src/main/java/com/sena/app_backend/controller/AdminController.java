@@ -1,15 +1,21 @@
 package com.sena.app_backend.controller;
 
 
+import com.sena.app_backend.cache.CatalogoPlanes;
+import com.sena.app_backend.cache.TablaComisiones;
 import com.sena.app_backend.dto.response.UsuarioResponse;
+import com.sena.app_backend.service.ParticionadoService;
 import com.sena.app_backend.service.UsuarioService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Controlador REST para gestionar usuarios administradores.
- * Permite promover a un usuario a administrador.
+ * Permite promover a un usuario a administrador y administrar las cachés.
  */
 @RestController
 @RequestMapping("/api/admin")
@@ -17,10 +23,38 @@ import org.springframework.web.bind.annotation.*;
 public class AdminController {
 
   private final UsuarioService usuarioService;
+  private final CatalogoPlanes catalogoPlanes;
+  private final TablaComisiones tablaComisiones;
+  private final ParticionadoService particionadoService;
 
   @PutMapping("/promover/{id}")
   public ResponseEntity<UsuarioResponse> promoverUsuario(@PathVariable Long id) {
     UsuarioResponse actualizado = usuarioService.promoverAAdministrador(id);
     return ResponseEntity.ok(actualizado);
   }
+
+  /**
+   * Descarta de inmediato el catálogo de planes del nodo que atiende la petición.
+   * No hace falta para la consistencia del clúster: cada nodo recarga el catálogo
+   * por su cuenta cada planes.catalogo.refrescoMs (CatalogoPlanes.refrescar).
+   */
+  @PostMapping("/cache/planes/invalidar")
+  @PreAuthorize("hasAuthority('ADMINISTRADOR')")
+  public ResponseEntity<Void> invalidarCatalogoPlanes() {
+    tablaComisiones.invalidar();
+    catalogoPlanes.invalidar();
+    return ResponseEntity.noContent().build();
+  }
+
+  /**
+   * Migración única al particionado mensual de las tablas de transacciones.
+   * Reconstruye las tablas: ejecutarla desde un solo nodo y con poco tráfico.
+   *
+   * @return las tablas migradas (vacía si ya estaban particionadas)
+   */
+  @PostMapping("/particionado/migrar")
+  @PreAuthorize("hasAuthority('ADMINISTRADOR')")
+  public ResponseEntity<List<String>> migrarParticionado() {
+    return ResponseEntity.ok(particionadoService.migrar());
+  }
 }
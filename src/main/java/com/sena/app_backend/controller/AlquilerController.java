@@ -1,16 +1,34 @@
 package com.sena.app_backend.controller;
 
+import com.sena.app_backend.cache.CatalogoPlanes;
+import com.sena.app_backend.cache.PayloadJson;
 import com.sena.app_backend.dto.request.NuevoAlquilerRequest;
+import com.sena.app_backend.dto.request.SimulacionPreciosRequest;
 import com.sena.app_backend.dto.response.AlquilerAdminResponse;
 import com.sena.app_backend.dto.response.AlquilerResponse;
+import com.sena.app_backend.dto.response.EstadoAlquilerResponse;
+import com.sena.app_backend.dto.response.SimulacionPrecioResponse;
+import com.sena.app_backend.model.EstadoAlquiler;
+import com.sena.app_backend.security.SecurityService;
 import com.sena.app_backend.service.AlquilerService;
+import com.sena.app_backend.service.IdempotenciaService;
+import com.sena.app_backend.service.SimuladorPreciosService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -26,22 +44,77 @@ public class AlquilerController {
    * Servicio que encapsula la lógica de negocio de Alquiler.
    */
   private final AlquilerService service;
+  private final SecurityService securityService;
+  private final CatalogoPlanes catalogoPlanes;
+  private final SimuladorPreciosService simuladorPrecios;
+  private final IdempotenciaService idempotencia;
+
+  /** Si es true, POST /api/alquileres siempre aprovisiona en segundo plano. */
+  @Value("${alquiler.provisionamiento.asincrono:false}")
+  private boolean provisionamientoAsincrono;
+
+  /** Segundos que navegadores y CDNs pueden reutilizar la vista previa pública sin revalidar. */
+  @Value("${cache.planes.maxAgeSegundos:60}")
+  private long maxAgeSegundos;
 
   /**
    * Crea un nuevo alquiler.
+   * Con el header Idempotency-Key los reintentos devuelven el alquiler ya creado
+   * (con Idempotent-Replayed: true) en lugar de volver a cobrar.
+   * <p>
+   * En modo asíncrono (propiedad alquiler.provisionamiento.asincrono o header
+   * {@code Prefer: respond-async}) solo se reserva la máquina y se responde 202 con el
+   * alquiler PENDIENTE; el estado se consulta en GET /api/alquileres/{id}/estado.
    *
    * @param req DTO que contiene la información necesaria
    *            (usuario, máquina, plan, fechas).
-   * @return respuesta HTTP 200 con el alquiler creado.
+   * @param idempotencyKey clave opcional elegida por el cliente
+   * @param prefer header Prefer opcional
+   * @return respuesta HTTP 200 con el alquiler creado, o 202 con el alquiler PENDIENTE.
    * @throws RuntimeException si los datos de entrada no son válidos
    *                          o no se puede crear el alquiler.
    */
   @PostMapping
   @PreAuthorize("hasAuthority('USUARIO')")
   public ResponseEntity<AlquilerResponse> crear(
-      @RequestBody NuevoAlquilerRequest req, Authentication auth) {
-    AlquilerResponse alquilerCreado = service.crearAlquiler(req, auth.getName());
-    return ResponseEntity.ok(alquilerCreado);
+      @RequestBody NuevoAlquilerRequest req,
+      @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+      @RequestHeader(value = "Prefer", required = false) String prefer,
+      Authentication auth) {
+    boolean asincrono = provisionamientoAsincrono
+        || (prefer != null && prefer.toLowerCase().contains("respond-async"));
+    IdempotenciaService.Resultado<AlquilerResponse> r = asincrono
+        ? idempotencia.ejecutar(idempotencyKey, securityService.currentUserId(auth), "RESERVAR_ALQUILER", req,
+            AlquilerResponse.class, () -> service.reservarAlquiler(req, auth))
+        : idempotencia.ejecutar(idempotencyKey, securityService.currentUserId(auth), "CREAR_ALQUILER", req,
+            AlquilerResponse.class, () -> service.crearAlquiler(req, auth));
+
+    if (r.valor().getEstado() == EstadoAlquiler.PENDIENTE) {
+      return ResponseEntity.accepted()
+          .location(URI.create("/api/alquileres/" + r.valor().getId() + "/estado"))
+          .header("Preference-Applied", "respond-async")
+          .header("Idempotent-Replayed", String.valueOf(r.repetido()))
+          .body(r.valor());
+    }
+    return ResponseEntity.ok()
+        .header("Idempotent-Replayed", String.valueOf(r.repetido()))
+        .body(r.valor());
+  }
+
+  /**
+   * Estado de un alquiler, para seguir el aprovisionamiento asíncrono
+   * (PENDIENTE → ACTIVO, o FALLIDO con el motivo).
+   * - Administradores pueden ver cualquier alquiler.
+   * - Usuarios solo los suyos: la consulta filtra por su ID y un alquiler ajeno responde 404.
+   *
+   * @param id identificador del alquiler.
+   * @return respuesta HTTP 200 con el estado.
+   */
+  @GetMapping("/{id}/estado")
+  @PreAuthorize("hasAnyAuthority('ADMINISTRADOR', 'USUARIO')")
+  public ResponseEntity<EstadoAlquilerResponse> estado(@PathVariable Long id, Authentication auth) {
+    Long usuarioId = securityService.isAdmin(auth) ? null : securityService.currentUserId(auth);
+    return ResponseEntity.ok(service.obtenerEstado(id, usuarioId));
   }
 
   /**
@@ -60,19 +133,19 @@ public class AlquilerController {
   /**
    * Obtiene un alquiler por su ID.
    * - Administradores pueden ver cualquier alquiler.
-   * - Usuarios solo pueden ver su propio alquiler.
+   * - Usuarios solo pueden ver su propio alquiler: la propiedad se verifica en la
+   *   misma consulta que lo carga (una sola sentencia), y un alquiler ajeno responde 404.
    *
    * @param id identificador del alquiler.
    * @return respuesta HTTP 200 con el alquiler solicitado.
-   * @throws RuntimeException si no existe el alquiler o no tiene permisos.
+   * @throws com.sena.app_backend.exception.ResourceNotFoundException si no existe o no es suyo.
    */
   @GetMapping("/{id}")
-  @PreAuthorize(
-      "hasAuthority('ADMINISTRADOR') " +
-          "or @securityService.isAlquilerOwner(#id, authentication)"
-  )
-  public ResponseEntity<AlquilerResponse> obtener(@PathVariable Long id) {
-    AlquilerResponse encontrado = service.obtenerAlquiler(id);
+  @PreAuthorize("hasAnyAuthority('ADMINISTRADOR', 'USUARIO')")
+  public ResponseEntity<AlquilerResponse> obtener(@PathVariable Long id, Authentication auth) {
+    AlquilerResponse encontrado = securityService.isAdmin(auth)
+        ? service.obtenerAlquiler(id)
+        : service.obtenerAlquilerDeUsuario(id, securityService.currentUserId(auth));
     return ResponseEntity.ok(encontrado);
   }
 
@@ -112,6 +185,41 @@ public class AlquilerController {
     }
   }
 
+  /**
+   * Simula en bloque los precios de planes hipotéticos (escenarios explícitos
+   * y/o grilla de parámetros) y devuelve los resultados para usuario y plataforma.
+   * Solo accesible por administradores.
+   *
+   * @param req escenarios y/o ejes de la grilla
+   * @return respuesta HTTP 200 con un resultado por escenario
+   * @throws RuntimeException si la solicitud es inválida o demasiado grande para una lista
+   */
+  @PostMapping("/simulacion")
+  @PreAuthorize("hasAuthority('ADMINISTRADOR')")
+  public ResponseEntity<List<SimulacionPrecioResponse>> simular(@RequestBody SimulacionPreciosRequest req) {
+    return ResponseEntity.ok(simuladorPrecios.simular(req));
+  }
+
+  /**
+   * Igual que {@link #simular} pero para grillas grandes: los resultados se
+   * envían como NDJSON (un JSON por línea) a medida que se calculan.
+   * Solo accesible por administradores.
+   *
+   * @param req escenarios y/o ejes de la grilla
+   * @return respuesta HTTP 200 con el flujo de resultados
+   */
+  @PostMapping(value = "/simulacion/stream", produces = "application/x-ndjson")
+  @PreAuthorize("hasAuthority('ADMINISTRADOR')")
+  public ResponseEntity<StreamingResponseBody> simularStream(@RequestBody SimulacionPreciosRequest req) {
+    // Se valida antes de empezar a escribir para poder responder 400
+    long escenarios = simuladorPrecios.contarEscenarios(req);
+    StreamingResponseBody cuerpo = out -> simuladorPrecios.simular(req, out);
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType("application/x-ndjson"))
+        .header("X-Total-Escenarios", String.valueOf(escenarios))
+        .body(cuerpo);
+  }
+
   /**
    * Lista todos los alquileres ACTIVOS de un usuario.
    * - ADMINISTRADOR puede consultar cualquiera.
@@ -133,6 +241,7 @@ public class AlquilerController {
    * Lista todos los alquileres CERRADOS de un usuario.
    * - ADMINISTRADOR puede consultar cualquiera.
    * - USUARIO sólo los suyos.
+   * Con {@code desde}/{@code hasta} (fecha de fin) incluye también los archivados.
    */
   @GetMapping("/usuario/{usuarioId}/cerradas")
   @PreAuthorize(
@@ -140,28 +249,43 @@ public class AlquilerController {
           "or @securityService.isCurrentUser(#usuarioId, authentication)"
   )
   public ResponseEntity<List<AlquilerResponse>> listarCerradosUsuario(
-      @PathVariable Long usuarioId
+      @PathVariable Long usuarioId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta
   ) {
-    return ResponseEntity.ok(service.listarCerradosPorUsuario(usuarioId));
+    return ResponseEntity.ok(service.listarCerradosPorUsuario(usuarioId, desde, hasta));
   }
 
   /**
    * Vista previa de todos los alquileres activos.
    * - ADMINISTRADOR ve todos los detalles.
    * - USUARIO no ve cuanto gana la plataforma.
+   * <p>
+   * Cada vista se sirve ya serializada con su propio ETag. La vista de usuario
+   * es cacheable por CDNs; la de administrador solo por el navegador.
    */
 
   @RequestMapping("/preview/all")
-  public ResponseEntity<?> previewAll() {
+  public ResponseEntity<byte[]> previewAll() {
     Authentication auth = SecurityContextHolder.getContext().getAuthentication();
     boolean isAdmin = auth != null && auth.isAuthenticated()
         && auth.getAuthorities().stream()
            .anyMatch(a -> a.getAuthority().equals("ADMINISTRADOR"));
 
+    PayloadJson payload;
+    CacheControl cacheControl;
     if (isAdmin) {
-      return ResponseEntity.ok(service.previewAllAdmin());
+      payload = catalogoPlanes.payloadPreviewsAdmin();
+      cacheControl = CacheControl.noCache().cachePrivate();
     } else {
-      return ResponseEntity.ok(service.previewAllUser());
+      payload = catalogoPlanes.payloadPreviewsUser();
+      cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSegundos)).cachePublic();
     }
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .cacheControl(cacheControl)
+        .varyBy(HttpHeaders.AUTHORIZATION)
+        .eTag(payload.getEtag())
+        .body(payload.getCuerpo());
   }
 }
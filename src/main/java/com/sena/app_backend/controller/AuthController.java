@@ -46,7 +46,7 @@ public class AuthController {
         .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + req.getUsername()));
 
     // 3. Generar token JWT con username y rol
-    String token = jwtUtil.generateToken(user.getEmail(), user.getRol().name());
+    String token = jwtUtil.generateToken(user.getEmail(), user.getRol().name(), user.getId());
 
     // 4. Crear o reemplazar el Refresh Token del usuario
     RefreshToken refreshToken = refreshTokenService.createRefreshToken(user.getId());
@@ -76,7 +76,7 @@ public class AuthController {
 
     // 3) Generar nuevo JWT
     Usuario user = rt.getUser();
-    String token = jwtUtil.generateToken(user.getEmail(), user.getRol().name());
+    String token = jwtUtil.generateToken(user.getEmail(), user.getRol().name(), user.getId());
 
     // 4) Crear nuevo RefreshToken
     RefreshToken newRt = refreshTokenService.createRefreshToken(user.getId());
@@ -0,0 +1,49 @@
+package com.sena.app_backend.controller;
+
+import com.sena.app_backend.dto.request.ComisionRequest;
+import com.sena.app_backend.dto.response.ComisionResponse;
+import com.sena.app_backend.service.ComisionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST para administrar las comisiones de la plataforma.
+ * La comisión sin plan es la de por defecto; las demás aplican a un plan concreto.
+ * Solo accesible por administradores.
+ */
+@RestController
+@RequestMapping("/api/admin/comisiones")
+@RequiredArgsConstructor
+public class ComisionController {
+
+  private final ComisionService service;
+
+  @PostMapping
+  @PreAuthorize("hasAuthority('ADMINISTRADOR')")
+  public ResponseEntity<ComisionResponse> crear(@RequestBody ComisionRequest req) {
+    return ResponseEntity.ok(service.crearComision(req));
+  }
+
+  @GetMapping
+  @PreAuthorize("hasAuthority('ADMINISTRADOR')")
+  public ResponseEntity<List<ComisionResponse>> listar() {
+    return ResponseEntity.ok(service.listarComisiones());
+  }
+
+  @PutMapping("/{id}")
+  @PreAuthorize("hasAuthority('ADMINISTRADOR')")
+  public ResponseEntity<ComisionResponse> actualizar(@PathVariable Long id, @RequestBody ComisionRequest req) {
+    return ResponseEntity.ok(service.actualizarComision(id, req));
+  }
+
+  @DeleteMapping("/{id}")
+  @PreAuthorize("hasAuthority('ADMINISTRADOR')")
+  public ResponseEntity<Void> eliminar(@PathVariable Long id) {
+    service.eliminarComision(id);
+    return ResponseEntity.noContent().build();
+  }
+}
@@ -1,13 +1,17 @@
 package com.sena.app_backend.controller;
 
 import com.sena.app_backend.dto.request.MaquinaRequest;
+import com.sena.app_backend.dto.response.ImportacionMaquinasResponse;
 import com.sena.app_backend.dto.response.MaquinaResponse;
+import com.sena.app_backend.service.ImportacionMaquinasService;
 import com.sena.app_backend.service.MaquinaService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -20,6 +24,7 @@ import java.util.List;
 public class MaquinaController {
 
   private final MaquinaService service;
+  private final ImportacionMaquinasService importacion;
 
   /** Sólo ADMIN puede crear máquinas nuevas */
   @PostMapping
@@ -28,6 +33,29 @@ public class MaquinaController {
     return ResponseEntity.ok(service.crearMaquina(req));
   }
 
+  /**
+   * Sólo ADMIN puede importar máquinas en bloque.
+   * El cuerpo se lee en streaming: {@code text/csv} con encabezado
+   * (serial,recursos[,estado][,especificaciones]) o {@code application/x-ndjson}
+   * con un objeto por línea. Responde 200 con el resultado de cada fila.
+   *
+   * @param contentType formato del cuerpo
+   * @param soloErrores si es true el reporte omite las filas creadas
+   * @param cuerpo      contenido del archivo
+   */
+  @PostMapping(value = "/importar", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+  @PreAuthorize("hasAuthority('ADMINISTRADOR')")
+  public ResponseEntity<ImportacionMaquinasResponse> importar(
+      @RequestHeader("Content-Type") String contentType,
+      @RequestParam(defaultValue = "false") boolean soloErrores,
+      InputStream cuerpo
+  ) {
+    ImportacionMaquinasService.Formato formato = contentType.toLowerCase().startsWith("text/csv")
+        ? ImportacionMaquinasService.Formato.CSV
+        : ImportacionMaquinasService.Formato.NDJSON;
+    return ResponseEntity.ok(importacion.importar(cuerpo, formato, soloErrores));
+  }
+
   /** Cualquiera autenticado puede listar todas las máquinas */
   @GetMapping
   public ResponseEntity<List<MaquinaResponse>> listar() {
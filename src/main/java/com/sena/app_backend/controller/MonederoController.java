@@ -2,13 +2,17 @@ package com.sena.app_backend.controller;
 
 import com.sena.app_backend.dto.request.*;
 import com.sena.app_backend.dto.response.*;
+import com.sena.app_backend.security.SecurityService;
+import com.sena.app_backend.service.IdempotenciaService;
 import com.sena.app_backend.service.MonederoService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -17,6 +21,8 @@ import java.util.List;
 public class MonederoController {
 
   private final MonederoService service;
+  private final SecurityService securityService;
+  private final IdempotenciaService idempotencia;
 
   /**
    * Crea un nuevo monedero para el usuario autenticado.
@@ -49,8 +55,12 @@ public class MonederoController {
   /**
    * Mueve fondos entre monederos o a una cuenta externa.
    *
+   * Con el header Idempotency-Key los reintentos devuelven la transacción ya realizada
+   * (con Idempotent-Replayed: true) sin volver a llamar a Coinbase ni a mover fondos.
+   *
    * @param monederoId ID del monedero desde el cual se moverán los fondos
    * @param req DTO que contiene los detalles de la transacción
+   * @param idempotencyKey clave opcional elegida por el cliente
    * @param auth Información de autenticación del usuario
    * @return Respuesta HTTP con la transacción realizada
    */
@@ -62,26 +72,33 @@ public class MonederoController {
   public ResponseEntity<TransaccionMonederoResponse> mover(
       @PathVariable Long monederoId,
       @RequestBody NuevaTransaccionMonederoRequest req,
+      @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
       Authentication auth
   ) {
-    return ResponseEntity.ok(service.moverFondos(auth, monederoId, req));
+    IdempotenciaService.Resultado<TransaccionMonederoResponse> r = idempotencia.ejecutar(
+        idempotencyKey, securityService.currentUserId(auth), "MOVER_FONDOS:" + monederoId, req,
+        TransaccionMonederoResponse.class, () -> service.moverFondos(auth, monederoId, req));
+    return ResponseEntity.ok()
+        .header("Idempotent-Replayed", String.valueOf(r.repetido()))
+        .body(r.valor());
   }
 
   /**
    * Obtiene el historial de transacciones de un monedero.
+   * Con {@code desde}/{@code hasta} incluye también las transacciones archivadas.
+   * La propiedad se verifica en la consulta que carga el monedero; uno ajeno responde 404.
    * @param monederoId ID del monedero cuyo historial se desea consultar
    * @param auth Información de autenticación del usuario
    * @return Respuesta HTTP con la lista de transacciones del monedero
    */
   @GetMapping("/{monederoId}/transacciones")
-  @PreAuthorize(
-      "hasAuthority('USUARIO') and " +
-          "@securityService.isMonederoOwner(#monederoId, authentication)"
-  )
+  @PreAuthorize("hasAuthority('USUARIO')")
   public ResponseEntity<List<TransaccionMonederoResponse>> historial(
       @PathVariable Long monederoId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
       Authentication auth
   ) {
-    return ResponseEntity.ok(service.historial(auth, monederoId));
+    return ResponseEntity.ok(service.historial(auth, monederoId, desde, hasta));
   }
 }
@@ -1,14 +1,19 @@
 package com.sena.app_backend.controller;
 
+import com.sena.app_backend.cache.CatalogoPlanes;
+import com.sena.app_backend.cache.PayloadJson;
 import com.sena.app_backend.dto.request.PlanRequest;
 import com.sena.app_backend.dto.response.PlanResponse;
 import com.sena.app_backend.service.PlanService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.Duration;
 
 /**
  * Esta clase es un controlador REST para gestionar los planes.
@@ -23,11 +28,25 @@ import java.util.List;
 public class PlanController {
 
   private final PlanService service;
+  private final CatalogoPlanes catalogoPlanes;
 
-  /** Cualquiera pude ver los planes */
+  /** Segundos que navegadores y CDNs pueden reutilizar el listado sin revalidar. */
+  @Value("${cache.planes.maxAgeSegundos:60}")
+  private long maxAgeSegundos;
+
+  /**
+   * Cualquiera pude ver los planes.
+   * Se devuelve el JSON ya serializado con un ETag fuerte; si el cliente envía
+   * If-None-Match con el mismo ETag, Spring responde 304 sin cuerpo.
+   */
   @GetMapping
-  public ResponseEntity<List<PlanResponse>> listar() {
-    return ResponseEntity.ok(service.listarPlanes());
+  public ResponseEntity<byte[]> listar() {
+    PayloadJson payload = catalogoPlanes.payloadPlanes();
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .cacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAgeSegundos)).cachePublic())
+        .eTag(payload.getEtag())
+        .body(payload.getCuerpo());
   }
 
   /** Cualquier usuario autenticado puede ver un plan */
@@ -1,14 +1,19 @@
 package com.sena.app_backend.controller;
 
+import com.sena.app_backend.dto.request.LoteTransaccionesRequest;
 import com.sena.app_backend.dto.request.NuevaTransaccionRequest;
 import com.sena.app_backend.dto.response.CuentaPlataformaResponse;
+import com.sena.app_backend.dto.response.LoteTransaccionesResponse;
 import com.sena.app_backend.dto.response.TransaccionPlataformaResponse;
+import com.sena.app_backend.service.LoteTransaccionesService;
 import com.sena.app_backend.service.PlataformaCuentaService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -22,6 +27,7 @@ import java.util.List;
 public class PlataformaCuentaController {
 
   private final PlataformaCuentaService service;
+  private final LoteTransaccionesService loteService;
 
   /**
    * Obtiene la información de la cuenta de un usuario.
@@ -43,6 +49,7 @@ public class PlataformaCuentaController {
   /**
    * Obtiene el historial de transacciones de un usuario.
    * Solo accesible por administradores o el propietario de la cuenta.
+   * Con {@code desde}/{@code hasta} incluye también las transacciones archivadas.
    * @param usuarioId ID del usuario cuyo historial se desea obtener.
    * @return respuesta HTTP 200 con la lista de transacciones.
    */
@@ -52,8 +59,10 @@ public class PlataformaCuentaController {
           "|| @securityService.isCurrentUser(#usuarioId, authentication)"
   )
   public ResponseEntity<List<TransaccionPlataformaResponse>> historial(
-      @PathVariable Long usuarioId) {
-    return ResponseEntity.ok(service.listarHistorial(usuarioId));
+      @PathVariable Long usuarioId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta) {
+    return ResponseEntity.ok(service.listarHistorial(usuarioId, desde, hasta));
   }
 
   /**
@@ -74,5 +83,18 @@ public class PlataformaCuentaController {
       @RequestBody NuevaTransaccionRequest req) {
     return ResponseEntity.ok(service.crearTransaccion(usuarioId, req));
   }
-}
 
+  /**
+   * Registra muchas transacciones de una vez (p.ej. pago de ganancias).
+   * Solo accesible por administradores. Las entradas que fallan se reportan
+   * sin revertir las demás.
+   *
+   * @param req entradas (usuarioId, tipo, monto).
+   * @return respuesta HTTP 200 con el resultado de cada entrada.
+   */
+  @PostMapping("/transacciones/lote")
+  @PreAuthorize("hasAuthority('ADMINISTRADOR')")
+  public ResponseEntity<LoteTransaccionesResponse> lote(@RequestBody LoteTransaccionesRequest req) {
+    return ResponseEntity.ok(loteService.aplicar(req));
+  }
+}
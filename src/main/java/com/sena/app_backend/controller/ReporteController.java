@@ -0,0 +1,66 @@
+package com.sena.app_backend.controller;
+
+import com.sena.app_backend.dto.response.IngresoAgregadoResponse;
+import com.sena.app_backend.dto.response.UtilizacionResponse;
+import com.sena.app_backend.model.DimensionIngreso;
+import com.sena.app_backend.model.Granularidad;
+import com.sena.app_backend.model.NivelRecursos;
+import com.sena.app_backend.service.ReporteIngresosService;
+import com.sena.app_backend.service.UtilizacionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controlador REST de reportes para administradores.
+ * Lee tablas de agregados y muestras precalculados, no las tablas transaccionales.
+ */
+@RestController
+@RequestMapping("/api/admin/reportes")
+@RequiredArgsConstructor
+public class ReporteController {
+
+  private final ReporteIngresosService ingresosService;
+  private final UtilizacionService utilizacionService;
+
+  /**
+   * Ingresos por periodo, p.ej. {@code /ingresos?granularidad=MES&dimension=PLAN&desde=2025-01-01}.
+   */
+  @GetMapping("/ingresos")
+  @PreAuthorize("hasAuthority('ADMINISTRADOR')")
+  public ResponseEntity<List<IngresoAgregadoResponse>> ingresos(
+      @RequestParam(defaultValue = "MES") Granularidad granularidad,
+      @RequestParam(defaultValue = "TIPO") DimensionIngreso dimension,
+      @RequestParam(required = false) String clave,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+    return ResponseEntity.ok(ingresosService.consultar(granularidad, dimension, clave, desde, hasta));
+  }
+
+  /** Recalcula los agregados de ingresos desde el historial completo. */
+  @PostMapping("/ingresos/reconstruir")
+  @PreAuthorize("hasAuthority('ADMINISTRADOR')")
+  public ResponseEntity<Map<String, Integer>> reconstruirIngresos() {
+    return ResponseEntity.ok(Map.of("filas", ingresosService.reconstruir()));
+  }
+
+  /**
+   * Serie de utilización de la flota, p.ej. {@code /utilizacion?desde=2025-05-01T00:00:00&recursos=ALTOS}.
+   * Por defecto devuelve las últimas 24 horas.
+   */
+  @GetMapping("/utilizacion")
+  @PreAuthorize("hasAuthority('ADMINISTRADOR')")
+  public ResponseEntity<List<UtilizacionResponse>> utilizacion(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+      @RequestParam(required = false) NivelRecursos recursos) {
+    return ResponseEntity.ok(utilizacionService.consultar(desde, hasta, recursos));
+  }
+}
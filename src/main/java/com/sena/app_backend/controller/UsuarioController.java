@@ -1,14 +1,18 @@
 package com.sena.app_backend.controller;
 
 import com.sena.app_backend.dto.request.NuevoUsuarioRequest;
+import com.sena.app_backend.dto.response.EstadoEliminacionResponse;
 import com.sena.app_backend.dto.response.UsuarioResponse;
+import com.sena.app_backend.service.EliminacionUsuarioService;
 import com.sena.app_backend.service.UsuarioService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.List;
 
 /**
@@ -21,6 +25,11 @@ import java.util.List;
 public class UsuarioController {
 
   private final UsuarioService service;
+  private final EliminacionUsuarioService eliminacion;
+
+  /** Si es true, DELETE /api/usuarios/{id} borra los datos en segundo plano y responde 202. */
+  @Value("${usuarios.eliminacion.asincrona:true}")
+  private boolean eliminacionAsincrona;
 
   /**
    * Crea un nuevo usuario.
@@ -123,17 +132,42 @@ public class UsuarioController {
   /**
    * Elimina un usuario.
    * Solo el administrador o el propio usuario pueden eliminar su cuenta.
+   * <p>
+   * En modo asíncrono (propiedad usuarios.eliminacion.asincrona) el usuario queda
+   * bloqueado de inmediato y sus datos se borran en segundo plano; el avance se
+   * consulta en GET /api/usuarios/{id}/eliminacion.
    *
    * @param id ID del usuario a eliminar
-   * @return Respuesta vacía con código 204 No Content
+   * @return 202 Accepted con el estado de la eliminación, o 204 No Content si se borró en línea
    */
   @DeleteMapping("/{id}")
   @PreAuthorize(
       "hasAuthority('ADMINISTRADOR') " +
           "|| @securityService.isCurrentUser(#id, authentication)"
   )
-  public ResponseEntity<Void> eliminar(@PathVariable Long id) {
+  public ResponseEntity<EstadoEliminacionResponse> eliminar(@PathVariable Long id) {
+    if (eliminacionAsincrona) {
+      return ResponseEntity.accepted()
+          .location(URI.create("/api/usuarios/" + id + "/eliminacion"))
+          .body(eliminacion.solicitar(id));
+    }
     service.eliminarUsuario(id);
     return ResponseEntity.noContent().build();
   }
+
+  /**
+   * Avance de la eliminación asíncrona de un usuario.
+   * Solo el administrador o el propio usuario pueden consultarlo.
+   *
+   * @param id ID del usuario
+   * @return EstadoEliminacionResponse con el paso en curso y las filas borradas
+   */
+  @GetMapping("/{id}/eliminacion")
+  @PreAuthorize(
+      "hasAuthority('ADMINISTRADOR') " +
+          "|| @securityService.isCurrentUser(#id, authentication)"
+  )
+  public ResponseEntity<EstadoEliminacionResponse> estadoEliminacion(@PathVariable Long id) {
+    return ResponseEntity.ok(eliminacion.obtenerEstado(id));
+  }
 }
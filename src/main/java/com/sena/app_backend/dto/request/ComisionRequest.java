@@ -0,0 +1,20 @@
+package com.sena.app_backend.dto.request;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Solicitud para crear o actualizar una comisión.
+ * planId null indica la comisión por defecto.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ComisionRequest {
+  private Long planId;
+  private BigDecimal tasa;
+  private boolean activa;
+  private String descripcion;
+}
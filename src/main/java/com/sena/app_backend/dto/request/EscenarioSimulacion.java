@@ -0,0 +1,23 @@
+package com.sena.app_backend.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Combinación hipotética de parámetros de plan a simular.
+ * Si no se indica comisión se usa la comisión por defecto de la plataforma.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EscenarioSimulacion {
+  private BigDecimal gananciaMin;
+  private BigDecimal gananciaMax;
+  private BigDecimal duracionDias;
+  private BigDecimal comision;
+}
@@ -0,0 +1,29 @@
+package com.sena.app_backend.dto.request;
+
+import com.sena.app_backend.model.TipoTransaccionPlataforma;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Petición para registrar muchas transacciones de plataforma de una vez
+ * (p.ej. el pago de ganancias a todos los usuarios con alquileres activos).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoteTransaccionesRequest {
+  private List<Entrada> entradas;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Builder
+  public static class Entrada {
+    private Long usuarioId;
+    private TipoTransaccionPlataforma tipo;
+    private BigDecimal monto;
+  }
+}
@@ -0,0 +1,29 @@
+package com.sena.app_backend.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Solicitud de simulación masiva de precios de planes.
+ * <p>
+ * Se puede enviar una lista explícita de escenarios, una grilla (producto cartesiano
+ * de los ejes gananciasMin × gananciasMax × duracionesDias × comisiones) o ambas;
+ * los resultados salen en ese orden. Si se omite el eje de comisiones se usa la
+ * comisión por defecto.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimulacionPreciosRequest {
+  private List<EscenarioSimulacion> escenarios;
+  private List<BigDecimal> gananciasMin;
+  private List<BigDecimal> gananciasMax;
+  private List<BigDecimal> duracionesDias;
+  private List<BigDecimal> comisiones;
+}
@@ -32,4 +32,6 @@ public class AlquilerResponse {
   private BigDecimal montoDevuelto;
   /** Ganancia de la plataforma por este alquiler */
   private BigDecimal gananciaPlataforma;
+  /** Ganancia de minería devengada hasta el último día procesado */
+  private BigDecimal gananciaAcumulada;
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.sena.app_backend.dto.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Respuesta con los datos de una comisión configurada.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ComisionResponse {
+  private Long id;
+  private Long planId;
+  private BigDecimal tasa;
+  private boolean activa;
+  private String descripcion;
+}
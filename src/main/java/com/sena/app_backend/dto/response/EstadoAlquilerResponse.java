@@ -0,0 +1,27 @@
+package com.sena.app_backend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sena.app_backend.model.EstadoAlquiler;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado de un alquiler para consultar el avance del aprovisionamiento asíncrono.
+ * {@code error} solo se informa si el alquiler quedó FALLIDO.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EstadoAlquilerResponse {
+  private Long alquilerId;
+  private EstadoAlquiler estado;
+  private LocalDateTime fechaInicio;
+  private LocalDateTime fechaFin;
+  private String error;
+}
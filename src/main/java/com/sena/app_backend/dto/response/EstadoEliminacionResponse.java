@@ -0,0 +1,30 @@
+package com.sena.app_backend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sena.app_backend.model.EstadoTrabajo;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Avance de la eliminación asíncrona de un usuario.
+ * {@code error} solo se informa si el último intento falló.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EstadoEliminacionResponse {
+  private Long usuarioId;
+  private EstadoTrabajo estado;
+  /** Paso en curso, p.ej. TRANSACCIONES_PLATAFORMA. */
+  private String paso;
+  /** Número del paso en curso (1..totalPasos). */
+  private int numeroPaso;
+  private int totalPasos;
+  private long filasBorradas;
+  private LocalDateTime creado;
+  private LocalDateTime actualizado;
+  private String error;
+}
@@ -0,0 +1,45 @@
+package com.sena.app_backend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Resultado de una importación masiva de máquinas, con el detalle por fila.
+ * Con {@code soloErrores=true} {@code filas} solo contiene las filas rechazadas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportacionMaquinasResponse {
+  private int total;
+  private int creadas;
+  private int rechazadas;
+  private List<Fila> filas;
+
+  /** Resultado de una fila del archivo. */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Builder
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public static class Fila {
+    /** Número de línea en el archivo (1 = primera línea, incluido el encabezado CSV). */
+    private int linea;
+    private String serial;
+    private Resultado resultado;
+    private String mensaje;
+  }
+
+  public enum Resultado {
+    CREADA,
+    /** El serial ya existe en la base o se repite en el archivo. */
+    DUPLICADA,
+    /** La fila no se pudo interpretar o le faltan datos. */
+    INVALIDA,
+    /** Falló la inserción del lote. */
+    ERROR
+  }
+}
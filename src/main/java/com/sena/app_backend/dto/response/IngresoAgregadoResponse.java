@@ -0,0 +1,21 @@
+package com.sena.app_backend.dto.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Total de ingresos de un periodo para una clave (plan o tipo de transacción).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IngresoAgregadoResponse {
+  /** Primer día del periodo. */
+  private LocalDate periodo;
+  private String clave;
+  private BigDecimal total;
+  private long cantidad;
+}
@@ -0,0 +1,37 @@
+package com.sena.app_backend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Resultado de un lote de transacciones de plataforma, con una entrada por cada
+ * entrada de la petición y en el mismo orden.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoteTransaccionesResponse {
+  private int total;
+  private int aplicadas;
+  private int fallidas;
+  private List<Resultado> resultados;
+
+  /** Resultado de una entrada; {@code error} solo se informa si no se aplicó. */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Builder
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public static class Resultado {
+    /** Posición de la entrada en la petición (desde 0). */
+    private int indice;
+    private Long usuarioId;
+    private Long transaccionId;
+    private BigDecimal balancePosterior;
+    private String error;
+  }
+}
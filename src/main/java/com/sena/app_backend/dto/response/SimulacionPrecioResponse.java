@@ -0,0 +1,36 @@
+package com.sena.app_backend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Resultado de un escenario de la simulación de precios.
+ * Si el escenario no es válido solo se informan los parámetros y {@code error}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SimulacionPrecioResponse {
+  private BigDecimal gananciaMin;
+  private BigDecimal gananciaMax;
+  private BigDecimal duracionDias;
+  private BigDecimal comision;
+
+  /** Resultados para el usuario. */
+  private BigDecimal gananciaPromedioDiaria;
+  private BigDecimal precioAlquiler;
+  private BigDecimal gananciaMaxUsuario;
+
+  /** Resultados para la plataforma. */
+  private BigDecimal precioBruto;
+  private BigDecimal ingresoPlataforma;
+
+  private String error;
+}
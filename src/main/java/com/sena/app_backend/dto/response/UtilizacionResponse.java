@@ -0,0 +1,25 @@
+package com.sena.app_backend.dto.response;
+
+import com.sena.app_backend.model.EstadoMaquina;
+import com.sena.app_backend.model.NivelRecursos;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Punto de la serie de utilización: máquinas de un nivel en un estado durante un intervalo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UtilizacionResponse {
+  private LocalDateTime instante;
+  /** Duración del intervalo en segundos. */
+  private int resolucion;
+  private NivelRecursos recursos;
+  private EstadoMaquina estado;
+  private BigDecimal cantidad;
+  private int maximo;
+}
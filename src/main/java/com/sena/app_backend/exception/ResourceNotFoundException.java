@@ -0,0 +1,12 @@
+package com.sena.app_backend.exception;
+
+/**
+ * Excepción para indicar que el recurso no existe o no pertenece al usuario autenticado.
+ * Las consultas que filtran por propietario no distinguen ambos casos, así que los dos
+ * responden 404 sin revelar si el ID existe.
+ */
+public class ResourceNotFoundException extends RuntimeException {
+  public ResourceNotFoundException(String message) {
+    super(message);
+  }
+}
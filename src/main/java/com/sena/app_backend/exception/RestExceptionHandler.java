@@ -31,6 +31,12 @@ public class RestExceptionHandler {
     return Map.of("error", ex.getMessage());
   }
 
+  @ExceptionHandler(ResourceNotFoundException.class)
+  @ResponseStatus(HttpStatus.NOT_FOUND)
+  public Map<String,String> handleNotFound(ResourceNotFoundException ex) {
+    return Map.of("error", ex.getMessage());
+  }
+
   @ExceptionHandler(RuntimeException.class)
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public Map<String,String> handleOther(RuntimeException ex) {
@@ -0,0 +1,103 @@
+package com.sena.app_backend.metricas;
+
+import com.sena.app_backend.dto.request.NuevaTransaccionMonederoRequest;
+import com.sena.app_backend.dto.request.NuevaTransaccionRequest;
+import com.sena.app_backend.exception.InsufficientFundsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tiempos y contadores de los caminos calientes del negocio.
+ * <p>
+ * Se aplica como aspecto por fuera de {@code @Transactional} (máxima precedencia), así el tiempo
+ * incluye el commit. Cada timer lleva las etiquetas {@code resultado} (exito | error) y
+ * {@code excepcion}; los percentiles e histogramas se configuran con
+ * {@code management.metrics.distribution.*} sobre el prefijo {@code app}. Las operaciones que
+ * terminan en {@link InsufficientFundsException} además suman en {@code app.fondos.insuficientes}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MetricasNegocio {
+
+  public static final String CREAR_ALQUILER = "app.alquiler.crear";
+  public static final String CERRAR_ALQUILER = "app.alquiler.cerrar";
+  public static final String TRANSACCION_PLATAFORMA = "app.plataforma.transaccion";
+  public static final String MOVIMIENTO_MONEDERO = "app.monedero.movimiento";
+  public static final String PRECIO_SPOT = "app.coinbase.spot";
+  public static final String CIERRE_VENCIDOS = "app.scheduler.alquileres.vencidos";
+  public static final String FONDOS_INSUFICIENTES = "app.fondos.insuficientes";
+
+  private final MeterRegistry registry;
+
+  public MetricasNegocio(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Around("execution(* com.sena.app_backend.service.AlquilerService.crearAlquiler(..))")
+  public Object crearAlquiler(ProceedingJoinPoint pjp) throws Throwable {
+    return medir(CREAR_ALQUILER, Tags.empty(), pjp);
+  }
+
+  @Around("execution(* com.sena.app_backend.service.AlquilerService.cerrarAlquiler(..))")
+  public Object cerrarAlquiler(ProceedingJoinPoint pjp) throws Throwable {
+    return medir(CERRAR_ALQUILER, Tags.empty(), pjp);
+  }
+
+  @Around("execution(* com.sena.app_backend.service.PlataformaCuentaService.crearTransaccion(..))")
+  public Object crearTransaccion(ProceedingJoinPoint pjp) throws Throwable {
+    NuevaTransaccionRequest req = (NuevaTransaccionRequest) pjp.getArgs()[1];
+    return medir(TRANSACCION_PLATAFORMA, Tags.of("tipo", nombre(req == null ? null : req.getTipo())), pjp);
+  }
+
+  @Around("execution(* com.sena.app_backend.service.MonederoService.moverFondos(..))")
+  public Object moverFondos(ProceedingJoinPoint pjp) throws Throwable {
+    NuevaTransaccionMonederoRequest req = (NuevaTransaccionMonederoRequest) pjp.getArgs()[2];
+    return medir(MOVIMIENTO_MONEDERO, Tags.of("tipo", nombre(req == null ? null : req.getTipo())), pjp);
+  }
+
+  @Around("execution(* com.sena.app_backend.client.CoinbaseClient.getSpotPrice(..))")
+  public Object getSpotPrice(ProceedingJoinPoint pjp) throws Throwable {
+    String crypto = (String) pjp.getArgs()[0];
+    return medir(PRECIO_SPOT, Tags.of("moneda", crypto == null ? "ninguna" : crypto), pjp);
+  }
+
+  @Around("execution(* com.sena.app_backend.util.AlquilerScheduler.cerrarAlquileresVencidos(..))")
+  public Object cerrarAlquileresVencidos(ProceedingJoinPoint pjp) throws Throwable {
+    return medir(CIERRE_VENCIDOS, Tags.empty(), pjp);
+  }
+
+  Object medir(String nombre, Tags tags, ProceedingJoinPoint pjp) throws Throwable {
+    Timer.Sample muestra = Timer.start(registry);
+    String excepcion = "ninguna";
+    try {
+      return pjp.proceed();
+    } catch (Throwable t) {
+      excepcion = t.getClass().getSimpleName();
+      if (t instanceof InsufficientFundsException) {
+        Counter.builder(FONDOS_INSUFICIENTES)
+            .description("Operaciones rechazadas por fondos insuficientes")
+            .tags(tags.and("operacion", nombre))
+            .register(registry)
+            .increment();
+      }
+      throw t;
+    } finally {
+      muestra.stop(Timer.builder(nombre)
+          .tags(tags.and("resultado", "ninguna".equals(excepcion) ? "exito" : "error", "excepcion", excepcion))
+          .register(registry));
+    }
+  }
+
+  private static String nombre(Enum<?> valor) {
+    return valor == null ? "ninguno" : valor.name();
+  }
+}
@@ -0,0 +1,62 @@
+package com.sena.app_backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Esta clase representa el total acumulado de ingresos de un periodo (día o mes)
+ * para una clave de una dimensión (plan o tipo de transacción).
+ * Se mantiene de forma incremental al registrar transacciones y cerrar alquileres,
+ * así los reportes no recorren el historial.
+ * Cada agregado se reparte en {@code reportes.agregados.slots} filas ({@code slot}) para que
+ * las transacciones concurrentes no esperen todas por la misma fila; al leer se suman los slots.
+ *
+ * @author Sena
+ */
+@Entity
+@Table(name = "agregado_ingreso",
+    uniqueConstraints = @UniqueConstraint(name = "uk_agregado_ingreso",
+        columnNames = {"granularidad", "dimension", "periodo", "clave", "slot"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AgregadoIngreso {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  @Column(nullable = false, length = 10)
+  private Granularidad granularidad;
+
+  @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  @Column(nullable = false, length = 10)
+  private DimensionIngreso dimension;
+
+  /** Primer día del periodo. */
+  @Column(nullable = false)
+  private LocalDate periodo;
+
+  /** ID del plan o nombre del tipo de transacción. */
+  @Column(nullable = false, length = 50)
+  private String clave;
+
+  /** Fila del agregado dentro de la clave (0..slots-1). */
+  @Column(nullable = false)
+  private int slot;
+
+  @Column(precision = 19, scale = 4, nullable = false)
+  private BigDecimal total;
+
+  @Column(nullable = false)
+  private long cantidad;
+}
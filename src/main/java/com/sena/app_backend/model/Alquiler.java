@@ -2,21 +2,30 @@ package com.sena.app_backend.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
  * Esta clase representa la entidad Alquiler en la base de datos.
  * Contiene los atributos id, usuario, maquina, plan, fechaInicio, fechaFin, costoTotal y estado.
+ * Con {@code @DynamicUpdate} cada UPDATE incluye solo las columnas modificadas, para que
+ * guardar la entidad (p. ej. al cerrarla) no pise {@code ganancia_acumulada}, que el
+ * devengo incrementa por SQL en paralelo.
  *
  * @author Sena
  */
 @Entity
-@Table(name = "alquiler")
+@Table(name = "alquiler",
+    indexes = @Index(name = "idx_alquiler_estado_id", columnList = "estado, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@DynamicUpdate
 public class Alquiler {
 
   @Id
@@ -47,13 +56,19 @@ public class Alquiler {
   @Column(name = "costo_total", precision = 19, scale = 4, nullable = false)
   private BigDecimal costoTotal;
 
+  // VARCHAR en lugar del ENUM nativo de MySQL para poder añadir estados sin alterar la columna
   @Enumerated(EnumType.STRING)
-  @Column(nullable = false)
-  private EstadoAlquiler estado;  // ACTIVO, CERRADO
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  @Column(nullable = false, length = 20)
+  private EstadoAlquiler estado;  // PENDIENTE, ACTIVO, CERRADO, FALLIDO
 
   @Column(precision=19, scale=4)
   private BigDecimal montoDevuelto;
 
   @Column(precision=19, scale=4)
   private BigDecimal gananciaPlataforma;
+
+  /** Ganancia de minería abonada al usuario mientras estuvo ACTIVO (DevengoServiceImpl). */
+  @Column(name = "ganancia_acumulada", precision = 19, scale = 4)
+  private BigDecimal gananciaAcumulada;
 }
@@ -0,0 +1,67 @@
+package com.sena.app_backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Esta clase representa un alquiler CERRADO movido al archivo.
+ * Conserva el ID original y guarda las referencias como IDs simples,
+ * sin claves foráneas, para no depender de las tablas activas.
+ *
+ * @author Sena
+ */
+@Entity
+@Table(name = "alquiler_archivo",
+    indexes = @Index(name = "idx_alquiler_archivo_usuario", columnList = "usuario_id, fecha_fin"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlquilerArchivo {
+
+  @Id
+  private Long id;
+
+  @Column(name = "usuario_id", nullable = false)
+  private Long usuarioId;
+
+  @Column(name = "maquina_id", nullable = false)
+  private Long maquinaId;
+
+  @Column(name = "plan_id", nullable = false)
+  private Long planId;
+
+  @Column(name = "fecha_inicio", nullable = false)
+  private LocalDateTime fechaInicio;
+
+  @Column(name = "fecha_fin", nullable = false)
+  private LocalDateTime fechaFin;
+
+  @Column(name = "precio_alquiler", precision = 19, scale = 4, nullable = false)
+  private BigDecimal precioAlquiler;
+
+  @Column(name = "costo_total", precision = 19, scale = 4, nullable = false)
+  private BigDecimal costoTotal;
+
+  @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  @Column(nullable = false, length = 20)
+  private EstadoAlquiler estado;
+
+  @Column(name = "monto_devuelto", precision = 19, scale = 4)
+  private BigDecimal montoDevuelto;
+
+  @Column(name = "ganancia_plataforma", precision = 19, scale = 4)
+  private BigDecimal gananciaPlataforma;
+
+  @Column(name = "ganancia_acumulada", precision = 19, scale = 4)
+  private BigDecimal gananciaAcumulada;
+
+  @Column(nullable = false)
+  private LocalDateTime archivado;
+}
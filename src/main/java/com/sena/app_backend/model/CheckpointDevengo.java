@@ -0,0 +1,53 @@
+package com.sena.app_backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Esta clase representa el avance del devengo de ganancias de un día.
+ * {@code ultimoAlquilerId} es el cursor del recorrido por id de los alquileres ACTIVO:
+ * se actualiza en la misma transacción que los abonos de cada página, así que una
+ * ejecución interrumpida continúa exactamente donde quedó.
+ *
+ * @author Sena
+ */
+@Entity
+@Table(name = "checkpoint_devengo")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CheckpointDevengo {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false, unique = true)
+  private LocalDate dia;
+
+  @Column(name = "ultimo_alquiler_id", nullable = false)
+  private long ultimoAlquilerId;
+
+  /** PROCESANDO mientras quedan páginas; COMPLETADO al terminar el recorrido. */
+  @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  @Column(nullable = false, length = 20)
+  private EstadoTrabajo estado;
+
+  /** Alquileres abonados en el día. */
+  @Column(nullable = false)
+  private long alquileres;
+
+  @Column(nullable = false, precision = 19, scale = 4)
+  private BigDecimal total;
+
+  @Column(nullable = false)
+  private LocalDateTime actualizado;
+}
@@ -0,0 +1,53 @@
+package com.sena.app_backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.math.BigDecimal;
+
+/**
+ * Esta clase representa una comisión de plataforma configurable.
+ * Si plan es null la comisión es la de por defecto; si no, aplica solo a ese plan
+ * (niveles o promociones). Solo una comisión activa por plan (y una por defecto):
+ * lo garantiza la restricción única sobre la columna generada clave_activa.
+ *
+ * @author Sena
+ */
+@Entity
+@Table(name = "comision_plan",
+    uniqueConstraints = @UniqueConstraint(name = "uk_comision_activa", columnNames = "clave_activa"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ComisionPlan {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "plan_id")
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private Plan plan;              // null = comisión por defecto
+
+  /** Fracción de comisión (0.1000 = 10%). */
+  @Column(precision = 5, scale = 4, nullable = false)
+  private BigDecimal tasa;
+
+  @Column(nullable = false)
+  private boolean activa;
+
+  @Column(length = 100)
+  private String descripcion;
+
+  /**
+   * Plan de la comisión si está activa (0 para la de por defecto), NULL si no lo está.
+   * La calcula la BD; los NULL no chocan en el índice único.
+   */
+  @Column(name = "clave_activa", insertable = false, updatable = false,
+      columnDefinition = "BIGINT GENERATED ALWAYS AS (CASE WHEN activa THEN COALESCE(plan_id, 0) END)")
+  private Long claveActiva;
+}
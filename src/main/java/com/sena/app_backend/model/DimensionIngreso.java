@@ -0,0 +1,11 @@
+package com.sena.app_backend.model;
+
+/**
+ * Dimensión por la que se desglosa un agregado de ingresos.
+ */
+public enum DimensionIngreso {
+  /** Ganancia de la plataforma por alquileres cerrados; la clave es el ID del plan. */
+  PLAN,
+  /** Movimientos de la cuenta de plataforma; la clave es el TipoTransaccionPlataforma. */
+  TIPO
+}
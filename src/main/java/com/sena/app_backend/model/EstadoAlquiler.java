@@ -2,11 +2,14 @@ package com.sena.app_backend.model;
 
 /**
  * Esta clase representa los estados posibles de un alquiler en la aplicación.
- * Puede estar activo o cerrado.
+ * Puede estar pendiente (reservado, esperando el cobro), activo, cerrado
+ * o fallido (no se pudo cobrar y la máquina se liberó).
  *
  * @author Sena
  */
 public enum EstadoAlquiler {
+  PENDIENTE,
   ACTIVO,
-  CERRADO
+  CERRADO,
+  FALLIDO
 }
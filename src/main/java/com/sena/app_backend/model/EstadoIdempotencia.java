@@ -0,0 +1,9 @@
+package com.sena.app_backend.model;
+
+/**
+ * Estado de una solicitud registrada con Idempotency-Key.
+ */
+public enum EstadoIdempotencia {
+  EN_CURSO,
+  COMPLETADO
+}
@@ -0,0 +1,11 @@
+package com.sena.app_backend.model;
+
+/**
+ * Estados de un trabajo en segundo plano encolado en la BD.
+ */
+public enum EstadoTrabajo {
+  PENDIENTE,
+  PROCESANDO,
+  COMPLETADO,
+  FALLIDO
+}
@@ -0,0 +1,52 @@
+package com.sena.app_backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Esta clase representa un evento de dominio guardado en la misma transacción que
+ * el cambio que lo origina (outbox transaccional). El relay lo publica después y
+ * marca {@code publicado}.
+ *
+ * @author Sena
+ */
+@Entity
+@Table(name = "evento_outbox",
+    indexes = @Index(name = "idx_evento_outbox_publicado", columnList = "publicado, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventoOutbox {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  /** Tipo de evento, p.ej. TRANSACCION_PLATAFORMA. */
+  @Column(nullable = false, length = 50)
+  private String tipo;
+
+  /** ID de la entidad que cambió (transacción, alquiler...). */
+  @Column(name = "agregado_id")
+  private Long agregadoId;
+
+  @Column(name = "usuario_id")
+  private Long usuarioId;
+
+  /** Cuerpo del evento en JSON. */
+  @Lob
+  @Column(columnDefinition = "TEXT", nullable = false)
+  private String payload;
+
+  @Column(nullable = false)
+  private LocalDateTime creado;
+
+  @Column(nullable = false)
+  private boolean publicado;
+
+  @Column(name = "publicado_en")
+  private LocalDateTime publicadoEn;
+}
@@ -0,0 +1,9 @@
+package com.sena.app_backend.model;
+
+/**
+ * Tamaño del periodo de un agregado: el periodo se guarda como su primer día.
+ */
+public enum Granularidad {
+  DIA,
+  MES
+}
@@ -0,0 +1,58 @@
+package com.sena.app_backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Esta clase representa una muestra de la serie de utilización de la flota:
+ * cuántas máquinas de un nivel de recursos había en un estado en un instante.
+ * Las muestras recientes tienen la resolución del muestreo; las antiguas se
+ * reducen a una fila por hora con el promedio y el máximo.
+ *
+ * @author Sena
+ */
+@Entity
+@Table(name = "muestra_utilizacion",
+    uniqueConstraints = @UniqueConstraint(name = "uk_muestra_utilizacion",
+        columnNames = {"instante", "resolucion", "recursos", "estado"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MuestraUtilizacion {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  /** Inicio del intervalo que representa la muestra. */
+  @Column(nullable = false)
+  private LocalDateTime instante;
+
+  /** Duración del intervalo en segundos (intervalo de muestreo o 3600). */
+  @Column(nullable = false)
+  private int resolucion;
+
+  @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  @Column(nullable = false, length = 20)
+  private NivelRecursos recursos;
+
+  @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  @Column(nullable = false, length = 20)
+  private EstadoMaquina estado;
+
+  /** Cantidad de máquinas (promedio del intervalo si está reducida). */
+  @Column(precision = 10, scale = 2, nullable = false)
+  private BigDecimal cantidad;
+
+  /** Máximo observado en el intervalo. */
+  @Column(nullable = false)
+  private int maximo;
+}
@@ -2,6 +2,9 @@ package com.sena.app_backend.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -12,7 +15,8 @@ import java.time.LocalDateTime;
  * @author Sena
  */
 @Entity
-@Table(name = "platforma_transaccion_cuenta")
+@Table(name = "platforma_transaccion_cuenta",
+    indexes = @Index(name = "idx_ptc_cuenta_fecha", columnList = "account_id, fecha_transaccion"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,11 +28,15 @@ public class PlataformaTransaccionCuenta {
   private Long id;
 
   @ManyToOne
+  // FK en la BD salvo con particionado.habilitado (ClavesForaneasParticionadas): MySQL no admite FK en
+  // tablas particionadas, así que con particionado la integridad de la columna queda en la aplicación
   @JoinColumn(name = "account_id", nullable = false)
   private PlataformaFondosCuenta account;
 
+  // VARCHAR en lugar del ENUM nativo de MySQL para poder añadir tipos sin alterar la columna
   @Enumerated(EnumType.STRING)
-  @Column(nullable = false)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  @Column(nullable = false, length = 30)
   private TipoTransaccionPlataforma tipo;
 
   @Column(name = "monto", precision = 19, scale = 4, nullable = false)
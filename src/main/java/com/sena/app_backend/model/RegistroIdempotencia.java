@@ -0,0 +1,56 @@
+package com.sena.app_backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Esta clase representa el resultado guardado de una solicitud con Idempotency-Key.
+ * La clave es única por usuario y operación; la respuesta se guarda como JSON
+ * y la fila se elimina al llegar a {@code expira}.
+ *
+ * @author Sena
+ */
+@Entity
+@Table(name = "idempotencia",
+    uniqueConstraints = @UniqueConstraint(name = "uk_idempotencia_clave",
+        columnNames = {"usuario_id", "operacion", "clave"}),
+    indexes = @Index(name = "idx_idempotencia_expira", columnList = "expira"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RegistroIdempotencia {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false, length = 100)
+  private String clave;
+
+  @Column(name = "usuario_id", nullable = false)
+  private Long usuarioId;
+
+  @Column(nullable = false, length = 40)
+  private String operacion;
+
+  /** SHA-256 (Base64) del cuerpo de la solicitud, para detectar claves reutilizadas. */
+  @Column(nullable = false, length = 44)
+  private String huella;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 10)
+  private EstadoIdempotencia estado;
+
+  @Lob
+  @Column(columnDefinition = "TEXT")
+  private String respuesta;
+
+  @Column(nullable = false)
+  private Instant creado;
+
+  @Column(nullable = false)
+  private Instant expira;
+}
@@ -9,5 +9,6 @@ public enum TipoTransaccionPlataforma {
   PAGO_ALQUILER,        // Descuento para iniciar o renovar alquilera
   GANANCIA_ALQUILER,    // Transferencia de ganancias al monedero del usuario
   RETIRO_WALLET,         // Transferencia de plataforma al monedero digital
-  CANCELACION_ALQUILER   // Devolución (parcial o total) al usuario por cancelación anticipada
+  CANCELACION_ALQUILER,  // Devolución (parcial o total) al usuario por cancelación anticipada
+  GANANCIA_MINERIA       // Ganancia diaria devengada por un alquiler ACTIVO (DevengoServiceImpl)
 }
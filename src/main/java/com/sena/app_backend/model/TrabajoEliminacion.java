@@ -0,0 +1,57 @@
+package com.sena.app_backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Esta clase representa la eliminación asíncrona de un usuario y su avance.
+ * El worker borra los datos por pasos y lotes pequeños; {@code paso} indica la
+ * tabla en curso y {@code filasBorradas} el total acumulado.
+ * Guarda el ID del usuario sin clave foránea porque el usuario se borra al final.
+ *
+ * @author Sena
+ */
+@Entity
+@Table(name = "trabajo_eliminacion",
+    indexes = @Index(name = "idx_trabajo_elim_estado", columnList = "estado, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrabajoEliminacion {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "usuario_id", nullable = false, unique = true)
+  private Long usuarioId;
+
+  @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  @Column(nullable = false, length = 20)
+  private EstadoTrabajo estado;
+
+  /** Paso en curso (nombre de PasoEliminacion). */
+  @Column(nullable = false, length = 40)
+  private String paso;
+
+  @Column(name = "filas_borradas", nullable = false)
+  private long filasBorradas;
+
+  @Column(nullable = false)
+  private int intentos;
+
+  @Column(length = 255)
+  private String error;
+
+  @Column(nullable = false)
+  private LocalDateTime creado;
+
+  @Column(nullable = false)
+  private LocalDateTime actualizado;
+}
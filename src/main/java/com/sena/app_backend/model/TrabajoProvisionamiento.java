@@ -0,0 +1,53 @@
+package com.sena.app_backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Esta clase representa un trabajo de aprovisionamiento de un alquiler PENDIENTE:
+ * cobrar el precio y activar el alquiler. Funciona como outbox en la BD; los
+ * workers toman los trabajos con estado PENDIENTE y disponibleDesde vencido.
+ *
+ * @author Sena
+ */
+@Entity
+@Table(name = "trabajo_provisionamiento",
+    indexes = @Index(name = "idx_trabajo_prov_estado", columnList = "estado, disponible_desde"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrabajoProvisionamiento {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @OneToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "alquiler_id", nullable = false, unique = true)
+  private Alquiler alquiler;
+
+  @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  @Column(nullable = false, length = 20)
+  private EstadoTrabajo estado;
+
+  @Column(nullable = false)
+  private int intentos;
+
+  @Column(length = 255)
+  private String error;
+
+  @Column(name = "disponible_desde", nullable = false)
+  private LocalDateTime disponibleDesde;
+
+  @Column(nullable = false)
+  private LocalDateTime creado;
+
+  @Column(nullable = false)
+  private LocalDateTime actualizado;
+}
@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
  * @author Sena
  */
 @Entity
-@Table(name = "transaccion")
+@Table(name = "transaccion",
+    indexes = @Index(name = "idx_transaccion_monedero_fecha", columnList = "monedero_id, fecha_transaccion"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,6 +25,8 @@ public class Transaccion {
   private Long id;
 
   @ManyToOne
+  // FK en la BD salvo con particionado.habilitado (ClavesForaneasParticionadas): MySQL no admite FK en
+  // tablas particionadas, así que con particionado la integridad de la columna queda en la aplicación
   @JoinColumn(name = "monedero_id", nullable = false)
   private Monedero monedero;
 
@@ -0,0 +1,45 @@
+package com.sena.app_backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Esta clase representa una transacción de monedero movida al archivo.
+ * Conserva el ID original; el monedero se guarda como ID simple.
+ *
+ * @author Sena
+ */
+@Entity
+@Table(name = "transaccion_archivo",
+    indexes = @Index(name = "idx_transaccion_archivo_monedero", columnList = "monedero_id, fecha_transaccion"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransaccionArchivo {
+
+  @Id
+  private Long id;
+
+  @Column(name = "monedero_id", nullable = false)
+  private Long monederoId;
+
+  @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  @Column(nullable = false, length = 30)
+  private TipoTransaccionMonedero tipo;
+
+  @Column(precision = 19, scale = 4, nullable = false)
+  private BigDecimal monto;
+
+  @Column(name = "fecha_transaccion", nullable = false)
+  private LocalDateTime fechaTransaccion;
+
+  @Column(nullable = false)
+  private LocalDateTime archivado;
+}
@@ -0,0 +1,48 @@
+package com.sena.app_backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Esta clase representa una transacción de la cuenta de plataforma movida al archivo.
+ * Conserva el ID original; la cuenta se guarda como ID simple.
+ *
+ * @author Sena
+ */
+@Entity
+@Table(name = "platforma_transaccion_cuenta_archivo",
+    indexes = @Index(name = "idx_ptc_archivo_cuenta", columnList = "account_id, fecha_transaccion"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransaccionPlataformaArchivo {
+
+  @Id
+  private Long id;
+
+  @Column(name = "account_id", nullable = false)
+  private Long accountId;
+
+  @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  @Column(nullable = false, length = 30)
+  private TipoTransaccionPlataforma tipo;
+
+  @Column(precision = 19, scale = 4, nullable = false)
+  private BigDecimal monto;
+
+  @Column(name = "balance_posterior", precision = 19, scale = 4, nullable = false)
+  private BigDecimal balancePosterior;
+
+  @Column(name = "fecha_transaccion", nullable = false)
+  private LocalDateTime fechaTransaccion;
+
+  @Column(nullable = false)
+  private LocalDateTime archivado;
+}
@@ -30,4 +30,8 @@ public class Usuario {
   @Enumerated(EnumType.STRING)
   @Column(nullable = false)
   private Rol rol = Rol.USUARIO;  // valor por defecto
+
+  /** Marcado al pedir la eliminación asíncrona: bloquea el login hasta que el worker lo borra. */
+  @Column(name = "eliminacion_pendiente", nullable = false)
+  private boolean eliminacionPendiente;
 }
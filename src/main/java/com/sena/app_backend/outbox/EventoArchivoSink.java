@@ -0,0 +1,45 @@
+package com.sena.app_backend.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sink que agrega los eventos a un archivo NDJSON (un evento por línea) en
+ * {@code outbox.archivo.ruta}. Pensado para pruebas locales y para alimentar
+ * procesos batch que leen el archivo.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "archivo")
+public class EventoArchivoSink implements EventoSink {
+
+  private final Path ruta;
+  private final ObjectWriter writer;
+
+  public EventoArchivoSink(ObjectMapper objectMapper,
+                           @Value("${outbox.archivo.ruta:eventos-outbox.ndjson}") String ruta) {
+    this.ruta = Path.of(ruta);
+    this.writer = objectMapper.writerFor(EventoPublicado.class);
+  }
+
+  @Override
+  public synchronized void publicar(List<EventoPublicado> eventos) throws IOException {
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(ruta,
+        StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC))) {
+      for (EventoPublicado e : eventos) {
+        out.write(writer.writeValueAsBytes(e));
+        out.write('\n');
+      }
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package com.sena.app_backend.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Sink en memoria para desarrollo y pruebas: guarda los últimos
+ * {@code outbox.memoria.capacidad} eventos.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "memoria", matchIfMissing = true)
+public class EventoMemoriaSink implements EventoSink {
+
+  private final int capacidad;
+  private final Deque<EventoPublicado> eventos = new ArrayDeque<>();
+
+  public EventoMemoriaSink(@Value("${outbox.memoria.capacidad:10000}") int capacidad) {
+    this.capacidad = capacidad;
+  }
+
+  @Override
+  public synchronized void publicar(List<EventoPublicado> lote) {
+    for (EventoPublicado e : lote) {
+      if (eventos.size() == capacidad) {
+        eventos.removeFirst();
+      }
+      eventos.addLast(e);
+    }
+  }
+
+  /** Copia de los eventos recibidos, del más antiguo al más reciente. */
+  public synchronized List<EventoPublicado> recientes() {
+    return new ArrayList<>(eventos);
+  }
+}
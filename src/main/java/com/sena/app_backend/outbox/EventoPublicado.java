@@ -0,0 +1,23 @@
+package com.sena.app_backend.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento tal como se entrega a un {@link EventoSink}.
+ *
+ * @param id         posición en el outbox (creciente; sirve para deduplicar)
+ * @param tipo       tipo de evento
+ * @param agregadoId ID de la entidad que cambió
+ * @param usuarioId  usuario afectado
+ * @param creado     momento del cambio
+ * @param payload    cuerpo del evento en JSON
+ */
+public record EventoPublicado(Long id,
+                              String tipo,
+                              Long agregadoId,
+                              Long usuarioId,
+                              LocalDateTime creado,
+                              @JsonRawValue String payload) {
+}
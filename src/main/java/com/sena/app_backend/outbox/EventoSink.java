@@ -0,0 +1,20 @@
+package com.sena.app_backend.outbox;
+
+import java.util.List;
+
+/**
+ * Destino al que el relay publica los eventos del outbox.
+ * <p>
+ * La entrega es al menos una vez: si {@link #publicar} lanza una excepción el lote
+ * se reintenta, así que los consumidores deben deduplicar por {@link EventoPublicado#id()}.
+ * Se elige con la propiedad {@code outbox.sink} (memoria, archivo).
+ */
+public interface EventoSink {
+
+  /**
+   * Publica un lote de eventos en orden.
+   *
+   * @throws Exception si no se pudo publicar; el lote queda pendiente
+   */
+  void publicar(List<EventoPublicado> eventos) throws Exception;
+}
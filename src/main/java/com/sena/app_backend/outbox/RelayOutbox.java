@@ -0,0 +1,96 @@
+package com.sena.app_backend.outbox;
+
+import com.sena.app_backend.model.EventoOutbox;
+import com.sena.app_backend.repository.EventoOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Publica los eventos del outbox en el {@link EventoSink} configurado.
+ * <p>
+ * Cada lote se procesa en una transacción: se bloquean las filas pendientes
+ * (SKIP LOCKED, así varios nodos no publican el mismo lote), se entregan al sink
+ * en orden de id y se marcan publicadas. Si el sink falla la transacción se
+ * revierte y el lote se reintenta en la siguiente ejecución.
+ */
+@Component
+public class RelayOutbox {
+
+  private final EventoOutboxRepository outboxRepo;
+  private final EventoSink sink;
+  private final TransactionTemplate tx;
+  private final int lote;
+  private final long retencionHoras;
+
+  public RelayOutbox(EventoOutboxRepository outboxRepo,
+                     EventoSink sink,
+                     PlatformTransactionManager txManager,
+                     @Value("${outbox.relay.lote:500}") int lote,
+                     @Value("${outbox.retencionHoras:72}") long retencionHoras) {
+    this.outboxRepo = outboxRepo;
+    this.sink = sink;
+    this.tx = new TransactionTemplate(txManager);
+    this.lote = lote;
+    this.retencionHoras = retencionHoras;
+  }
+
+  /**
+   * Publica lotes hasta vaciar el outbox.
+   *
+   * @return cantidad de eventos publicados
+   */
+  @Scheduled(fixedDelayString = "${outbox.relay.intervaloMs:1000}")
+  public int publicarPendientes() {
+    int total = 0;
+    try {
+      int n;
+      do {
+        n = publicarLote();
+        total += n;
+      } while (n == lote);
+    } catch (RuntimeException e) {
+      System.err.printf("Outbox: error publicando eventos: %s%n", e.getMessage());
+    }
+    return total;
+  }
+
+  /** Publica un lote; devuelve cuántos eventos se publicaron. */
+  int publicarLote() {
+    Integer n = tx.execute(status -> {
+      List<EventoOutbox> pendientes = outboxRepo.findPendientes(PageRequest.of(0, lote));
+      if (pendientes.isEmpty()) {
+        return 0;
+      }
+      try {
+        sink.publicar(pendientes.stream()
+            .map(e -> new EventoPublicado(e.getId(), e.getTipo(), e.getAgregadoId(),
+                e.getUsuarioId(), e.getCreado(), e.getPayload()))
+            .toList());
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new IllegalStateException(e.getMessage(), e);
+      }
+      outboxRepo.marcarPublicados(pendientes.stream().map(EventoOutbox::getId).toList(),
+          LocalDateTime.now());
+      return pendientes.size();
+    });
+    return n == null ? 0 : n;
+  }
+
+  /** Borra los eventos publicados más antiguos que {@code outbox.retencionHoras}. */
+  @Scheduled(fixedDelayString = "${outbox.limpiezaMs:3600000}")
+  public void limpiarPublicados() {
+    int borrados = outboxRepo.deletePublicadosAntesDe(LocalDateTime.now().minusHours(retencionHoras));
+    if (borrados > 0) {
+      System.out.printf("Outbox: %d eventos publicados eliminados%n", borrados);
+    }
+  }
+}
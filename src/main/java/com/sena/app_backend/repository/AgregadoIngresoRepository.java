@@ -0,0 +1,99 @@
+package com.sena.app_backend.repository;
+
+import com.sena.app_backend.model.AgregadoIngreso;
+import com.sena.app_backend.model.DimensionIngreso;
+import com.sena.app_backend.model.Granularidad;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AgregadoIngresoRepository extends JpaRepository<AgregadoIngreso, Long> {
+
+  /**
+   * Suma un monto y {@code cantidad} transacciones a un slot del agregado, creándolo si no
+   * existe (un solo round-trip, sin leer antes).
+   */
+  @Modifying
+  @Query(value = """
+      INSERT INTO agregado_ingreso (granularidad, dimension, periodo, clave, slot, total, cantidad)
+      VALUES (:granularidad, :dimension, :periodo, :clave, :slot, :monto, :cantidad)
+      ON DUPLICATE KEY UPDATE total = total + :monto, cantidad = cantidad + :cantidad
+      """, nativeQuery = true)
+  void sumar(@Param("granularidad") String granularidad,
+             @Param("dimension") String dimension,
+             @Param("periodo") LocalDate periodo,
+             @Param("clave") String clave,
+             @Param("slot") int slot,
+             @Param("monto") BigDecimal monto,
+             @Param("cantidad") long cantidad);
+
+  /** Agregados del rango con sus slots sumados. Filas [periodo, clave, total, cantidad]. */
+  @Query("SELECT a.periodo, a.clave, SUM(a.total), SUM(a.cantidad) FROM AgregadoIngreso a " +
+      "WHERE a.granularidad = :granularidad AND a.dimension = :dimension " +
+      "AND a.periodo BETWEEN :desde AND :hasta GROUP BY a.periodo, a.clave ORDER BY a.periodo, a.clave")
+  List<Object[]> totalesPorPeriodo(@Param("granularidad") Granularidad granularidad,
+                                   @Param("dimension") DimensionIngreso dimension,
+                                   @Param("desde") LocalDate desde,
+                                   @Param("hasta") LocalDate hasta);
+
+  /** Como {@link #totalesPorPeriodo} para una sola clave. */
+  @Query("SELECT a.periodo, a.clave, SUM(a.total), SUM(a.cantidad) FROM AgregadoIngreso a " +
+      "WHERE a.granularidad = :granularidad AND a.dimension = :dimension AND a.clave = :clave " +
+      "AND a.periodo BETWEEN :desde AND :hasta GROUP BY a.periodo, a.clave ORDER BY a.periodo")
+  List<Object[]> totalesPorPeriodoYClave(@Param("granularidad") Granularidad granularidad,
+                                         @Param("dimension") DimensionIngreso dimension,
+                                         @Param("clave") String clave,
+                                         @Param("desde") LocalDate desde,
+                                         @Param("hasta") LocalDate hasta);
+
+  @Modifying
+  @Query(value = "DELETE FROM agregado_ingreso", nativeQuery = true)
+  int borrarTodo();
+
+  /** Recalcula los agregados por tipo desde el libro de la cuenta de plataforma (activo y archivado), en el slot 0. */
+  @Modifying
+  @Query(value = """
+      INSERT INTO agregado_ingreso (granularidad, dimension, periodo, clave, slot, total, cantidad)
+      SELECT 'DIA', 'TIPO', DATE(fecha_transaccion), tipo, 0, SUM(monto), COUNT(*)
+        FROM (SELECT fecha_transaccion, tipo, monto FROM platforma_transaccion_cuenta
+              UNION ALL
+              SELECT fecha_transaccion, tipo, monto FROM platforma_transaccion_cuenta_archivo) t
+       GROUP BY DATE(fecha_transaccion), tipo
+      UNION ALL
+      SELECT 'MES', 'TIPO', DATE_SUB(DATE(fecha_transaccion), INTERVAL DAYOFMONTH(fecha_transaccion) - 1 DAY),
+             tipo, 0, SUM(monto), COUNT(*)
+        FROM (SELECT fecha_transaccion, tipo, monto FROM platforma_transaccion_cuenta
+              UNION ALL
+              SELECT fecha_transaccion, tipo, monto FROM platforma_transaccion_cuenta_archivo) t
+       GROUP BY DATE_SUB(DATE(fecha_transaccion), INTERVAL DAYOFMONTH(fecha_transaccion) - 1 DAY), tipo
+      """, nativeQuery = true)
+  int reconstruirPorTipo();
+
+  /** Recalcula los agregados por plan desde los alquileres cerrados (activos y archivados), en el slot 0. */
+  @Modifying
+  @Query(value = """
+      INSERT INTO agregado_ingreso (granularidad, dimension, periodo, clave, slot, total, cantidad)
+      SELECT 'DIA', 'PLAN', DATE(fecha_fin), CAST(plan_id AS CHAR), 0, SUM(ganancia_plataforma), COUNT(*)
+        FROM (SELECT fecha_fin, plan_id, ganancia_plataforma FROM alquiler
+               WHERE estado = 'CERRADO' AND ganancia_plataforma IS NOT NULL
+              UNION ALL
+              SELECT fecha_fin, plan_id, ganancia_plataforma FROM alquiler_archivo
+               WHERE ganancia_plataforma IS NOT NULL) a
+       GROUP BY DATE(fecha_fin), plan_id
+      UNION ALL
+      SELECT 'MES', 'PLAN', DATE_SUB(DATE(fecha_fin), INTERVAL DAYOFMONTH(fecha_fin) - 1 DAY),
+             CAST(plan_id AS CHAR), 0, SUM(ganancia_plataforma), COUNT(*)
+        FROM (SELECT fecha_fin, plan_id, ganancia_plataforma FROM alquiler
+               WHERE estado = 'CERRADO' AND ganancia_plataforma IS NOT NULL
+              UNION ALL
+              SELECT fecha_fin, plan_id, ganancia_plataforma FROM alquiler_archivo
+               WHERE ganancia_plataforma IS NOT NULL) a
+       GROUP BY DATE_SUB(DATE(fecha_fin), INTERVAL DAYOFMONTH(fecha_fin) - 1 DAY), plan_id
+      """, nativeQuery = true)
+  int reconstruirPorPlan();
+}
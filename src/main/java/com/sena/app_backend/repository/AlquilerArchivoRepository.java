@@ -0,0 +1,41 @@
+package com.sena.app_backend.repository;
+
+import com.sena.app_backend.model.AlquilerArchivo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AlquilerArchivoRepository extends JpaRepository<AlquilerArchivo, Long> {
+
+  /** IDs del siguiente lote de alquileres CERRADO que terminaron antes de {@code limite}. */
+  @Query(value = """
+      SELECT id FROM alquiler
+       WHERE estado = 'CERRADO' AND fecha_fin < :limite
+       ORDER BY id LIMIT :lote
+      """, nativeQuery = true)
+  List<Long> idsArchivables(@Param("limite") LocalDateTime limite, @Param("lote") int lote);
+
+  /** Copia los alquileres indicados al archivo. */
+  @Modifying
+  @Query(value = """
+      INSERT INTO alquiler_archivo (id, usuario_id, maquina_id, plan_id, fecha_inicio, fecha_fin,
+                                    precio_alquiler, costo_total, estado, monto_devuelto,
+                                    ganancia_plataforma, ganancia_acumulada, archivado)
+      SELECT id, usuario_id, maquina_id, plan_id, fecha_inicio, fecha_fin,
+             precio_alquiler, costo_total, estado, monto_devuelto, ganancia_plataforma,
+             ganancia_acumulada, :ahora
+        FROM alquiler WHERE id IN (:ids)
+      """, nativeQuery = true)
+  int copiar(@Param("ids") List<Long> ids, @Param("ahora") LocalDateTime ahora);
+
+  List<AlquilerArchivo> findByUsuarioIdAndFechaFinBetweenOrderByFechaFinDesc(
+      Long usuarioId, LocalDateTime desde, LocalDateTime hasta);
+
+  @Modifying
+  @Query("DELETE FROM AlquilerArchivo a WHERE a.usuarioId = :usuarioId")
+  int borrarPorUsuario(@Param("usuarioId") Long usuarioId);
+}
@@ -2,11 +2,17 @@ package com.sena.app_backend.repository;
 
 import com.sena.app_backend.model.Alquiler;
 import com.sena.app_backend.model.EstadoAlquiler;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Interfaz que define el repositorio para la entidad Alquiler.
@@ -17,4 +23,36 @@ public interface AlquilerRepository extends JpaRepository<Alquiler, Long> {
   List<Alquiler> findByUsuarioId(Long usuarioId);
   List<Alquiler> findByEstadoAndFechaFinBefore(EstadoAlquiler estado, LocalDateTime fecha);
   List<Alquiler> findByUsuarioIdAndEstado(Long usuarioId, EstadoAlquiler estado);
+  List<Alquiler> findByUsuarioIdAndEstadoAndFechaFinBetweenOrderByFechaFinDesc(
+      Long usuarioId, EstadoAlquiler estado, LocalDateTime desde, LocalDateTime hasta);
+
+  /** Borra por ID sin cargar las entidades (archivado). */
+  /**
+   * Pasa un alquiler de PENDIENTE a ACTIVO. El UPDATE condicional bloquea la fila: si dos
+   * workers procesan el mismo alquiler, el segundo espera al primero y recibe 0.
+   */
+  @Modifying
+  @Query("UPDATE Alquiler a SET a.estado = com.sena.app_backend.model.EstadoAlquiler.ACTIVO " +
+      "WHERE a.id = :id AND a.estado = com.sena.app_backend.model.EstadoAlquiler.PENDIENTE")
+  int reclamarActivacion(@Param("id") Long id);
+
+  /**
+   * Alquiler bloqueado (FOR UPDATE) hasta el fin de la transacción. El cierre lo usa para
+   * leer {@code gananciaAcumulada} sin que una página del devengo la cambie en medio.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT a FROM Alquiler a WHERE a.id = :id")
+  Optional<Alquiler> bloquear(@Param("id") Long id);
+
+  @Modifying
+  @Query("DELETE FROM Alquiler a WHERE a.id IN :ids")
+  int deleteByIds(@Param("ids") List<Long> ids);
+
+  /** Alquiler solo si pertenece al usuario: la propiedad se verifica en la misma consulta. */
+  Optional<Alquiler> findByIdAndUsuarioId(Long id, Long usuarioId);
+
+  /** Borra todos los alquileres de un usuario en una sentencia (eliminación de usuarios). */
+  @Modifying
+  @Query("DELETE FROM Alquiler a WHERE a.usuario.id = :usuarioId")
+  int borrarPorUsuario(@Param("usuarioId") Long usuarioId);
 }
@@ -0,0 +1,37 @@
+package com.sena.app_backend.repository;
+
+import com.sena.app_backend.model.CheckpointDevengo;
+import com.sena.app_backend.model.EstadoTrabajo;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface CheckpointDevengoRepository extends JpaRepository<CheckpointDevengo, Long> {
+
+  Optional<CheckpointDevengo> findByDia(LocalDate dia);
+
+  /**
+   * Checkpoint bloqueado (FOR UPDATE) durante la transacción de una página: si dos nodos
+   * devengan el mismo día, el segundo espera y lee el cursor ya avanzado.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT c FROM CheckpointDevengo c WHERE c.dia = :dia")
+  Optional<CheckpointDevengo> bloquear(@Param("dia") LocalDate dia);
+
+  Optional<CheckpointDevengo> findTopByEstadoOrderByDiaDesc(EstadoTrabajo estado);
+
+  /** Crea el checkpoint del día si no existe (INSERT IGNORE, seguro con varios nodos). */
+  @Transactional
+  @Modifying
+  @Query(value = "INSERT IGNORE INTO checkpoint_devengo (dia, ultimo_alquiler_id, estado, alquileres, total, actualizado) "
+      + "VALUES (:dia, 0, 'PROCESANDO', 0, 0, :ahora)", nativeQuery = true)
+  int crear(@Param("dia") LocalDate dia, @Param("ahora") LocalDateTime ahora);
+}
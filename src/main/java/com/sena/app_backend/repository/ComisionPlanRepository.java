@@ -0,0 +1,29 @@
+package com.sena.app_backend.repository;
+
+import com.sena.app_backend.model.ComisionPlan;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ComisionPlanRepository extends JpaRepository<ComisionPlan, Long> {
+
+  /** Comisiones activas con su plan ya cargado (solo se consulta al recargar la tabla en memoria). */
+  @Query("SELECT c FROM ComisionPlan c LEFT JOIN FETCH c.plan WHERE c.activa = true")
+  List<ComisionPlan> findActivas();
+
+  @Query("SELECT c FROM ComisionPlan c LEFT JOIN FETCH c.plan")
+  List<ComisionPlan> findAllConPlan();
+
+  /**
+   * Desactiva las demás comisiones del mismo plan (o las de por defecto si planId es null).
+   * id es null cuando la comisión aún no existe.
+   */
+  @Modifying
+  @Query("UPDATE ComisionPlan c SET c.activa = false " +
+      "WHERE c.activa = true AND (:id IS NULL OR c.id <> :id) " +
+      "AND ((:planId IS NULL AND c.plan IS NULL) OR c.plan.id = :planId)")
+  int desactivarOtras(@Param("id") Long id, @Param("planId") Long planId);
+}
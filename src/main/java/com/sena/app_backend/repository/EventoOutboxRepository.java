@@ -0,0 +1,34 @@
+package com.sena.app_backend.repository;
+
+import com.sena.app_backend.model.EventoOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+  /**
+   * Siguiente lote de eventos sin publicar, bloqueado para este relay.
+   * Con SKIP LOCKED (timeout -2) otros nodos saltan las filas bloqueadas en lugar de esperar.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query("SELECT e FROM EventoOutbox e WHERE e.publicado = false ORDER BY e.id")
+  List<EventoOutbox> findPendientes(Pageable pagina);
+
+  @Modifying
+  @Query("UPDATE EventoOutbox e SET e.publicado = true, e.publicadoEn = :ahora WHERE e.id IN :ids")
+  int marcarPublicados(@Param("ids") List<Long> ids, @Param("ahora") LocalDateTime ahora);
+
+  /** Borra los eventos ya publicados hace más de la retención configurada. */
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM EventoOutbox e WHERE e.publicado = true AND e.publicadoEn < :limite")
+  int deletePublicadosAntesDe(@Param("limite") LocalDateTime limite);
+}
@@ -4,8 +4,13 @@ import com.sena.app_backend.model.EstadoMaquina;
 import com.sena.app_backend.model.Maquina;
 import com.sena.app_backend.model.NivelRecursos;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -15,8 +20,25 @@ import java.util.Optional;
 @Repository
 public interface MaquinaRepository extends JpaRepository<Maquina, Long> {
   Optional<Maquina> findBySerial(String serial);
+
+  /** Seriales de la lista que ya existen; una sola consulta por lote de importación. */
+  @Query("SELECT m.serial FROM Maquina m WHERE m.serial IN :seriales")
+  List<String> findSerialesExistentes(@Param("seriales") Collection<String> seriales);
+
   Optional<Maquina> findFirstByEstadoAndRecursos(
       EstadoMaquina estado,
       NivelRecursos recursos
   );
+
+  /** Filas [NivelRecursos, EstadoMaquina, Long cantidad] para el muestreo de utilización. */
+  @Query("SELECT m.recursos, m.estado, COUNT(m) FROM Maquina m GROUP BY m.recursos, m.estado")
+  List<Object[]> contarPorRecursosYEstado();
+
+  /** Deja DISPONIBLE las máquinas de los alquileres ACTIVO o PENDIENTE de un usuario. */
+  @Modifying
+  @Query("UPDATE Maquina m SET m.estado = com.sena.app_backend.model.EstadoMaquina.DISPONIBLE "
+      + "WHERE m.id IN (SELECT a.maquina.id FROM Alquiler a WHERE a.usuario.id = :usuarioId "
+      + "AND a.estado IN (com.sena.app_backend.model.EstadoAlquiler.ACTIVO, "
+      + "com.sena.app_backend.model.EstadoAlquiler.PENDIENTE))")
+  int liberarPorUsuario(@Param("usuarioId") Long usuarioId);
 }
@@ -2,6 +2,10 @@ package com.sena.app_backend.repository;
 
 import com.sena.app_backend.model.Monedero;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +16,18 @@ import java.util.Optional;
 public interface MonederoRepository extends JpaRepository<Monedero, Long> {
   List<Monedero> findByUsuarioId(Long usuarioId);
   Optional<Monedero> findByIdAndUsuarioId(Long id, Long usuarioId);
-}
\ No newline at end of file
+
+  /** Chequeo de propiedad por PK + FK usuario_id (SELECT ... LIMIT 1, sin cargar la entidad). */
+  boolean existsByIdAndUsuarioId(Long id, Long usuarioId);
+
+  /** Variante por email para tokens sin claim "uid". */
+  boolean existsByIdAndUsuarioEmail(Long id, String email);
+
+  @Query("SELECT m.id FROM Monedero m WHERE m.usuario.id = :usuarioId")
+  List<Long> findIdsByUsuarioId(@Param("usuarioId") Long usuarioId);
+
+  /** Borra los monederos de un usuario; sus transacciones deben borrarse antes. */
+  @Modifying
+  @Query("DELETE FROM Monedero m WHERE m.usuario.id = :usuarioId")
+  int borrarPorUsuario(@Param("usuarioId") Long usuarioId);
+}
@@ -0,0 +1,56 @@
+package com.sena.app_backend.repository;
+
+import com.sena.app_backend.model.MuestraUtilizacion;
+import com.sena.app_backend.model.NivelRecursos;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MuestraUtilizacionRepository extends JpaRepository<MuestraUtilizacion, Long> {
+
+  /**
+   * Guarda una muestra; si otro nodo ya registró el mismo instante la reemplaza.
+   */
+  @Modifying
+  @Query(value = """
+      INSERT INTO muestra_utilizacion (instante, resolucion, recursos, estado, cantidad, maximo)
+      VALUES (:instante, :resolucion, :recursos, :estado, :cantidad, :cantidad)
+      ON DUPLICATE KEY UPDATE cantidad = :cantidad, maximo = :cantidad
+      """, nativeQuery = true)
+  void registrar(@Param("instante") LocalDateTime instante,
+                 @Param("resolucion") int resolucion,
+                 @Param("recursos") String recursos,
+                 @Param("estado") String estado,
+                 @Param("cantidad") int cantidad);
+
+  /**
+   * Reduce a una fila por hora las muestras de la resolución indicada anteriores a {@code limite}.
+   * {@code limite} debe ser una hora exacta para no partir horas.
+   */
+  @Modifying
+  @Query(value = """
+      INSERT INTO muestra_utilizacion (instante, resolucion, recursos, estado, cantidad, maximo)
+      SELECT * FROM (
+        SELECT DATE_FORMAT(instante, '%Y-%m-%d %H:00:00') AS instante, 3600 AS resolucion, recursos, estado,
+               AVG(cantidad) AS cantidad, MAX(maximo) AS maximo
+          FROM muestra_utilizacion
+         WHERE resolucion = :resolucion AND instante < :limite
+         GROUP BY DATE_FORMAT(instante, '%Y-%m-%d %H:00:00'), recursos, estado
+      ) AS nuevo
+      ON DUPLICATE KEY UPDATE cantidad = nuevo.cantidad, maximo = nuevo.maximo
+      """, nativeQuery = true)
+  int reducirAHoras(@Param("resolucion") int resolucion, @Param("limite") LocalDateTime limite);
+
+  @Modifying
+  @Query("DELETE FROM MuestraUtilizacion m WHERE m.resolucion = :resolucion AND m.instante < :limite")
+  int deleteAnteriores(@Param("resolucion") int resolucion, @Param("limite") LocalDateTime limite);
+
+  List<MuestraUtilizacion> findByInstanteBetweenOrderByInstanteAsc(LocalDateTime desde, LocalDateTime hasta);
+
+  List<MuestraUtilizacion> findByRecursosAndInstanteBetweenOrderByInstanteAsc(
+      NivelRecursos recursos, LocalDateTime desde, LocalDateTime hasta);
+}
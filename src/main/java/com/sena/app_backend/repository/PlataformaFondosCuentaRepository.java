@@ -1,9 +1,42 @@
 package com.sena.app_backend.repository;
 
 import com.sena.app_backend.model.PlataformaFondosCuenta;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PlataformaFondosCuentaRepository extends JpaRepository<PlataformaFondosCuenta, Long> {
   Optional<PlataformaFondosCuenta> findByUsuarioId(Long usuarioId);
+
+  /**
+   * Cuenta del usuario bloqueada (FOR UPDATE) hasta el fin de la transacción: dos
+   * transacciones concurrentes sobre la misma cuenta se aplican una tras otra sobre el
+   * balance ya actualizado, igual que los lotes de {@link #bloquearPorUsuarios}.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT c FROM PlataformaFondosCuenta c WHERE c.usuario.id = :usuarioId")
+  Optional<PlataformaFondosCuenta> bloquearPorUsuarioId(@Param("usuarioId") Long usuarioId);
+
+  /**
+   * Bloquea (FOR UPDATE) las cuentas de varios usuarios en orden de id, para que lotes
+   * concurrentes no se interbloqueen. Filas [id, usuario_id, balance].
+   */
+  @Query(value = "SELECT id, usuario_id, balance FROM platforma_fondos_cuenta "
+      + "WHERE usuario_id IN (:usuarioIds) ORDER BY id FOR UPDATE", nativeQuery = true)
+  List<Object[]> bloquearPorUsuarios(@Param("usuarioIds") Collection<Long> usuarioIds);
+
+  @Query("SELECT c.id FROM PlataformaFondosCuenta c WHERE c.usuario.id = :usuarioId")
+  Optional<Long> findIdByUsuarioId(@Param("usuarioId") Long usuarioId);
+
+  /** Borra la cuenta de un usuario; sus transacciones deben borrarse antes. */
+  @Modifying
+  @Query("DELETE FROM PlataformaFondosCuenta c WHERE c.usuario.id = :usuarioId")
+  int borrarPorUsuario(@Param("usuarioId") Long usuarioId);
 }
@@ -2,10 +2,29 @@ package com.sena.app_backend.repository;
 
 import com.sena.app_backend.model.PlataformaTransaccionCuenta;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface PlataformaTransaccionCuentaRepository extends JpaRepository<PlataformaTransaccionCuenta, Long> {
   List<PlataformaTransaccionCuenta> findByAccountIdOrderByFechaTransaccionDesc(Long accountId);
 
   Iterable<? extends PlataformaTransaccionCuenta> findByAccountId(Long accountId);
+
+  List<PlataformaTransaccionCuenta> findByAccountIdAndFechaTransaccionBetweenOrderByFechaTransaccionDesc(
+      Long accountId, LocalDateTime desde, LocalDateTime hasta);
+
+  /** Borra por ID sin cargar las entidades (archivado). */
+  @Modifying
+  @Query("DELETE FROM PlataformaTransaccionCuenta t WHERE t.id IN :ids")
+  int deleteByIds(@Param("ids") List<Long> ids);
+
+  /** Borra las transacciones de la cuenta de plataforma de un usuario (eliminación de usuarios). */
+  @Modifying
+  @Query("DELETE FROM PlataformaTransaccionCuenta t WHERE t.account.id IN "
+      + "(SELECT c.id FROM PlataformaFondosCuenta c WHERE c.usuario.id = :usuarioId)")
+  int borrarPorUsuario(@Param("usuarioId") Long usuarioId);
 }
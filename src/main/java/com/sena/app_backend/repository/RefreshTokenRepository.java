@@ -6,6 +6,7 @@ import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -42,4 +43,9 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
    * @return Un Optional que contiene el RefreshToken si se encuentra, o vacío si no.
    */
   List<RefreshToken> findByUserId(Long id);
-}
\ No newline at end of file
+
+  /** Borra los tokens de refresco de un usuario por ID. */
+  @Modifying
+  @Query("DELETE FROM RefreshToken rt WHERE rt.user.id = :usuarioId")
+  int borrarPorUsuario(@Param("usuarioId") Long usuarioId);
+}
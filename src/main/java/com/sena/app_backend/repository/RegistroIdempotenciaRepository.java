@@ -0,0 +1,53 @@
+package com.sena.app_backend.repository;
+
+import com.sena.app_backend.model.EstadoIdempotencia;
+import com.sena.app_backend.model.RegistroIdempotencia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface RegistroIdempotenciaRepository extends JpaRepository<RegistroIdempotencia, Long> {
+
+  Optional<RegistroIdempotencia> findByUsuarioIdAndOperacionAndClave(Long usuarioId, String operacion, String clave);
+
+  /**
+   * Pasa a COMPLETADO el registro reclamado con su respuesta. Se ejecuta en la misma
+   * transacción que la operación: devuelve 0 si el registro ya no está EN_CURSO (otro nodo
+   * lo reclamó al vencer), y entonces la operación debe revertirse.
+   */
+  @Modifying
+  @Query("UPDATE RegistroIdempotencia r SET r.estado = :completado, r.respuesta = :respuesta, r.expira = :expira "
+      + "WHERE r.id = :id AND r.estado = :enCurso")
+  int completar(@Param("id") Long id, @Param("respuesta") String respuesta, @Param("expira") Instant expira,
+                @Param("completado") EstadoIdempotencia completado, @Param("enCurso") EstadoIdempotencia enCurso);
+
+  /**
+   * Borra un registro solo si sigue vencido. Con un EN_CURSO que justo se completa, el
+   * DELETE espera el bloqueo de la fila y ya no la encuentra vencida.
+   */
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM RegistroIdempotencia r WHERE r.id = :id AND r.expira < :ahora")
+  int borrarSiVencido(@Param("id") Long id, @Param("ahora") Instant ahora);
+
+  /** Libera un registro que sigue EN_CURSO tras una operación revertida. */
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM RegistroIdempotencia r WHERE r.id = :id AND r.estado = :enCurso")
+  int liberar(@Param("id") Long id, @Param("enCurso") EstadoIdempotencia enCurso);
+
+  /** Elimina en una sola sentencia los registros vencidos. */
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM RegistroIdempotencia r WHERE r.expira < :ahora")
+  int deleteVencidos(@Param("ahora") Instant ahora);
+
+  @Modifying
+  @Query("DELETE FROM RegistroIdempotencia r WHERE r.usuarioId = :usuarioId")
+  int borrarPorUsuario(@Param("usuarioId") Long usuarioId);
+}
@@ -0,0 +1,49 @@
+package com.sena.app_backend.repository;
+
+import com.sena.app_backend.model.EstadoTrabajo;
+import com.sena.app_backend.model.TrabajoEliminacion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface TrabajoEliminacionRepository extends JpaRepository<TrabajoEliminacion, Long> {
+
+  Optional<TrabajoEliminacion> findByUsuarioId(Long usuarioId);
+
+  List<TrabajoEliminacion> findTop10ByEstadoOrderByIdAsc(EstadoTrabajo estado);
+
+  /**
+   * IDs de usuarios cuyos tokens de acceso ya no deben aceptarse: eliminación en curso
+   * o completada después de {@code desde} (un token emitido antes puede seguir vigente).
+   */
+  @Query("SELECT t.usuarioId FROM TrabajoEliminacion t " +
+      "WHERE t.estado <> com.sena.app_backend.model.EstadoTrabajo.COMPLETADO OR t.actualizado > :desde")
+  List<Long> findUsuariosBloqueados(@Param("desde") LocalDateTime desde);
+
+  /** Toma un trabajo PENDIENTE; devuelve 1 solo a un nodo. */
+  @Transactional
+  @Modifying
+  @Query("UPDATE TrabajoEliminacion t SET t.estado = com.sena.app_backend.model.EstadoTrabajo.PROCESANDO, " +
+      "t.actualizado = :ahora WHERE t.id = :id AND t.estado = com.sena.app_backend.model.EstadoTrabajo.PENDIENTE")
+  int tomar(@Param("id") Long id, @Param("ahora") LocalDateTime ahora);
+
+  /** Registra el avance de un lote; se ejecuta en la transacción del lote. */
+  @Modifying
+  @Query("UPDATE TrabajoEliminacion t SET t.paso = :paso, t.filasBorradas = t.filasBorradas + :filas, " +
+      "t.actualizado = :ahora WHERE t.id = :id")
+  int avanzar(@Param("id") Long id, @Param("paso") String paso, @Param("filas") long filas,
+              @Param("ahora") LocalDateTime ahora);
+
+  /** Devuelve a PENDIENTE los trabajos que quedaron PROCESANDO por la caída de un nodo. */
+  @Transactional
+  @Modifying
+  @Query("UPDATE TrabajoEliminacion t SET t.estado = com.sena.app_backend.model.EstadoTrabajo.PENDIENTE " +
+      "WHERE t.estado = com.sena.app_backend.model.EstadoTrabajo.PROCESANDO AND t.actualizado < :limite")
+  int liberarAbandonados(@Param("limite") LocalDateTime limite);
+}
@@ -0,0 +1,52 @@
+package com.sena.app_backend.repository;
+
+import com.sena.app_backend.model.EstadoTrabajo;
+import com.sena.app_backend.model.TrabajoProvisionamiento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TrabajoProvisionamientoRepository extends JpaRepository<TrabajoProvisionamiento, Long> {
+
+  /** Siguiente lote de trabajos listos para procesar, en orden de llegada. */
+  List<TrabajoProvisionamiento> findTop50ByEstadoAndDisponibleDesdeLessThanEqualOrderByIdAsc(
+      EstadoTrabajo estado, LocalDateTime ahora);
+
+  Optional<TrabajoProvisionamiento> findByAlquilerId(Long alquilerId);
+
+  /**
+   * Toma un trabajo PENDIENTE para este worker. Devuelve 1 solo a un nodo aunque
+   * varios intenten tomar el mismo trabajo a la vez.
+   */
+  @Transactional
+  @Modifying
+  @Query("UPDATE TrabajoProvisionamiento t SET t.estado = com.sena.app_backend.model.EstadoTrabajo.PROCESANDO, " +
+      "t.actualizado = :ahora WHERE t.id = :id AND t.estado = com.sena.app_backend.model.EstadoTrabajo.PENDIENTE")
+  int tomar(@Param("id") Long id, @Param("ahora") LocalDateTime ahora);
+
+  /** Devuelve a PENDIENTE los trabajos que quedaron PROCESANDO por la caída de un nodo. */
+  @Transactional
+  @Modifying
+  @Query("UPDATE TrabajoProvisionamiento t SET t.estado = com.sena.app_backend.model.EstadoTrabajo.PENDIENTE " +
+      "WHERE t.estado = com.sena.app_backend.model.EstadoTrabajo.PROCESANDO AND t.actualizado < :limite")
+  int liberarAbandonados(@Param("limite") LocalDateTime limite);
+
+  /** Borra los trabajos de los alquileres indicados (archivado de alquileres cerrados). */
+  @Modifying
+  @Query("DELETE FROM TrabajoProvisionamiento t WHERE t.alquiler.id IN :ids")
+  int deleteByAlquilerIds(@Param("ids") List<Long> ids);
+
+  /** Borra los trabajos de todos los alquileres de un usuario (eliminación de usuarios). */
+  @Modifying
+  @Query("DELETE FROM TrabajoProvisionamiento t WHERE t.alquiler.id IN "
+      + "(SELECT a.id FROM Alquiler a WHERE a.usuario.id = :usuarioId)")
+  int borrarPorUsuario(@Param("usuarioId") Long usuarioId);
+}
@@ -0,0 +1,37 @@
+package com.sena.app_backend.repository;
+
+import com.sena.app_backend.model.TransaccionArchivo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TransaccionArchivoRepository extends JpaRepository<TransaccionArchivo, Long> {
+
+  /** IDs del siguiente lote de transacciones de monedero anteriores a {@code limite}. */
+  @Query(value = """
+      SELECT id FROM transaccion
+       WHERE fecha_transaccion < :limite
+       ORDER BY id LIMIT :lote
+      """, nativeQuery = true)
+  List<Long> idsArchivables(@Param("limite") LocalDateTime limite, @Param("lote") int lote);
+
+  /** Copia las transacciones indicadas al archivo. */
+  @Modifying
+  @Query(value = """
+      INSERT INTO transaccion_archivo (id, monedero_id, tipo, monto, fecha_transaccion, archivado)
+      SELECT id, monedero_id, tipo, monto, fecha_transaccion, :ahora
+        FROM transaccion WHERE id IN (:ids)
+      """, nativeQuery = true)
+  int copiar(@Param("ids") List<Long> ids, @Param("ahora") LocalDateTime ahora);
+
+  List<TransaccionArchivo> findByMonederoIdAndFechaTransaccionBetweenOrderByFechaTransaccionDesc(
+      Long monederoId, LocalDateTime desde, LocalDateTime hasta);
+
+  @Modifying
+  @Query("DELETE FROM TransaccionArchivo t WHERE t.monederoId IN :monederoIds")
+  int borrarPorMonederos(@Param("monederoIds") List<Long> monederoIds);
+}
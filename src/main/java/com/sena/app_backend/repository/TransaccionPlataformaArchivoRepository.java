@@ -0,0 +1,38 @@
+package com.sena.app_backend.repository;
+
+import com.sena.app_backend.model.TransaccionPlataformaArchivo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TransaccionPlataformaArchivoRepository extends JpaRepository<TransaccionPlataformaArchivo, Long> {
+
+  /** IDs del siguiente lote de transacciones anteriores a {@code limite}. */
+  @Query(value = """
+      SELECT id FROM platforma_transaccion_cuenta
+       WHERE fecha_transaccion < :limite
+       ORDER BY id LIMIT :lote
+      """, nativeQuery = true)
+  List<Long> idsArchivables(@Param("limite") LocalDateTime limite, @Param("lote") int lote);
+
+  /** Copia las transacciones indicadas al archivo. */
+  @Modifying
+  @Query(value = """
+      INSERT INTO platforma_transaccion_cuenta_archivo (id, account_id, tipo, monto, balance_posterior,
+                                                        fecha_transaccion, archivado)
+      SELECT id, account_id, tipo, monto, balance_posterior, fecha_transaccion, :ahora
+        FROM platforma_transaccion_cuenta WHERE id IN (:ids)
+      """, nativeQuery = true)
+  int copiar(@Param("ids") List<Long> ids, @Param("ahora") LocalDateTime ahora);
+
+  List<TransaccionPlataformaArchivo> findByAccountIdAndFechaTransaccionBetweenOrderByFechaTransaccionDesc(
+      Long accountId, LocalDateTime desde, LocalDateTime hasta);
+
+  @Modifying
+  @Query("DELETE FROM TransaccionPlataformaArchivo t WHERE t.accountId = :accountId")
+  int borrarPorCuenta(@Param("accountId") Long accountId);
+}
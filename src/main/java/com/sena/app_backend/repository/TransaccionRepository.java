@@ -2,6 +2,11 @@ package com.sena.app_backend.repository;
 
 import com.sena.app_backend.model.Transaccion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -11,4 +16,18 @@ import java.util.List;
 public interface TransaccionRepository extends JpaRepository<Transaccion, Long> {
 
   List<Transaccion> findByMonederoIdOrderByFechaTransaccionDesc(Long monederoId);
+
+  List<Transaccion> findByMonederoIdAndFechaTransaccionBetweenOrderByFechaTransaccionDesc(
+      Long monederoId, LocalDateTime desde, LocalDateTime hasta);
+
+  /** Borra por ID sin cargar las entidades (archivado). */
+  @Modifying
+  @Query("DELETE FROM Transaccion t WHERE t.id IN :ids")
+  int deleteByIds(@Param("ids") List<Long> ids);
+
+  /** Borra las transacciones de todos los monederos de un usuario (eliminación de usuarios). */
+  @Modifying
+  @Query("DELETE FROM Transaccion t WHERE t.monedero.id IN "
+      + "(SELECT m.id FROM Monedero m WHERE m.usuario.id = :usuarioId)")
+  int borrarPorUsuario(@Param("usuarioId") Long usuarioId);
 }
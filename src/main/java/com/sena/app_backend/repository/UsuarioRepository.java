@@ -2,6 +2,9 @@ package com.sena.app_backend.repository;
 
 import com.sena.app_backend.model.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -15,4 +18,8 @@ import java.util.Optional;
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
   Optional<Usuario> findByEmail(String email);
+
+  @Modifying
+  @Query("DELETE FROM Usuario u WHERE u.id = :id")
+  int borrarPorId(@Param("id") Long id);
 }
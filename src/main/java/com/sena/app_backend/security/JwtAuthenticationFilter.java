@@ -16,12 +16,16 @@ import java.util.List;
 /**
  * Este filtro se encarga de interceptar las peticiones HTTP y verificar si
  * contienen un token JWT válido en la cabecera Authorization.
- * Si el token es válido, se establece la autenticación en el contexto de seguridad.
+ * Si el token es válido, se establece la autenticación en el contexto de seguridad
+ * con un {@link UsuarioPrincipal} construido a partir de los claims (sin consultar la BD).
+ * Los tokens de usuarios con eliminación solicitada ({@link UsuariosBloqueados}) se ignoran
+ * y la petición sigue como anónima.
  */
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
   private final JwtUtil jwtUtil;
+  private final UsuariosBloqueados usuariosBloqueados;
 
   /**
    * Método que se ejecuta para filtrar las peticiones HTTP.
@@ -46,9 +50,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         DecodedJWT jwt = jwtUtil.getDecodedJWT(token);
         String username = jwt.getSubject();
         String role = jwt.getClaim("rol").asString();
+        Long userId = jwt.getClaim("uid").asLong();
+        if (usuariosBloqueados.estaBloqueado(userId)) {
+          chain.doFilter(request, response);
+          return;
+        }
+        UsuarioPrincipal principal = new UsuarioPrincipal(userId, username, role);
         UsernamePasswordAuthenticationToken auth =
             new UsernamePasswordAuthenticationToken(
-                username,
+                principal,
                 null,
                 List.of(new SimpleGrantedAuthority(role))
             );
@@ -41,17 +41,20 @@ public class JwtUtil {
   }
 
   /**
-   * Genera un token JWT para un usuario específico con su rol.
+   * Genera un token JWT para un usuario específico con su rol e ID.
+   * El ID viaja en el claim "uid" para evitar consultar la tabla usuario en cada petición.
    *
    * @param username el nombre de usuario para el cual se genera el token
    * @param role     el rol del usuario (p.ej. "ADMIN", "USER")
+   * @param userId   el ID del usuario
    * @return el token JWT generado
    */
-  public String generateToken(String username, String role) {
+  public String generateToken(String username, String role, Long userId) {
     Date now = new Date();
     return JWT.create()
         .withSubject(username)
         .withClaim("rol", role)
+        .withClaim("uid", userId)
         .withIssuedAt(now)
         .withExpiresAt(new Date(now.getTime() + expirationMs))
         .sign(getAlgorithm());          // firma el token :contentReference[oaicite:7]{index=7}
@@ -1,8 +1,7 @@
 package com.sena.app_backend.security;
 
-import com.sena.app_backend.repository.AlquilerRepository;
+import com.sena.app_backend.model.Usuario;
 import com.sena.app_backend.repository.MonederoRepository;
-import com.sena.app_backend.repository.PlataformaFondosCuentaRepository;
 import com.sena.app_backend.repository.UsuarioRepository;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
@@ -10,44 +9,63 @@ import org.springframework.stereotype.Component;
 @Component("securityService")
 public class SecurityService {
   private final UsuarioRepository usuarioRepo;
-  private final AlquilerRepository alquilerRepo;
-  private final PlataformaFondosCuentaRepository cuentaRepo;
   private final MonederoRepository monederoRepo;
 
   public SecurityService(UsuarioRepository usuarioRepo,
-                         AlquilerRepository alquilerRepo,
-                         PlataformaFondosCuentaRepository cuentaRepo, MonederoRepository monederoRepo) {
+                         MonederoRepository monederoRepo) {
     this.usuarioRepo   = usuarioRepo;
-    this.alquilerRepo  = alquilerRepo;
-    this.cuentaRepo    = cuentaRepo;
     this.monederoRepo = monederoRepo;
   }
 
-  /** Verifica que el id pasado sea el del usuario autenticado */
-  public boolean isCurrentUser(Long usuarioId, Authentication auth) {
+  /**
+   * Devuelve el ID del usuario autenticado.
+   * Si el JWT trae el claim "uid" no se consulta la BD; con tokens antiguos
+   * se resuelve por email.
+   */
+  public Long currentUserId(Authentication auth) {
+    return UsuarioPrincipal.de(auth)
+        .map(UsuarioPrincipal::getId)
+        .orElseGet(() -> usuarioRepo.findByEmail(auth.getName())
+            .map(Usuario::getId)
+            .orElseThrow(() -> new RuntimeException("Usuario no encontrado: " + auth.getName())));
+  }
+
+  /**
+   * Devuelve el usuario autenticado para usarlo en asociaciones JPA.
+   * Si el ID viene en el JWT se devuelve una referencia perezosa (sin SELECT);
+   * solo se carga la fila si se accede a campos distintos del ID.
+   */
+  public Usuario currentUser(Authentication auth) {
+    Long id = UsuarioPrincipal.de(auth).map(UsuarioPrincipal::getId).orElse(null);
+    if (id != null) {
+      return usuarioRepo.getReferenceById(id);
+    }
     return usuarioRepo.findByEmail(auth.getName())
-        .map(u -> u.getId().equals(usuarioId))
-        .orElse(false);
+        .orElseThrow(() -> new RuntimeException("Usuario no encontrado: " + auth.getName()));
   }
 
-  /** Verifica que el alquiler pertenezca al usuario autenticado */
-  public boolean isAlquilerOwner(Long alquilerId, Authentication auth) {
-    return alquilerRepo.findById(alquilerId)
-        .map(a -> a.getUsuario().getEmail().equals(auth.getName()))
-        .orElse(false);
+  /** Verifica que el id pasado sea el del usuario autenticado */
+  public boolean isCurrentUser(Long usuarioId, Authentication auth) {
+    return UsuarioPrincipal.de(auth)
+        .map(UsuarioPrincipal::getId)
+        .map(id -> id.equals(usuarioId))
+        .orElseGet(() -> usuarioRepo.findByEmail(auth.getName())
+            .map(u -> u.getId().equals(usuarioId))
+            .orElse(false));
   }
 
-  /** Verifica que la cuenta de la plataforma pertenezca al usuario */
-  public boolean isCuentaOwner(Long usuarioId, Authentication auth) {
-    return cuentaRepo.findByUsuarioId(usuarioId)
-        .map(c -> c.getUsuario().getEmail().equals(auth.getName()))
-        .orElse(false);
+  /** Indica si el usuario autenticado es ADMINISTRADOR */
+  public boolean isAdmin(Authentication auth) {
+    return auth != null && auth.getAuthorities().stream()
+        .anyMatch(a -> a.getAuthority().equals("ADMINISTRADOR"));
   }
 
   /** Verifica que el monedero pertenezca al usuario autenticado */
   public boolean isMonederoOwner(Long monederoId, Authentication auth) {
-    return monederoRepo.findById(monederoId)
-        .map(m -> m.getUsuario().getEmail().equals(auth.getName()))
-        .orElse(false);
+    Long usuarioId = UsuarioPrincipal.de(auth).map(UsuarioPrincipal::getId).orElse(null);
+    if (usuarioId == null) {
+      return monederoRepo.existsByIdAndUsuarioEmail(monederoId, auth.getName());
+    }
+    return monederoRepo.existsByIdAndUsuarioId(monederoId, usuarioId);
   }
 }
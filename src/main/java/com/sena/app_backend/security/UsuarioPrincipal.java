@@ -0,0 +1,53 @@
+package com.sena.app_backend.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.Authentication;
+
+import java.io.Serializable;
+import java.security.Principal;
+import java.util.Optional;
+
+/**
+ * Principal ligero que se construye una sola vez por petición en
+ * {@link JwtAuthenticationFilter} a partir de los claims del JWT.
+ * <p>
+ * Contiene el id, email y rol del usuario autenticado, de modo que los chequeos
+ * de propiedad y los servicios no necesitan consultar la tabla usuario.
+ * {@link #getName()} devuelve el email, por lo que {@code auth.getName()} sigue
+ * funcionando igual que antes.
+ */
+@Getter
+@AllArgsConstructor
+public class UsuarioPrincipal implements Principal, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /** ID del usuario; puede ser null si el token fue emitido antes de incluir el claim "uid". */
+  private final Long id;
+  private final String email;
+  private final String rol;
+
+  @Override
+  public String getName() {
+    return email;
+  }
+
+  @Override
+  public String toString() {
+    return email;
+  }
+
+  /**
+   * Obtiene el principal resuelto de una autenticación, si existe.
+   *
+   * @param auth la autenticación actual (puede ser null)
+   * @return el principal si la autenticación proviene de un JWT
+   */
+  public static Optional<UsuarioPrincipal> de(Authentication auth) {
+    if (auth != null && auth.getPrincipal() instanceof UsuarioPrincipal p) {
+      return Optional.of(p);
+    }
+    return Optional.empty();
+  }
+}
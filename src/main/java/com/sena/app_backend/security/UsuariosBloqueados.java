@@ -0,0 +1,68 @@
+package com.sena.app_backend.security;
+
+import com.sena.app_backend.repository.TrabajoEliminacionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conjunto en memoria de usuarios con eliminación solicitada.
+ * <p>
+ * {@link JwtAuthenticationFilter} no consulta la BD, así que un token de acceso emitido
+ * antes de solicitar la eliminación seguiría siendo válido hasta expirar y el usuario
+ * podría crear filas en tablas que el worker ya recorrió. El filtro rechaza los IDs de
+ * este conjunto. El nodo que recibe la solicitud bloquea al usuario al momento
+ * ({@link #bloquear(Long)}); los demás lo ven al recargar desde trabajo_eliminacion cada
+ * {@code usuarios.eliminacion.bloqueoRefrescoMs}. Los trabajos completados se mantienen
+ * mientras un token emitido antes pueda seguir vigente ({@code jwt.expirationMs}).
+ */
+@Component
+public class UsuariosBloqueados {
+
+  private final TrabajoEliminacionRepository trabajoRepo;
+  private final long expiracionMs;
+
+  /** Último conjunto leído de la BD. */
+  private volatile Set<Long> cargados = Set.of();
+
+  /** Bloqueados en este nodo que aún no aparecen en {@link #cargados}. */
+  private final Set<Long> locales = ConcurrentHashMap.newKeySet();
+
+  public UsuariosBloqueados(TrabajoEliminacionRepository trabajoRepo,
+                            @Value("${jwt.expirationMs}") long expiracionMs) {
+    this.trabajoRepo = trabajoRepo;
+    this.expiracionMs = expiracionMs;
+  }
+
+  /**
+   * Indica si los tokens del usuario deben rechazarse.
+   *
+   * @param usuarioId ID del usuario (claim uid)
+   */
+  public boolean estaBloqueado(Long usuarioId) {
+    return usuarioId != null && (cargados.contains(usuarioId) || locales.contains(usuarioId));
+  }
+
+  /** Bloquea al usuario en este nodo sin esperar la siguiente recarga. */
+  public void bloquear(Long usuarioId) {
+    locales.add(usuarioId);
+  }
+
+  /** Recarga el conjunto; si la consulta falla se conserva el anterior. */
+  @Scheduled(fixedDelayString = "${usuarios.eliminacion.bloqueoRefrescoMs:5000}")
+  public void refrescar() {
+    try {
+      LocalDateTime desde = LocalDateTime.now().minus(expiracionMs, ChronoUnit.MILLIS);
+      Set<Long> nuevos = Set.copyOf(trabajoRepo.findUsuariosBloqueados(desde));
+      cargados = nuevos;
+      locales.removeIf(nuevos::contains);
+    } catch (RuntimeException e) {
+      System.err.printf("No se pudo recargar los usuarios bloqueados: %s%n", e.getMessage());
+    }
+  }
+}
@@ -5,9 +5,12 @@ import com.sena.app_backend.dto.response.AlquilerAdminResponse;
 import com.sena.app_backend.dto.response.AlquilerPreviewAdminDto;
 import com.sena.app_backend.dto.response.AlquilerPreviewUserDto;
 import com.sena.app_backend.dto.response.AlquilerResponse;
+import com.sena.app_backend.dto.response.EstadoAlquilerResponse;
 import com.sena.app_backend.model.Alquiler;
+import org.springframework.security.core.Authentication;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -19,9 +22,27 @@ public interface AlquilerService {
    * Crea un nuevo alquiler.
    *
    * @param req DTO que contiene la información necesaria para crear el alquiler.
+   * @param auth Información de autenticación del usuario que alquila.
    * @return DTO de respuesta con los detalles del alquiler creado.
    */
-  AlquilerResponse crearAlquiler(NuevoAlquilerRequest req, String userEmail);
+  AlquilerResponse crearAlquiler(NuevoAlquilerRequest req, Authentication auth);
+  /**
+   * Reserva una máquina y deja el alquiler PENDIENTE; el cobro y la activación
+   * se completan en segundo plano.
+   *
+   * @param req DTO que contiene la información necesaria para crear el alquiler.
+   * @param auth Información de autenticación del usuario que alquila.
+   * @return DTO de respuesta con el alquiler en estado PENDIENTE.
+   */
+  AlquilerResponse reservarAlquiler(NuevoAlquilerRequest req, Authentication auth);
+  /**
+   * Obtiene el estado de un alquiler.
+   *
+   * @param id ID del alquiler.
+   * @param usuarioId ID del dueño requerido, o null para administradores.
+   * @return estado del alquiler y motivo si falló.
+   */
+  EstadoAlquilerResponse obtenerEstado(Long id, Long usuarioId);
   /**
    * Lista todos los alquileres registrados.
    *
@@ -35,6 +56,15 @@ public interface AlquilerService {
    * @return DTO de respuesta con los detalles del alquiler.
    */
   AlquilerResponse obtenerAlquiler(Long id);
+  /**
+   * Obtiene un alquiler solo si pertenece al usuario indicado.
+   * La propiedad se valida en la misma consulta que carga el alquiler.
+   *
+   * @param id ID del alquiler a recuperar.
+   * @param usuarioId ID del usuario propietario.
+   * @return DTO de respuesta con los detalles del alquiler.
+   */
+  AlquilerResponse obtenerAlquilerDeUsuario(Long id, Long usuarioId);
   /**
    * Cierra un alquiler, actualizando su estado a CERRADO.
    *
@@ -90,9 +120,13 @@ public interface AlquilerService {
 
   /**
    * Lista los alquileres cerrados de un usuario específico.
+   * Sin rango devuelve los de la tabla activa; con rango (por fecha de fin) incluye
+   * también los archivados si el rango llega a la antigüedad de archivado.
    *
    * @param usuarioId ID del usuario cuyos alquileres cerrados se desean listar.
+   * @param desde inicio del rango (opcional)
+   * @param hasta fin del rango (opcional)
    * @return lista de DTOs de respuesta con los detalles de los alquileres cerrados.
    */
-  List<AlquilerResponse> listarCerradosPorUsuario(Long usuarioId);
+  List<AlquilerResponse> listarCerradosPorUsuario(Long usuarioId, LocalDateTime desde, LocalDateTime hasta);
 }
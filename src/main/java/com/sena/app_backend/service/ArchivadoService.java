@@ -0,0 +1,26 @@
+package com.sena.app_backend.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Mueve a tablas de archivo los alquileres CERRADO y las transacciones más
+ * antiguas que {@code archivado.edadDias}, por lotes y con pausas entre lotes.
+ */
+public interface ArchivadoService {
+
+  /** Inicio de los rangos sin fecha {@code desde}: incluye todo el historial. */
+  LocalDateTime ORIGEN = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+  /**
+   * Ejecuta una pasada de archivado sobre las tres tablas.
+   *
+   * @return cantidad de filas movidas
+   */
+  int archivar();
+
+  /**
+   * Indica si un rango que empieza en {@code desde} puede tener filas archivadas
+   * y por tanto hay que leer también las tablas de archivo.
+   */
+  boolean incluyeArchivo(LocalDateTime desde);
+}
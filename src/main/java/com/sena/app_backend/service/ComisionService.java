@@ -0,0 +1,41 @@
+package com.sena.app_backend.service;
+
+import com.sena.app_backend.dto.request.ComisionRequest;
+import com.sena.app_backend.dto.response.ComisionResponse;
+
+import java.util.List;
+
+/**
+ * Esta interfaz define los métodos para administrar las comisiones de la plataforma
+ * (por defecto y por plan).
+ */
+public interface ComisionService {
+  /**
+   * Crea una comisión. Si queda activa, desactiva la anterior del mismo plan.
+   *
+   * @param req datos de la comisión
+   * @return la comisión creada
+   */
+  ComisionResponse crearComision(ComisionRequest req);
+
+  /**
+   * Lista todas las comisiones, activas o no.
+   */
+  List<ComisionResponse> listarComisiones();
+
+  /**
+   * Actualiza una comisión existente.
+   *
+   * @param id  ID de la comisión
+   * @param req nuevos datos
+   * @return la comisión actualizada
+   */
+  ComisionResponse actualizarComision(Long id, ComisionRequest req);
+
+  /**
+   * Elimina una comisión.
+   *
+   * @param id ID de la comisión
+   */
+  void eliminarComision(Long id);
+}
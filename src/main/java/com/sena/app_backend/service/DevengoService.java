@@ -0,0 +1,19 @@
+package com.sena.app_backend.service;
+
+import java.time.LocalDate;
+
+/**
+ * Devengo diario de ganancias de minería de los alquileres ACTIVO: abona a la cuenta de
+ * plataforma de cada usuario la ganancia del día de cada uno de sus alquileres.
+ */
+public interface DevengoService {
+
+  /**
+   * Devenga un día. Si el día ya empezó a procesarse continúa desde su checkpoint;
+   * si ya se completó no hace nada.
+   *
+   * @param dia día a devengar
+   * @return cantidad de alquileres abonados en esta llamada
+   */
+  int devengar(LocalDate dia);
+}
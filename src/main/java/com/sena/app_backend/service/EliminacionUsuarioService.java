@@ -0,0 +1,35 @@
+package com.sena.app_backend.service;
+
+import com.sena.app_backend.dto.response.EstadoEliminacionResponse;
+
+/**
+ * Eliminación asíncrona de usuarios.
+ * La solicitud marca al usuario como pendiente de eliminación (ya no puede iniciar sesión)
+ * y un worker borra sus datos en segundo plano, por pasos y en lotes pequeños.
+ */
+public interface EliminacionUsuarioService {
+
+  /**
+   * Marca al usuario como pendiente de eliminación, revoca sus refresh tokens y
+   * encola el trabajo. Si ya había una solicitud devuelve su estado.
+   *
+   * @param usuarioId ID del usuario a eliminar
+   * @return estado inicial (o actual) de la eliminación
+   * @throws RuntimeException si el usuario no existe
+   */
+  EstadoEliminacionResponse solicitar(Long usuarioId);
+
+  /**
+   * Avance de la eliminación de un usuario.
+   *
+   * @throws RuntimeException si no hay eliminación solicitada para el usuario
+   */
+  EstadoEliminacionResponse obtenerEstado(Long usuarioId);
+
+  /**
+   * Procesa los trabajos pendientes.
+   *
+   * @return cantidad de usuarios eliminados por completo en esta pasada
+   */
+  int procesarPendientes();
+}
@@ -0,0 +1,30 @@
+package com.sena.app_backend.service;
+
+/**
+ * Registra eventos de dominio en el outbox transaccional.
+ * <p>
+ * Debe llamarse dentro de la transacción que hace el cambio: el evento se
+ * confirma o se descarta junto con él, y el relay lo publica después.
+ */
+public interface EventoOutboxService {
+
+  /** Movimiento en la cuenta de plataforma (agregado: cuenta; payload: TransaccionPlataformaResponse). */
+  String TRANSACCION_PLATAFORMA = "TRANSACCION_PLATAFORMA";
+
+  /** Movimiento entre monedero y plataforma (agregado: monedero; payload: TransaccionMonederoResponse). */
+  String TRANSACCION_MONEDERO = "TRANSACCION_MONEDERO";
+
+  /** Alquiler cerrado, normal o anticipadamente (agregado: alquiler; payload: AlquilerResponse). */
+  String ALQUILER_CERRADO = "ALQUILER_CERRADO";
+
+  /**
+   * Guarda un evento en la transacción actual.
+   *
+   * @param tipo       tipo de evento
+   * @param agregadoId ID de la entidad que cambió (cuenta, monedero, alquiler)
+   * @param usuarioId  usuario afectado
+   * @param payload    objeto que se serializa a JSON como cuerpo del evento
+   * @throws org.springframework.transaction.IllegalTransactionStateException si no hay transacción activa
+   */
+  void registrar(String tipo, Long agregadoId, Long usuarioId, Object payload);
+}
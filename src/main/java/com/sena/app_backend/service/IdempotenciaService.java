@@ -0,0 +1,35 @@
+package com.sena.app_backend.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Servicio para ejecutar operaciones con Idempotency-Key: la primera solicitud se
+ * ejecuta y su resultado se guarda; los reintentos con la misma clave reciben el
+ * resultado guardado, y un duplicado concurrente espera al que está en curso.
+ */
+public interface IdempotenciaService {
+
+  /**
+   * Ejecuta la operación una sola vez por (usuario, operación, clave).
+   *
+   * @param clave     valor del header Idempotency-Key; si es null se ejecuta sin registro
+   * @param usuarioId usuario autenticado
+   * @param operacion nombre de la operación (ámbito de la clave)
+   * @param solicitud cuerpo de la solicitud, para detectar la clave reutilizada con otros datos
+   * @param tipo      clase del resultado, para leerlo del registro
+   * @param accion    la operación a ejecutar
+   * @return el resultado y si proviene de una ejecución anterior
+   * @throws RuntimeException si la clave se reutiliza con otra solicitud o sigue en curso tras la espera
+   */
+  <T> Resultado<T> ejecutar(String clave, Long usuarioId, String operacion, Object solicitud,
+                            Class<T> tipo, Supplier<T> accion);
+
+  /**
+   * Resultado de {@link #ejecutar}.
+   *
+   * @param valor    resultado de la operación
+   * @param repetido true si se devolvió el resultado de una ejecución anterior
+   */
+  record Resultado<T>(T valor, boolean repetido) {
+  }
+}
@@ -0,0 +1,29 @@
+package com.sena.app_backend.service;
+
+import com.sena.app_backend.dto.response.ImportacionMaquinasResponse;
+
+import java.io.InputStream;
+
+/**
+ * Alta masiva de máquinas desde un archivo CSV o NDJSON leído en streaming.
+ */
+public interface ImportacionMaquinasService {
+
+  enum Formato {
+    /** Encabezado con las columnas serial, recursos y opcionalmente estado y especificaciones. */
+    CSV,
+    /** Un objeto JSON por línea con los mismos campos. */
+    NDJSON
+  }
+
+  /**
+   * Importa las máquinas del archivo. Las filas inválidas o con serial repetido se
+   * reportan y no detienen la importación.
+   *
+   * @param cuerpo      contenido del archivo (UTF-8)
+   * @param formato     formato del archivo
+   * @param soloErrores si es true el reporte solo incluye las filas rechazadas
+   * @return totales y resultado por fila
+   */
+  ImportacionMaquinasResponse importar(InputStream cuerpo, Formato formato, boolean soloErrores);
+}
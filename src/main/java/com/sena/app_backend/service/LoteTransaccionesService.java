@@ -0,0 +1,30 @@
+package com.sena.app_backend.service;
+
+import com.sena.app_backend.dto.request.LoteTransaccionesRequest;
+import com.sena.app_backend.dto.response.LoteTransaccionesResponse;
+
+/**
+ * Registro masivo de transacciones en las cuentas de plataforma.
+ */
+public interface LoteTransaccionesService {
+
+  /**
+   * Aplica las entradas agrupadas por cuenta, en transacciones de varias cuentas a la vez.
+   * Una entrada inválida o sin saldo no detiene el resto del lote.
+   *
+   * @param req entradas (usuarioId, tipo, monto)
+   * @return resultado de cada entrada, en el orden de la petición
+   */
+  LoteTransaccionesResponse aplicar(LoteTransaccionesRequest req);
+
+  /**
+   * Aplica las entradas dentro de la transacción del llamador, que debe existir.
+   * No abre transacciones por grupo: si un grupo falla la excepción se propaga y el
+   * llamador revierte todo junto con su propio trabajo (p. ej. el cursor del devengo).
+   * Las entradas inválidas o sin saldo se reportan igual que en {@link #aplicar}.
+   *
+   * @param req entradas (usuarioId, tipo, monto)
+   * @return resultado de cada entrada, en el orden de la petición
+   */
+  LoteTransaccionesResponse aplicarEnTransaccion(LoteTransaccionesRequest req);
+}
@@ -6,6 +6,7 @@ import com.sena.app_backend.dto.response.MonederoResponse;
 import com.sena.app_backend.dto.response.TransaccionMonederoResponse;
 import org.springframework.security.core.Authentication;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface MonederoService {
@@ -40,8 +41,13 @@ public interface MonederoService {
   /**
    * Obtiene el historial de transacciones de un monedero específico.
    * @param auth Información de autenticación del usuario
+   * Sin rango devuelve las transacciones de la tabla activa; con rango incluye
+   * también las archivadas si el rango llega a la antigüedad de archivado.
    * @param monederoId ID del monedero del cual se desea obtener el historial
+   * @param desde inicio del rango (opcional)
+   * @param hasta fin del rango (opcional)
    * @return Lista de TransaccionMonederoResponse con el historial de transacciones
    */
-  List<TransaccionMonederoResponse> historial(Authentication auth, Long monederoId);
+  List<TransaccionMonederoResponse> historial(Authentication auth, Long monederoId,
+                                              LocalDateTime desde, LocalDateTime hasta);
 }
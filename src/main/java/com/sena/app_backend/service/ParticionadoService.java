@@ -0,0 +1,26 @@
+package com.sena.app_backend.service;
+
+import java.util.List;
+
+/**
+ * Mantiene el particionado mensual por {@code fecha_transaccion} de
+ * {@code platforma_transaccion_cuenta} y {@code transaccion}.
+ * Es opcional y se activa con {@code particionado.habilitado=true}.
+ */
+public interface ParticionadoService {
+
+  /**
+   * Crea las particiones de los meses siguientes y elimina las particiones antiguas que
+   * ya están vacías. Solo toca tablas ya particionadas; las demás se omiten.
+   */
+  void mantener();
+
+  /**
+   * Migración única: particiona las tablas que aún no lo están. Reconstruye cada tabla,
+   * así que la lanza un administrador, desde un solo nodo y con poco tráfico.
+   *
+   * @return las tablas migradas
+   * @throws RuntimeException si el particionado no está habilitado
+   */
+  List<String> migrar();
+}
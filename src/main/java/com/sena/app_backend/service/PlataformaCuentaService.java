@@ -3,6 +3,7 @@ package com.sena.app_backend.service;
 import com.sena.app_backend.dto.request.NuevaTransaccionRequest;
 import com.sena.app_backend.dto.response.CuentaPlataformaResponse;
 import com.sena.app_backend.dto.response.TransaccionPlataformaResponse;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface PlataformaCuentaService {
@@ -17,11 +18,15 @@ public interface PlataformaCuentaService {
 
   /**
    * Lista el historial de transacciones de un usuario.
+   * Sin rango devuelve las transacciones de la tabla activa; con rango incluye
+   * también las archivadas si el rango llega a la antigüedad de archivado.
    *
    *  @param usuarioId ID del usuario
+   *  @param desde inicio del rango (opcional)
+   *  @param hasta fin del rango (opcional)
    *  @return Lista de TransaccionPlataformaResponse con el historial de transacciones
    */
-  List<TransaccionPlataformaResponse> listarHistorial(Long usuarioId);
+  List<TransaccionPlataformaResponse> listarHistorial(Long usuarioId, LocalDateTime desde, LocalDateTime hasta);
 
   /**
    * Crea una nueva transacción en la cuenta de un usuario.
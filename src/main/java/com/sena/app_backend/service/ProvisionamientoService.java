@@ -0,0 +1,15 @@
+package com.sena.app_backend.service;
+
+/**
+ * Servicio que completa en segundo plano los alquileres PENDIENTE:
+ * cobra el precio, activa el alquiler o, si no es posible, lo marca FALLIDO
+ * y libera la máquina.
+ */
+public interface ProvisionamientoService {
+  /**
+   * Procesa el siguiente lote de trabajos pendientes.
+   *
+   * @return cantidad de trabajos procesados por este nodo
+   */
+  int procesarPendientes();
+}
@@ -0,0 +1,53 @@
+package com.sena.app_backend.service;
+
+import com.sena.app_backend.dto.response.IngresoAgregadoResponse;
+import com.sena.app_backend.model.DimensionIngreso;
+import com.sena.app_backend.model.Granularidad;
+import com.sena.app_backend.model.TipoTransaccionPlataforma;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Mantiene y consulta los agregados diarios y mensuales de ingresos de la plataforma.
+ */
+public interface ReporteIngresosService {
+
+  /**
+   * Suma una transacción de la cuenta de plataforma a los agregados por tipo.
+   * Debe llamarse dentro de la transacción que la registra.
+   */
+  void registrarTransaccion(TipoTransaccionPlataforma tipo, BigDecimal monto, LocalDateTime fecha);
+
+  /**
+   * Suma de una vez {@code cantidad} transacciones del mismo tipo y día (lotes),
+   * con dos upserts en lugar de dos por transacción.
+   */
+  void registrarTransacciones(TipoTransaccionPlataforma tipo, BigDecimal total, long cantidad, LocalDateTime fecha);
+
+  /**
+   * Suma la ganancia de un alquiler cerrado a los agregados por plan.
+   * Debe llamarse dentro de la transacción que lo cierra.
+   */
+  void registrarCierre(Long planId, BigDecimal ganancia, LocalDateTime fecha);
+
+  /**
+   * Consulta los agregados de un rango de periodos.
+   *
+   * @param clave si no es null, solo esa clave (ID de plan o tipo)
+   * @param desde primer día incluido; si es null, un año antes de {@code hasta}
+   * @param hasta último día incluido; si es null, hoy
+   */
+  List<IngresoAgregadoResponse> consultar(Granularidad granularidad, DimensionIngreso dimension,
+                                          String clave, LocalDate desde, LocalDate hasta);
+
+  /**
+   * Recalcula todos los agregados desde las tablas de origen.
+   * Sirve para la carga inicial o para corregir desvíos; conviene ejecutarlo con poco tráfico.
+   *
+   * @return cantidad de filas de agregados generadas
+   */
+  int reconstruir();
+}
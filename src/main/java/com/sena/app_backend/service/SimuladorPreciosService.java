@@ -0,0 +1,39 @@
+package com.sena.app_backend.service;
+
+import com.sena.app_backend.dto.request.SimulacionPreciosRequest;
+import com.sena.app_backend.dto.response.SimulacionPrecioResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Servicio para simular en bloque los precios de planes hipotéticos,
+ * aplicando la misma lógica que {@code CalculadorPreciosPlan}.
+ */
+public interface SimuladorPreciosService {
+  /**
+   * Simula todos los escenarios de la solicitud y los devuelve en una lista.
+   *
+   * @param req escenarios explícitos y/o ejes de la grilla
+   * @return un resultado por escenario, en el orden de la solicitud
+   * @throws RuntimeException si la solicitud es inválida o supera el máximo para respuesta en lista
+   */
+  List<SimulacionPrecioResponse> simular(SimulacionPreciosRequest req);
+
+  /**
+   * Simula los escenarios y los escribe como NDJSON (un objeto JSON por línea)
+   * a medida que se calculan, sin mantener todos los resultados en memoria.
+   *
+   * @param req escenarios explícitos y/o ejes de la grilla
+   * @param out destino de las líneas
+   */
+  void simular(SimulacionPreciosRequest req, OutputStream out) throws IOException;
+
+  /**
+   * Valida la solicitud y devuelve cuántos escenarios produce.
+   *
+   * @throws RuntimeException si la solicitud es inválida o supera el máximo permitido
+   */
+  long contarEscenarios(SimulacionPreciosRequest req);
+}
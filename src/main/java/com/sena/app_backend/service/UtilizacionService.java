@@ -0,0 +1,34 @@
+package com.sena.app_backend.service;
+
+import com.sena.app_backend.dto.response.UtilizacionResponse;
+import com.sena.app_backend.model.NivelRecursos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Serie de tiempo de utilización de la flota por nivel de recursos y estado.
+ */
+public interface UtilizacionService {
+
+  /**
+   * Registra una muestra con la cantidad de máquinas por nivel y estado.
+   * Se registran también las combinaciones en cero para que los promedios sean correctos.
+   *
+   * @return cantidad de filas registradas
+   */
+  int muestrear();
+
+  /**
+   * Reduce a horas las muestras más antiguas que la retención de detalle y
+   * elimina las horas más antiguas que la retención total.
+   */
+  void reducirAntiguas();
+
+  /**
+   * Consulta la serie en un rango; solo lee la tabla de muestras.
+   *
+   * @param recursos si no es null, solo ese nivel
+   */
+  List<UtilizacionResponse> consultar(LocalDateTime desde, LocalDateTime hasta, NivelRecursos recursos);
+}
@@ -1,24 +1,35 @@
 package com.sena.app_backend.service.impl;
 
+import com.sena.app_backend.cache.CatalogoPlanes;
+import com.sena.app_backend.cache.PlanCacheado;
 import com.sena.app_backend.dto.request.NuevaTransaccionRequest;
 import com.sena.app_backend.dto.request.NuevoAlquilerRequest;
 import com.sena.app_backend.dto.response.*;
 import com.sena.app_backend.exception.InsufficientFundsException;
 import com.sena.app_backend.model.*;
+import com.sena.app_backend.exception.ResourceNotFoundException;
+import com.sena.app_backend.repository.AlquilerArchivoRepository;
 import com.sena.app_backend.repository.AlquilerRepository;
 import com.sena.app_backend.repository.MaquinaRepository;
 import com.sena.app_backend.repository.PlanRepository;
-import com.sena.app_backend.repository.UsuarioRepository;
+import com.sena.app_backend.repository.TrabajoProvisionamientoRepository;
+import com.sena.app_backend.security.SecurityService;
 import com.sena.app_backend.service.AlquilerService;
+import com.sena.app_backend.service.ArchivadoService;
+import com.sena.app_backend.service.EventoOutboxService;
 import com.sena.app_backend.service.PlataformaCuentaService;
-import com.sena.app_backend.util.CalculadorPreciosPlan;
+import com.sena.app_backend.service.ReporteIngresosService;
+import com.sena.app_backend.util.CalculadorDevolucion;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -36,10 +47,16 @@ import static java.math.BigDecimal.ZERO;
 public class AlquilerServiceImpl implements AlquilerService {
 
   private final AlquilerRepository alquilerRepo;
-  private final UsuarioRepository usuarioRepo;
+  private final SecurityService securityService;
   private final MaquinaRepository maquinaRepo;
   private final PlanRepository planRepo;
+  private final CatalogoPlanes catalogoPlanes;
   private final PlataformaCuentaService plataformaService;
+  private final TrabajoProvisionamientoRepository trabajoRepo;
+  private final EventoOutboxService outbox;
+  private final ReporteIngresosService reporteIngresos;
+  private final AlquilerArchivoRepository alquilerArchivoRepo;
+  private final ArchivadoService archivado;
 
 
   /**
@@ -91,19 +108,10 @@ public class AlquilerServiceImpl implements AlquilerService {
     }
 
     // Calculamos la fracción usada
-    BigDecimal fraccionUsada = new BigDecimal(usadosSegundos)
-        .divide(new BigDecimal(totalSegundos), 8, RoundingMode.HALF_UP);
+    BigDecimal fraccionUsada = CalculadorDevolucion.fraccionUsada(usadosSegundos, totalSegundos);
 
     // La parte no consumida del precioAlquiler
-    BigDecimal montoNoUsado = a.getPrecioAlquiler()
-        .multiply(BigDecimal.ONE.subtract(fraccionUsada))
-        .setScale(4, RoundingMode.HALF_UP);
-
-    // La ganancia de la plataforma es proporcional al tiempo usado
-    BigDecimal gananciaPlataforma = a.getCostoTotal()
-        .subtract(a.getPrecioAlquiler())
-        .multiply(fraccionUsada)
-        .setScale(4, RoundingMode.HALF_UP);
+    BigDecimal montoNoUsado = CalculadorDevolucion.noConsumido(a.getPrecioAlquiler(), fraccionUsada);
 
     return montoNoUsado;
   }
@@ -130,6 +138,7 @@ public class AlquilerServiceImpl implements AlquilerService {
         .estado(a.getEstado())
         .montoDevuelto(a.getMontoDevuelto())
         .gananciaPlataforma(a.getGananciaPlataforma())
+        .gananciaAcumulada(a.getGananciaAcumulada())
         .build();
   }
 
@@ -173,50 +182,27 @@ public class AlquilerServiceImpl implements AlquilerService {
    * 4. Persiste el alquiler solo si el cálculo es exitoso.
    *
    * @param req petición con usuarioId, maquinaId y planId
+   * @param auth autenticación del usuario (el principal ya trae su ID)
    * @return DTO con detalle del alquiler creado
    */
   @Override
-  public AlquilerResponse crearAlquiler(NuevoAlquilerRequest req, String userEmail) {
-    // 1. Recupera entidades relacionadas
-    Usuario usuario = usuarioRepo.findByEmail(userEmail)
-        .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+  public AlquilerResponse crearAlquiler(NuevoAlquilerRequest req, Authentication auth) {
+    // 1. Recupera entidades relacionadas (el usuario sale del principal, sin SELECT)
+    Usuario usuario = securityService.currentUser(auth);
 
-    Plan plan = planRepo.findById(req.getPlanId())
+    // El plan y sus precios salen del catálogo en memoria
+    PlanCacheado plan = catalogoPlanes.buscar(req.getPlanId())
         .orElseThrow(() -> new RuntimeException("Plan no encontrado"));
 
-    // Determinar nivel de recursos según el plan
-    NivelRecursos nivelRequerido = switch (plan.getNombre().toUpperCase()) {
-      case "BASIC" -> NivelRecursos.BAJOS;
-      case "GOLD" -> NivelRecursos.MEDIOS;
-      case "PREMIUM" -> NivelRecursos.ALTOS;
-      case "VIP" -> NivelRecursos.SUPERIORES;
-      default -> throw new RuntimeException("Nivel de plan no reconocido");
-    };
-
-    // Buscar primera máquina disponible con los recursos requeridos
-    Maquina maquina = maquinaRepo.findFirstByEstadoAndRecursos(
-            EstadoMaquina.DISPONIBLE, nivelRequerido)
-        .orElseThrow(() -> new RuntimeException(
-            "No hay máquinas disponibles para el nivel requerido"));
-
-    // Marcar máquina como rentada
-    maquina.setEstado(EstadoMaquina.RENTADA);
-    maquinaRepo.save(maquina);
+    // Buscar primera máquina disponible con los recursos requeridos y marcarla como rentada
+    Maquina maquina = reservarMaquina(plan);
 
     // 2. Fechas de inicio y fin del periodo
     LocalDateTime inicio = LocalDateTime.now();
-    BigDecimal duracion = plan.getDuracionDias();
-    LocalDateTime fin = inicio
-        .plusDays(duracion.toBigInteger().longValue())
-        .plusSeconds(
-            duracion
-                .subtract(new BigDecimal(duracion.toBigInteger()))
-                .multiply(BigDecimal.valueOf(86400)) // segundos por día
-                .longValue()
-        );
+    LocalDateTime fin = calcularFechaFin(inicio, plan.getDuracionDias());
 
-    // 3. Delegamos el cálculo de precios
-    PreciosPlan pricing = CalculadorPreciosPlan.calculate(plan);
+    // 3. Precios ya calculados en el catálogo
+    PreciosPlan pricing = plan.getPrecios();
     BigDecimal precioBruto = pricing.getPrecioBruto();
     BigDecimal precioAlquiler = pricing.getPrecioAlquiler();
 
@@ -240,7 +226,7 @@ public class AlquilerServiceImpl implements AlquilerService {
     Alquiler a = Alquiler.builder()
         .usuario(usuario)
         .maquina(maquina)
-        .plan(plan)
+        .plan(planRepo.getReferenceById(plan.getId()))
         .fechaInicio(inicio)
         .fechaFin(fin)
         .precioAlquiler(precioAlquiler)
@@ -252,6 +238,111 @@ public class AlquilerServiceImpl implements AlquilerService {
     return mapToDto(saved);
   }
 
+  /**
+   * Reserva un alquiler para aprovisionarlo en segundo plano.
+   * <p>
+   * 1. Resuelve usuario y plan (sin consultas) y marca una máquina como RENTADA.
+   * 2. Guarda el alquiler en estado PENDIENTE con los precios del catálogo.
+   * 3. Encola el trabajo de aprovisionamiento en la misma transacción (outbox),
+   *    que un worker completará cobrando el precio y activando el alquiler.
+   *
+   * @param req petición con planId
+   * @param auth autenticación del usuario
+   * @return DTO del alquiler PENDIENTE
+   */
+  @Override
+  @Transactional
+  public AlquilerResponse reservarAlquiler(NuevoAlquilerRequest req, Authentication auth) {
+    Usuario usuario = securityService.currentUser(auth);
+    PlanCacheado plan = catalogoPlanes.buscar(req.getPlanId())
+        .orElseThrow(() -> new RuntimeException("Plan no encontrado"));
+    Maquina maquina = reservarMaquina(plan);
+
+    // Fechas provisionales: el worker las fija al activar el alquiler
+    LocalDateTime ahora = LocalDateTime.now();
+    PreciosPlan pricing = plan.getPrecios();
+    Alquiler saved = alquilerRepo.save(Alquiler.builder()
+        .usuario(usuario)
+        .maquina(maquina)
+        .plan(planRepo.getReferenceById(plan.getId()))
+        .fechaInicio(ahora)
+        .fechaFin(calcularFechaFin(ahora, plan.getDuracionDias()))
+        .precioAlquiler(pricing.getPrecioAlquiler())
+        .costoTotal(pricing.getPrecioBruto())
+        .estado(EstadoAlquiler.PENDIENTE)
+        .build());
+
+    trabajoRepo.save(TrabajoProvisionamiento.builder()
+        .alquiler(saved)
+        .estado(EstadoTrabajo.PENDIENTE)
+        .intentos(0)
+        .disponibleDesde(ahora)
+        .creado(ahora)
+        .actualizado(ahora)
+        .build());
+    return mapToDto(saved);
+  }
+
+  /**
+   * Consulta el estado de un alquiler (para seguir el aprovisionamiento asíncrono).
+   *
+   * @param id ID del alquiler
+   * @param usuarioId dueño requerido, o null si consulta un administrador
+   * @return estado actual y, si falló, el motivo
+   */
+  @Override
+  public EstadoAlquilerResponse obtenerEstado(Long id, Long usuarioId) {
+    Alquiler a = (usuarioId == null ? alquilerRepo.findById(id) : alquilerRepo.findByIdAndUsuarioId(id, usuarioId))
+        .orElseThrow(() -> new ResourceNotFoundException("Alquiler no encontrado"));
+    EstadoAlquilerResponse.EstadoAlquilerResponseBuilder r = EstadoAlquilerResponse.builder()
+        .alquilerId(a.getId())
+        .estado(a.getEstado());
+    if (a.getEstado() == EstadoAlquiler.FALLIDO) {
+      trabajoRepo.findByAlquilerId(a.getId()).ifPresent(t -> r.error(t.getError()));
+    } else if (a.getEstado() != EstadoAlquiler.PENDIENTE) {
+      r.fechaInicio(a.getFechaInicio()).fechaFin(a.getFechaFin());
+    }
+    return r.build();
+  }
+
+  /**
+   * Busca la primera máquina DISPONIBLE con los recursos que exige el plan
+   * y la marca como RENTADA.
+   */
+  private Maquina reservarMaquina(PlanCacheado plan) {
+    // Determinar nivel de recursos según el plan
+    NivelRecursos nivelRequerido = switch (plan.getNombre().toUpperCase()) {
+      case "BASIC" -> NivelRecursos.BAJOS;
+      case "GOLD" -> NivelRecursos.MEDIOS;
+      case "PREMIUM" -> NivelRecursos.ALTOS;
+      case "VIP" -> NivelRecursos.SUPERIORES;
+      default -> throw new RuntimeException("Nivel de plan no reconocido");
+    };
+
+    Maquina maquina = maquinaRepo.findFirstByEstadoAndRecursos(
+            EstadoMaquina.DISPONIBLE, nivelRequerido)
+        .orElseThrow(() -> new RuntimeException(
+            "No hay máquinas disponibles para el nivel requerido"));
+
+    maquina.setEstado(EstadoMaquina.RENTADA);
+    maquinaRepo.save(maquina);
+    return maquina;
+  }
+
+  /**
+   * Fecha de fin del periodo: días enteros más la fracción de día en segundos.
+   */
+  static LocalDateTime calcularFechaFin(LocalDateTime inicio, BigDecimal duracion) {
+    return inicio
+        .plusDays(duracion.toBigInteger().longValue())
+        .plusSeconds(
+            duracion
+                .subtract(new BigDecimal(duracion.toBigInteger()))
+                .multiply(BigDecimal.valueOf(86400)) // segundos por día
+                .longValue()
+        );
+  }
+
   /**
    * Listar todos los alquileres.
    *
@@ -272,20 +363,29 @@ public class AlquilerServiceImpl implements AlquilerService {
     return mapToDto(a);
   }
 
+  @Override
+  public AlquilerResponse obtenerAlquilerDeUsuario(Long id, Long usuarioId) {
+    Alquiler a = alquilerRepo.findByIdAndUsuarioId(id, usuarioId)
+        .orElseThrow(() -> new ResourceNotFoundException("Alquiler no encontrado"));
+    return mapToDto(a);
+  }
+
   /**
    * Cierra un alquiler, actualizando su estado a CERRADO.
    * <p>
-   * 1. Busca el alquiler por ID.
-   * 2. Cambia su estado a CERRADO.
-   * 3. Guarda los cambios en la base de datos.
+   * 1. Busca el alquiler por ID, bloqueándolo frente al devengo.
+   * 2. Liquida la ganancia del periodo usado descontando la ya abonada por el devengo
+   *    ({@code gananciaAcumulada}), para que el total abonado sea la ganancia del alquiler.
+   * 3. Cambia su estado a CERRADO.
+   * 4. Guarda los cambios en la base de datos y registra el evento ALQUILER_CERRADO en el outbox.
    *
    * @param id ID del alquiler a cerrar
    */
   @Override
   @Transactional
   public void cerrarAlquiler(Long id) {
-    // 1. Recuperar el alquiler por ID o lanzar excepción si no existe
-    Alquiler a = alquilerRepo.findById(id)
+    // 1. Recuperar el alquiler por ID (FOR UPDATE) o lanzar excepción si no existe
+    Alquiler a = alquilerRepo.bloquear(id)
         .orElseThrow(() -> new RuntimeException("Alquiler no encontrado"));
 
     // 2. Solo procesar si el alquiler está ACTIVO
@@ -309,14 +409,8 @@ public class AlquilerServiceImpl implements AlquilerService {
       // 6. La ganancia de la plataforma es todo el costo bruto
       a.setGananciaPlataforma(totalBruto);
 
-      // 7. Registrar la transacción de ganancia completa en la cuenta del usuario
-      plataformaService.crearTransaccion(
-          a.getUsuario().getId(),
-          new NuevaTransaccionRequest(
-              TipoTransaccionPlataforma.GANANCIA_ALQUILER,
-              totalBruto
-          )
-      );
+      // 7. Registrar la ganancia completa menos lo ya abonado por el devengo
+      abonarGananciaPendiente(a, totalBruto);
 
     } else {
       // --- Caso B: Cierre anticipado (por mantenimiento u otro motivo) ---
@@ -325,21 +419,15 @@ public class AlquilerServiceImpl implements AlquilerService {
       BigDecimal frUsada = calcularFraccionUsada(a);
       //    frUsada = segundos transcurridos / segundos totales del periodo
 
-      // 9. Extra total que la plataforma debe facturar a lo largo del mes
-      BigDecimal extraTot = a.getCostoTotal().subtract(a.getPrecioAlquiler());
+      // 9-12. En punto fijo (CalculadorDevolucion):
       //    extraTot = precioBruto – anticipo (precioAlquiler)
-
-      // 10. Extra ya “consumido” por la plataforma según fracción usada
-      BigDecimal extraUsd = extraTot.multiply(frUsada)
-          .setScale(4, RoundingMode.HALF_UP);
-
-      // 11. Parte del anticipo que corresponde al tiempo usado
-      BigDecimal algUsd = a.getPrecioAlquiler().multiply(frUsada)
-          .setScale(4, RoundingMode.HALF_UP);
-
-      // 12. Monto a devolver al usuario = anticipo – parte usada
-      BigDecimal montoDev = a.getPrecioAlquiler().subtract(algUsd)
-          .setScale(4, RoundingMode.HALF_UP);
+      //    extraUsd = extraTot × frUsada      → ganancia proporcional de la plataforma
+      //    algUsd   = anticipo × frUsada      → parte del anticipo que corresponde al tiempo usado
+      //    montoDev = anticipo – algUsd       → monto a devolver al usuario
+      CalculadorDevolucion.Cierre cierre = CalculadorDevolucion.cierreAnticipado(
+          a.getPrecioAlquiler(), a.getCostoTotal(), frUsada);
+      BigDecimal montoDev = cierre.montoDevuelto();
+      BigDecimal extraUsd = cierre.gananciaPlataforma();
 
       // 13. Asignar en la entidad los valores calculados
       a.setMontoDevuelto(montoDev);
@@ -356,16 +444,8 @@ public class AlquilerServiceImpl implements AlquilerService {
         );
       }
 
-      // 15. Registrar la transacción de ganancia proporcional de la plataforma
-      if (extraUsd.compareTo(BigDecimal.ZERO) > 0) {
-        plataformaService.crearTransaccion(
-            a.getUsuario().getId(),
-            new NuevaTransaccionRequest(
-                TipoTransaccionPlataforma.GANANCIA_ALQUILER,
-                extraUsd
-            )
-        );
-      }
+      // 15. Registrar la ganancia proporcional menos lo ya abonado por el devengo
+      abonarGananciaPendiente(a, extraUsd);
 
       // 16. Poner la máquina en mantenimiento
       a.getMaquina().setEstado(EstadoMaquina.MANTENIMIENTO);
@@ -380,58 +460,58 @@ public class AlquilerServiceImpl implements AlquilerService {
 
     // 19. Guardar todos los cambios en la base de datos
     alquilerRepo.save(a);
+
+    // 20. Evento ALQUILER_CERRADO en el outbox y ganancia en los agregados por plan, en la misma transacción
+    outbox.registrar(EventoOutboxService.ALQUILER_CERRADO, a.getId(), a.getUsuario().getId(), mapToDto(a));
+    reporteIngresos.registrarCierre(a.getPlan().getId(), a.getGananciaPlataforma(), a.getFechaFin());
   }
 
 
+  /**
+   * Abona como GANANCIA_ALQUILER la parte de {@code ganancia} que el devengo aún no abonó
+   * como GANANCIA_MINERIA. Si el devengo ya abonó igual o más (las ganancias diarias varían
+   * entre el mínimo y el máximo del plan), no se abona nada ni se descuenta la diferencia.
+   */
+  private void abonarGananciaPendiente(Alquiler a, BigDecimal ganancia) {
+    BigDecimal acumulada = a.getGananciaAcumulada() == null ? BigDecimal.ZERO : a.getGananciaAcumulada();
+    BigDecimal pendiente = ganancia.subtract(acumulada);
+    if (pendiente.compareTo(BigDecimal.ZERO) > 0) {
+      plataformaService.crearTransaccion(
+          a.getUsuario().getId(),
+          new NuevaTransaccionRequest(TipoTransaccionPlataforma.GANANCIA_ALQUILER, pendiente));
+    }
+  }
+
   /**
    * Previsualiza un plan de alquiler desde la perspectiva del administrador.
    * <p>
-   * 1. Busca el plan por ID.
-   * 2. Calcula precios y ganancias usando el método de cálculo.
+   * La vista previa se construye al cargar el catálogo de planes,
+   * así que se sirve desde memoria.
    *
    * @param planId ID del plan a previsualizar
    * @return DTO con detalles del plan para el administrador
    */
   @Override
   public AlquilerPreviewAdminDto previewAdmin(Long planId) {
-    Plan plan = planRepo.findById(planId)
+    return catalogoPlanes.buscar(planId)
+        .map(PlanCacheado::getPreviewAdmin)
         .orElseThrow(() -> new RuntimeException("Plan no encontrado"));
-
-    PreciosPlan pr = CalculadorPreciosPlan.calculate(plan);
-
-    return new AlquilerPreviewAdminDto(
-        plan.getId(),
-        plan.getNombre(),
-        plan.getDuracionDias(),
-        pr.getGananciaPromedioDiaria(),
-        pr.getPrecioBruto(),
-        pr.getPrecioAlquiler(),
-        pr.getGananciaMaxUsuario(),
-        pr.getIngresoPlataforma()
-    );
   }
 
   /**
    * Previsualiza un plan de alquiler desde la perspectiva del usuario.
    * <p>
-   * 1. Busca el plan por ID.
-   * 2. Calcula precios y ganancias usando el método de cálculo.
+   * La vista previa se construye al cargar el catálogo de planes,
+   * así que se sirve desde memoria.
    *
    * @param planId ID del plan a previsualizar
    * @return DTO con detalles del plan para el usuario
    */
   @Override
   public AlquilerPreviewUserDto previewUser(Long planId) {
-    AlquilerPreviewAdminDto adminDto = previewAdmin(planId);
-    return new AlquilerPreviewUserDto(
-        adminDto.getPlanId(),
-        adminDto.getPlanNombre(),
-        adminDto.getDuracionDias(),
-        adminDto.getGananciaPromedioDiaria(),
-        adminDto.getPrecioBruto(),
-        adminDto.getPrecioAlquiler(),
-        adminDto.getGananciaMaxUsuario()
-    );
+    return catalogoPlanes.buscar(planId)
+        .map(PlanCacheado::getPreviewUser)
+        .orElseThrow(() -> new RuntimeException("Plan no encontrado"));
   }
 
   /**
@@ -455,47 +535,25 @@ public class AlquilerServiceImpl implements AlquilerService {
   /**
    * Previsualiza todos los planes de alquiler desde la perspectiva del administrador.
    * <p>
-   * 1. Busca todos los planes disponibles.
-   * 2. Mapea cada plan a su DTO correspondiente, calculando precios y ganancias.
+   * Se sirve íntegramente desde el catálogo en memoria (sin consultas ni cálculos).
    *
    * @return lista de DTOs de respuesta con detalles de cada plan para el administrador
    */
   @Override
   public List<AlquilerPreviewAdminDto> previewAllAdmin() {
-    return planRepo.findAll().stream()
-        .map(plan -> {
-          PreciosPlan pr = CalculadorPreciosPlan.calculate(plan);
-          return new AlquilerPreviewAdminDto(
-              plan.getId(), plan.getNombre(), plan.getDuracionDias(),
-              pr.getGananciaPromedioDiaria(), pr.getPrecioBruto(),
-              pr.getPrecioAlquiler(), pr.getGananciaMaxUsuario(),
-              pr.getIngresoPlataforma()
-          );
-        })
-        .collect(Collectors.toList());
+    return catalogoPlanes.previewsAdmin();
   }
 
   /**
    * Previsualiza todos los planes de alquiler desde la perspectiva del usuario.
    * <p>
-   * 1. Busca todos los planes disponibles.
-   * 2. Mapea cada plan a su DTO correspondiente, calculando precios y ganancias.
+   * Se sirve íntegramente desde el catálogo en memoria (sin consultas ni cálculos).
    *
    * @return lista de DTOs de respuesta con detalles de cada plan para el usuario
    */
   @Override
   public List<AlquilerPreviewUserDto> previewAllUser() {
-    return previewAllAdmin().stream()
-        .map(adminDto -> new AlquilerPreviewUserDto(
-            adminDto.getPlanId(),
-            adminDto.getPlanNombre(),
-            adminDto.getDuracionDias(),
-            adminDto.getGananciaPromedioDiaria(),
-            adminDto.getPrecioBruto(),
-            adminDto.getPrecioAlquiler(),
-            adminDto.getGananciaMaxUsuario()
-        ))
-        .collect(Collectors.toList());
+    return catalogoPlanes.previewsUser();
   }
 
   /**
@@ -516,9 +574,8 @@ public class AlquilerServiceImpl implements AlquilerService {
     if (usadosSegundos <= 0) {
       return ZERO;
     }
-    // fracción usada = usadosSegundos / totalSegundos (BigDecimal con precisión)
-    return new BigDecimal(usadosSegundos)
-        .divide(new BigDecimal(totalSegundos), 8, RoundingMode.HALF_UP);
+    // fracción usada = usadosSegundos / totalSegundos (8 decimales)
+    return CalculadorDevolucion.fraccionUsada(usadosSegundos, totalSegundos);
   }
 
   /**
@@ -526,16 +583,47 @@ public class AlquilerServiceImpl implements AlquilerService {
    * <p>
    * 1. Busca los alquileres por ID de usuario y estado CERRADO.
    * 2. Mapea cada alquiler a su DTO correspondiente.
+   * 3. Si se pide un rango que llega a la antigüedad de archivado, agrega los
+   *    alquileres archivados y ordena por fecha de fin descendente.
    *
    * @param usuarioId ID del usuario
+   * @param desde     inicio del rango por fecha de fin (opcional)
+   * @param hasta     fin del rango por fecha de fin (opcional)
    * @return lista de DTOs de respuesta con detalles de cada alquiler cerrado
    */
   @Override
-  public List<AlquilerResponse> listarCerradosPorUsuario(Long usuarioId) {
-    return alquilerRepo
-        .findByUsuarioIdAndEstado(usuarioId, EstadoAlquiler.CERRADO)
-        .stream()
-        .map(this::mapToDto)
-        .collect(Collectors.toList());
+  public List<AlquilerResponse> listarCerradosPorUsuario(Long usuarioId, LocalDateTime desde, LocalDateTime hasta) {
+    if (desde == null && hasta == null) {
+      return alquilerRepo
+          .findByUsuarioIdAndEstado(usuarioId, EstadoAlquiler.CERRADO)
+          .stream()
+          .map(this::mapToDto)
+          .collect(Collectors.toList());
+    }
+    LocalDateTime inicio = desde != null ? desde : ArchivadoService.ORIGEN;
+    LocalDateTime fin = hasta != null ? hasta : LocalDateTime.now();
+    List<AlquilerResponse> r = new ArrayList<>();
+    alquilerRepo.findByUsuarioIdAndEstadoAndFechaFinBetweenOrderByFechaFinDesc(
+            usuarioId, EstadoAlquiler.CERRADO, inicio, fin)
+        .forEach(a -> r.add(mapToDto(a)));
+    if (archivado.incluyeArchivo(inicio)) {
+      alquilerArchivoRepo.findByUsuarioIdAndFechaFinBetweenOrderByFechaFinDesc(usuarioId, inicio, fin)
+          .forEach(a -> r.add(AlquilerResponse.builder()
+              .id(a.getId())
+              .usuarioId(a.getUsuarioId())
+              .maquinaId(a.getMaquinaId())
+              .planId(a.getPlanId())
+              .fechaInicio(a.getFechaInicio())
+              .fechaFin(a.getFechaFin())
+              .precioAlquiler(a.getPrecioAlquiler())
+              .costoTotal(a.getCostoTotal())
+              .estado(a.getEstado())
+              .montoDevuelto(a.getMontoDevuelto())
+              .gananciaPlataforma(a.getGananciaPlataforma())
+              .gananciaAcumulada(a.getGananciaAcumulada())
+              .build()));
+      r.sort(Comparator.comparing(AlquilerResponse::getFechaFin).reversed());
+    }
+    return r;
   }
 }
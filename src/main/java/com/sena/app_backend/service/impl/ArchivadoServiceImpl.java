@@ -0,0 +1,147 @@
+package com.sena.app_backend.service.impl;
+
+import com.sena.app_backend.repository.*;
+import com.sena.app_backend.service.ArchivadoService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Cada lote se mueve en su propia transacción: copia al archivo con INSERT ... SELECT
+ * y borra de la tabla activa, así una fila nunca está en las dos ni en ninguna.
+ * Entre lotes se duerme {@code archivado.pausaMs} para no saturar la BD ni la replicación.
+ */
+@Service
+public class ArchivadoServiceImpl implements ArchivadoService {
+
+  private final AlquilerRepository alquilerRepo;
+  private final AlquilerArchivoRepository alquilerArchivoRepo;
+  private final TrabajoProvisionamientoRepository trabajoRepo;
+  private final PlataformaTransaccionCuentaRepository ptcRepo;
+  private final TransaccionPlataformaArchivoRepository ptcArchivoRepo;
+  private final TransaccionRepository txRepo;
+  private final TransaccionArchivoRepository txArchivoRepo;
+  private final TransactionTemplate tx;
+  private final boolean habilitado;
+  private final long edadDias;
+  private final int lote;
+  private final long pausaMs;
+  private final int maxLotes;
+
+  public ArchivadoServiceImpl(AlquilerRepository alquilerRepo,
+                              AlquilerArchivoRepository alquilerArchivoRepo,
+                              TrabajoProvisionamientoRepository trabajoRepo,
+                              PlataformaTransaccionCuentaRepository ptcRepo,
+                              TransaccionPlataformaArchivoRepository ptcArchivoRepo,
+                              TransaccionRepository txRepo,
+                              TransaccionArchivoRepository txArchivoRepo,
+                              PlatformTransactionManager txManager,
+                              @Value("${archivado.habilitado:false}") boolean habilitado,
+                              @Value("${archivado.edadDias:365}") long edadDias,
+                              @Value("${archivado.lote:1000}") int lote,
+                              @Value("${archivado.pausaMs:200}") long pausaMs,
+                              @Value("${archivado.maxLotes:1000}") int maxLotes) {
+    this.alquilerRepo = alquilerRepo;
+    this.alquilerArchivoRepo = alquilerArchivoRepo;
+    this.trabajoRepo = trabajoRepo;
+    this.ptcRepo = ptcRepo;
+    this.ptcArchivoRepo = ptcArchivoRepo;
+    this.txRepo = txRepo;
+    this.txArchivoRepo = txArchivoRepo;
+    this.tx = new TransactionTemplate(txManager);
+    this.habilitado = habilitado;
+    this.edadDias = edadDias;
+    this.lote = lote;
+    this.pausaMs = pausaMs;
+    this.maxLotes = maxLotes;
+  }
+
+  /** Pasada programada; solo corre con {@code archivado.habilitado=true}. */
+  @Scheduled(cron = "${archivado.cron:0 30 3 * * *}")
+  public void archivarProgramado() {
+    if (!habilitado) {
+      return;
+    }
+    try {
+      int movidas = archivar();
+      System.out.printf("Archivado: %d filas movidas a las tablas de archivo%n", movidas);
+    } catch (RuntimeException e) {
+      System.err.printf("Archivado: error, se reintenta en la siguiente ejecución: %s%n", e.getMessage());
+    }
+  }
+
+  @Override
+  public int archivar() {
+    LocalDateTime limite = limite();
+    int total = mover(limite, alquilerArchivoRepo::idsArchivables, (ids, ahora) -> {
+      trabajoRepo.deleteByAlquilerIds(ids);
+      return verificar(ids, alquilerArchivoRepo.copiar(ids, ahora), alquilerRepo.deleteByIds(ids));
+    });
+    total += mover(limite, ptcArchivoRepo::idsArchivables,
+        (ids, ahora) -> verificar(ids, ptcArchivoRepo.copiar(ids, ahora), ptcRepo.deleteByIds(ids)));
+    total += mover(limite, txArchivoRepo::idsArchivables,
+        (ids, ahora) -> verificar(ids, txArchivoRepo.copiar(ids, ahora), txRepo.deleteByIds(ids)));
+    return total;
+  }
+
+  @Override
+  public boolean incluyeArchivo(LocalDateTime desde) {
+    return desde == null || desde.isBefore(limite());
+  }
+
+  private LocalDateTime limite() {
+    return LocalDateTime.now().minusDays(edadDias);
+  }
+
+  /**
+   * Mueve lotes de una tabla hasta que no queden filas anteriores a {@code limite}.
+   *
+   * @param buscar IDs del siguiente lote
+   * @param mover  copia y borra los IDs; devuelve cuántas filas movió
+   */
+  private int mover(LocalDateTime limite,
+                    BiFunction<LocalDateTime, Integer, List<Long>> buscar,
+                    BiFunction<List<Long>, LocalDateTime, Integer> mover) {
+    int total = 0;
+    for (int i = 0; i < maxLotes; i++) {
+      Integer n = tx.execute(status -> {
+        List<Long> ids = buscar.apply(limite, lote);
+        return ids.isEmpty() ? 0 : mover.apply(ids, LocalDateTime.now());
+      });
+      int movidas = n == null ? 0 : n;
+      total += movidas;
+      if (movidas < lote || !pausar()) {
+        break;
+      }
+    }
+    return total;
+  }
+
+  /** Revierte el lote si no se copiaron y borraron exactamente las filas pedidas. */
+  private static int verificar(List<Long> ids, int copiadas, int borradas) {
+    if (copiadas != ids.size() || borradas != ids.size()) {
+      throw new IllegalStateException("Lote de archivado inconsistente: " + ids.size()
+          + " ids, " + copiadas + " copiadas, " + borradas + " borradas");
+    }
+    return borradas;
+  }
+
+  private boolean pausar() {
+    if (pausaMs <= 0) {
+      return true;
+    }
+    try {
+      Thread.sleep(pausaMs);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
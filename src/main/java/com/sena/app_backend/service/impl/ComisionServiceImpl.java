@@ -0,0 +1,109 @@
+package com.sena.app_backend.service.impl;
+
+import com.sena.app_backend.cache.ComisionesModificadasEvent;
+import com.sena.app_backend.dto.request.ComisionRequest;
+import com.sena.app_backend.dto.response.ComisionResponse;
+import com.sena.app_backend.model.ComisionPlan;
+import com.sena.app_backend.model.Plan;
+import com.sena.app_backend.repository.ComisionPlanRepository;
+import com.sena.app_backend.repository.PlanRepository;
+import com.sena.app_backend.service.ComisionService;
+import com.sena.app_backend.util.CalculadorPreciosPlan;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Implementación de ComisionService.
+ * Cada cambio publica un {@link ComisionesModificadasEvent} para que, tras el commit,
+ * se recarguen la tabla de comisiones en memoria y los precios del catálogo de planes.
+ */
+@Service
+@RequiredArgsConstructor
+public class ComisionServiceImpl implements ComisionService {
+
+  private final ComisionPlanRepository repo;
+  private final PlanRepository planRepo;
+  private final ApplicationEventPublisher eventPublisher;
+
+  private ComisionResponse toDto(ComisionPlan c) {
+    return ComisionResponse.builder()
+        .id(c.getId())
+        .planId(c.getPlan() != null ? c.getPlan().getId() : null)
+        .tasa(c.getTasa())
+        .activa(c.isActiva())
+        .descripcion(c.getDescripcion())
+        .build();
+  }
+
+  /**
+   * Valida la solicitud y la copia sobre la entidad.
+   * Si la comisión queda activa, desactiva las demás del mismo plan antes de modificar la
+   * entidad: la restricción única uk_comision_activa admite una sola activa por plan. Si dos
+   * activaciones compiten, la segunda espera el bloqueo de la fila que desactiva o falla
+   * por la restricción; nunca quedan dos activas.
+   */
+  private void aplicar(ComisionPlan c, ComisionRequest req) {
+    String error = CalculadorPreciosPlan.validarComision(req.getTasa());
+    if (error != null) {
+      throw new RuntimeException(error);
+    }
+    if (req.getTasa().scale() > 4) {
+      throw new RuntimeException("La tasa de comisión admite como máximo 4 decimales");
+    }
+    Plan plan = null;
+    if (req.getPlanId() != null) {
+      plan = planRepo.findById(req.getPlanId())
+          .orElseThrow(() -> new RuntimeException("Plan no encontrado"));
+    }
+    if (req.isActiva()) {
+      repo.desactivarOtras(c.getId(), plan != null ? plan.getId() : null);
+    }
+    c.setPlan(plan);
+    c.setTasa(req.getTasa());
+    c.setActiva(req.isActiva());
+    c.setDescripcion(req.getDescripcion());
+  }
+
+  private ComisionResponse guardar(ComisionPlan c) {
+    ComisionPlan saved = repo.save(c);
+    eventPublisher.publishEvent(new ComisionesModificadasEvent(saved.getId()));
+    return toDto(saved);
+  }
+
+  @Override
+  @Transactional
+  public ComisionResponse crearComision(ComisionRequest req) {
+    ComisionPlan c = new ComisionPlan();
+    aplicar(c, req);
+    return guardar(c);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<ComisionResponse> listarComisiones() {
+    return repo.findAllConPlan().stream().map(this::toDto).toList();
+  }
+
+  @Override
+  @Transactional
+  public ComisionResponse actualizarComision(Long id, ComisionRequest req) {
+    ComisionPlan c = repo.findById(id)
+        .orElseThrow(() -> new RuntimeException("Comisión no encontrada"));
+    aplicar(c, req);
+    return guardar(c);
+  }
+
+  @Override
+  @Transactional
+  public void eliminarComision(Long id) {
+    if (!repo.existsById(id)) {
+      throw new RuntimeException("Comisión no encontrada");
+    }
+    repo.deleteById(id);
+    eventPublisher.publishEvent(new ComisionesModificadasEvent(id));
+  }
+}
@@ -0,0 +1,229 @@
+package com.sena.app_backend.service.impl;
+
+import com.sena.app_backend.dto.request.LoteTransaccionesRequest;
+import com.sena.app_backend.dto.response.LoteTransaccionesResponse;
+import com.sena.app_backend.model.CheckpointDevengo;
+import com.sena.app_backend.model.EstadoTrabajo;
+import com.sena.app_backend.model.Plan;
+import com.sena.app_backend.model.TipoTransaccionPlataforma;
+import com.sena.app_backend.repository.CheckpointDevengoRepository;
+import com.sena.app_backend.repository.PlanRepository;
+import com.sena.app_backend.service.DevengoService;
+import com.sena.app_backend.service.LoteTransaccionesService;
+import com.sena.app_backend.util.CalculadorDevengo;
+import com.sena.app_backend.util.DineroFijo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recorre los alquileres ACTIVO por id (keyset, índice estado+id) en páginas de
+ * {@code devengo.lote}. Cada página se procesa en una transacción:
+ *   1. Bloquea el checkpoint del día y lee la página siguiente a su cursor.
+ *   2. Calcula las ganancias con {@link CalculadorDevengo} sobre arreglos de long.
+ *   3. Las abona con {@link LoteTransaccionesService#aplicarEnTransaccion} (tipo
+ *   GANANCIA_MINERIA) dentro de la transacción de la página, suma cada abono a
+ *   {@code alquiler.ganancia_acumulada} con un batch JDBC y avanza el cursor.
+ * La página se lee con FOR UPDATE: un cierre concurrente (AlquilerServiceImpl.cerrarAlquiler,
+ * que descuenta {@code ganancia_acumulada} de su liquidación) espera a que la página confirme,
+ * o la página ya no ve el alquiler CERRADO; así ningún día se paga dos veces.
+ * Como abonos y cursor se confirman juntos, cada alquiler se abona una sola vez por día
+ * aunque la ejecución se interrumpa o corra en varios nodos. Si falla un grupo de cuentas
+ * la excepción revierte la página completa (abonos, acumulados y cursor) y se reintenta
+ * en la siguiente ejecución; las entradas rechazadas sin excepción (p. ej. usuario
+ * inexistente) solo se omiten del acumulado.
+ */
+@Service
+public class DevengoServiceImpl implements DevengoService {
+
+  static final String PAGINA = "SELECT id, usuario_id, plan_id, fecha_inicio, fecha_fin FROM alquiler "
+      + "WHERE estado = 'ACTIVO' AND id > ? AND fecha_inicio < ? AND fecha_fin > ? ORDER BY id LIMIT ? FOR UPDATE";
+  static final String ACUMULAR =
+      "UPDATE alquiler SET ganancia_acumulada = COALESCE(ganancia_acumulada, 0) + ? WHERE id = ?";
+
+  private final JdbcTemplate jdbc;
+  private final CheckpointDevengoRepository checkpointRepo;
+  private final PlanRepository planRepo;
+  private final LoteTransaccionesService loteService;
+  private final TransactionTemplate tx;
+  private final boolean habilitado;
+  private final int lote;
+  private final int maxDiasAtraso;
+
+  public DevengoServiceImpl(JdbcTemplate jdbc,
+                            CheckpointDevengoRepository checkpointRepo,
+                            PlanRepository planRepo,
+                            LoteTransaccionesService loteService,
+                            PlatformTransactionManager txManager,
+                            @Value("${devengo.habilitado:false}") boolean habilitado,
+                            @Value("${devengo.lote:1000}") int lote,
+                            @Value("${devengo.maxDiasAtraso:7}") int maxDiasAtraso) {
+    this.jdbc = jdbc;
+    this.checkpointRepo = checkpointRepo;
+    this.planRepo = planRepo;
+    this.loteService = loteService;
+    this.tx = new TransactionTemplate(txManager);
+    this.habilitado = habilitado;
+    this.lote = lote;
+    this.maxDiasAtraso = maxDiasAtraso;
+  }
+
+  /**
+   * Devenga el día anterior y los días pendientes desde el último completado
+   * (como máximo {@code devengo.maxDiasAtraso}); solo con {@code devengo.habilitado=true}.
+   */
+  @Scheduled(cron = "${devengo.cron:0 15 0 * * *}")
+  public void devengarProgramado() {
+    if (!habilitado) {
+      return;
+    }
+    LocalDate ayer = LocalDate.now().minusDays(1);
+    LocalDate desde = checkpointRepo.findTopByEstadoOrderByDiaDesc(EstadoTrabajo.COMPLETADO)
+        .map(c -> c.getDia().plusDays(1))
+        .orElse(ayer);
+    if (desde.isBefore(ayer.minusDays(maxDiasAtraso - 1L))) {
+      desde = ayer.minusDays(maxDiasAtraso - 1L);
+    }
+    for (LocalDate dia = desde; !dia.isAfter(ayer); dia = dia.plusDays(1)) {
+      try {
+        int abonados = devengar(dia);
+        System.out.printf("Devengo %s: %d alquileres abonados%n", dia, abonados);
+      } catch (RuntimeException e) {
+        System.err.printf("Devengo %s: error, se continúa desde el checkpoint en la siguiente ejecución: %s%n",
+            dia, e.getMessage());
+        return;
+      }
+    }
+  }
+
+  @Override
+  public int devengar(LocalDate dia) {
+    checkpointRepo.crear(dia, LocalDateTime.now());
+    Map<Long, long[]> planes = cargarPlanes();
+    Pagina p = new Pagina(lote);
+    int total = 0;
+    while (true) {
+      Integer abonados = tx.execute(s -> procesarPagina(dia, planes, p));
+      if (abonados == null || abonados < 0) {
+        return total;
+      }
+      total += abonados;
+    }
+  }
+
+  /** @return alquileres abonados, o -1 si el día ya no tiene páginas pendientes */
+  private int procesarPagina(LocalDate dia, Map<Long, long[]> planes, Pagina p) {
+    CheckpointDevengo c = checkpointRepo.bloquear(dia)
+        .orElseThrow(() -> new RuntimeException("Checkpoint de devengo no encontrado: " + dia));
+    if (c.getEstado() == EstadoTrabajo.COMPLETADO) {
+      return -1;
+    }
+    LocalDateTime inicio = dia.atStartOfDay();
+    LocalDateTime fin = inicio.plusDays(1);
+    leer(p, c.getUltimoAlquilerId(), inicio, fin, planes);
+    if (p.n == 0) {
+      c.setEstado(EstadoTrabajo.COMPLETADO);
+      c.setActualizado(LocalDateTime.now());
+      checkpointRepo.save(c);
+      return -1;
+    }
+    CalculadorDevengo.calcular(p.ids, p.min4, p.rango4, p.segundos, dia.toEpochDay(), p.ganancia4, p.n);
+
+    List<LoteTransaccionesRequest.Entrada> entradas = new ArrayList<>();
+    List<Integer> posiciones = new ArrayList<>();
+    for (int i = 0; i < p.n; i++) {
+      if (p.ganancia4[i] > 0) {
+        entradas.add(new LoteTransaccionesRequest.Entrada(p.usuarios[i], TipoTransaccionPlataforma.GANANCIA_MINERIA,
+            BigDecimal.valueOf(p.ganancia4[i], DineroFijo.ESCALA)));
+        posiciones.add(i);
+      }
+    }
+    List<Object[]> acumulados = new ArrayList<>();
+    long total4 = 0;
+    if (!entradas.isEmpty()) {
+      LoteTransaccionesResponse r = loteService.aplicarEnTransaccion(new LoteTransaccionesRequest(entradas));
+      for (int k = 0; k < entradas.size(); k++) {
+        int i = posiciones.get(k);
+        if (r.getResultados().get(k).getError() == null) {
+          acumulados.add(new Object[]{entradas.get(k).getMonto(), p.ids[i]});
+          total4 += p.ganancia4[i];
+        } else {
+          System.err.printf("Devengo %s: alquiler %d sin abonar: %s%n", dia, p.ids[i],
+              r.getResultados().get(k).getError());
+        }
+      }
+      jdbc.batchUpdate(ACUMULAR, acumulados);
+    }
+
+    c.setUltimoAlquilerId(p.ids[p.n - 1]);
+    c.setAlquileres(c.getAlquileres() + acumulados.size());
+    c.setTotal(c.getTotal().add(BigDecimal.valueOf(total4, DineroFijo.ESCALA)));
+    c.setActualizado(LocalDateTime.now());
+    checkpointRepo.save(c);
+    return acumulados.size();
+  }
+
+  /** Llena la página con los alquileres siguientes al cursor, directo a los arreglos. */
+  private void leer(Pagina p, long despuesDe, LocalDateTime inicio, LocalDateTime fin, Map<Long, long[]> planes) {
+    p.n = 0;
+    long inicioSeg = inicio.toEpochSecond(ZoneOffset.UTC);
+    long finSeg = fin.toEpochSecond(ZoneOffset.UTC);
+    jdbc.query(PAGINA, rs -> {
+      int i = p.n++;
+      p.ids[i] = rs.getLong(1);
+      p.usuarios[i] = rs.getLong(2);
+      long[] plan = planes.get(rs.getLong(3));
+      p.min4[i] = plan == null ? 0 : plan[0];
+      p.rango4[i] = plan == null ? 0 : plan[1];
+      long desde = Math.max(inicioSeg, rs.getObject(4, LocalDateTime.class).toEpochSecond(ZoneOffset.UTC));
+      long hasta = Math.min(finSeg, rs.getObject(5, LocalDateTime.class).toEpochSecond(ZoneOffset.UTC));
+      p.segundos[i] = Math.max(0, hasta - desde);
+    }, despuesDe, fin, inicio, lote);
+  }
+
+  /** Plan → {gananciaMin, gananciaMax - gananciaMin} en 1e-4. */
+  private Map<Long, long[]> cargarPlanes() {
+    Map<Long, long[]> planes = new HashMap<>();
+    for (Plan plan : planRepo.findAll()) {
+      long min4 = DineroFijo.aUnidades(plan.getGananciaMin().setScale(DineroFijo.ESCALA, RoundingMode.HALF_UP));
+      long max4 = DineroFijo.aUnidades(plan.getGananciaMax().setScale(DineroFijo.ESCALA, RoundingMode.HALF_UP));
+      long rango4 = Math.max(0, max4 - min4);
+      CalculadorDevengo.validarRango(min4, rango4);
+      planes.put(plan.getId(), new long[]{min4, rango4});
+    }
+    return planes;
+  }
+
+  /** Arreglos reutilizados entre páginas; solo las primeras {@code n} posiciones son válidas. */
+  static final class Pagina {
+    final long[] ids;
+    final long[] usuarios;
+    final long[] min4;
+    final long[] rango4;
+    final long[] segundos;
+    final long[] ganancia4;
+    int n;
+
+    Pagina(int tamano) {
+      ids = new long[tamano];
+      usuarios = new long[tamano];
+      min4 = new long[tamano];
+      rango4 = new long[tamano];
+      segundos = new long[tamano];
+      ganancia4 = new long[tamano];
+    }
+  }
+}
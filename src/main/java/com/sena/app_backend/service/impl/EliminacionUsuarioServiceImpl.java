@@ -0,0 +1,250 @@
+package com.sena.app_backend.service.impl;
+
+import com.sena.app_backend.dto.response.EstadoEliminacionResponse;
+import com.sena.app_backend.model.EstadoTrabajo;
+import com.sena.app_backend.model.TrabajoEliminacion;
+import com.sena.app_backend.model.Usuario;
+import com.sena.app_backend.repository.RefreshTokenRepository;
+import com.sena.app_backend.repository.TrabajoEliminacionRepository;
+import com.sena.app_backend.repository.UsuarioRepository;
+import com.sena.app_backend.security.UsuariosBloqueados;
+import com.sena.app_backend.service.EliminacionUsuarioService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Worker de eliminación de usuarios.
+ * <p>
+ * Cada paso borra una tabla con {@code DELETE ... LIMIT lote}; cada lote se confirma en su
+ * propia transacción junto con el avance del trabajo, así los bloqueos duran poco y,
+ * si el nodo cae, el siguiente retoma desde el paso guardado. Los pasos siguen el orden
+ * de las claves foráneas y las tablas de archivo se borran antes que sus dueños, porque
+ * se localizan a través de ellos.
+ * <p>
+ * Desde la solicitud el usuario queda en {@link UsuariosBloqueados}, así que sus tokens de
+ * acceso dejan de aceptarse; aun así, un alquiler creado en el intervalo de recarga de otro
+ * nodo no debe dejar su máquina ocupada: cada lote de ALQUILERES libera las máquinas y borra
+ * los trabajos de provisionamiento de los alquileres que queden, en la misma transacción
+ * que el DELETE.
+ */
+@Service
+public class EliminacionUsuarioServiceImpl implements EliminacionUsuarioService {
+
+  /** Libera las máquinas de los alquileres ACTIVO/PENDIENTE del usuario. */
+  private static final String LIBERAR_MAQUINAS = "UPDATE maquina SET estado = 'DISPONIBLE' "
+      + "WHERE estado <> 'DISPONIBLE' AND id IN "
+      + "(SELECT maquina_id FROM alquiler WHERE usuario_id = ? AND estado IN ('ACTIVO', 'PENDIENTE'))";
+
+  /** Borra los trabajos de provisionamiento de los alquileres del usuario. */
+  private static final String BORRAR_TRABAJOS = "DELETE FROM trabajo_provisionamiento WHERE alquiler_id IN "
+      + "(SELECT id FROM alquiler WHERE usuario_id = ?)";
+
+  /**
+   * Pasos de la eliminación, en orden. Cada SQL recibe (usuarioId, lote); los previos
+   * reciben (usuarioId) y se ejecutan en la transacción de cada lote, antes del SQL.
+   */
+  enum PasoEliminacion {
+    MAQUINAS(LIBERAR_MAQUINAS + " LIMIT ?"),
+    TRABAJOS(BORRAR_TRABAJOS + " LIMIT ?"),
+    ALQUILERES("DELETE FROM alquiler WHERE usuario_id = ? LIMIT ?", LIBERAR_MAQUINAS, BORRAR_TRABAJOS),
+    ALQUILERES_ARCHIVO("DELETE FROM alquiler_archivo WHERE usuario_id = ? LIMIT ?"),
+    TRANSACCIONES_ARCHIVO("DELETE FROM transaccion_archivo WHERE monedero_id IN "
+        + "(SELECT id FROM monedero WHERE usuario_id = ?) LIMIT ?"),
+    TRANSACCIONES("DELETE FROM transaccion WHERE monedero_id IN "
+        + "(SELECT id FROM monedero WHERE usuario_id = ?) LIMIT ?"),
+    MONEDEROS("DELETE FROM monedero WHERE usuario_id = ? LIMIT ?"),
+    TRANSACCIONES_PLATAFORMA_ARCHIVO("DELETE FROM platforma_transaccion_cuenta_archivo WHERE account_id IN "
+        + "(SELECT id FROM platforma_fondos_cuenta WHERE usuario_id = ?) LIMIT ?"),
+    TRANSACCIONES_PLATAFORMA("DELETE FROM platforma_transaccion_cuenta WHERE account_id IN "
+        + "(SELECT id FROM platforma_fondos_cuenta WHERE usuario_id = ?) LIMIT ?"),
+    CUENTA("DELETE FROM platforma_fondos_cuenta WHERE usuario_id = ? LIMIT ?"),
+    TOKENS("DELETE FROM refresh_tokens WHERE user_id = ? LIMIT ?"),
+    IDEMPOTENCIA("DELETE FROM idempotencia WHERE usuario_id = ? LIMIT ?"),
+    USUARIO("DELETE FROM usuario WHERE id = ? LIMIT ?");
+
+    final String sql;
+    final String[] previos;
+
+    PasoEliminacion(String sql, String... previos) {
+      this.sql = sql;
+      this.previos = previos;
+    }
+  }
+
+  private final JdbcTemplate jdbc;
+  private final TrabajoEliminacionRepository trabajoRepo;
+  private final UsuarioRepository usuarioRepo;
+  private final RefreshTokenRepository refreshTokenRepo;
+  private final UsuariosBloqueados usuariosBloqueados;
+  private final TransactionTemplate tx;
+  private final int lote;
+  private final long pausaMs;
+  private final int maxIntentos;
+  private final long abandonoSegundos;
+
+  public EliminacionUsuarioServiceImpl(JdbcTemplate jdbc,
+                                       TrabajoEliminacionRepository trabajoRepo,
+                                       UsuarioRepository usuarioRepo,
+                                       RefreshTokenRepository refreshTokenRepo,
+                                       UsuariosBloqueados usuariosBloqueados,
+                                       PlatformTransactionManager txManager,
+                                       @Value("${usuarios.eliminacion.lote:500}") int lote,
+                                       @Value("${usuarios.eliminacion.pausaMs:50}") long pausaMs,
+                                       @Value("${usuarios.eliminacion.maxIntentos:5}") int maxIntentos,
+                                       @Value("${usuarios.eliminacion.abandonoSegundos:300}") long abandonoSegundos) {
+    this.jdbc = jdbc;
+    this.trabajoRepo = trabajoRepo;
+    this.usuarioRepo = usuarioRepo;
+    this.refreshTokenRepo = refreshTokenRepo;
+    this.usuariosBloqueados = usuariosBloqueados;
+    this.tx = new TransactionTemplate(txManager);
+    this.lote = lote;
+    this.pausaMs = pausaMs;
+    this.maxIntentos = maxIntentos;
+    this.abandonoSegundos = abandonoSegundos;
+  }
+
+  @Override
+  @Transactional
+  public EstadoEliminacionResponse solicitar(Long usuarioId) {
+    Usuario u = usuarioRepo.findById(usuarioId)
+        .orElseThrow(() -> new RuntimeException("Usuario no encontrado: " + usuarioId));
+    TrabajoEliminacion existente = trabajoRepo.findByUsuarioId(usuarioId).orElse(null);
+    if (existente != null) {
+      return toDto(existente);
+    }
+    // Bloquea el login (JpaUserDetailsService), la renovación de tokens y los tokens vigentes desde ya
+    u.setEliminacionPendiente(true);
+    usuarioRepo.save(u);
+    refreshTokenRepo.borrarPorUsuario(usuarioId);
+    usuariosBloqueados.bloquear(usuarioId);
+
+    LocalDateTime ahora = LocalDateTime.now();
+    TrabajoEliminacion t = trabajoRepo.save(TrabajoEliminacion.builder()
+        .usuarioId(usuarioId)
+        .estado(EstadoTrabajo.PENDIENTE)
+        .paso(PasoEliminacion.values()[0].name())
+        .creado(ahora)
+        .actualizado(ahora)
+        .build());
+    return toDto(t);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public EstadoEliminacionResponse obtenerEstado(Long usuarioId) {
+    return trabajoRepo.findByUsuarioId(usuarioId)
+        .map(EliminacionUsuarioServiceImpl::toDto)
+        .orElseThrow(() -> new RuntimeException("Eliminación no encontrada para usuario " + usuarioId));
+  }
+
+  @Override
+  @Scheduled(fixedDelayString = "${usuarios.eliminacion.intervaloMs:5000}")
+  public int procesarPendientes() {
+    trabajoRepo.liberarAbandonados(LocalDateTime.now().minusSeconds(abandonoSegundos));
+
+    List<TrabajoEliminacion> pendientes = trabajoRepo.findTop10ByEstadoOrderByIdAsc(EstadoTrabajo.PENDIENTE);
+    int completados = 0;
+    for (TrabajoEliminacion t : pendientes) {
+      if (trabajoRepo.tomar(t.getId(), LocalDateTime.now()) == 1 && procesar(t)) {
+        completados++;
+      }
+    }
+    return completados;
+  }
+
+  /**
+   * Ejecuta los pasos desde el guardado en el trabajo.
+   *
+   * @return true si el usuario quedó eliminado
+   */
+  boolean procesar(TrabajoEliminacion t) {
+    try {
+      PasoEliminacion[] pasos = PasoEliminacion.values();
+      for (int i = PasoEliminacion.valueOf(t.getPaso()).ordinal(); i < pasos.length; i++) {
+        ejecutarPaso(t.getId(), t.getUsuarioId(), pasos[i]);
+      }
+      finalizar(t.getId(), EstadoTrabajo.COMPLETADO, null, false);
+      System.out.printf("Eliminación de usuario %d completada%n", t.getUsuarioId());
+      return true;
+    } catch (RuntimeException e) {
+      System.err.printf("Eliminación de usuario %d: error, se reintenta: %s%n", t.getUsuarioId(), e.getMessage());
+      finalizar(t.getId(), EstadoTrabajo.PENDIENTE, e.getMessage(), true);
+      return false;
+    }
+  }
+
+  /** Borra lotes del paso hasta que uno sale incompleto; cada lote en su transacción. */
+  private void ejecutarPaso(Long trabajoId, Long usuarioId, PasoEliminacion paso) {
+    while (true) {
+      Integer n = tx.execute(status -> {
+        for (String previo : paso.previos) {
+          jdbc.update(previo, usuarioId);
+        }
+        int filas = jdbc.update(paso.sql, usuarioId, lote);
+        trabajoRepo.avanzar(trabajoId, paso.name(), filas, LocalDateTime.now());
+        return filas;
+      });
+      if (n == null || n < lote) {
+        return;
+      }
+      pausar();
+    }
+  }
+
+  /**
+   * Cierra el intento. Tras un error el trabajo vuelve a PENDIENTE (o FALLIDO al agotar
+   * {@code maxIntentos}) y vuelve al primer paso: con el token de acceso aún vigente el usuario
+   * pudo crear filas en tablas ya recorridas, y recorrer de nuevo un paso vacío es barato.
+   */
+  private void finalizar(Long trabajoId, EstadoTrabajo estado, String error, boolean fallo) {
+    tx.executeWithoutResult(status -> trabajoRepo.findById(trabajoId).ifPresent(t -> {
+      if (fallo) {
+        t.setIntentos(t.getIntentos() + 1);
+        t.setEstado(t.getIntentos() >= maxIntentos ? EstadoTrabajo.FALLIDO : estado);
+        t.setError(error == null ? null : error.substring(0, Math.min(error.length(), 255)));
+        t.setPaso(PasoEliminacion.values()[0].name());
+      } else {
+        t.setEstado(estado);
+        t.setError(null);
+      }
+      t.setActualizado(LocalDateTime.now());
+      trabajoRepo.save(t);
+    }));
+  }
+
+  private void pausar() {
+    if (pausaMs <= 0) {
+      return;
+    }
+    try {
+      Thread.sleep(pausaMs);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Eliminación interrumpida", e);
+    }
+  }
+
+  private static EstadoEliminacionResponse toDto(TrabajoEliminacion t) {
+    PasoEliminacion paso = PasoEliminacion.valueOf(t.getPaso());
+    return EstadoEliminacionResponse.builder()
+        .usuarioId(t.getUsuarioId())
+        .estado(t.getEstado())
+        .paso(paso.name())
+        .numeroPaso(paso.ordinal() + 1)
+        .totalPasos(PasoEliminacion.values().length)
+        .filasBorradas(t.getFilasBorradas())
+        .creado(t.getCreado())
+        .actualizado(t.getActualizado())
+        .error(t.getError())
+        .build();
+  }
+}
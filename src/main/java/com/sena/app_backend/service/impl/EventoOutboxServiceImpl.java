@@ -0,0 +1,40 @@
+package com.sena.app_backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sena.app_backend.model.EventoOutbox;
+import com.sena.app_backend.repository.EventoOutboxRepository;
+import com.sena.app_backend.service.EventoOutboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class EventoOutboxServiceImpl implements EventoOutboxService {
+
+  private final EventoOutboxRepository outboxRepo;
+  private final ObjectMapper objectMapper;
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void registrar(String tipo, Long agregadoId, Long usuarioId, Object payload) {
+    String json;
+    try {
+      json = objectMapper.writeValueAsString(payload);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("No se pudo serializar el evento " + tipo, e);
+    }
+    outboxRepo.save(EventoOutbox.builder()
+        .tipo(tipo)
+        .agregadoId(agregadoId)
+        .usuarioId(usuarioId)
+        .payload(json)
+        .creado(LocalDateTime.now())
+        .publicado(false)
+        .build());
+  }
+}
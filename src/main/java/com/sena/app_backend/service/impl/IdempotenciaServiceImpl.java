@@ -0,0 +1,243 @@
+package com.sena.app_backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sena.app_backend.model.EstadoIdempotencia;
+import com.sena.app_backend.model.RegistroIdempotencia;
+import com.sena.app_backend.repository.RegistroIdempotenciaRepository;
+import com.sena.app_backend.service.IdempotenciaService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Implementación de IdempotenciaService sobre la tabla idempotencia.
+ * <p>
+ * 1. Un duplicado concurrente en el mismo nodo espera el {@link CompletableFuture} de la
+ *    solicitud en curso (sin tocar la BD), tras comprobar la huella igual que con la fila:
+ *    con otro cuerpo se rechaza en cualquier nodo.
+ * 2. Entre nodos, la restricción única (usuario_id, operacion, clave) decide quién ejecuta:
+ *    el resto consulta la fila hasta que pasa a COMPLETADO.
+ * 3. La operación y el paso de la fila a COMPLETADO (con la respuesta) se confirman en una
+ *    sola transacción: o quedan las dos o ninguna. Si la operación falla se revierte y se
+ *    borra la fila, así el cliente puede reintentar.
+ * <p>
+ * Una fila EN_CURSO vence a los {@code idempotencia.enCursoSegundos} (nodo caído) y una
+ * COMPLETADO a las {@code idempotencia.ttlHoras}; las vencidas se borran periódicamente.
+ * Como la operación solo se confirma junto con su registro, un EN_CURSO vencido significa
+ * que la operación no se confirmó: otro nodo puede reclamarlo, y si la ejecución original
+ * seguía viva, al terminar ya no encuentra su registro EN_CURSO y se revierte. Así nunca se
+ * confirman dos ejecuciones de la misma clave. {@code enCursoSegundos} debe superar la
+ * duración de la operación más lenta.
+ */
+@Service
+public class IdempotenciaServiceImpl implements IdempotenciaService {
+
+  private static final int LARGO_MAX_CLAVE = 100;
+  private static final long ESPERA_SONDEO_MS = 100;
+  private static final String HUELLA_DISTINTA = "Idempotency-Key ya usada con una solicitud distinta";
+
+  private final RegistroIdempotenciaRepository repo;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate tx;
+  private final Duration ttl;
+  private final Duration enCurso;
+  private final Duration esperaMaxima;
+
+  /** Solicitudes en ejecución en este nodo, por (usuario, operación, clave). */
+  private final ConcurrentHashMap<String, EnEjecucion> enEjecucion = new ConcurrentHashMap<>();
+
+  /** Solicitud en ejecución: huella del cuerpo y respuesta JSON cuando termine. */
+  private record EnEjecucion(String huella, CompletableFuture<String> respuesta) {
+  }
+
+  public IdempotenciaServiceImpl(RegistroIdempotenciaRepository repo,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager txManager,
+                                 @Value("${idempotencia.ttlHoras:24}") long ttlHoras,
+                                 @Value("${idempotencia.enCursoSegundos:300}") long enCursoSegundos,
+                                 @Value("${idempotencia.esperaMaximaSegundos:30}") long esperaMaximaSegundos) {
+    this.repo = repo;
+    this.objectMapper = objectMapper;
+    this.tx = new TransactionTemplate(txManager);
+    this.ttl = Duration.ofHours(ttlHoras);
+    this.enCurso = Duration.ofSeconds(enCursoSegundos);
+    this.esperaMaxima = Duration.ofSeconds(esperaMaximaSegundos);
+  }
+
+  @Override
+  public <T> Resultado<T> ejecutar(String clave, Long usuarioId, String operacion, Object solicitud,
+                                   Class<T> tipo, Supplier<T> accion) {
+    if (clave == null || clave.isBlank()) {
+      return new Resultado<>(accion.get(), false);
+    }
+    if (clave.length() > LARGO_MAX_CLAVE) {
+      throw new RuntimeException("Idempotency-Key admite como máximo " + LARGO_MAX_CLAVE + " caracteres");
+    }
+    String huella = huella(solicitud);
+    String llave = usuarioId + ":" + operacion + ":" + clave;
+
+    CompletableFuture<String> propio = new CompletableFuture<>();
+    EnEjecucion entrada = new EnEjecucion(huella, propio);
+    EnEjecucion existente = enEjecucion.putIfAbsent(llave, entrada);
+    if (existente != null) {
+      // Duplicado concurrente en este nodo: esperamos el resultado del primero
+      if (!existente.huella().equals(huella)) {
+        throw new RuntimeException(HUELLA_DISTINTA);
+      }
+      return new Resultado<>(leer(esperar(existente.respuesta()), tipo), true);
+    }
+    try {
+      RegistroIdempotencia registro = reclamar(clave, usuarioId, operacion, huella);
+      if (registro.getEstado() == EstadoIdempotencia.COMPLETADO) {
+        propio.complete(registro.getRespuesta());
+        return new Resultado<>(leer(registro.getRespuesta(), tipo), true);
+      }
+      String[] json = new String[1];
+      T valor;
+      try {
+        valor = tx.execute(status -> {
+          T v = accion.get();
+          json[0] = escribir(v);
+          if (repo.completar(registro.getId(), json[0], Instant.now().plus(ttl),
+              EstadoIdempotencia.COMPLETADO, EstadoIdempotencia.EN_CURSO) != 1) {
+            throw new RuntimeException("La Idempotency-Key venció y la reclamó otra solicitud; la operación se revirtió");
+          }
+          return v;
+        });
+      } catch (RuntimeException ex) {
+        repo.liberar(registro.getId(), EstadoIdempotencia.EN_CURSO);
+        throw ex;
+      }
+      propio.complete(json[0]);
+      return new Resultado<>(valor, false);
+    } catch (RuntimeException ex) {
+      propio.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      enEjecucion.remove(llave, entrada);
+    }
+  }
+
+  /**
+   * Registra la solicitud como EN_CURSO. Si ya existe una ejecución con la misma clave
+   * devuelve su registro COMPLETADO (esperándolo si otro nodo la está ejecutando).
+   *
+   * @return el registro EN_CURSO propio si esta solicitud debe ejecutarse; el COMPLETADO si no
+   */
+  private RegistroIdempotencia reclamar(String clave, Long usuarioId, String operacion, String huella) {
+    long limite = System.nanoTime() + esperaMaxima.toNanos();
+    while (true) {
+      Optional<RegistroIdempotencia> registro = repo.findByUsuarioIdAndOperacionAndClave(usuarioId, operacion, clave);
+      Instant ahora = Instant.now();
+      if (registro.isPresent()) {
+        RegistroIdempotencia r = registro.get();
+        if (r.getExpira().isBefore(ahora)) {
+          // Vencido (o abandonado por un nodo caído): se borra solo si sigue vencido y se vuelve a leer
+          if (repo.borrarSiVencido(r.getId(), ahora) == 1 && r.getEstado() == EstadoIdempotencia.EN_CURSO) {
+            System.err.printf("Idempotencia: registro EN_CURSO vencido de %s reclamado de nuevo%n", operacion);
+          }
+          continue;
+        }
+        if (!r.getHuella().equals(huella)) {
+          throw new RuntimeException(HUELLA_DISTINTA);
+        }
+        if (r.getEstado() == EstadoIdempotencia.COMPLETADO) {
+          return r;
+        }
+        if (System.nanoTime() > limite) {
+          throw new RuntimeException("Hay una solicitud con la misma Idempotency-Key en curso; reintente más tarde");
+        }
+        dormir();
+        continue;
+      }
+      try {
+        return repo.saveAndFlush(RegistroIdempotencia.builder()
+            .clave(clave)
+            .usuarioId(usuarioId)
+            .operacion(operacion)
+            .huella(huella)
+            .estado(EstadoIdempotencia.EN_CURSO)
+            .creado(ahora)
+            .expira(ahora.plus(enCurso))
+            .build());
+      } catch (DataIntegrityViolationException ex) {
+        // Otro nodo la registró primero: volvemos a consultar
+      }
+    }
+  }
+
+  /**
+   * Borra los registros vencidos (por defecto cada hora).
+   */
+  @Scheduled(fixedDelayString = "${idempotencia.limpiezaMs:3600000}")
+  public void limpiarVencidos() {
+    repo.deleteVencidos(Instant.now());
+  }
+
+  private String esperar(CompletableFuture<String> enCursoLocal) {
+    try {
+      return enCursoLocal.get(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new IllegalStateException(ex.getCause());
+    } catch (TimeoutException ex) {
+      throw new RuntimeException("Hay una solicitud con la misma Idempotency-Key en curso; reintente más tarde");
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private static void dormir() {
+    try {
+      Thread.sleep(ESPERA_SONDEO_MS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private String huella(Object solicitud) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(solicitud));
+      return Base64.getEncoder().encodeToString(hash);
+    } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("No se pudo calcular la huella de la solicitud", ex);
+    }
+  }
+
+  private String escribir(Object valor) {
+    try {
+      return objectMapper.writeValueAsString(valor);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("No se pudo serializar la respuesta", ex);
+    }
+  }
+
+  private <T> T leer(String json, Class<T> tipo) {
+    try {
+      return objectMapper.readValue(json, tipo);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("No se pudo leer la respuesta guardada", ex);
+    }
+  }
+}
@@ -0,0 +1,273 @@
+package com.sena.app_backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sena.app_backend.dto.response.ImportacionMaquinasResponse;
+import com.sena.app_backend.dto.response.ImportacionMaquinasResponse.Resultado;
+import com.sena.app_backend.model.EstadoMaquina;
+import com.sena.app_backend.model.NivelRecursos;
+import com.sena.app_backend.repository.MaquinaRepository;
+import com.sena.app_backend.service.ImportacionMaquinasService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Lee el archivo línea a línea y procesa lotes de {@code maquinas.importacion.lote} filas:
+ * una consulta {@code serial IN (...)} descarta los seriales existentes y el resto se inserta
+ * con un {@code batchUpdate} JDBC en su propia transacción (con rewriteBatchedStatements el
+ * driver envía un INSERT multi-fila). Solo se mantienen en memoria el lote actual, los
+ * seriales ya vistos y el reporte.
+ */
+@Service
+public class ImportacionMaquinasServiceImpl implements ImportacionMaquinasService {
+
+  static final String INSERT =
+      "INSERT INTO maquina (serial, estado, recursos, especificaciones) VALUES (?, ?, ?, ?)";
+
+  private static final int MAX_SERIAL = 255;
+
+  /** Fila ya validada, pendiente de insertar. */
+  record FilaMaquina(int linea, String serial, EstadoMaquina estado, NivelRecursos recursos,
+                     String especificaciones) {
+  }
+
+  private final MaquinaRepository repo;
+  private final JdbcTemplate jdbc;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate tx;
+  private final int lote;
+
+  public ImportacionMaquinasServiceImpl(MaquinaRepository repo,
+                                        JdbcTemplate jdbc,
+                                        ObjectMapper objectMapper,
+                                        PlatformTransactionManager txManager,
+                                        @Value("${maquinas.importacion.lote:1000}") int lote) {
+    this.repo = repo;
+    this.jdbc = jdbc;
+    this.objectMapper = objectMapper;
+    this.tx = new TransactionTemplate(txManager);
+    this.lote = lote;
+  }
+
+  @Override
+  public ImportacionMaquinasResponse importar(InputStream cuerpo, Formato formato, boolean soloErrores) {
+    ImportacionMaquinasResponse reporte = ImportacionMaquinasResponse.builder()
+        .filas(new ArrayList<>())
+        .build();
+    Set<String> vistos = new HashSet<>();
+    List<FilaMaquina> pendientes = new ArrayList<>(lote);
+    Map<String, Integer> columnas = null;
+
+    try (BufferedReader lector = new BufferedReader(new InputStreamReader(cuerpo, StandardCharsets.UTF_8))) {
+      String texto;
+      int linea = 0;
+      while ((texto = lector.readLine()) != null) {
+        linea++;
+        if (texto.isBlank()) {
+          continue;
+        }
+        if (formato == Formato.CSV && columnas == null) {
+          columnas = leerEncabezado(texto);
+          continue;
+        }
+        FilaMaquina fila;
+        try {
+          fila = formato == Formato.CSV ? filaCsv(linea, texto, columnas) : filaNdjson(linea, texto);
+        } catch (IllegalArgumentException e) {
+          registrar(reporte, linea, null, Resultado.INVALIDA, e.getMessage(), soloErrores);
+          continue;
+        }
+        if (!vistos.add(fila.serial())) {
+          registrar(reporte, linea, fila.serial(), Resultado.DUPLICADA, "Serial repetido en el archivo", soloErrores);
+          continue;
+        }
+        pendientes.add(fila);
+        if (pendientes.size() >= lote) {
+          guardar(pendientes, reporte, soloErrores);
+          pendientes.clear();
+        }
+      }
+      if (!pendientes.isEmpty()) {
+        guardar(pendientes, reporte, soloErrores);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("No se pudo leer el archivo de importación", e);
+    }
+    return reporte;
+  }
+
+  /**
+   * Inserta un lote. Si otra petición creó alguno de los seriales entre la consulta y el
+   * INSERT, la transacción se revierte y se reintenta una vez con los existentes actualizados.
+   */
+  private void guardar(List<FilaMaquina> filas, ImportacionMaquinasResponse reporte, boolean soloErrores) {
+    for (int intento = 1; ; intento++) {
+      Set<String> existentes = new HashSet<>(
+          repo.findSerialesExistentes(filas.stream().map(FilaMaquina::serial).toList()));
+      List<FilaMaquina> nuevas = filas.stream().filter(f -> !existentes.contains(f.serial())).toList();
+      try {
+        if (!nuevas.isEmpty()) {
+          tx.executeWithoutResult(s -> jdbc.batchUpdate(INSERT, nuevas, nuevas.size(), (ps, f) -> {
+            ps.setString(1, f.serial());
+            ps.setString(2, f.estado().name());
+            ps.setString(3, f.recursos().name());
+            ps.setString(4, f.especificaciones());
+          }));
+        }
+      } catch (DataIntegrityViolationException e) {
+        if (intento < 2) {
+          continue;
+        }
+        for (FilaMaquina f : filas) {
+          registrar(reporte, f.linea(), f.serial(), Resultado.ERROR, "No se pudo insertar el lote", soloErrores);
+        }
+        return;
+      }
+      for (FilaMaquina f : filas) {
+        if (existentes.contains(f.serial())) {
+          registrar(reporte, f.linea(), f.serial(), Resultado.DUPLICADA, "Ya existe una máquina con ese serial",
+              soloErrores);
+        } else {
+          registrar(reporte, f.linea(), f.serial(), Resultado.CREADA, null, soloErrores);
+        }
+      }
+      return;
+    }
+  }
+
+  private static void registrar(ImportacionMaquinasResponse reporte, int linea, String serial,
+                                Resultado resultado, String mensaje, boolean soloErrores) {
+    reporte.setTotal(reporte.getTotal() + 1);
+    if (resultado == Resultado.CREADA) {
+      reporte.setCreadas(reporte.getCreadas() + 1);
+      if (soloErrores) {
+        return;
+      }
+    } else {
+      reporte.setRechazadas(reporte.getRechazadas() + 1);
+    }
+    reporte.getFilas().add(new ImportacionMaquinasResponse.Fila(linea, serial, resultado, mensaje));
+  }
+
+  /** Posición de cada columna conocida; serial y recursos son obligatorias. */
+  static Map<String, Integer> leerEncabezado(String texto) {
+    List<String> nombres = dividirCsv(texto);
+    Map<String, Integer> columnas = new HashMap<>();
+    for (int i = 0; i < nombres.size(); i++) {
+      columnas.put(nombres.get(i).trim().toLowerCase(Locale.ROOT), i);
+    }
+    for (String requerida : List.of("serial", "recursos")) {
+      if (!columnas.containsKey(requerida)) {
+        throw new RuntimeException("Falta la columna '" + requerida + "' en el encabezado CSV");
+      }
+    }
+    return columnas;
+  }
+
+  private static FilaMaquina filaCsv(int linea, String texto, Map<String, Integer> columnas) {
+    List<String> valores = dividirCsv(texto);
+    return validar(linea,
+        columna(valores, columnas, "serial"),
+        columna(valores, columnas, "estado"),
+        columna(valores, columnas, "recursos"),
+        columna(valores, columnas, "especificaciones"));
+  }
+
+  private static String columna(List<String> valores, Map<String, Integer> columnas, String nombre) {
+    Integer i = columnas.get(nombre);
+    return i == null || i >= valores.size() ? null : valores.get(i);
+  }
+
+  private FilaMaquina filaNdjson(int linea, String texto) {
+    JsonNode nodo;
+    try {
+      nodo = objectMapper.readTree(texto);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("JSON inválido");
+    }
+    if (nodo == null || !nodo.isObject()) {
+      throw new IllegalArgumentException("Se esperaba un objeto JSON");
+    }
+    return validar(linea, texto(nodo, "serial"), texto(nodo, "estado"), texto(nodo, "recursos"),
+        texto(nodo, "especificaciones"));
+  }
+
+  private static String texto(JsonNode nodo, String campo) {
+    JsonNode v = nodo.get(campo);
+    return v == null || v.isNull() ? null : v.asText();
+  }
+
+  /** Valida y normaliza una fila; el estado por defecto es DISPONIBLE. */
+  static FilaMaquina validar(int linea, String serial, String estado, String recursos, String especificaciones) {
+    String s = serial == null ? "" : serial.trim();
+    if (s.isEmpty()) {
+      throw new IllegalArgumentException("Falta el serial");
+    }
+    if (s.length() > MAX_SERIAL) {
+      throw new IllegalArgumentException("Serial de más de " + MAX_SERIAL + " caracteres");
+    }
+    if (recursos == null || recursos.isBlank()) {
+      throw new IllegalArgumentException("Faltan los recursos");
+    }
+    return new FilaMaquina(linea, s,
+        estado == null || estado.isBlank() ? EstadoMaquina.DISPONIBLE : enumeracion(EstadoMaquina.class, estado),
+        enumeracion(NivelRecursos.class, recursos),
+        especificaciones == null || especificaciones.isEmpty() ? null : especificaciones);
+  }
+
+  private static <E extends Enum<E>> E enumeracion(Class<E> tipo, String valor) {
+    try {
+      return Enum.valueOf(tipo, valor.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Valor no válido para " + tipo.getSimpleName() + ": " + valor);
+    }
+  }
+
+  /**
+   * Divide una línea CSV separada por comas. Admite campos entre comillas dobles con comas
+   * y comillas escapadas ({@code ""}); no admite saltos de línea dentro de un campo.
+   */
+  static List<String> dividirCsv(String linea) {
+    List<String> campos = new ArrayList<>();
+    StringBuilder actual = new StringBuilder();
+    boolean comillas = false;
+    for (int i = 0; i < linea.length(); i++) {
+      char c = linea.charAt(i);
+      if (comillas) {
+        if (c == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+          actual.append('"');
+          i++;
+        } else if (c == '"') {
+          comillas = false;
+        } else {
+          actual.append(c);
+        }
+      } else if (c == '"') {
+        comillas = true;
+      } else if (c == ',') {
+        campos.add(actual.toString());
+        actual.setLength(0);
+      } else {
+        actual.append(c);
+      }
+    }
+    if (comillas) {
+      throw new IllegalArgumentException("Comillas sin cerrar");
+    }
+    campos.add(actual.toString());
+    return campos;
+  }
+}
@@ -34,9 +34,14 @@ public class JpaUserDetailsService implements UserDetailsService {
     SimpleGrantedAuthority authority =
         new SimpleGrantedAuthority(user.getRol().name());
 
+    // Un usuario con eliminación pendiente queda deshabilitado (DisabledException al autenticar)
     return new org.springframework.security.core.userdetails.User(
         user.getEmail(),
         user.getPassword(),
+        !user.isEliminacionPendiente(),
+        true,
+        true,
+        true,
         List.of(authority)
     );
   }
@@ -0,0 +1,254 @@
+package com.sena.app_backend.service.impl;
+
+import com.sena.app_backend.dto.request.LoteTransaccionesRequest;
+import com.sena.app_backend.dto.request.LoteTransaccionesRequest.Entrada;
+import com.sena.app_backend.dto.response.LoteTransaccionesResponse;
+import com.sena.app_backend.dto.response.TransaccionPlataformaResponse;
+import com.sena.app_backend.model.PlataformaFondosCuenta;
+import com.sena.app_backend.model.PlataformaTransaccionCuenta;
+import com.sena.app_backend.model.TipoTransaccionPlataforma;
+import com.sena.app_backend.model.Usuario;
+import com.sena.app_backend.repository.PlataformaFondosCuentaRepository;
+import com.sena.app_backend.repository.PlataformaTransaccionCuentaRepository;
+import com.sena.app_backend.repository.UsuarioRepository;
+import com.sena.app_backend.service.EventoOutboxService;
+import com.sena.app_backend.service.LoteTransaccionesService;
+import com.sena.app_backend.service.ReporteIngresosService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Aplica lotes de transacciones de plataforma.
+ * <p>
+ * Las entradas se agrupan por usuario y se procesan {@code plataforma.lote.cuentas} cuentas por
+ * transacción. En cada una:
+ *   1. Bloquea las cuentas del grupo con un solo SELECT ... FOR UPDATE (en orden de id) y crea
+ *   las que falten, igual que {@code crearTransaccion}.
+ *   2. Aplica en memoria las entradas de cada cuenta en orden, con las reglas de
+ *   {@link PlataformaCuentaServiceImpl#calcularBalance}; una entrada sin saldo falla sola.
+ *   3. Escribe un UPDATE de balance por cuenta en un batch JDBC e inserta las transacciones con
+ *   saveAll (agrupadas en lotes JDBC con el perfil ids-agrupados).
+ *   4. Registra un evento por transacción en el outbox y un upsert de agregados por tipo.
+ * Si la transacción de un grupo falla, solo las entradas de ese grupo se reportan como fallidas.
+ * {@link #aplicarEnTransaccion} aplica todos los grupos en la transacción del llamador y
+ * propaga el primer fallo, para quien debe confirmar los abonos junto con su propio estado.
+ */
+@Service
+public class LoteTransaccionesServiceImpl implements LoteTransaccionesService {
+
+  static final String ACTUALIZAR_BALANCE = "UPDATE platforma_fondos_cuenta SET balance = ? WHERE id = ?";
+
+  private final PlataformaFondosCuentaRepository cuentaRepo;
+  private final PlataformaTransaccionCuentaRepository transRepo;
+  private final UsuarioRepository usuarioRepo;
+  private final EventoOutboxService outbox;
+  private final ReporteIngresosService reporteIngresos;
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate tx;
+  private final TransactionTemplate txExistente;
+  private final int cuentasPorLote;
+  private final int maxEntradas;
+
+  public LoteTransaccionesServiceImpl(PlataformaFondosCuentaRepository cuentaRepo,
+                                      PlataformaTransaccionCuentaRepository transRepo,
+                                      UsuarioRepository usuarioRepo,
+                                      EventoOutboxService outbox,
+                                      ReporteIngresosService reporteIngresos,
+                                      JdbcTemplate jdbc,
+                                      PlatformTransactionManager txManager,
+                                      @Value("${plataforma.lote.cuentas:200}") int cuentasPorLote,
+                                      @Value("${plataforma.lote.maxEntradas:50000}") int maxEntradas) {
+    this.cuentaRepo = cuentaRepo;
+    this.transRepo = transRepo;
+    this.usuarioRepo = usuarioRepo;
+    this.outbox = outbox;
+    this.reporteIngresos = reporteIngresos;
+    this.jdbc = jdbc;
+    this.tx = new TransactionTemplate(txManager);
+    this.txExistente = new TransactionTemplate(txManager);
+    this.txExistente.setPropagationBehavior(TransactionDefinition.PROPAGATION_MANDATORY);
+    this.cuentasPorLote = cuentasPorLote;
+    this.maxEntradas = maxEntradas;
+  }
+
+  @Override
+  public LoteTransaccionesResponse aplicar(LoteTransaccionesRequest req) {
+    return aplicar(req, false);
+  }
+
+  @Override
+  public LoteTransaccionesResponse aplicarEnTransaccion(LoteTransaccionesRequest req) {
+    return aplicar(req, true);
+  }
+
+  /**
+   * @param enTransaccion true para aplicar los grupos en la transacción del llamador
+   *                      (obligatoria) y propagar el fallo de cualquiera
+   */
+  private LoteTransaccionesResponse aplicar(LoteTransaccionesRequest req, boolean enTransaccion) {
+    List<Entrada> entradas = req.getEntradas() == null ? List.of() : req.getEntradas();
+    if (entradas.size() > maxEntradas) {
+      throw new RuntimeException("El lote supera el máximo de " + maxEntradas + " entradas");
+    }
+    LoteTransaccionesResponse.Resultado[] resultados = new LoteTransaccionesResponse.Resultado[entradas.size()];
+
+    // Índices de las entradas válidas de cada usuario, en el orden de la petición
+    Map<Long, List<Integer>> porUsuario = new LinkedHashMap<>();
+    for (int i = 0; i < entradas.size(); i++) {
+      Entrada e = entradas.get(i);
+      String error = validar(e);
+      if (error != null) {
+        resultados[i] = fallo(i, e, error);
+      } else {
+        porUsuario.computeIfAbsent(e.getUsuarioId(), k -> new ArrayList<>()).add(i);
+      }
+    }
+
+    List<Long> usuarios = new ArrayList<>(porUsuario.keySet());
+    for (int desde = 0; desde < usuarios.size(); desde += cuentasPorLote) {
+      List<Long> grupo = usuarios.subList(desde, Math.min(desde + cuentasPorLote, usuarios.size()));
+      if (enTransaccion) {
+        txExistente.executeWithoutResult(s -> aplicarGrupo(grupo, porUsuario, entradas, resultados));
+        continue;
+      }
+      try {
+        tx.executeWithoutResult(s -> aplicarGrupo(grupo, porUsuario, entradas, resultados));
+      } catch (RuntimeException ex) {
+        System.err.printf("Lote de transacciones: grupo de %d cuentas revertido: %s%n", grupo.size(), ex.getMessage());
+        for (Long u : grupo) {
+          for (int i : porUsuario.get(u)) {
+            resultados[i] = fallo(i, entradas.get(i), "Grupo revertido: " + ex.getMessage());
+          }
+        }
+      }
+    }
+
+    int aplicadas = 0;
+    for (LoteTransaccionesResponse.Resultado r : resultados) {
+      if (r.getError() == null) {
+        aplicadas++;
+      }
+    }
+    return LoteTransaccionesResponse.builder()
+        .total(entradas.size())
+        .aplicadas(aplicadas)
+        .fallidas(entradas.size() - aplicadas)
+        .resultados(Arrays.asList(resultados))
+        .build();
+  }
+
+  private void aplicarGrupo(List<Long> grupo, Map<Long, List<Integer>> porUsuario, List<Entrada> entradas,
+                            LoteTransaccionesResponse.Resultado[] resultados) {
+    Map<Long, Long> cuentas = new HashMap<>();
+    Map<Long, BigDecimal> balances = new HashMap<>();
+    for (Object[] fila : cuentaRepo.bloquearPorUsuarios(grupo)) {
+      Long usuarioId = ((Number) fila[1]).longValue();
+      cuentas.put(usuarioId, ((Number) fila[0]).longValue());
+      balances.put(usuarioId, (BigDecimal) fila[2]);
+    }
+    List<Long> sinCuenta = grupo.stream().filter(u -> !cuentas.containsKey(u)).toList();
+    if (!sinCuenta.isEmpty()) {
+      for (Usuario u : usuarioRepo.findAllById(sinCuenta)) {
+        PlataformaFondosCuenta nueva = cuentaRepo.save(PlataformaFondosCuenta.builder()
+            .usuario(u)
+            .balance(BigDecimal.ZERO)
+            .build());
+        cuentas.put(u.getId(), nueva.getId());
+        balances.put(u.getId(), BigDecimal.ZERO);
+      }
+    }
+
+    LocalDateTime ahora = LocalDateTime.now();
+    List<PlataformaTransaccionCuenta> nuevas = new ArrayList<>();
+    List<Integer> indices = new ArrayList<>();
+    List<Object[]> actualizaciones = new ArrayList<>();
+    for (Long u : grupo) {
+      Long cuentaId = cuentas.get(u);
+      BigDecimal balanceInicial = balances.get(u);
+      for (int i : porUsuario.get(u)) {
+        Entrada e = entradas.get(i);
+        if (cuentaId == null) {
+          resultados[i] = fallo(i, e, "Usuario no encontrado");
+          continue;
+        }
+        try {
+          BigDecimal balance = PlataformaCuentaServiceImpl.calcularBalance(balances.get(u), e.getTipo(), e.getMonto());
+          balances.put(u, balance);
+          nuevas.add(PlataformaTransaccionCuenta.builder()
+              .account(cuentaRepo.getReferenceById(cuentaId))
+              .tipo(e.getTipo())
+              .monto(e.getMonto())
+              .balancePosterior(balance)
+              .fechaTransaccion(ahora)
+              .build());
+          indices.add(i);
+        } catch (RuntimeException ex) {
+          resultados[i] = fallo(i, e, ex.getMessage());
+        }
+      }
+      if (cuentaId != null && balances.get(u).compareTo(balanceInicial) != 0) {
+        actualizaciones.add(new Object[]{balances.get(u), cuentaId});
+      }
+    }
+    if (nuevas.isEmpty()) {
+      return;
+    }
+
+    jdbc.batchUpdate(ACTUALIZAR_BALANCE, actualizaciones);
+    List<PlataformaTransaccionCuenta> guardadas = transRepo.saveAll(nuevas);
+
+    Map<TipoTransaccionPlataforma, BigDecimal> totales = new EnumMap<>(TipoTransaccionPlataforma.class);
+    Map<TipoTransaccionPlataforma, Long> cantidades = new EnumMap<>(TipoTransaccionPlataforma.class);
+    for (int k = 0; k < guardadas.size(); k++) {
+      PlataformaTransaccionCuenta t = guardadas.get(k);
+      int i = indices.get(k);
+      Long usuarioId = entradas.get(i).getUsuarioId();
+      TransaccionPlataformaResponse resp = TransaccionPlataformaResponse.builder()
+          .id(t.getId())
+          .tipo(t.getTipo())
+          .monto(t.getMonto())
+          .fechaTransaccion(t.getFechaTransaccion())
+          .balancePosterior(t.getBalancePosterior())
+          .build();
+      outbox.registrar(EventoOutboxService.TRANSACCION_PLATAFORMA, cuentas.get(usuarioId), usuarioId, resp);
+      totales.merge(t.getTipo(), t.getMonto(), BigDecimal::add);
+      cantidades.merge(t.getTipo(), 1L, Long::sum);
+      resultados[i] = LoteTransaccionesResponse.Resultado.builder()
+          .indice(i)
+          .usuarioId(usuarioId)
+          .transaccionId(t.getId())
+          .balancePosterior(t.getBalancePosterior())
+          .build();
+    }
+    totales.forEach((tipo, total) -> reporteIngresos.registrarTransacciones(tipo, total, cantidades.get(tipo), ahora));
+  }
+
+  private static String validar(Entrada e) {
+    if (e == null || e.getUsuarioId() == null) {
+      return "Falta el usuarioId";
+    }
+    if (e.getTipo() == null) {
+      return "Falta el tipo";
+    }
+    if (e.getMonto() == null || e.getMonto().signum() <= 0) {
+      return "El monto debe ser mayor que cero";
+    }
+    return null;
+  }
+
+  private static LoteTransaccionesResponse.Resultado fallo(int indice, Entrada e, String error) {
+    return LoteTransaccionesResponse.Resultado.builder()
+        .indice(indice)
+        .usuarioId(e == null ? null : e.getUsuarioId())
+        .error(error == null ? "Error desconocido" : error)
+        .build();
+  }
+}
@@ -4,8 +4,12 @@ import com.sena.app_backend.client.CoinbaseClient;
 import com.sena.app_backend.dto.request.*;
 import com.sena.app_backend.dto.response.*;
 import com.sena.app_backend.exception.InsufficientFundsException;
+import com.sena.app_backend.exception.ResourceNotFoundException;
 import com.sena.app_backend.model.*;
 import com.sena.app_backend.repository.*;
+import com.sena.app_backend.security.SecurityService;
+import com.sena.app_backend.service.ArchivadoService;
+import com.sena.app_backend.service.EventoOutboxService;
 import com.sena.app_backend.service.MonederoService;
 import com.sena.app_backend.service.PlataformaCuentaService;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +20,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -25,14 +31,16 @@ public class MonederoServiceImpl implements MonederoService {
 
   private final MonederoRepository monederoRepo;
   private final TransaccionRepository txRepo;
-  private final UsuarioRepository usuarioRepo;
+  private final SecurityService securityService;
   private final PlataformaCuentaService plataformaService;
   private final CoinbaseClient coinbaseClient;
+  private final EventoOutboxService outbox;
+  private final TransaccionArchivoRepository txArchivoRepo;
+  private final ArchivadoService archivado;
 
+  /** Usuario autenticado, resuelto desde el principal del JWT (sin consultar la BD). */
   private Usuario getUsuario(Authentication auth) {
-    String email = auth.getName();
-    return usuarioRepo.findByEmail(email)
-        .orElseThrow(() -> new RuntimeException("Usuario no encontrado: " + email));
+    return securityService.currentUser(auth);
   }
 
   @Override
@@ -145,29 +153,60 @@ public class MonederoServiceImpl implements MonederoService {
     tx = txRepo.save(tx);
 
     // 9) Devolver DTO con saldo actualizado
-    return TransaccionMonederoResponse.builder()
+    TransaccionMonederoResponse resp = TransaccionMonederoResponse.builder()
         .id(tx.getId())
         .tipo(tx.getTipo())
         .monto(tx.getMonto())
         .fechaTransaccion(tx.getFechaTransaccion())
         .saldoPosterior(m.getSaldoActual())
         .build();
+
+    // 10) Evento en el outbox, en la misma transacción que los saldos
+    outbox.registrar(EventoOutboxService.TRANSACCION_MONEDERO, m.getId(), u.getId(), resp);
+    return resp;
   }
 
   @Override
   @Transactional(readOnly = true)
-  public List<TransaccionMonederoResponse> historial(Authentication auth, Long monederoId) {
+  public List<TransaccionMonederoResponse> historial(Authentication auth, Long monederoId,
+                                                     LocalDateTime desde, LocalDateTime hasta) {
     Usuario u = getUsuario(auth);
     Monedero m = monederoRepo.findByIdAndUsuarioId(monederoId, u.getId())
-        .orElseThrow(() -> new RuntimeException("Monedero no encontrado"));
-    return txRepo.findByMonederoIdOrderByFechaTransaccionDesc(m.getId()).stream()
-        .map(tx -> TransaccionMonederoResponse.builder()
+        .orElseThrow(() -> new ResourceNotFoundException("Monedero no encontrado"));
+    if (desde == null && hasta == null) {
+      return txRepo.findByMonederoIdOrderByFechaTransaccionDesc(m.getId()).stream()
+          .map(tx -> TransaccionMonederoResponse.builder()
+              .id(tx.getId())
+              .tipo(tx.getTipo())
+              .monto(tx.getMonto())
+              .fechaTransaccion(tx.getFechaTransaccion())
+              .saldoPosterior(tx.getMonedero().getSaldoActual())
+              .build())
+          .collect(Collectors.toList());
+    }
+    // Con rango: tabla activa y, si el rango es antiguo, también el archivo
+    LocalDateTime inicio = desde != null ? desde : ArchivadoService.ORIGEN;
+    LocalDateTime fin = hasta != null ? hasta : LocalDateTime.now();
+    List<TransaccionMonederoResponse> r = new ArrayList<>();
+    txRepo.findByMonederoIdAndFechaTransaccionBetweenOrderByFechaTransaccionDesc(m.getId(), inicio, fin)
+        .forEach(tx -> r.add(TransaccionMonederoResponse.builder()
             .id(tx.getId())
             .tipo(tx.getTipo())
             .monto(tx.getMonto())
             .fechaTransaccion(tx.getFechaTransaccion())
-            .saldoPosterior(tx.getMonedero().getSaldoActual())
-            .build())
-        .collect(Collectors.toList());
+            .saldoPosterior(m.getSaldoActual())
+            .build()));
+    if (archivado.incluyeArchivo(inicio)) {
+      txArchivoRepo.findByMonederoIdAndFechaTransaccionBetweenOrderByFechaTransaccionDesc(m.getId(), inicio, fin)
+          .forEach(tx -> r.add(TransaccionMonederoResponse.builder()
+              .id(tx.getId())
+              .tipo(tx.getTipo())
+              .monto(tx.getMonto())
+              .fechaTransaccion(tx.getFechaTransaccion())
+              .saldoPosterior(m.getSaldoActual())
+              .build()));
+      r.sort(Comparator.comparing(TransaccionMonederoResponse::getFechaTransaccion).reversed());
+    }
+    return r;
   }
 }
\ No newline at end of file
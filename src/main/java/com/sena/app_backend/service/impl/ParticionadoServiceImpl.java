@@ -0,0 +1,177 @@
+package com.sena.app_backend.service.impl;
+
+import com.sena.app_backend.service.ParticionadoService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Particionado mensual por RANGE COLUMNS(fecha_transaccion), una partición por mes
+ * (p202510 guarda las filas anteriores a 2025-11-01) más {@code pmax} como red de seguridad.
+ * Las consultas con rango de fechas por cuenta o monedero solo leen las particiones del rango.
+ * <p>
+ * Migración ({@link #migrar()}, POST /api/admin/particionado/migrar; una vez por tabla,
+ * reconstruye la tabla, así que se lanza a mano con poco tráfico y nunca al arrancar un nodo):
+ * MySQL no admite claves foráneas en tablas particionadas y exige que la PK incluya
+ * la columna de partición, así que se eliminan las FK y la PK pasa a ser (id, fecha_transaccion).
+ * Con el particionado habilitado Hibernate ya no vuelve a crear esas FK
+ * ({@link com.sena.app_backend.config.ClavesForaneasParticionadas}).
+ * El mantenimiento programado solo crea y elimina particiones de tablas ya migradas.
+ * <p>
+ * Las particiones más antiguas que {@code particionado.retencionMeses} se eliminan solo si
+ * están vacías: el archivado ({@link ArchivadoServiceImpl}) mueve antes sus filas.
+ */
+@Service
+public class ParticionadoServiceImpl implements ParticionadoService {
+
+  static final List<String> TABLAS = List.of("platforma_transaccion_cuenta", "transaccion");
+  static final String COLUMNA = "fecha_transaccion";
+  static final String PMAX = "pmax";
+  private static final DateTimeFormatter NOMBRE = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+  private final JdbcTemplate jdbc;
+  private final boolean habilitado;
+  private final int mesesAdelante;
+  private final int retencionMeses;
+
+  public ParticionadoServiceImpl(JdbcTemplate jdbc,
+                                 @Value("${particionado.habilitado:false}") boolean habilitado,
+                                 @Value("${particionado.mesesAdelante:3}") int mesesAdelante,
+                                 @Value("${particionado.retencionMeses:13}") int retencionMeses) {
+    this.jdbc = jdbc;
+    this.habilitado = habilitado;
+    this.mesesAdelante = mesesAdelante;
+    this.retencionMeses = retencionMeses;
+  }
+
+  @Scheduled(cron = "${particionado.cron:0 0 4 * * *}")
+  public void mantenerProgramado() {
+    if (habilitado) {
+      mantener();
+    }
+  }
+
+  @Override
+  public void mantener() {
+    YearMonth actual = YearMonth.now();
+    for (String tabla : TABLAS) {
+      try {
+        List<String> particiones = particiones(tabla);
+        if (particiones.isEmpty()) {
+          System.out.printf("Particionado: %s aún no está particionada (POST /api/admin/particionado/migrar)%n", tabla);
+          continue;
+        }
+        crearFuturas(tabla, particiones, actual.plusMonths(mesesAdelante));
+        eliminarVacias(tabla, particiones, actual.minusMonths(retencionMeses));
+      } catch (DataAccessException e) {
+        System.err.printf("Particionado: error en %s: %s%n", tabla, e.getMessage());
+      }
+    }
+  }
+
+  @Override
+  public List<String> migrar() {
+    if (!habilitado) {
+      throw new RuntimeException("Active particionado.habilitado antes de migrar: sin él no se crean las particiones futuras");
+    }
+    YearMonth actual = YearMonth.now();
+    List<String> migradas = new ArrayList<>();
+    for (String tabla : TABLAS) {
+      if (particiones(tabla).isEmpty()) {
+        particionar(tabla, actual);
+        migradas.add(tabla);
+      }
+    }
+    return migradas;
+  }
+
+  private List<String> particiones(String tabla) {
+    return jdbc.queryForList("""
+        SELECT PARTITION_NAME FROM information_schema.PARTITIONS
+         WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL
+         ORDER BY PARTITION_ORDINAL_POSITION
+        """, String.class, tabla);
+  }
+
+  private void particionar(String tabla, YearMonth actual) {
+    for (String fk : jdbc.queryForList("""
+        SELECT CONSTRAINT_NAME FROM information_schema.TABLE_CONSTRAINTS
+         WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND CONSTRAINT_TYPE = 'FOREIGN KEY'
+        """, String.class, tabla)) {
+      jdbc.execute("ALTER TABLE " + tabla + " DROP FOREIGN KEY " + fk);
+    }
+    jdbc.execute("ALTER TABLE " + tabla + " DROP PRIMARY KEY, ADD PRIMARY KEY (id, " + COLUMNA + ")");
+    LocalDate minima = jdbc.queryForObject("SELECT DATE(MIN(" + COLUMNA + ")) FROM " + tabla, LocalDate.class);
+    YearMonth desde = minima != null ? YearMonth.from(minima) : actual;
+    jdbc.execute("ALTER TABLE " + tabla + " PARTITION BY RANGE COLUMNS(" + COLUMNA + ") ("
+        + definiciones(desde, actual.plusMonths(mesesAdelante)) + ", "
+        + "PARTITION " + PMAX + " VALUES LESS THAN (MAXVALUE))");
+    System.out.printf("Particionado: %s particionada por mes desde %s%n", tabla, desde);
+  }
+
+  private void crearFuturas(String tabla, List<String> particiones, YearMonth hasta) {
+    YearMonth ultimo = ultimoMes(particiones);
+    if (ultimo != null && !ultimo.isBefore(hasta)) {
+      return;
+    }
+    YearMonth desde = ultimo != null ? ultimo.plusMonths(1) : YearMonth.now();
+    jdbc.execute("ALTER TABLE " + tabla + " REORGANIZE PARTITION " + PMAX + " INTO ("
+        + definiciones(desde, hasta) + ", PARTITION " + PMAX + " VALUES LESS THAN (MAXVALUE))");
+  }
+
+  private void eliminarVacias(String tabla, List<String> particiones, YearMonth limite) {
+    for (String p : particiones) {
+      YearMonth mes = mes(p);
+      if (mes == null || !mes.isBefore(limite)) {
+        continue;
+      }
+      Boolean conFilas = jdbc.queryForObject(
+          "SELECT EXISTS(SELECT 1 FROM " + tabla + " PARTITION (" + p + "))", Boolean.class);
+      if (Boolean.TRUE.equals(conFilas)) {
+        System.out.printf("Particionado: %s.%s aún tiene filas; se elimina cuando se archiven%n", tabla, p);
+      } else {
+        jdbc.execute("ALTER TABLE " + tabla + " DROP PARTITION " + p);
+      }
+    }
+  }
+
+  /** Nombre de la partición de un mes, p.ej. p202510. */
+  static String nombre(YearMonth mes) {
+    return mes.format(NOMBRE);
+  }
+
+  /** Mes de una partición mensual, o null si no lo es (p.ej. pmax). */
+  static YearMonth mes(String particion) {
+    if (particion == null || !particion.matches("p\\d{6}")) {
+      return null;
+    }
+    return YearMonth.parse(particion, NOMBRE);
+  }
+
+  static YearMonth ultimoMes(List<String> particiones) {
+    return particiones.stream()
+        .map(ParticionadoServiceImpl::mes)
+        .filter(Objects::nonNull)
+        .max(YearMonth::compareTo)
+        .orElse(null);
+  }
+
+  /** Definiciones de las particiones de {@code desde} a {@code hasta}, ambos incluidos. */
+  public static String definiciones(YearMonth desde, YearMonth hasta) {
+    StringJoiner sj = new StringJoiner(", ");
+    for (YearMonth m = desde; !m.isAfter(hasta); m = m.plusMonths(1)) {
+      sj.add("PARTITION " + nombre(m) + " VALUES LESS THAN ('" + m.plusMonths(1).atDay(1) + " 00:00:00')");
+    }
+    return sj.toString();
+  }
+}
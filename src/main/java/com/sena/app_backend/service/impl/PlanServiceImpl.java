@@ -1,11 +1,13 @@
 package com.sena.app_backend.service.impl;
 
+import com.sena.app_backend.cache.PlanesModificadosEvent;
 import com.sena.app_backend.dto.request.PlanRequest;
 import com.sena.app_backend.dto.response.PlanResponse;
 import com.sena.app_backend.model.Plan;
 import com.sena.app_backend.repository.PlanRepository;
 import com.sena.app_backend.service.PlanService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -22,6 +24,8 @@ import java.util.stream.Collectors;
 public class PlanServiceImpl implements PlanService {
 
   private final PlanRepository repo;
+  /** Publica PlanesModificadosEvent para invalidar el catálogo en memoria. */
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * Convierte una entidad Plan a un DTO de respuesta PlanResponse.
@@ -65,6 +69,7 @@ public class PlanServiceImpl implements PlanService {
   @Override
   public PlanResponse crearPlan(PlanRequest req) {
     Plan saved = repo.save(toEntity(req));
+    eventPublisher.publishEvent(new PlanesModificadosEvent(saved.getId()));
     return toDto(saved);
   }
 
@@ -109,6 +114,7 @@ public class PlanServiceImpl implements PlanService {
     p.setGananciaMax(req.getGananciaMax());
     p.setDuracionDias(req.getDuracionDias());
     Plan updated = repo.save(p);
+    eventPublisher.publishEvent(new PlanesModificadosEvent(id));
     return toDto(updated);
   }
 
@@ -123,5 +129,6 @@ public class PlanServiceImpl implements PlanService {
       throw new RuntimeException("Plan no encontrado: " + id);
     }
     repo.deleteById(id);
+    eventPublisher.publishEvent(new PlanesModificadosEvent(id));
   }
 }
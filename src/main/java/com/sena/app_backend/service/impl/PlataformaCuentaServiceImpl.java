@@ -6,13 +6,18 @@ import com.sena.app_backend.dto.response.TransaccionPlataformaResponse;
 import com.sena.app_backend.exception.InsufficientFundsException;
 import com.sena.app_backend.model.*;
 import com.sena.app_backend.repository.*;
+import com.sena.app_backend.service.ArchivadoService;
+import com.sena.app_backend.service.EventoOutboxService;
 import com.sena.app_backend.service.PlataformaCuentaService;
+import com.sena.app_backend.service.ReporteIngresosService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -27,6 +32,10 @@ public class PlataformaCuentaServiceImpl implements PlataformaCuentaService {
   private final PlataformaFondosCuentaRepository cuentaRepo;
   private final PlataformaTransaccionCuentaRepository transRepo;
   private final UsuarioRepository usuarioRepo;
+  private final EventoOutboxService outbox;
+  private final ReporteIngresosService reporteIngresos;
+  private final TransaccionPlataformaArchivoRepository archivoRepo;
+  private final ArchivadoService archivado;
 
   /**
    * Convierte una entidad PlataformaFondosCuenta a un DTO de respuesta CuentaPlataformaResponse.
@@ -56,33 +65,61 @@ public class PlataformaCuentaServiceImpl implements PlataformaCuentaService {
    *   ordenadas por fecha de transacción de forma descendente.
    *   4. Mapea cada transacción a un DTO de respuesta TransaccionPlataformaResponse,
    *   incluyendo el balance posterior.
-   *   5. Retorna la lista de transacciones.
+   *   5. Si se pide un rango que llega a la antigüedad de archivado, agrega las
+   *   transacciones archivadas y ordena el resultado.
+   *   6. Retorna la lista de transacciones.
    *   @param usuarioId el ID del usuario
+   *   @param desde inicio del rango (opcional)
+   *   @param hasta fin del rango (opcional)
    *   @return una lista de transacciones del usuario
    */
   @Override
   @Transactional(readOnly = true)
-  public List<TransaccionPlataformaResponse> listarHistorial(Long usuarioId) {
+  public List<TransaccionPlataformaResponse> listarHistorial(Long usuarioId, LocalDateTime desde, LocalDateTime hasta) {
     PlataformaFondosCuenta cuenta = cuentaRepo.findByUsuarioId(usuarioId)
         .orElseThrow(() -> new RuntimeException("Cuenta no encontrada para usuario " + usuarioId));
-    return transRepo.findByAccountIdOrderByFechaTransaccionDesc(cuenta.getId())
-        .stream()
-        .map(tx -> TransaccionPlataformaResponse.builder()
-            .id(tx.getId())
-            .tipo(tx.getTipo())
-            .monto(tx.getMonto())
-            .fechaTransaccion(tx.getFechaTransaccion())
-            .balancePosterior(tx.getBalancePosterior())
-            .build())
-        .collect(Collectors.toList());
+    if (desde == null && hasta == null) {
+      return transRepo.findByAccountIdOrderByFechaTransaccionDesc(cuenta.getId())
+          .stream()
+          .map(PlataformaCuentaServiceImpl::toDto)
+          .collect(Collectors.toList());
+    }
+    LocalDateTime inicio = desde != null ? desde : ArchivadoService.ORIGEN;
+    LocalDateTime fin = hasta != null ? hasta : LocalDateTime.now();
+    List<TransaccionPlataformaResponse> r = new ArrayList<>();
+    transRepo.findByAccountIdAndFechaTransaccionBetweenOrderByFechaTransaccionDesc(cuenta.getId(), inicio, fin)
+        .forEach(tx -> r.add(toDto(tx)));
+    if (archivado.incluyeArchivo(inicio)) {
+      archivoRepo.findByAccountIdAndFechaTransaccionBetweenOrderByFechaTransaccionDesc(cuenta.getId(), inicio, fin)
+          .forEach(tx -> r.add(TransaccionPlataformaResponse.builder()
+              .id(tx.getId())
+              .tipo(tx.getTipo())
+              .monto(tx.getMonto())
+              .fechaTransaccion(tx.getFechaTransaccion())
+              .balancePosterior(tx.getBalancePosterior())
+              .build()));
+      r.sort(Comparator.comparing(TransaccionPlataformaResponse::getFechaTransaccion).reversed());
+    }
+    return r;
+  }
+
+  private static TransaccionPlataformaResponse toDto(PlataformaTransaccionCuenta tx) {
+    return TransaccionPlataformaResponse.builder()
+        .id(tx.getId())
+        .tipo(tx.getTipo())
+        .monto(tx.getMonto())
+        .fechaTransaccion(tx.getFechaTransaccion())
+        .balancePosterior(tx.getBalancePosterior())
+        .build();
   }
 
   /**
    * Crea una nueva transacción en la cuenta del usuario.
    * <p>
-   *   1. Busca el usuario por ID.
-   *   2. Si no se encuentra, lanza una excepción.
-   *   3. Busca la cuenta asociada al usuario, o crea una nueva si no existe.
+   *   1. Busca la cuenta del usuario bloqueándola (FOR UPDATE) hasta el final de la transacción,
+   *   para que dos transacciones concurrentes no calculen el balance sobre el mismo valor leído.
+   *   2. Si no existe, busca el usuario por ID (lanza excepción si no existe)
+   *   3. y crea una cuenta nueva para él. El usuario solo se consulta en este caso.
    *   4. Calcula el nuevo balance
    *   según el tipo de transacción:
    *   - RECARGA_PLATAFORMA: suma el monto al balance.
@@ -91,7 +128,9 @@ public class PlataformaCuentaServiceImpl implements PlataformaCuentaService {
    *   5. Actualiza el balance de la cuenta.
    *   6. Crea una nueva transacción con los detalles proporcionados.
    *   7. Guarda la transacción en la base de datos.
-   *   8. Retorna un DTO de respuesta TransaccionPlataformaResponse con los detalles de la transacción creada.
+   *   8. Registra el evento TRANSACCION_PLATAFORMA en el outbox y suma el monto a los
+   *   agregados de ingresos, en la misma transacción.
+   *   9. Retorna un DTO de respuesta TransaccionPlataformaResponse con los detalles de la transacción creada.
    *   @param usuarioId el ID del usuario que realiza la transacción
    *   @param req la solicitud de nueva transacción
    *   @return un DTO de respuesta TransaccionPlataformaResponse con los detalles de la transacción creada
@@ -99,11 +138,10 @@ public class PlataformaCuentaServiceImpl implements PlataformaCuentaService {
   @Override
   @Transactional
   public TransaccionPlataformaResponse crearTransaccion(Long usuarioId, NuevaTransaccionRequest req) {
-    Usuario user = usuarioRepo.findById(usuarioId)
-        .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-
-    PlataformaFondosCuenta cuenta = cuentaRepo.findByUsuarioId(usuarioId)
+    PlataformaFondosCuenta cuenta = cuentaRepo.bloquearPorUsuarioId(usuarioId)
         .orElseGet(() -> {
+          Usuario user = usuarioRepo.findById(usuarioId)
+              .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
           PlataformaFondosCuenta nueva = PlataformaFondosCuenta.builder()
               .usuario(user)
               .balance(BigDecimal.ZERO)
@@ -111,29 +149,7 @@ public class PlataformaCuentaServiceImpl implements PlataformaCuentaService {
           return cuentaRepo.save(nueva);
         });
 
-    BigDecimal nuevoBalance;
-    switch (req.getTipo()) {
-      case RECARGA_PLATAFORMA -> {
-        nuevoBalance = cuenta.getBalance().add(req.getMonto());
-      }
-      case PAGO_ALQUILER -> {
-        if (cuenta.getBalance().compareTo(req.getMonto()) < 0) {
-          throw new InsufficientFundsException();
-        }
-        nuevoBalance = cuenta.getBalance().subtract(req.getMonto());
-      }
-      case GANANCIA_ALQUILER, CANCELACION_ALQUILER -> {
-        // Ambos abonan al usuario
-        nuevoBalance = cuenta.getBalance().add(req.getMonto());
-      }
-      case RETIRO_WALLET -> {
-        if (cuenta.getBalance().compareTo(req.getMonto()) < 0) {
-          throw new RuntimeException("Saldo insuficiente para retiro");
-        }
-        nuevoBalance = cuenta.getBalance().subtract(req.getMonto());
-      }
-      default -> throw new IllegalArgumentException("Tipo de transacción no soportado: " + req.getTipo());
-    }
+    BigDecimal nuevoBalance = calcularBalance(cuenta.getBalance(), req.getTipo(), req.getMonto());
 
     cuenta.setBalance(nuevoBalance);
     cuentaRepo.save(cuenta);
@@ -147,12 +163,47 @@ public class PlataformaCuentaServiceImpl implements PlataformaCuentaService {
         .build();
     PlataformaTransaccionCuenta saved = transRepo.save(tx);
 
-    return TransaccionPlataformaResponse.builder()
+    TransaccionPlataformaResponse resp = TransaccionPlataformaResponse.builder()
         .id(saved.getId())
         .tipo(saved.getTipo())
         .monto(saved.getMonto())
         .fechaTransaccion(saved.getFechaTransaccion())
         .balancePosterior(saved.getBalancePosterior())
         .build();
+    outbox.registrar(EventoOutboxService.TRANSACCION_PLATAFORMA, cuenta.getId(), usuarioId, resp);
+    reporteIngresos.registrarTransaccion(saved.getTipo(), saved.getMonto(), saved.getFechaTransaccion());
+    return resp;
+  }
+
+  /**
+   * Balance resultante de aplicar una transacción, con las mismas reglas para las
+   * transacciones individuales y las de lote.
+   *
+   * @throws InsufficientFundsException si un PAGO_ALQUILER supera el balance
+   * @throws RuntimeException si un RETIRO_WALLET supera el balance
+   */
+  static BigDecimal calcularBalance(BigDecimal balance, TipoTransaccionPlataforma tipo, BigDecimal monto) {
+    switch (tipo) {
+      case RECARGA_PLATAFORMA -> {
+        return balance.add(monto);
+      }
+      case PAGO_ALQUILER -> {
+        if (balance.compareTo(monto) < 0) {
+          throw new InsufficientFundsException();
+        }
+        return balance.subtract(monto);
+      }
+      case GANANCIA_ALQUILER, CANCELACION_ALQUILER, GANANCIA_MINERIA -> {
+        // Todos abonan al usuario
+        return balance.add(monto);
+      }
+      case RETIRO_WALLET -> {
+        if (balance.compareTo(monto) < 0) {
+          throw new RuntimeException("Saldo insuficiente para retiro");
+        }
+        return balance.subtract(monto);
+      }
+      default -> throw new IllegalArgumentException("Tipo de transacción no soportado: " + tipo);
+    }
   }
 }
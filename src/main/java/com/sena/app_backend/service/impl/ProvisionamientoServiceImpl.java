@@ -0,0 +1,156 @@
+package com.sena.app_backend.service.impl;
+
+import com.sena.app_backend.dto.request.NuevaTransaccionRequest;
+import com.sena.app_backend.exception.InsufficientFundsException;
+import com.sena.app_backend.model.*;
+import com.sena.app_backend.repository.AlquilerRepository;
+import com.sena.app_backend.repository.MaquinaRepository;
+import com.sena.app_backend.repository.TrabajoProvisionamientoRepository;
+import com.sena.app_backend.service.PlataformaCuentaService;
+import com.sena.app_backend.service.ProvisionamientoService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Worker de aprovisionamiento de alquileres sobre la tabla trabajo_provisionamiento.
+ * <p>
+ * 1. Cada {@code alquiler.provisionamiento.intervaloMs} lee un lote de trabajos PENDIENTE.
+ * 2. Cada trabajo se toma con un UPDATE condicional, así que con varios nodos solo uno lo procesa.
+ * 3. Cobro, activación y cierre del trabajo van en una sola transacción: si el nodo cae a
+ *    mitad no queda nada a medias y el trabajo se reintenta.
+ * 4. Antes de cobrar se reclama la transición PENDIENTE → ACTIVO con un UPDATE condicional:
+ *    si un trabajo liberado por abandono sigue en curso en otro nodo, solo uno de los dos cobra.
+ * 5. Sin fondos el alquiler queda FALLIDO y la máquina vuelve a DISPONIBLE; cualquier otro
+ *    error (bloqueos, conexión) se reintenta hasta {@code alquiler.provisionamiento.maxIntentos} veces.
+ */
+@Service
+public class ProvisionamientoServiceImpl implements ProvisionamientoService {
+
+  private final TrabajoProvisionamientoRepository trabajoRepo;
+  private final AlquilerRepository alquilerRepo;
+  private final MaquinaRepository maquinaRepo;
+  private final PlataformaCuentaService plataformaService;
+  private final TransactionTemplate tx;
+  private final int maxIntentos;
+  private final long esperaReintentoSegundos;
+  private final long abandonoSegundos;
+
+  public ProvisionamientoServiceImpl(TrabajoProvisionamientoRepository trabajoRepo,
+                                     AlquilerRepository alquilerRepo,
+                                     MaquinaRepository maquinaRepo,
+                                     PlataformaCuentaService plataformaService,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${alquiler.provisionamiento.maxIntentos:3}") int maxIntentos,
+                                     @Value("${alquiler.provisionamiento.esperaReintentoSegundos:5}") long esperaReintentoSegundos,
+                                     @Value("${alquiler.provisionamiento.abandonoSegundos:300}") long abandonoSegundos) {
+    this.trabajoRepo = trabajoRepo;
+    this.alquilerRepo = alquilerRepo;
+    this.maquinaRepo = maquinaRepo;
+    this.plataformaService = plataformaService;
+    this.tx = new TransactionTemplate(transactionManager);
+    this.maxIntentos = maxIntentos;
+    this.esperaReintentoSegundos = esperaReintentoSegundos;
+    this.abandonoSegundos = abandonoSegundos;
+  }
+
+  @Override
+  @Scheduled(fixedDelayString = "${alquiler.provisionamiento.intervaloMs:500}")
+  public int procesarPendientes() {
+    LocalDateTime ahora = LocalDateTime.now();
+    trabajoRepo.liberarAbandonados(ahora.minusSeconds(abandonoSegundos));
+
+    List<TrabajoProvisionamiento> lote = trabajoRepo
+        .findTop50ByEstadoAndDisponibleDesdeLessThanEqualOrderByIdAsc(EstadoTrabajo.PENDIENTE, ahora);
+    int procesados = 0;
+    for (TrabajoProvisionamiento t : lote) {
+      if (trabajoRepo.tomar(t.getId(), LocalDateTime.now()) == 1) {
+        procesar(t.getId());
+        procesados++;
+      }
+    }
+    return procesados;
+  }
+
+  private void procesar(Long trabajoId) {
+    try {
+      tx.executeWithoutResult(s -> activar(trabajoId));
+    } catch (InsufficientFundsException ex) {
+      tx.executeWithoutResult(s -> fallar(trabajoId, "Fondos insuficientes"));
+    } catch (RuntimeException ex) {
+      tx.executeWithoutResult(s -> reintentarOFallar(trabajoId, ex.getMessage()));
+    }
+  }
+
+  /**
+   * Cobra el precio, fija las fechas reales del periodo y activa el alquiler.
+   */
+  private void activar(Long trabajoId) {
+    TrabajoProvisionamiento t = trabajoRepo.findById(trabajoId)
+        .orElseThrow(() -> new RuntimeException("Trabajo no encontrado"));
+    Alquiler a = t.getAlquiler();
+    if (alquilerRepo.reclamarActivacion(a.getId()) == 1) {
+      // Solo la falta de saldo llega como InsufficientFundsException; lo demás se reintenta
+      plataformaService.crearTransaccion(
+          a.getUsuario().getId(),
+          new NuevaTransaccionRequest(TipoTransaccionPlataforma.PAGO_ALQUILER, a.getPrecioAlquiler()));
+      LocalDateTime inicio = LocalDateTime.now();
+      a.setFechaInicio(inicio);
+      a.setFechaFin(AlquilerServiceImpl.calcularFechaFin(inicio, a.getPlan().getDuracionDias()));
+      a.setEstado(EstadoAlquiler.ACTIVO);
+      alquilerRepo.save(a);
+    }
+    t.setEstado(EstadoTrabajo.COMPLETADO);
+    t.setActualizado(LocalDateTime.now());
+    trabajoRepo.save(t);
+  }
+
+  /**
+   * Marca el alquiler FALLIDO y devuelve la máquina a DISPONIBLE.
+   */
+  private void fallar(Long trabajoId, String motivo) {
+    TrabajoProvisionamiento t = trabajoRepo.findById(trabajoId)
+        .orElseThrow(() -> new RuntimeException("Trabajo no encontrado"));
+    Alquiler a = t.getAlquiler();
+    if (a.getEstado() == EstadoAlquiler.PENDIENTE) {
+      a.setEstado(EstadoAlquiler.FALLIDO);
+      alquilerRepo.save(a);
+      Maquina m = a.getMaquina();
+      m.setEstado(EstadoMaquina.DISPONIBLE);
+      maquinaRepo.save(m);
+    }
+    t.setEstado(EstadoTrabajo.FALLIDO);
+    t.setError(recortar(motivo));
+    t.setActualizado(LocalDateTime.now());
+    trabajoRepo.save(t);
+  }
+
+  private void reintentarOFallar(Long trabajoId, String motivo) {
+    TrabajoProvisionamiento t = trabajoRepo.findById(trabajoId)
+        .orElseThrow(() -> new RuntimeException("Trabajo no encontrado"));
+    int intentos = t.getIntentos() + 1;
+    t.setIntentos(intentos);
+    if (intentos >= maxIntentos) {
+      fallar(trabajoId, motivo);
+      return;
+    }
+    LocalDateTime ahora = LocalDateTime.now();
+    t.setEstado(EstadoTrabajo.PENDIENTE);
+    t.setError(recortar(motivo));
+    t.setDisponibleDesde(ahora.plusSeconds(esperaReintentoSegundos * intentos));
+    t.setActualizado(ahora);
+    trabajoRepo.save(t);
+  }
+
+  private static String recortar(String motivo) {
+    if (motivo == null) {
+      return null;
+    }
+    return motivo.length() <= 255 ? motivo : motivo.substring(0, 255);
+  }
+}
@@ -0,0 +1,109 @@
+package com.sena.app_backend.service.impl;
+
+import com.sena.app_backend.dto.response.IngresoAgregadoResponse;
+import com.sena.app_backend.model.*;
+import com.sena.app_backend.repository.AgregadoIngresoRepository;
+import com.sena.app_backend.service.ReporteIngresosService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Los agregados se actualizan con un upsert por periodo (día y mes) en la misma
+ * transacción que el movimiento, así nunca quedan desfasados respecto al libro.
+ * El upsert bloquea su fila hasta el commit; para que las transacciones concurrentes de un
+ * mismo tipo o plan no se serialicen en esa fila, cada agregado se reparte en
+ * {@code reportes.agregados.slots} filas y cada hilo escribe en la suya (id de hilo módulo
+ * slots: estable dentro de la transacción, así repetir un registro no toma otra fila).
+ * Las consultas suman los slots de unas pocas filas por el índice único, sin importar el
+ * tamaño del historial.
+ */
+@Service
+public class ReporteIngresosServiceImpl implements ReporteIngresosService {
+
+  private final AgregadoIngresoRepository agregadoRepo;
+  private final int slots;
+
+  public ReporteIngresosServiceImpl(AgregadoIngresoRepository agregadoRepo,
+                                    @Value("${reportes.agregados.slots:16}") int slots) {
+    this.agregadoRepo = agregadoRepo;
+    this.slots = Math.max(1, slots);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void registrarTransaccion(TipoTransaccionPlataforma tipo, BigDecimal monto, LocalDateTime fecha) {
+    sumar(DimensionIngreso.TIPO, tipo.name(), monto, 1, fecha.toLocalDate());
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void registrarTransacciones(TipoTransaccionPlataforma tipo, BigDecimal total, long cantidad,
+                                     LocalDateTime fecha) {
+    if (cantidad > 0) {
+      sumar(DimensionIngreso.TIPO, tipo.name(), total, cantidad, fecha.toLocalDate());
+    }
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void registrarCierre(Long planId, BigDecimal ganancia, LocalDateTime fecha) {
+    if (ganancia == null) {
+      return;
+    }
+    sumar(DimensionIngreso.PLAN, planId.toString(), ganancia, 1, fecha.toLocalDate());
+  }
+
+  /** Siempre día antes que mes, para que todas las transacciones bloqueen las filas en el mismo orden. */
+  private void sumar(DimensionIngreso dimension, String clave, BigDecimal monto, long cantidad, LocalDate dia) {
+    int slot = slotActual();
+    agregadoRepo.sumar(Granularidad.DIA.name(), dimension.name(), dia, clave, slot, monto, cantidad);
+    agregadoRepo.sumar(Granularidad.MES.name(), dimension.name(), inicioPeriodo(Granularidad.MES, dia), clave, slot,
+        monto, cantidad);
+  }
+
+  /** Slot del hilo actual; la transacción corre entera en un hilo, así que no cambia dentro de ella. */
+  int slotActual() {
+    return (int) (Thread.currentThread().getId() % slots);
+  }
+
+  /** Primer día del periodo que contiene {@code fecha}. */
+  static LocalDate inicioPeriodo(Granularidad granularidad, LocalDate fecha) {
+    return granularidad == Granularidad.MES ? fecha.withDayOfMonth(1) : fecha;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<IngresoAgregadoResponse> consultar(Granularidad granularidad, DimensionIngreso dimension,
+                                                 String clave, LocalDate desde, LocalDate hasta) {
+    LocalDate fin = hasta != null ? hasta : LocalDate.now();
+    LocalDate inicio = inicioPeriodo(granularidad, desde != null ? desde : fin.minusYears(1));
+    if (inicio.isAfter(fin)) {
+      throw new RuntimeException("El rango de fechas no es válido");
+    }
+    List<Object[]> filas = clave == null
+        ? agregadoRepo.totalesPorPeriodo(granularidad, dimension, inicio, fin)
+        : agregadoRepo.totalesPorPeriodoYClave(granularidad, dimension, clave, inicio, fin);
+    return filas.stream()
+        .map(f -> IngresoAgregadoResponse.builder()
+            .periodo((LocalDate) f[0])
+            .clave((String) f[1])
+            .total((BigDecimal) f[2])
+            .cantidad(((Number) f[3]).longValue())
+            .build())
+        .toList();
+  }
+
+  @Override
+  @Transactional
+  public int reconstruir() {
+    agregadoRepo.borrarTodo();
+    return agregadoRepo.reconstruirPorTipo() + agregadoRepo.reconstruirPorPlan();
+  }
+}
@@ -0,0 +1,202 @@
+package com.sena.app_backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sena.app_backend.cache.TablaComisiones;
+import com.sena.app_backend.dto.request.EscenarioSimulacion;
+import com.sena.app_backend.dto.request.SimulacionPreciosRequest;
+import com.sena.app_backend.dto.response.PreciosPlan;
+import com.sena.app_backend.dto.response.SimulacionPrecioResponse;
+import com.sena.app_backend.service.SimuladorPreciosService;
+import com.sena.app_backend.util.CalculadorPreciosPlan;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Implementación del simulador de precios.
+ * <p>
+ * Los escenarios no se materializan: cada índice se traduce al escenario explícito
+ * o a la combinación de la grilla que le corresponde, y se evalúan con un parallel
+ * stream (pool fork-join común). En modo streaming se procesan por bloques: cada bloque
+ * se calcula en paralelo y se escribe en orden antes de pasar al siguiente.
+ */
+@Service
+public class SimuladorPreciosServiceImpl implements SimuladorPreciosService {
+
+  private static final byte[] SALTO_LINEA = {'\n'};
+
+  private final ObjectWriter writer;
+  private final TablaComisiones tablaComisiones;
+  private final long maxEscenarios;
+  private final long maxEscenariosLista;
+  private final int tamanoBloque;
+
+  public SimuladorPreciosServiceImpl(
+      ObjectMapper objectMapper,
+      TablaComisiones tablaComisiones,
+      @Value("${simulacion.maxEscenarios:1000000}") long maxEscenarios,
+      @Value("${simulacion.maxEscenariosLista:10000}") long maxEscenariosLista,
+      @Value("${simulacion.tamanoBloque:4096}") int tamanoBloque) {
+    this.writer = objectMapper.writerFor(SimulacionPrecioResponse.class);
+    this.tablaComisiones = tablaComisiones;
+    this.maxEscenarios = maxEscenarios;
+    this.maxEscenariosLista = maxEscenariosLista;
+    this.tamanoBloque = tamanoBloque;
+  }
+
+  @Override
+  public List<SimulacionPrecioResponse> simular(SimulacionPreciosRequest req) {
+    long total = contarEscenarios(req);
+    if (total > maxEscenariosLista) {
+      throw new RuntimeException("La simulación tiene " + total + " escenarios; el máximo en lista es "
+          + maxEscenariosLista + ". Use /api/alquileres/simulacion/stream");
+    }
+    Grilla grilla = new Grilla(req, tablaComisiones.porDefecto());
+    return IntStream.range(0, (int) total)
+        .parallel()
+        .mapToObj(grilla::simular)
+        .toList();
+  }
+
+  @Override
+  public void simular(SimulacionPreciosRequest req, OutputStream out) throws IOException {
+    long total = contarEscenarios(req);
+    Grilla grilla = new Grilla(req, tablaComisiones.porDefecto());
+    for (long inicio = 0; inicio < total; inicio += tamanoBloque) {
+      long fin = Math.min(total, inicio + tamanoBloque);
+      SimulacionPrecioResponse[] bloque = LongStream.range(inicio, fin)
+          .parallel()
+          .mapToObj(grilla::simular)
+          .toArray(SimulacionPrecioResponse[]::new);
+      for (SimulacionPrecioResponse r : bloque) {
+        out.write(writer.writeValueAsBytes(r));
+        out.write(SALTO_LINEA);
+      }
+      out.flush();
+    }
+  }
+
+  @Override
+  public long contarEscenarios(SimulacionPreciosRequest req) {
+    if (req == null) {
+      throw new RuntimeException("Solicitud de simulación vacía");
+    }
+    long total = new Grilla(req, tablaComisiones.porDefecto()).total;
+    if (total == 0) {
+      throw new RuntimeException("Debe indicar escenarios o los ejes gananciasMin, gananciasMax y duracionesDias");
+    }
+    if (total > maxEscenarios) {
+      throw new RuntimeException("La simulación tiene " + total + " escenarios; el máximo es " + maxEscenarios);
+    }
+    return total;
+  }
+
+  /**
+   * Vista indexada de la solicitud: índices [0, escenarios) son los escenarios explícitos
+   * y el resto se decodifica en base mixta sobre los ejes de la grilla.
+   */
+  private static final class Grilla {
+    private final List<EscenarioSimulacion> escenarios;
+    private final List<BigDecimal> mins;
+    private final List<BigDecimal> maxs;
+    private final List<BigDecimal> dias;
+    private final List<BigDecimal> comisiones;
+    private final BigDecimal comisionPorDefecto;
+    private final long total;
+
+    Grilla(SimulacionPreciosRequest req, BigDecimal comisionPorDefecto) {
+      this.comisionPorDefecto = comisionPorDefecto;
+      escenarios = req.getEscenarios() == null ? List.of() : req.getEscenarios();
+      mins = vacioSiNulo(req.getGananciasMin());
+      maxs = vacioSiNulo(req.getGananciasMax());
+      dias = vacioSiNulo(req.getDuracionesDias());
+      comisiones = req.getComisiones() == null || req.getComisiones().isEmpty()
+          ? List.of(comisionPorDefecto)
+          : req.getComisiones();
+
+      boolean algunEje = !mins.isEmpty() || !maxs.isEmpty() || !dias.isEmpty();
+      boolean todosLosEjes = !mins.isEmpty() && !maxs.isEmpty() && !dias.isEmpty();
+      if (algunEje && !todosLosEjes) {
+        throw new RuntimeException("La grilla requiere los ejes gananciasMin, gananciasMax y duracionesDias");
+      }
+      long combinaciones = 0;
+      if (todosLosEjes) {
+        try {
+          combinaciones = Math.multiplyExact(
+              Math.multiplyExact((long) mins.size(), maxs.size()),
+              Math.multiplyExact((long) dias.size(), comisiones.size()));
+        } catch (ArithmeticException ex) {
+          combinaciones = Long.MAX_VALUE - escenarios.size();
+        }
+      }
+      total = escenarios.size() + combinaciones;
+    }
+
+    SimulacionPrecioResponse simular(long indice) {
+      if (indice < escenarios.size()) {
+        EscenarioSimulacion e = escenarios.get((int) indice);
+        if (e == null) {
+          return SimulacionPrecioResponse.builder().error("Escenario vacío").build();
+        }
+        BigDecimal comision = e.getComision() != null ? e.getComision() : comisionPorDefecto;
+        return evaluar(e.getGananciaMin(), e.getGananciaMax(), e.getDuracionDias(), comision);
+      }
+      long i = indice - escenarios.size();
+      int iComision = (int) (i % comisiones.size());
+      i /= comisiones.size();
+      int iDias = (int) (i % dias.size());
+      i /= dias.size();
+      int iMax = (int) (i % maxs.size());
+      int iMin = (int) (i / maxs.size());
+      return evaluar(mins.get(iMin), maxs.get(iMax), dias.get(iDias), comisiones.get(iComision));
+    }
+
+    private static List<BigDecimal> vacioSiNulo(List<BigDecimal> l) {
+      return l == null ? List.of() : l;
+    }
+  }
+
+  /**
+   * Evalúa un escenario; los parámetros inválidos se informan en el propio resultado
+   * para no abortar el resto de la simulación.
+   */
+  static SimulacionPrecioResponse evaluar(BigDecimal min, BigDecimal max, BigDecimal dias, BigDecimal comision) {
+    SimulacionPrecioResponse.SimulacionPrecioResponseBuilder r = SimulacionPrecioResponse.builder()
+        .gananciaMin(min)
+        .gananciaMax(max)
+        .duracionDias(dias)
+        .comision(comision);
+
+    String error = validar(min, max, dias, comision);
+    if (error != null) {
+      return r.error(error).build();
+    }
+    PreciosPlan p = CalculadorPreciosPlan.calculate(min, max, dias, comision);
+    return r.gananciaPromedioDiaria(p.getGananciaPromedioDiaria())
+        .precioAlquiler(p.getPrecioAlquiler())
+        .gananciaMaxUsuario(p.getGananciaMaxUsuario())
+        .precioBruto(p.getPrecioBruto())
+        .ingresoPlataforma(p.getIngresoPlataforma())
+        .build();
+  }
+
+  private static String validar(BigDecimal min, BigDecimal max, BigDecimal dias, BigDecimal comision) {
+    if (min == null || max == null || dias == null || comision == null) {
+      return "Parámetros incompletos";
+    }
+    if (min.signum() < 0 || max.compareTo(min) < 0) {
+      return "Se requiere 0 <= gananciaMin <= gananciaMax";
+    }
+    if (dias.signum() <= 0) {
+      return "duracionDias debe ser mayor que cero";
+    }
+    return CalculadorPreciosPlan.validarComision(comision);
+  }
+}
@@ -36,6 +36,13 @@ public class UsuarioServiceImpl implements UsuarioService {
   private final MonederoRepository monederoRepo;
   private final PlataformaTransaccionCuentaRepository transRepo;
   private final AlquilerRepository alquilerRepo;
+  private final TransaccionRepository txRepo;
+  private final TrabajoProvisionamientoRepository trabajoRepo;
+  private final MaquinaRepository maquinaRepo;
+  private final RegistroIdempotenciaRepository idempotenciaRepo;
+  private final AlquilerArchivoRepository alquilerArchivoRepo;
+  private final TransaccionPlataformaArchivoRepository ptcArchivoRepo;
+  private final TransaccionArchivoRepository txArchivoRepo;
   private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
   /**
@@ -184,27 +191,48 @@ public class UsuarioServiceImpl implements UsuarioService {
   /**
    * Elimina un usuario por su ID.
    * <p>
-   * Valida que el usuario exista antes de eliminarlo.
+   * Valida que el usuario exista y borra sus datos con una sentencia DELETE por tabla,
+   * sin cargar filas en memoria, en orden de claves foráneas y en una sola transacción:
+   * 1) Libera las máquinas de sus alquileres ACTIVO o PENDIENTE.
+   * 2) Trabajos de aprovisionamiento y alquileres.
+   * 3) Transacciones de sus monederos y los monederos.
+   * 4) Transacciones de su cuenta de plataforma y la cuenta.
+   * 5) Filas archivadas, tokens de refresco y registros de idempotencia.
+   * 6) El usuario.
    *
    * @param id el ID del usuario a eliminar
    */
   @Override
+  @Transactional
   public void eliminarUsuario(Long id) {
-    Usuario u = repo.findById(id)
-        .orElseThrow(() -> new RuntimeException("Usuario no encontrado: " + id));
-    // Si el usuario tiene una cuenta de fondos, la eliminamos
-    cuentaRepo.findByUsuarioId(id).ifPresent(cuentaRepo::delete);
-    // Si el usuario tiene un monedero, lo eliminamos
-    monederoRepo.deleteAll(monederoRepo.findByUsuarioId(id));
-    // Si el usuario tiene tokens de refresco, los eliminamos
-    refreshTokenRepo.deleteAll(refreshTokenRepo.findByUserId(id));
-    // Si el usuario tiene transacciones, las eliminamos
-    transRepo.deleteAll(transRepo.findByAccountId(id));
-    // Si el usuario tiene alquileres, los eliminamos
-    alquilerRepo.deleteAll(alquilerRepo.findByUsuarioId(id));
-
-    // Eliminar el usuario
-    repo.deleteById(id);
+    if (!repo.existsById(id)) {
+      throw new RuntimeException("Usuario no encontrado: " + id);
+    }
+    // IDs que referencian las tablas de archivo (no tienen FK), antes de borrar sus dueños
+    List<Long> monederoIds = monederoRepo.findIdsByUsuarioId(id);
+    Long cuentaId = cuentaRepo.findIdByUsuarioId(id).orElse(null);
+
+    maquinaRepo.liberarPorUsuario(id);
+    trabajoRepo.borrarPorUsuario(id);
+    alquilerRepo.borrarPorUsuario(id);
+
+    txRepo.borrarPorUsuario(id);
+    monederoRepo.borrarPorUsuario(id);
+
+    transRepo.borrarPorUsuario(id);
+    cuentaRepo.borrarPorUsuario(id);
+
+    alquilerArchivoRepo.borrarPorUsuario(id);
+    if (!monederoIds.isEmpty()) {
+      txArchivoRepo.borrarPorMonederos(monederoIds);
+    }
+    if (cuentaId != null) {
+      ptcArchivoRepo.borrarPorCuenta(cuentaId);
+    }
+    refreshTokenRepo.borrarPorUsuario(id);
+    idempotenciaRepo.borrarPorUsuario(id);
+
+    repo.borrarPorId(id);
   }
 
   /**
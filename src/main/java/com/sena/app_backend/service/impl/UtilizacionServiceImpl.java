@@ -0,0 +1,120 @@
+package com.sena.app_backend.service.impl;
+
+import com.sena.app_backend.dto.response.UtilizacionResponse;
+import com.sena.app_backend.model.EstadoMaquina;
+import com.sena.app_backend.model.NivelRecursos;
+import com.sena.app_backend.repository.MaquinaRepository;
+import com.sena.app_backend.repository.MuestraUtilizacionRepository;
+import com.sena.app_backend.service.UtilizacionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * El muestreo hace un único GROUP BY sobre maquina por intervalo; las consultas
+ * solo leen muestra_utilizacion. El instante se alinea al intervalo, así que si
+ * varios nodos muestrean a la vez escriben la misma fila.
+ */
+@Service
+public class UtilizacionServiceImpl implements UtilizacionService {
+
+  private static final int HORA = 3600;
+
+  private final MaquinaRepository maquinaRepo;
+  private final MuestraUtilizacionRepository muestraRepo;
+  private final int resolucion;
+  private final long detalleHoras;
+  private final long retencionDias;
+  private final long maxDiasConsulta;
+
+  public UtilizacionServiceImpl(MaquinaRepository maquinaRepo,
+                                MuestraUtilizacionRepository muestraRepo,
+                                @Value("${utilizacion.muestreoMs:60000}") long muestreoMs,
+                                @Value("${utilizacion.detalleHoras:48}") long detalleHoras,
+                                @Value("${utilizacion.retencionDias:730}") long retencionDias,
+                                @Value("${utilizacion.maxDiasConsulta:366}") long maxDiasConsulta) {
+    this.maquinaRepo = maquinaRepo;
+    this.muestraRepo = muestraRepo;
+    this.resolucion = (int) Math.max(1, muestreoMs / 1000);
+    this.detalleHoras = detalleHoras;
+    this.retencionDias = retencionDias;
+    this.maxDiasConsulta = maxDiasConsulta;
+  }
+
+  /** Trunca {@code t} al inicio de su intervalo de {@code segundos}. */
+  static LocalDateTime alinear(LocalDateTime t, int segundos) {
+    LocalDateTime dia = t.truncatedTo(ChronoUnit.DAYS);
+    long s = Duration.between(dia, t).getSeconds();
+    return dia.plusSeconds(s - s % segundos);
+  }
+
+  @Override
+  @Scheduled(fixedRateString = "${utilizacion.muestreoMs:60000}")
+  @Transactional
+  public int muestrear() {
+    Map<NivelRecursos, int[]> conteo = new EnumMap<>(NivelRecursos.class);
+    for (NivelRecursos n : NivelRecursos.values()) {
+      conteo.put(n, new int[EstadoMaquina.values().length]);
+    }
+    for (Object[] fila : maquinaRepo.contarPorRecursosYEstado()) {
+      if (fila[0] != null && fila[1] != null) {
+        conteo.get((NivelRecursos) fila[0])[((EstadoMaquina) fila[1]).ordinal()] = ((Long) fila[2]).intValue();
+      }
+    }
+    LocalDateTime instante = alinear(LocalDateTime.now(), resolucion);
+    int filas = 0;
+    for (Map.Entry<NivelRecursos, int[]> e : conteo.entrySet()) {
+      for (EstadoMaquina estado : EstadoMaquina.values()) {
+        muestraRepo.registrar(instante, resolucion, e.getKey().name(), estado.name(), e.getValue()[estado.ordinal()]);
+        filas++;
+      }
+    }
+    return filas;
+  }
+
+  @Override
+  @Scheduled(cron = "${utilizacion.reduccionCron:0 5 * * * *}")
+  @Transactional
+  public void reducirAntiguas() {
+    LocalDateTime limite = LocalDateTime.now().minusHours(detalleHoras).truncatedTo(ChronoUnit.HOURS);
+    if (resolucion < HORA) {
+      muestraRepo.reducirAHoras(resolucion, limite);
+      muestraRepo.deleteAnteriores(resolucion, limite);
+    }
+    muestraRepo.deleteAnteriores(HORA, LocalDateTime.now().minusDays(retencionDias));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<UtilizacionResponse> consultar(LocalDateTime desde, LocalDateTime hasta, NivelRecursos recursos) {
+    LocalDateTime fin = hasta != null ? hasta : LocalDateTime.now();
+    LocalDateTime inicio = desde != null ? desde : fin.minusDays(1);
+    if (inicio.isAfter(fin)) {
+      throw new RuntimeException("El rango de fechas no es válido");
+    }
+    if (Duration.between(inicio, fin).toDays() > maxDiasConsulta) {
+      throw new RuntimeException("El rango supera " + maxDiasConsulta + " días");
+    }
+    return (recursos == null
+        ? muestraRepo.findByInstanteBetweenOrderByInstanteAsc(inicio, fin)
+        : muestraRepo.findByRecursosAndInstanteBetweenOrderByInstanteAsc(recursos, inicio, fin))
+        .stream()
+        .map(m -> UtilizacionResponse.builder()
+            .instante(m.getInstante())
+            .resolucion(m.getResolucion())
+            .recursos(m.getRecursos())
+            .estado(m.getEstado())
+            .cantidad(m.getCantidad())
+            .maximo(m.getMaximo())
+            .build())
+        .toList();
+  }
+}
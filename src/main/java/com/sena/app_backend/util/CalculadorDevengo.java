@@ -0,0 +1,67 @@
+package com.sena.app_backend.util;
+
+/**
+ * Ganancia diaria de minería de muchos alquileres a la vez, sobre arreglos de {@code long}
+ * en unidades de 1e-4 ({@link DineroFijo}).
+ * <p>
+ * La ganancia del día de cada alquiler cae entre {@code gananciaMin} y {@code gananciaMax} del
+ * plan, en una posición pseudoaleatoria que solo depende del alquiler y del día: volver a
+ * calcular un día da siempre el mismo resultado, así que el devengo se puede reintentar.
+ * El resultado se prorratea por los segundos del día en que el alquiler estuvo activo.
+ * <p>
+ * El bucle solo usa sumas, productos, desplazamientos y una división por constante sobre
+ * elementos independientes, sin ramas ni objetos, para que el JIT lo pueda vectorizar.
+ * Los rangos se validan al cargar los planes ({@link #validarRango}) para que no haya desbordamiento.
+ */
+public final class CalculadorDevengo {
+
+  public static final long SEGUNDOS_DIA = 86_400L;
+
+  /** Bits de la fracción pseudoaleatoria: la posición en el rango va de 0 a 2^14 - 1. */
+  private static final int BITS_FRACCION = 14;
+  private static final long MAX_FRACCION = (1L << BITS_FRACCION) - 1;
+
+  /** Mayor rango (max - min) admitido: rango × MAX_FRACCION y ganancia × SEGUNDOS_DIA caben en 63 bits. */
+  public static final long MAX_RANGO = 1L << 40;
+
+  private CalculadorDevengo() {
+  }
+
+  /**
+   * Calcula la ganancia devengada de los primeros {@code n} alquileres.
+   *
+   * @param ids      ID de cada alquiler (semilla junto con el día)
+   * @param min4     ganancia mínima diaria del plan, en 1e-4
+   * @param rango4   gananciaMax - gananciaMin del plan, en 1e-4
+   * @param segundos segundos del día en que el alquiler estuvo activo (0..86400)
+   * @param dia      día devengado (LocalDate.toEpochDay())
+   * @param salida   ganancia devengada en 1e-4, redondeada HALF_UP
+   */
+  public static void calcular(long[] ids, long[] min4, long[] rango4, long[] segundos, long dia,
+                              long[] salida, int n) {
+    long semillaDia = mezclar(dia);
+    for (int i = 0; i < n; i++) {
+      long fraccion = mezclar(ids[i] ^ semillaDia) >>> (Long.SIZE - BITS_FRACCION);
+      long ganancia = min4[i] + rango4[i] * fraccion / MAX_FRACCION;
+      salida[i] = (ganancia * segundos[i] + SEGUNDOS_DIA / 2) / SEGUNDOS_DIA;
+    }
+  }
+
+  /**
+   * Verifica que un plan se pueda devengar sin desbordamiento.
+   *
+   * @throws ArithmeticException si el mínimo es negativo o el rango está fuera de [0, MAX_RANGO]
+   */
+  public static void validarRango(long min4, long rango4) {
+    if (min4 < 0 || rango4 < 0 || rango4 > MAX_RANGO || min4 > MAX_RANGO) {
+      throw new ArithmeticException("Ganancias del plan fuera del rango de devengo: min=" + min4 + " rango=" + rango4);
+    }
+  }
+
+  /** Finalizador de SplitMix64: buena dispersión con solo desplazamientos y productos. */
+  static long mezclar(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -0,0 +1,120 @@
+package com.sena.app_backend.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static com.sena.app_backend.util.DineroFijo.ESCALA;
+import static com.sena.app_backend.util.DineroFijo.UNIDAD_8;
+
+/**
+ * Cálculos de prorrateo usados al cerrar un alquiler antes de tiempo:
+ * fracción de tiempo usada (8 decimales) y partes proporcionales de un monto (4 decimales).
+ * <p>
+ * Igual que {@link CalculadorPreciosPlan}, usa {@link DineroFijo} cuando los valores
+ * caben en punto fijo y BigDecimal en otro caso; los resultados son idénticos.
+ */
+public final class CalculadorDevolucion {
+
+  /** Decimales de la fracción usada. */
+  public static final int ESCALA_FRACCION = 8;
+
+  private CalculadorDevolucion() {
+  }
+
+  /**
+   * Fracción usada = usados / total, redondeada HALF_UP a 8 decimales.
+   *
+   * @param usados segundos consumidos
+   * @param total  segundos totales del periodo (mayor que cero)
+   */
+  public static BigDecimal fraccionUsada(long usados, long total) {
+    try {
+      return BigDecimal.valueOf(DineroFijo.multiplicarDividir(usados, UNIDAD_8, total), ESCALA_FRACCION);
+    } catch (ArithmeticException ex) {
+      return fraccionUsadaBigDecimal(usados, total);
+    }
+  }
+
+  /**
+   * Parte proporcional de un monto: monto × fraccion, redondeada HALF_UP a 4 decimales.
+   */
+  public static BigDecimal proporcion(BigDecimal monto, BigDecimal fraccion) {
+    if (DineroFijo.representable(monto) && DineroFijo.representable(fraccion, ESCALA_FRACCION)) {
+      try {
+        long r4 = DineroFijo.multiplicarDividir(
+            DineroFijo.aUnidades(monto), DineroFijo.aUnidades(fraccion, ESCALA_FRACCION), UNIDAD_8);
+        return BigDecimal.valueOf(r4, ESCALA);
+      } catch (ArithmeticException ex) {
+        // Fuera de rango: seguimos con BigDecimal
+      }
+    }
+    return proporcionBigDecimal(monto, fraccion);
+  }
+
+  /**
+   * Parte no consumida de un monto: monto × (1 − fraccion), redondeada HALF_UP a 4 decimales.
+   */
+  public static BigDecimal noConsumido(BigDecimal monto, BigDecimal fraccion) {
+    if (DineroFijo.representable(monto) && DineroFijo.representable(fraccion, ESCALA_FRACCION)) {
+      try {
+        long restante8 = DineroFijo.restar(UNIDAD_8, DineroFijo.aUnidades(fraccion, ESCALA_FRACCION));
+        long r4 = DineroFijo.multiplicarDividir(DineroFijo.aUnidades(monto), restante8, UNIDAD_8);
+        return BigDecimal.valueOf(r4, ESCALA);
+      } catch (ArithmeticException ex) {
+        // Fuera de rango: seguimos con BigDecimal
+      }
+    }
+    return noConsumidoBigDecimal(monto, fraccion);
+  }
+
+  /**
+   * Montos de un cierre anticipado, calculados convirtiendo cada entrada una sola vez:
+   * <ul>
+   *   <li>gananciaPlataforma = (costoTotal − precioAlquiler) × fraccion</li>
+   *   <li>montoDevuelto = precioAlquiler − precioAlquiler × fraccion</li>
+   * </ul>
+   * ambos redondeados HALF_UP a 4 decimales.
+   */
+  public static Cierre cierreAnticipado(BigDecimal precioAlquiler, BigDecimal costoTotal, BigDecimal fraccion) {
+    if (DineroFijo.representable(precioAlquiler) && DineroFijo.representable(costoTotal)
+        && DineroFijo.representable(fraccion, ESCALA_FRACCION)) {
+      try {
+        long precio4 = DineroFijo.aUnidades(precioAlquiler);
+        long fraccion8 = DineroFijo.aUnidades(fraccion, ESCALA_FRACCION);
+        long extraTot4 = DineroFijo.restar(DineroFijo.aUnidades(costoTotal), precio4);
+        long extraUsado4 = DineroFijo.multiplicarDividir(extraTot4, fraccion8, UNIDAD_8);
+        long precioUsado4 = DineroFijo.multiplicarDividir(precio4, fraccion8, UNIDAD_8);
+        return new Cierre(
+            BigDecimal.valueOf(DineroFijo.restar(precio4, precioUsado4), ESCALA),
+            BigDecimal.valueOf(extraUsado4, ESCALA));
+      } catch (ArithmeticException ex) {
+        // Fuera de rango: seguimos con BigDecimal
+      }
+    }
+    return cierreAnticipadoBigDecimal(precioAlquiler, costoTotal, fraccion);
+  }
+
+  /** Resultado de {@link #cierreAnticipado}. */
+  public record Cierre(BigDecimal montoDevuelto, BigDecimal gananciaPlataforma) {
+  }
+
+  static Cierre cierreAnticipadoBigDecimal(BigDecimal precioAlquiler, BigDecimal costoTotal,
+                                           BigDecimal fraccion) {
+    BigDecimal extraUsd = proporcionBigDecimal(costoTotal.subtract(precioAlquiler), fraccion);
+    BigDecimal algUsd = proporcionBigDecimal(precioAlquiler, fraccion);
+    return new Cierre(precioAlquiler.subtract(algUsd).setScale(ESCALA, RoundingMode.HALF_UP), extraUsd);
+  }
+
+  static BigDecimal fraccionUsadaBigDecimal(long usados, long total) {
+    return new BigDecimal(usados)
+        .divide(new BigDecimal(total), ESCALA_FRACCION, RoundingMode.HALF_UP);
+  }
+
+  static BigDecimal proporcionBigDecimal(BigDecimal monto, BigDecimal fraccion) {
+    return monto.multiply(fraccion).setScale(ESCALA, RoundingMode.HALF_UP);
+  }
+
+  static BigDecimal noConsumidoBigDecimal(BigDecimal monto, BigDecimal fraccion) {
+    return monto.multiply(BigDecimal.ONE.subtract(fraccion)).setScale(ESCALA, RoundingMode.HALF_UP);
+  }
+}
@@ -6,22 +6,138 @@ import com.sena.app_backend.model.Plan;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 
+import static com.sena.app_backend.util.DineroFijo.ESCALA;
+import static com.sena.app_backend.util.DineroFijo.UNIDAD;
+import static com.sena.app_backend.util.DineroFijo.UNIDAD_8;
+
 public class CalculadorPreciosPlan {
-  /** % de comisión de plataforma (10%). */
-  private static final BigDecimal COMISION = new BigDecimal("0.10");
+  /** Posiciones del arreglo de salida de {@link #calcularUnidades}. */
+  public static final int GANANCIA_PROMEDIO = 0;
+  public static final int PRECIO_BRUTO = 1;
+  public static final int PRECIO_ALQUILER = 2;
+  public static final int GANANCIA_MAX_USUARIO = 3;
+  public static final int RESULTADOS = 4;
 
+  /**
+   * Valida una fracción de comisión: debe estar en [0, 1). Con 1 el alquiler no
+   * costaría nada. La usan tanto las comisiones guardadas como el simulador.
+   *
+   * @return el mensaje de error, o null si la comisión es válida
+   */
+  public static String validarComision(BigDecimal comision) {
+    if (comision == null || comision.signum() < 0 || comision.compareTo(BigDecimal.ONE) >= 0) {
+      return "La tasa de comisión debe estar entre 0 (incluido) y 1 (excluido)";
+    }
+    return null;
+  }
 
   /**
    * Calcula los precios y ganancias asociados a un plan.
    *
-   * @param plan el plan del cual se calcularán los precios
+   * @param plan     el plan del cual se calcularán los precios
+   * @param comision comisión vigente para el plan (ver {@code TablaComisiones})
+   * @return un objeto PreciosPlan con los cálculos realizados
+   */
+  public static PreciosPlan calculate(Plan plan, BigDecimal comision) {
+    return calculate(plan.getGananciaMin(), plan.getGananciaMax(), plan.getDuracionDias(), comision);
+  }
+
+  /**
+   * Calcula los precios y ganancias para parámetros de plan arbitrarios.
+   * <p>
+   * Usa aritmética de punto fijo ({@link DineroFijo}) cuando todos los valores
+   * tienen a lo sumo 4 decimales (siempre es así con los planes leídos de la BD);
+   * en otro caso, o si hubiera desbordamiento, usa BigDecimal. Ambos caminos
+   * dan exactamente el mismo resultado, incluida la escala.
+   *
+   * @param min      ganancia mínima diaria
+   * @param max      ganancia máxima diaria
+   * @param dias     duración del plan en días
+   * @param comision fracción de comisión de la plataforma (0.10 = 10%)
    * @return un objeto PreciosPlan con los cálculos realizados
    */
-  public static PreciosPlan calculate(Plan plan) {
-    BigDecimal min = plan.getGananciaMin();
-    BigDecimal max = plan.getGananciaMax();
-    BigDecimal dias = plan.getDuracionDias();
+  public static PreciosPlan calculate(BigDecimal min, BigDecimal max, BigDecimal dias, BigDecimal comision) {
+    if (DineroFijo.representable(min) && DineroFijo.representable(max)
+        && DineroFijo.representable(dias) && DineroFijo.representable(comision)) {
+      try {
+        return calcularFijo(min, max, dias, comision);
+      } catch (ArithmeticException ex) {
+        // Valores fuera de rango para 64 bits: seguimos con BigDecimal
+      }
+    }
+    return calcularBigDecimal(min, max, dias, comision);
+  }
+
+  /**
+   * Mismo cálculo que {@link #calcularBigDecimal} sobre enteros escalados.
+   * Los resultados se devuelven con la misma escala que produciría BigDecimal.
+   */
+  static PreciosPlan calcularFijo(BigDecimal min, BigDecimal max, BigDecimal dias,
+                                  BigDecimal comision) {
+    int escalaProm = Math.max(min.scale(), max.scale());
+    long[] r = new long[RESULTADOS];
+    calcularUnidades(DineroFijo.aUnidades(min), DineroFijo.aUnidades(max), DineroFijo.aUnidades(dias),
+        DineroFijo.aUnidades(comision),
+        DineroFijo.potencia10(ESCALA - escalaProm), r);
+
+    BigDecimal precioBruto = DineroFijo.aBigDecimal(r[PRECIO_BRUTO], 2 * ESCALA, escalaProm + dias.scale());
+    return PreciosPlan.builder()
+        .gananciaPromedioDiaria(DineroFijo.aBigDecimal(r[GANANCIA_PROMEDIO], ESCALA, escalaProm))
+        .precioBruto(precioBruto)
+        .precioAlquiler(BigDecimal.valueOf(r[PRECIO_ALQUILER], ESCALA))
+        .gananciaMaxUsuario(BigDecimal.valueOf(r[GANANCIA_MAX_USUARIO], ESCALA))
+        .ingresoPlataforma(precioBruto)
+        .build();
+  }
+
+  /**
+   * Cálculo sobre unidades de 1e-4 sin crear objetos, para quien ya tiene los valores
+   * en punto fijo (p.ej. simulaciones masivas). Equivale a {@link #calculate(Plan, BigDecimal)} con
+   * montos de 4 decimales.
+   *
+   * @param salida arreglo de al menos {@link #RESULTADOS} posiciones; se llena con
+   *               {@link #GANANCIA_PROMEDIO} y {@link #PRECIO_ALQUILER}, {@link #GANANCIA_MAX_USUARIO}
+   *               (1e-4) y {@link #PRECIO_BRUTO} (1e-8, igual al ingreso de la plataforma)
+   * @throws ArithmeticException si algún resultado no cabe en un long
+   */
+  public static void calcularUnidades(long min4, long max4, long dias4, long comision4, long[] salida) {
+    calcularUnidades(min4, max4, dias4, comision4, 1L, salida);
+  }
+
+  /**
+   * @param paso 10^(4 - escala del promedio): el promedio se redondea a esa escala, como BigDecimal
+   */
+  private static void calcularUnidades(long min4, long max4, long dias4, long comision4, long paso,
+                                       long[] salida) {
+    // 1) Ganancia promedio diaria = (min + max) / 2, redondeada a la escala de (min + max)
+    long prom4 = DineroFijo.dividir(DineroFijo.sumar(min4, max4), 2 * paso) * paso;
+
+    // 2) Precio bruto = gananciaProm × días (exacto, en unidades de 1e-8)
+    long bruto8 = DineroFijo.multiplicar(prom4, dias4);
+
+    // 3) Precio final al usuario = precioBruto × (1 – comision), redondeado a 4 decimales
+    long precioAlquiler4 = DineroFijo.multiplicarDividir(
+        bruto8, DineroFijo.restar(UNIDAD, comision4), UNIDAD_8);
+
+    // 4) Ingreso bruto usuario si alcanza max cada día (1e-8)
+    long ingresoUsuario8 = DineroFijo.multiplicar(max4, dias4);
+
+    // 5) Ganancia máxima usuario = ingresoBrutoUsuario – precioFinal, redondeada a 4 decimales
+    long gananciaMax4 = DineroFijo.dividir(
+        DineroFijo.restar(ingresoUsuario8, DineroFijo.multiplicar(precioAlquiler4, UNIDAD)), UNIDAD);
 
+    salida[GANANCIA_PROMEDIO] = prom4;
+    salida[PRECIO_BRUTO] = bruto8;
+    salida[PRECIO_ALQUILER] = precioAlquiler4;
+    salida[GANANCIA_MAX_USUARIO] = gananciaMax4;
+  }
+
+  /**
+   * Cálculo de referencia con BigDecimal. Se usa cuando los valores no caben
+   * en punto fijo y en las pruebas que comparan ambos caminos.
+   */
+  static PreciosPlan calcularBigDecimal(BigDecimal min, BigDecimal max, BigDecimal dias,
+                                        BigDecimal comision) {
     // 1) Ganancia promedio diaria = (min + max) / 2
     BigDecimal gananciaProm = min.add(max)
         .divide(BigDecimal.valueOf(2), RoundingMode.HALF_UP);
@@ -29,9 +145,9 @@ public class CalculadorPreciosPlan {
     // 2) Precio bruto = gananciaProm × días
     BigDecimal precioBruto = gananciaProm.multiply(dias);
 
-    // 3) Precio final al usuario = precioBruto × (1 – COMISION)
+    // 3) Precio final al usuario = precioBruto × (1 – comision)
     BigDecimal precioAlquiler = precioBruto
-        .multiply(BigDecimal.ONE.subtract(COMISION))
+        .multiply(BigDecimal.ONE.subtract(comision))
         .setScale(4, RoundingMode.HALF_UP);
 
     // 4) Ingreso bruto usuario si alcanza max cada día
@@ -0,0 +1,192 @@
+package com.sena.app_backend.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Aritmética de dinero en punto fijo sobre {@code long}, sin crear objetos.
+ * <p>
+ * Los montos se representan como enteros escalados: con {@link #ESCALA} = 4
+ * (igual que las columnas {@code scale = 4}) el valor 12.3456 es 123456.
+ * Los productos intermedios se calculan en 128 bits, así que
+ * {@link #multiplicarDividir} no pierde precisión aunque a×b no quepa en un long.
+ * Todas las operaciones redondean HALF_UP (mitad lejos de cero, como
+ * {@link java.math.RoundingMode#HALF_UP}) y lanzan {@link ArithmeticException}
+ * si el resultado se desborda.
+ */
+public final class DineroFijo {
+
+  /** Decimales de los montos persistidos. */
+  public static final int ESCALA = 4;
+
+  /** 1.0000 expresado en unidades de 1e-4. */
+  public static final long UNIDAD = 10_000L;
+
+  /** 1.00000000 expresado en unidades de 1e-8 (fracciones y productos de dos montos). */
+  public static final long UNIDAD_8 = 100_000_000L;
+
+  private static final long[] POTENCIAS_10 = {
+      1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L
+  };
+
+  private DineroFijo() {
+  }
+
+  /** 10^n para 0 ≤ n ≤ 8. */
+  public static long potencia10(int n) {
+    return POTENCIAS_10[n];
+  }
+
+  /**
+   * Indica si el valor se puede representar exactamente con {@link #ESCALA} decimales.
+   * Los valores con más decimales deben calcularse con BigDecimal para no alterar el redondeo.
+   */
+  public static boolean representable(BigDecimal v) {
+    return representable(v, ESCALA);
+  }
+
+  /** Indica si el valor se puede representar exactamente con {@code escala} decimales (máx. 8). */
+  public static boolean representable(BigDecimal v, int escala) {
+    return v != null && v.scale() >= 0 && v.scale() <= escala;
+  }
+
+  /**
+   * Convierte un BigDecimal con a lo sumo 4 decimales a unidades de 1e-4.
+   *
+   * @throws ArithmeticException si tiene más de 4 decimales o no cabe en un long
+   */
+  public static long aUnidades(BigDecimal v) {
+    return aUnidades(v, ESCALA);
+  }
+
+  /**
+   * Convierte un BigDecimal a unidades de 10^-escala (p.ej. escala 8 para fracciones).
+   *
+   * @throws ArithmeticException si tiene más decimales que {@code escala} o no cabe en un long
+   */
+  public static long aUnidades(BigDecimal v, int escala) {
+    if (!representable(v, escala)) {
+      throw new ArithmeticException("Escala no soportada: " + v);
+    }
+    // Con escala 0 longValueExact() no crea objetos; con escala > 0 basta un BigDecimal
+    // intermedio (unscaledValue() crearía un BigInteger y su arreglo en cada llamada)
+    long sinEscala = v.scale() == 0 ? v.longValueExact() : v.scaleByPowerOfTen(v.scale()).longValueExact();
+    return Math.multiplyExact(sinEscala, POTENCIAS_10[escala - v.scale()]);
+  }
+
+  /**
+   * Convierte un valor escalado a BigDecimal con la escala indicada.
+   * Si {@code escalaDestino} es menor que {@code escalaOrigen} el valor debe ser exacto en esa escala.
+   *
+   * @param unidades      valor escalado
+   * @param escalaOrigen  decimales que representa {@code unidades} (4 u 8)
+   * @param escalaDestino decimales del BigDecimal resultante
+   */
+  public static BigDecimal aBigDecimal(long unidades, int escalaOrigen, int escalaDestino) {
+    if (escalaDestino >= escalaOrigen) {
+      return BigDecimal.valueOf(
+          Math.multiplyExact(unidades, POTENCIAS_10[escalaDestino - escalaOrigen]), escalaDestino);
+    }
+    long divisor = POTENCIAS_10[escalaOrigen - escalaDestino];
+    if (unidades % divisor != 0) {
+      throw new ArithmeticException("El valor no es exacto en escala " + escalaDestino);
+    }
+    return BigDecimal.valueOf(unidades / divisor, escalaDestino);
+  }
+
+  /** Suma con chequeo de desbordamiento. */
+  public static long sumar(long a, long b) {
+    return Math.addExact(a, b);
+  }
+
+  /** Resta con chequeo de desbordamiento. */
+  public static long restar(long a, long b) {
+    return Math.subtractExact(a, b);
+  }
+
+  /** Producto exacto con chequeo de desbordamiento (la escala del resultado es la suma de escalas). */
+  public static long multiplicar(long a, long b) {
+    return Math.multiplyExact(a, b);
+  }
+
+  /**
+   * Divide redondeando HALF_UP.
+   *
+   * @param dividendo valor a dividir
+   * @param divisor   divisor distinto de cero
+   */
+  public static long dividir(long dividendo, long divisor) {
+    if (divisor == 0) {
+      throw new ArithmeticException("División por cero");
+    }
+    if (dividendo == Long.MIN_VALUE && divisor == -1) {
+      throw new ArithmeticException("Desbordamiento en división");
+    }
+    long q = dividendo / divisor;
+    long r = dividendo % divisor;
+    if (r != 0) {
+      long absR = Math.abs(r);
+      long absD = Math.abs(divisor);
+      // |r| >= |d| - |r|  ⇔  2|r| >= |d| sin desbordar
+      if (absR >= absD - absR) {
+        q += ((dividendo ^ divisor) < 0) ? -1 : 1;
+      }
+    }
+    return q;
+  }
+
+  /**
+   * Calcula {@code a × b / divisor} redondeando HALF_UP, con el producto en 128 bits.
+   * Es la operación típica para reescalar: p.ej. un monto en 1e-8 por un factor en 1e-4
+   * dividido entre 1e8 da el resultado en 1e-4.
+   *
+   * @param divisor divisor positivo
+   * @throws ArithmeticException si el cociente no cabe en un long
+   */
+  public static long multiplicarDividir(long a, long b, long divisor) {
+    if (divisor <= 0) {
+      throw new ArithmeticException("El divisor debe ser positivo: " + divisor);
+    }
+    if (a == Long.MIN_VALUE || b == Long.MIN_VALUE) {
+      throw new ArithmeticException("Desbordamiento en multiplicación");
+    }
+    if (a == 0 || b == 0) {
+      return 0;
+    }
+    boolean negativo = (a < 0) != (b < 0);
+    long ua = Math.abs(a);
+    long ub = Math.abs(b);
+    // Producto de 128 bits sin signo: (alto, bajo)
+    long alto = Math.multiplyHigh(ua, ub);
+    long bajo = ua * ub;
+    if (alto == 0 && bajo >= 0) {
+      // El producto cabe en 63 bits: división directa
+      long q = dividir(bajo, divisor);
+      return negativo ? -q : q;
+    }
+    if (Long.compareUnsigned(alto, divisor) >= 0) {
+      throw new ArithmeticException("Desbordamiento en multiplicarDividir");
+    }
+    // División larga binaria de (alto, bajo) entre divisor; el resto siempre es < divisor
+    long resto = alto;
+    long cociente = 0;
+    for (int i = 63; i >= 0; i--) {
+      // resto < divisor < 2^63, así que el desplazamiento cabe en 64 bits sin signo
+      resto = (resto << 1) | ((bajo >>> i) & 1L);
+      if (Long.compareUnsigned(resto, divisor) >= 0) {
+        resto -= divisor;
+        cociente |= 1L << i;
+      }
+    }
+    if (cociente < 0) {
+      throw new ArithmeticException("Desbordamiento en multiplicarDividir");
+    }
+    // Redondeo HALF_UP: 2·resto >= divisor  ⇔  resto >= divisor - resto
+    if (Long.compareUnsigned(resto, divisor - resto) >= 0) {
+      cociente++;
+    }
+    if (cociente < 0) {
+      throw new ArithmeticException("Desbordamiento en multiplicarDividir");
+    }
+    return negativo ? -cociente : cociente;
+  }
+}
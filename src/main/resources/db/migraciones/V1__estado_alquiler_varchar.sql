@@ -0,0 +1,3 @@
+-- alquiler.estado pasa del ENUM nativo a VARCHAR para admitir PENDIENTE y FALLIDO
+-- (provisionamiento asincrono); ddl-auto=update no cambia el tipo de una columna existente.
+ALTER TABLE alquiler MODIFY estado VARCHAR(20) NOT NULL;
@@ -0,0 +1,5 @@
+-- GANANCIA_MINERIA (devengo) no cabe en el tipo original del libro de plataforma; se ensancha a
+-- VARCHAR(30) como en platforma_transaccion_cuenta_archivo, que ya se creo con ese largo.
+-- alquiler.ganancia_acumulada y alquiler_archivo.ganancia_acumulada son columnas nuevas y
+-- nullable: las agrega ddl-auto=update antes de esta migracion, asi que no se repiten aqui.
+ALTER TABLE platforma_transaccion_cuenta MODIFY tipo VARCHAR(30) NOT NULL;
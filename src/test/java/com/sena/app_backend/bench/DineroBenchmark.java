@@ -0,0 +1,106 @@
+package com.sena.app_backend.bench;
+
+import com.sena.app_backend.dto.response.PreciosPlan;
+import com.sena.app_backend.model.Plan;
+import com.sena.app_backend.util.CalculadorDevolucion;
+import com.sena.app_backend.util.CalculadorPreciosPlan;
+import com.sena.app_backend.util.DineroFijo;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el cálculo de precios y de devolución con punto fijo frente al
+ * camino BigDecimal anterior.
+ * <p>
+ * Ejecutar con:
+ * <pre>
+ * mvn -B -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *   -Dexec.args="-cp %classpath org.openjdk.jmh.Main DineroBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DineroBenchmark {
+
+  private static final BigDecimal COMISION = new BigDecimal("0.10");
+
+  private Plan plan;
+  private BigDecimal precioAlquiler;
+  private BigDecimal costoTotal;
+  private long usados;
+  private long total;
+  private long min4;
+  private long max4;
+  private long dias4;
+  private final long[] salida = new long[CalculadorPreciosPlan.RESULTADOS];
+
+  @Setup
+  public void setup() {
+    plan = Plan.builder()
+        .gananciaMin(new BigDecimal("12.3456"))
+        .gananciaMax(new BigDecimal("18.7654"))
+        .duracionDias(new BigDecimal("30"))
+        .build();
+    PreciosPlan p = CalculadorPreciosPlan.calculate(plan, COMISION);
+    precioAlquiler = p.getPrecioAlquiler();
+    costoTotal = p.getPrecioBruto().setScale(4, RoundingMode.HALF_UP);
+    total = 30L * 24 * 3600;
+    usados = 1_234_567L;
+    min4 = DineroFijo.aUnidades(plan.getGananciaMin());
+    max4 = DineroFijo.aUnidades(plan.getGananciaMax());
+    dias4 = DineroFijo.aUnidades(plan.getDuracionDias());
+  }
+
+  @Benchmark
+  public PreciosPlan preciosFijo() {
+    return CalculadorPreciosPlan.calculate(plan, COMISION);
+  }
+
+  @Benchmark
+  public PreciosPlan preciosBigDecimal() {
+    BigDecimal min = plan.getGananciaMin();
+    BigDecimal max = plan.getGananciaMax();
+    BigDecimal dias = plan.getDuracionDias();
+    BigDecimal prom = min.add(max).divide(BigDecimal.valueOf(2), RoundingMode.HALF_UP);
+    BigDecimal bruto = prom.multiply(dias);
+    BigDecimal precio = bruto.multiply(BigDecimal.ONE.subtract(COMISION)).setScale(4, RoundingMode.HALF_UP);
+    BigDecimal ganancia = max.multiply(dias).subtract(precio).setScale(4, RoundingMode.HALF_UP);
+    return PreciosPlan.builder()
+        .gananciaPromedioDiaria(prom)
+        .precioBruto(bruto)
+        .precioAlquiler(precio)
+        .gananciaMaxUsuario(ganancia)
+        .ingresoPlataforma(bruto)
+        .build();
+  }
+
+  @Benchmark
+  public void preciosUnidades(Blackhole bh) {
+    CalculadorPreciosPlan.calcularUnidades(min4, max4, dias4, 1_000L, salida);
+    bh.consume(salida);
+  }
+
+  @Benchmark
+  public void cierreFijo(Blackhole bh) {
+    BigDecimal fr = CalculadorDevolucion.fraccionUsada(usados, total);
+    bh.consume(CalculadorDevolucion.cierreAnticipado(precioAlquiler, costoTotal, fr));
+    bh.consume(CalculadorDevolucion.noConsumido(precioAlquiler, fr));
+  }
+
+  @Benchmark
+  public void cierreBigDecimal(Blackhole bh) {
+    BigDecimal fr = new BigDecimal(usados).divide(new BigDecimal(total), 8, RoundingMode.HALF_UP);
+    bh.consume(costoTotal.subtract(precioAlquiler).multiply(fr).setScale(4, RoundingMode.HALF_UP));
+    bh.consume(precioAlquiler.subtract(precioAlquiler.multiply(fr).setScale(4, RoundingMode.HALF_UP))
+        .setScale(4, RoundingMode.HALF_UP));
+    bh.consume(precioAlquiler.multiply(BigDecimal.ONE.subtract(fr)).setScale(4, RoundingMode.HALF_UP));
+  }
+}
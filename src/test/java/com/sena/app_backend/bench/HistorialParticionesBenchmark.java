@@ -0,0 +1,139 @@
+package com.sena.app_backend.bench;
+
+import com.sena.app_backend.service.impl.ParticionadoServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Historial por cuenta y rango de fechas sobre una copia de platforma_transaccion_cuenta
+ * sin particionar frente a una particionada por mes (misma forma que la migración de
+ * {@link ParticionadoServiceImpl}). Necesita un MySQL 8 de pruebas; el conjunto de datos
+ * se siembra una vez y se reutiliza mientras no cambie {@code filas}.
+ * <p>
+ * Ejecutar con:
+ * <pre>
+ * mvn -B -q clean test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *   -Dexec.args="-cp %classpath -Dbench.jdbcUrl=jdbc:mysql://localhost:3315/bench?user=root&amp;password=root&amp;rewriteBatchedStatements=true \
+ *   org.openjdk.jmh.Main HistorialParticionesBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HistorialParticionesBenchmark {
+
+  private static final int MESES = 24;
+  private static final int CUENTAS = 10_000;
+
+  @Param({"plana", "particionada"})
+  public String tabla;
+
+  @Param("2000000")
+  public int filas;
+
+  /** Meses consultados hacia atrás desde el último mes sembrado. */
+  @Param({"1", "3"})
+  public int meses;
+
+  private Connection conexion;
+  private PreparedStatement consulta;
+  private LocalDateTime fin;
+
+  @Setup(Level.Trial)
+  public void preparar() throws SQLException {
+    String url = System.getProperty("bench.jdbcUrl");
+    if (url == null || url.isBlank()) {
+      throw new IllegalStateException("Falta -Dbench.jdbcUrl con un MySQL de pruebas");
+    }
+    conexion = DriverManager.getConnection(url);
+    YearMonth primero = YearMonth.now().minusMonths(MESES - 1L);
+    String nombre = "bench_ptc_" + tabla;
+    sembrar(nombre, primero);
+    fin = YearMonth.now().plusMonths(1).atDay(1).atStartOfDay();
+    consulta = conexion.prepareStatement(
+        "SELECT id, tipo, monto, fecha_transaccion, balance_posterior FROM " + nombre
+            + " WHERE account_id = ? AND fecha_transaccion BETWEEN ? AND ? ORDER BY fecha_transaccion DESC");
+  }
+
+  private void sembrar(String nombre, YearMonth primero) throws SQLException {
+    try (Statement st = conexion.createStatement()) {
+      try (ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM information_schema.TABLES "
+          + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = '" + nombre + "'")) {
+        rs.next();
+        if (rs.getInt(1) > 0) {
+          try (ResultSet c = st.executeQuery("SELECT COUNT(*) FROM " + nombre)) {
+            c.next();
+            if (c.getLong(1) == filas) {
+              return;
+            }
+          }
+          st.execute("DROP TABLE " + nombre);
+        }
+      }
+      String ddl = "CREATE TABLE " + nombre + " (id BIGINT NOT NULL AUTO_INCREMENT, account_id BIGINT NOT NULL, "
+          + "tipo VARCHAR(30) NOT NULL, monto DECIMAL(19,4) NOT NULL, balance_posterior DECIMAL(19,4) NOT NULL, "
+          + "fecha_transaccion DATETIME(6) NOT NULL, ";
+      if (tabla.equals("particionada")) {
+        ddl += "PRIMARY KEY (id, fecha_transaccion), KEY idx_cuenta_fecha (account_id, fecha_transaccion)) "
+            + "PARTITION BY RANGE COLUMNS(fecha_transaccion) ("
+            + ParticionadoServiceImpl.definiciones(primero, YearMonth.now())
+            + ", PARTITION pmax VALUES LESS THAN (MAXVALUE))";
+      } else {
+        ddl += "PRIMARY KEY (id), KEY idx_cuenta_fecha (account_id, fecha_transaccion))";
+      }
+      st.execute(ddl);
+    }
+    conexion.setAutoCommit(false);
+    LocalDateTime inicio = primero.atDay(1).atStartOfDay();
+    long segundos = java.time.Duration.between(inicio, LocalDateTime.now()).getSeconds();
+    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+    try (PreparedStatement ins = conexion.prepareStatement("INSERT INTO " + nombre
+        + " (account_id, tipo, monto, balance_posterior, fecha_transaccion) VALUES (?, ?, ?, ?, ?)")) {
+      for (int i = 1; i <= filas; i++) {
+        ins.setLong(1, rnd.nextInt(CUENTAS) + 1);
+        ins.setString(2, "PAGO_ALQUILER");
+        ins.setBigDecimal(3, java.math.BigDecimal.valueOf(rnd.nextInt(1_000_000), 4));
+        ins.setBigDecimal(4, java.math.BigDecimal.valueOf(rnd.nextInt(10_000_000), 4));
+        ins.setTimestamp(5, Timestamp.valueOf(inicio.plusSeconds(rnd.nextLong(segundos))));
+        ins.addBatch();
+        if (i % 10_000 == 0) {
+          ins.executeBatch();
+          conexion.commit();
+        }
+      }
+      ins.executeBatch();
+      conexion.commit();
+    }
+    conexion.setAutoCommit(true);
+    try (Statement st = conexion.createStatement()) {
+      st.execute("ANALYZE TABLE " + nombre);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void cerrar() throws SQLException {
+    conexion.close();
+  }
+
+  @Benchmark
+  public void historialPorRango(Blackhole bh) throws SQLException {
+    consulta.setLong(1, ThreadLocalRandom.current().nextInt(CUENTAS) + 1);
+    consulta.setTimestamp(2, Timestamp.valueOf(fin.minusMonths(meses)));
+    consulta.setTimestamp(3, Timestamp.valueOf(fin));
+    try (ResultSet rs = consulta.executeQuery()) {
+      while (rs.next()) {
+        bh.consume(rs.getLong(1));
+        bh.consume(rs.getBigDecimal(3));
+      }
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package com.sena.app_backend.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserción masiva de movimientos de plataforma con ids IDENTITY frente a ids agrupados
+ * (perfil {@code ids-agrupados}). Reproduce lo que hace Hibernate en cada modo:
+ * <ul>
+ *   <li>identity: un INSERT por fila leyendo la clave generada, sin lotes.</li>
+ *   <li>agrupado: reserva un bloque de {@code bloque} ids en secuencia_id y envía los
+ *   INSERT con addBatch/executeBatch (con rewriteBatchedStatements=true el driver los
+ *   reescribe como INSERT multi-fila).</li>
+ * </ul>
+ * Cada invocación inserta {@code filas} movimientos en una transacción; el tiempo se reporta por fila.
+ * Necesita un MySQL 8 de pruebas:
+ * <pre>
+ * mvn -B -q clean test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *   -Dexec.args="-cp %classpath -Dbench.jdbcUrl=jdbc:mysql://localhost:3315/bench?user=root&amp;password=root&amp;rewriteBatchedStatements=true \
+ *   org.openjdk.jmh.Main InsercionLedgerBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+@OperationsPerInvocation(InsercionLedgerBenchmark.FILAS)
+public class InsercionLedgerBenchmark {
+
+  static final int FILAS = 1000;
+  private static final String TABLA = "bench_ledger";
+
+  @Param({"identity", "agrupado"})
+  public String modo;
+
+  @Param("50")
+  public int bloque;
+
+  private Connection conexion;
+  private PreparedStatement insertar;
+  private PreparedStatement reservar;
+  private PreparedStatement leerSecuencia;
+  private long siguienteId;
+  private long finBloque;
+
+  @Setup(Level.Trial)
+  public void preparar() throws SQLException {
+    String url = System.getProperty("bench.jdbcUrl");
+    if (url == null || url.isBlank()) {
+      throw new IllegalStateException("Falta -Dbench.jdbcUrl con un MySQL de pruebas");
+    }
+    conexion = DriverManager.getConnection(url);
+    try (Statement st = conexion.createStatement()) {
+      st.execute("DROP TABLE IF EXISTS " + TABLA);
+      st.execute("CREATE TABLE " + TABLA + " (id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+          + "account_id BIGINT NOT NULL, tipo VARCHAR(30) NOT NULL, monto DECIMAL(19,4) NOT NULL, "
+          + "balance_posterior DECIMAL(19,4) NOT NULL, fecha_transaccion DATETIME(6) NOT NULL, "
+          + "KEY idx_bench_cuenta_fecha (account_id, fecha_transaccion))");
+      st.execute("CREATE TABLE IF NOT EXISTS bench_secuencia_id (nombre VARCHAR(255) NOT NULL PRIMARY KEY, "
+          + "siguiente BIGINT)");
+      st.execute("REPLACE INTO bench_secuencia_id VALUES ('" + TABLA + "', " + bloque + ")");
+    }
+    conexion.setAutoCommit(false);
+    boolean identity = "identity".equals(modo);
+    String sql = identity
+        ? "INSERT INTO " + TABLA + " (account_id, tipo, monto, balance_posterior, fecha_transaccion) VALUES (?, ?, ?, ?, ?)"
+        : "INSERT INTO " + TABLA + " (id, account_id, tipo, monto, balance_posterior, fecha_transaccion) VALUES (?, ?, ?, ?, ?, ?)";
+    insertar = identity ? conexion.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS) : conexion.prepareStatement(sql);
+    leerSecuencia = conexion.prepareStatement("SELECT siguiente FROM bench_secuencia_id WHERE nombre = ? FOR UPDATE");
+    reservar = conexion.prepareStatement("UPDATE bench_secuencia_id SET siguiente = siguiente + ? WHERE nombre = ?");
+  }
+
+  @TearDown(Level.Trial)
+  public void cerrar() throws SQLException {
+    conexion.close();
+  }
+
+  @Benchmark
+  public long insertar() throws SQLException {
+    Timestamp ahora = new Timestamp(System.currentTimeMillis());
+    long suma = 0;
+    for (int i = 0; i < FILAS; i++) {
+      int p = 1;
+      if ("agrupado".equals(modo)) {
+        insertar.setLong(p++, nuevoId());
+      }
+      insertar.setLong(p++, i % 500);
+      insertar.setString(p++, "RECARGA_PLATAFORMA");
+      insertar.setBigDecimal(p++, BigDecimal.TEN);
+      insertar.setBigDecimal(p++, BigDecimal.valueOf(i));
+      insertar.setTimestamp(p, ahora);
+      if ("agrupado".equals(modo)) {
+        insertar.addBatch();
+        if ((i + 1) % bloque == 0) {
+          insertar.executeBatch();
+        }
+      } else {
+        insertar.executeUpdate();
+        try (ResultSet rs = insertar.getGeneratedKeys()) {
+          rs.next();
+          suma += rs.getLong(1);
+        }
+      }
+    }
+    if ("agrupado".equals(modo)) {
+      insertar.executeBatch();
+    }
+    conexion.commit();
+    return suma;
+  }
+
+  /** Igual que el optimizador pooled: un viaje a secuencia_id cada {@code bloque} ids. */
+  private long nuevoId() throws SQLException {
+    if (siguienteId == 0 || siguienteId > finBloque) {
+      leerSecuencia.setString(1, TABLA);
+      long valor;
+      try (ResultSet rs = leerSecuencia.executeQuery()) {
+        rs.next();
+        valor = rs.getLong(1);
+      }
+      reservar.setInt(1, bloque);
+      reservar.setString(2, TABLA);
+      reservar.executeUpdate();
+      siguienteId = valor - bloque + 1;
+      finBloque = valor;
+    }
+    return siguienteId++;
+  }
+}
@@ -0,0 +1,136 @@
+package com.sena.app_backend.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sena.app_backend.cache.CatalogoPlanes;
+import com.sena.app_backend.cache.TablaComisiones;
+import com.sena.app_backend.controller.AlquilerController;
+import com.sena.app_backend.controller.PlanController;
+import com.sena.app_backend.dto.response.AlquilerPreviewUserDto;
+import com.sena.app_backend.dto.response.PlanResponse;
+import com.sena.app_backend.model.Plan;
+import com.sena.app_backend.repository.ComisionPlanRepository;
+import com.sena.app_backend.repository.PlanRepository;
+import com.sena.app_backend.security.SecurityService;
+import com.sena.app_backend.service.AlquilerService;
+import com.sena.app_backend.service.IdempotenciaService;
+import com.sena.app_backend.service.PlanService;
+import com.sena.app_backend.service.SimuladorPreciosService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Mide peticiones por segundo de GET /api/planes y GET /api/alquileres/preview/all
+ * antes (serializar la lista en cada petición) y después (JSON precalculado + ETag).
+ * <p>
+ * No es un test de JUnit: se ejecuta a mano con
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.sena.app_backend.bench.PlanEndpointsBenchmark}.
+ * El coste de BD del camino anterior no se incluye, así que la mejora real es mayor.
+ */
+public class PlanEndpointsBenchmark {
+
+  private static final int PLANES = 12;
+  private static final long DURACION_MS = 5_000;
+
+  /** Réplica del controlador anterior: serializa la lista en cada petición. */
+  @RestController
+  static class AntesController {
+    private final List<PlanResponse> planes;
+    private final List<AlquilerPreviewUserDto> previews;
+
+    AntesController(List<PlanResponse> planes, List<AlquilerPreviewUserDto> previews) {
+      this.planes = planes;
+      this.previews = previews;
+    }
+
+    @GetMapping("/antes/planes")
+    public List<PlanResponse> planes() {
+      return planes;
+    }
+
+    @GetMapping("/antes/preview/all")
+    public List<AlquilerPreviewUserDto> previews() {
+      return previews;
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    List<Plan> planes = new ArrayList<>();
+    for (long i = 1; i <= PLANES; i++) {
+      planes.add(Plan.builder()
+          .id(i)
+          .nombre("Plan " + i)
+          .gananciaMin(new BigDecimal("10.5000").add(BigDecimal.valueOf(i)))
+          .gananciaMax(new BigDecimal("15.2500").add(BigDecimal.valueOf(i)))
+          .duracionDias(new BigDecimal("30.0000"))
+          .build());
+    }
+    PlanRepository repo = mock(PlanRepository.class);
+    when(repo.findAll()).thenReturn(planes);
+
+    ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    TablaComisiones comisiones = new TablaComisiones(mock(ComisionPlanRepository.class), new BigDecimal("0.10"));
+    CatalogoPlanes catalogo = new CatalogoPlanes(repo, comisiones, mapper);
+
+    AntesController antes = new AntesController(
+        planes.stream().map(p -> PlanResponse.builder()
+            .id(p.getId()).nombre(p.getNombre())
+            .gananciaMin(p.getGananciaMin()).gananciaMax(p.getGananciaMax())
+            .duracionDias(p.getDuracionDias()).build()).toList(),
+        catalogo.previewsUser());
+    PlanController despuesPlanes = new PlanController(mock(PlanService.class), catalogo);
+    AlquilerController despuesPreview = new AlquilerController(
+        mock(AlquilerService.class), mock(SecurityService.class), catalogo,
+        mock(SimuladorPreciosService.class), mock(IdempotenciaService.class));
+
+    MockMvc mvc = MockMvcBuilders
+        .standaloneSetup(antes, despuesPlanes, despuesPreview)
+        .build();
+
+    String etagPlanes = catalogo.payloadPlanes().getEtag();
+    String etagPreview = catalogo.payloadPreviewsUser().getEtag();
+
+    // Dos rondas: la primera sirve para que el JIT compile todos los caminos
+    for (int ronda = 1; ronda <= 2; ronda++) {
+      System.out.println("Ronda " + ronda);
+      medir(mvc, "antes   GET /api/planes           ", get("/antes/planes"));
+      medir(mvc, "despues GET /api/planes           ", get("/api/planes"));
+      medir(mvc, "despues GET /api/planes (304)     ",
+          get("/api/planes").header(HttpHeaders.IF_NONE_MATCH, etagPlanes));
+      medir(mvc, "antes   GET /preview/all          ", get("/antes/preview/all"));
+      medir(mvc, "despues GET /preview/all          ", get("/api/alquileres/preview/all"));
+      medir(mvc, "despues GET /preview/all (304)    ",
+          get("/api/alquileres/preview/all").header(HttpHeaders.IF_NONE_MATCH, etagPreview));
+    }
+  }
+
+  private static void medir(MockMvc mvc, String nombre, RequestBuilder req) throws Exception {
+    // Calentamiento
+    long finCalentamiento = System.currentTimeMillis() + DURACION_MS / 2;
+    while (System.currentTimeMillis() < finCalentamiento) {
+      mvc.perform(req);
+    }
+    long peticiones = 0;
+    long inicio = System.nanoTime();
+    long fin = System.currentTimeMillis() + DURACION_MS;
+    while (System.currentTimeMillis() < fin) {
+      mvc.perform(req);
+      peticiones++;
+    }
+    double segundos = (System.nanoTime() - inicio) / 1e9;
+    System.out.printf("%s %,12.0f req/s%n", nombre, peticiones / segundos);
+  }
+}
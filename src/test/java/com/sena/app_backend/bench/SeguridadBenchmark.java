@@ -0,0 +1,69 @@
+package com.sena.app_backend.bench;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.sena.app_backend.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por petición de la autenticación: firma y verificación del JWT (HS256) que viaja en
+ * cada petición, y la comprobación BCrypt del login con el costo por defecto del
+ * {@code PasswordEncoder} (10) y uno mayor para ver cuánto crece.
+ * <p>
+ * Ejecutar con {@code mvn -B -Pbenchmark verify -Djmh.incluir=SeguridadBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SeguridadBenchmark {
+
+  private JwtUtil jwt;
+  private String token;
+
+  /** BCrypt por separado para que el parámetro de costo no multiplique los casos de JWT. */
+  @State(Scope.Benchmark)
+  public static class Bcrypt {
+
+    @Param({"10", "12"})
+    public int costo;
+
+    BCryptPasswordEncoder encoder;
+    String hash;
+
+    @Setup
+    public void setup() {
+      encoder = new BCryptPasswordEncoder(costo);
+      hash = encoder.encode("clave-de-prueba");
+    }
+  }
+
+  @Setup
+  public void setup() {
+    jwt = new JwtUtil();
+    ReflectionTestUtils.setField(jwt, "secret", "EstaEsUnaClaveSecreta");
+    ReflectionTestUtils.setField(jwt, "expirationMs", 3_600_000L);
+    token = jwt.generateToken("ana@correo.com", "USUARIO", 42L);
+  }
+
+  @Benchmark
+  public String jwtFirmar() {
+    return jwt.generateToken("ana@correo.com", "USUARIO", 42L);
+  }
+
+  @Benchmark
+  public DecodedJWT jwtVerificar() {
+    return jwt.getDecodedJWT(token);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public boolean bcryptComprobar(Bcrypt b) {
+    return b.encoder.matches("clave-de-prueba", b.hash);
+  }
+}
@@ -0,0 +1,120 @@
+package com.sena.app_backend.bench;
+
+import com.sena.app_backend.dto.response.AlquilerResponse;
+import com.sena.app_backend.dto.response.MaquinaResponse;
+import com.sena.app_backend.dto.response.PlanResponse;
+import com.sena.app_backend.dto.response.UsuarioResponse;
+import com.sena.app_backend.model.*;
+import com.sena.app_backend.repository.AlquilerRepository;
+import com.sena.app_backend.repository.MaquinaRepository;
+import com.sena.app_backend.repository.PlanRepository;
+import com.sena.app_backend.repository.UsuarioRepository;
+import com.sena.app_backend.service.impl.AlquilerServiceImpl;
+import com.sena.app_backend.service.impl.MaquinaServiceImpl;
+import com.sena.app_backend.service.impl.PlanServiceImpl;
+import com.sena.app_backend.service.impl.UsuarioServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Trabajo en CPU de la capa de servicio sin base de datos: la fracción usada de un alquiler
+ * activo y el mapeo entidad → DTO de los listados. Los repositorios son mocks que devuelven
+ * {@code filas} entidades ya cargadas, así el tiempo es el del mapeo y no el de la consulta.
+ * {@code CalculadorPreciosPlan.calculate} se mide en {@link DineroBenchmark#preciosFijo}.
+ * <p>
+ * Ejecutar con {@code mvn -B -Pbenchmark verify -Djmh.incluir=ServiciosBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiciosBenchmark {
+
+  @Param({"100", "1000"})
+  public int filas;
+
+  private AlquilerServiceImpl alquileres;
+  private MaquinaServiceImpl maquinas;
+  private PlanServiceImpl planes;
+  private UsuarioServiceImpl usuarios;
+  private Alquiler activo;
+
+  @Setup
+  public void setup() {
+    LocalDateTime ahora = LocalDateTime.now();
+    Plan plan = Plan.builder().id(1L).nombre("Gold")
+        .gananciaMin(new BigDecimal("12.3456")).gananciaMax(new BigDecimal("18.7654"))
+        .duracionDias(new BigDecimal("30")).build();
+    List<Alquiler> listaAlquileres = new ArrayList<>();
+    List<Maquina> listaMaquinas = new ArrayList<>();
+    List<Plan> listaPlanes = new ArrayList<>();
+    List<Usuario> listaUsuarios = new ArrayList<>();
+    for (int i = 0; i < filas; i++) {
+      long id = i + 1L;
+      Usuario u = Usuario.builder().id(id).nombre("Nombre" + i).apellido("Apellido" + i)
+          .email("u" + i + "@correo.com").rol(Rol.USUARIO).build();
+      Maquina m = Maquina.builder().id(id).serial("SN-" + i).estado(EstadoMaquina.RENTADA)
+          .recursos(NivelRecursos.values()[i % NivelRecursos.values().length]).especificaciones("{}").build();
+      // La mitad CERRADO para pasar por el cálculo de devolución del mapeo
+      listaAlquileres.add(Alquiler.builder().id(id).usuario(u).maquina(m).plan(plan)
+          .fechaInicio(ahora.minusDays(10)).fechaFin(ahora.plusDays(20))
+          .precioAlquiler(new BigDecimal("420.1234")).costoTotal(new BigDecimal("466.8038"))
+          .estado(i % 2 == 0 ? EstadoAlquiler.ACTIVO : EstadoAlquiler.CERRADO)
+          .build());
+      listaMaquinas.add(m);
+      listaPlanes.add(plan);
+      listaUsuarios.add(u);
+    }
+    activo = listaAlquileres.get(0);
+
+    AlquilerRepository alquilerRepo = mock(AlquilerRepository.class);
+    when(alquilerRepo.findAll()).thenReturn(listaAlquileres);
+    MaquinaRepository maquinaRepo = mock(MaquinaRepository.class);
+    when(maquinaRepo.findAll()).thenReturn(listaMaquinas);
+    PlanRepository planRepo = mock(PlanRepository.class);
+    when(planRepo.findAll()).thenReturn(listaPlanes);
+    UsuarioRepository usuarioRepo = mock(UsuarioRepository.class);
+    when(usuarioRepo.findAll()).thenReturn(listaUsuarios);
+
+    alquileres = new AlquilerServiceImpl(alquilerRepo, null, null, null, null, null, null, null, null, null, null);
+    maquinas = new MaquinaServiceImpl(maquinaRepo);
+    planes = new PlanServiceImpl(planRepo, null);
+    usuarios = new UsuarioServiceImpl(usuarioRepo, null, null, null, null, null, null, null, null, null, null,
+        null, null);
+  }
+
+  @Benchmark
+  public BigDecimal fraccionUsada() {
+    return alquileres.calcularFraccionUsada(activo);
+  }
+
+  @Benchmark
+  public List<AlquilerResponse> mapearAlquileres() {
+    return alquileres.listarAlquileres();
+  }
+
+  @Benchmark
+  public List<MaquinaResponse> mapearMaquinas() {
+    return maquinas.listarMaquinas();
+  }
+
+  @Benchmark
+  public List<PlanResponse> mapearPlanes() {
+    return planes.listarPlanes();
+  }
+
+  @Benchmark
+  public List<UsuarioResponse> mapearUsuarios() {
+    return usuarios.listarUsuarios();
+  }
+}
@@ -0,0 +1,49 @@
+package com.sena.app_backend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sena.app_backend.model.Plan;
+import com.sena.app_backend.repository.ComisionPlanRepository;
+import com.sena.app_backend.repository.PlanRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.*;
+
+class CatalogoPlanesTest {
+
+  private static Plan plan(String gananciaMax) {
+    return Plan.builder()
+        .id(1L)
+        .nombre("Gold")
+        .gananciaMin(new BigDecimal("1.0000"))
+        .gananciaMax(new BigDecimal(gananciaMax))
+        .duracionDias(new BigDecimal("30"))
+        .build();
+  }
+
+  @Test
+  void refrescarConvergeAUnCambioHechoEnOtroNodo() {
+    PlanRepository planRepo = mock(PlanRepository.class);
+    ComisionPlanRepository comisionRepo = mock(ComisionPlanRepository.class);
+    when(comisionRepo.findActivas()).thenReturn(List.of());
+    when(planRepo.findAll()).thenReturn(List.of(plan("2.0000")));
+    CatalogoPlanes catalogo = new CatalogoPlanes(planRepo,
+        new TablaComisiones(comisionRepo, new BigDecimal("0.10")), new ObjectMapper());
+
+    String etag = catalogo.payloadPlanes().getEtag();
+    assertEquals(new BigDecimal("2.0000"), catalogo.buscar(1L).orElseThrow().getGananciaMax());
+
+    // Otro nodo cambia el plan: este no recibe el evento y sigue sirviendo su copia
+    when(planRepo.findAll()).thenReturn(List.of(plan("3.0000")));
+    assertEquals(new BigDecimal("2.0000"), catalogo.buscar(1L).orElseThrow().getGananciaMax());
+
+    catalogo.refrescar();
+    assertEquals(new BigDecimal("3.0000"), catalogo.buscar(1L).orElseThrow().getGananciaMax());
+    assertNotEquals(etag, catalogo.payloadPlanes().getEtag());
+    verify(comisionRepo, times(2)).findActivas();
+  }
+}
@@ -0,0 +1,48 @@
+package com.sena.app_backend.cache;
+
+import com.sena.app_backend.model.ComisionPlan;
+import com.sena.app_backend.model.Plan;
+import com.sena.app_backend.repository.ComisionPlanRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class TablaComisionesTest {
+
+  private static ComisionPlan comision(Long planId, String tasa) {
+    return ComisionPlan.builder()
+        .plan(planId == null ? null : Plan.builder().id(planId).build())
+        .tasa(new BigDecimal(tasa))
+        .activa(true)
+        .build();
+  }
+
+  @Test
+  void resuelvePorPlanYPorDefectoSinVolverAConsultar() {
+    ComisionPlanRepository repo = mock(ComisionPlanRepository.class);
+    when(repo.findActivas()).thenReturn(List.of(comision(null, "0.0800"), comision(2L, "0.0500")));
+    TablaComisiones tabla = new TablaComisiones(repo, new BigDecimal("0.10"));
+
+    assertEquals(new BigDecimal("0.0500"), tabla.tasaPara(2L));
+    assertEquals(new BigDecimal("0.0800"), tabla.tasaPara(1L));
+    assertEquals(new BigDecimal("0.0800"), tabla.porDefecto());
+    verify(repo, times(1)).findActivas();
+  }
+
+  @Test
+  void usaLaConfiguracionSinComisionPorDefectoYRecargaAlInvalidar() {
+    ComisionPlanRepository repo = mock(ComisionPlanRepository.class);
+    when(repo.findActivas()).thenReturn(List.of())
+        .thenReturn(List.of(comision(1L, "0.2000")));
+    TablaComisiones tabla = new TablaComisiones(repo, new BigDecimal("0.10"));
+
+    assertEquals(new BigDecimal("0.10"), tabla.tasaPara(1L));
+    tabla.invalidar();
+    assertEquals(new BigDecimal("0.2000"), tabla.tasaPara(1L));
+    verify(repo, times(2)).findActivas();
+  }
+}
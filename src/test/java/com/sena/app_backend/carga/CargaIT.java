@@ -0,0 +1,102 @@
+package com.sena.app_backend.carga;
+
+import com.sena.app_backend.cache.CatalogoPlanes;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de carga de punta a punta: arranca la aplicación sobre H2 en modo MySQL con
+ * Coinbase simulado, siembra datos ({@link SembradorCarga}) y ejecuta tráfico mixto con
+ * {@code carga.hilos} usuarios virtuales (login y refresh, alquileres, movimientos de monedero
+ * y lecturas de historial). Reporta throughput y p50/p95/p99 por endpoint en consola y en
+ * {@code target/carga/resultados.json}, y falla si se superan los umbrales de
+ * {@link ParametrosCarga}. No necesita MySQL: el perfil Maven {@code carga} omite las pruebas
+ * unitarias. Sin parámetros solo se exige la tasa de errores; para detectar regresiones se
+ * compara con una ejecución anterior:
+ * <pre>
+ * mvn -B -Pcarga verify
+ * cp target/carga/resultados.json base.json
+ * mvn -B -Pcarga verify -Dcarga.base=base.json -Dcarga.toleranciaPct=20
+ * </pre>
+ * Los límites absolutos ({@code -Dcarga.maxP95Ms}, {@code -Dcarga.maxP99Ms},
+ * {@code -Dcarga.minRps}) son opcionales y conviene fijarlos solo en una máquina conocida.
+ * Los tiempos sobre H2 sirven para detectar regresiones entre versiones, no como
+ * estimación de producción.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("carga")
+@Import(CoinbaseSimulado.class)
+class CargaIT {
+
+  @LocalServerPort
+  private int puerto;
+
+  @Autowired
+  private JdbcTemplate jdbc;
+
+  @Autowired
+  private PasswordEncoder passwordEncoder;
+
+  @Autowired
+  private CatalogoPlanes catalogoPlanes;
+
+  @Test
+  void traficoMixtoDentroDeLosUmbrales() throws Exception {
+    ParametrosCarga p = ParametrosCarga.desdeSistema();
+    List<SembradorCarga.UsuarioSembrado> usuarios =
+        new SembradorCarga(jdbc, passwordEncoder.encode(SembradorCarga.CLAVE)).sembrar(p);
+    catalogoPlanes.invalidar();
+    List<Long> planes = jdbc.queryForList("SELECT id FROM plan ORDER BY id", Long.class);
+
+    RegistroLatencias registro = new RegistroLatencias();
+    HttpClient http = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    long inicio = System.nanoTime();
+    long fin = inicio + TimeUnit.SECONDS.toNanos(p.calentamientoSeg() + p.duracionSeg());
+    int n = Math.min(p.hilos(), Math.min(p.sesiones(), usuarios.size()));
+    ExecutorService hilos = Executors.newFixedThreadPool(n);
+    for (int h = 0; h < n; h++) {
+      List<SembradorCarga.UsuarioSembrado> propios = new ArrayList<>();
+      for (int i = h; i < Math.min(p.sesiones(), usuarios.size()); i += n) {
+        propios.add(usuarios.get(i));
+      }
+      hilos.submit(new UsuarioVirtual(http, "http://localhost:" + puerto, registro, propios, planes, h, fin));
+    }
+
+    Thread.sleep(TimeUnit.SECONDS.toMillis(p.calentamientoSeg()));
+    registro.iniciarMedicion();
+    long inicioMedicion = System.nanoTime();
+    hilos.shutdown();
+    assertTrue(hilos.awaitTermination(p.duracionSeg() + 120L, TimeUnit.SECONDS), "El tráfico no terminó");
+    registro.detenerMedicion();
+    double segundos = (System.nanoTime() - inicioMedicion) / 1e9;
+
+    Map<String, RegistroLatencias.Resumen> resumen = registro.resumir(segundos);
+    System.out.printf("Carga: %d hilos, %.1f s medidos%n", n, segundos);
+    RegistroLatencias.imprimir(resumen);
+    RegistroLatencias.escribir(resumen, Path.of("target", "carga", "resultados.json"));
+
+    List<String> fallos = RegistroLatencias.verificar(resumen, p);
+    assertTrue(fallos.isEmpty(), "Umbrales de carga incumplidos:\n" + String.join("\n", fallos));
+  }
+}
@@ -0,0 +1,50 @@
+package com.sena.app_backend.carga;
+
+import com.sena.app_backend.client.CoinbaseClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Reemplaza {@link CoinbaseClient} por precios fijos con una latencia configurable
+ * ({@code carga.coinbase.latenciaMs}), para que la prueba no dependa de la red.
+ */
+@TestConfiguration
+public class CoinbaseSimulado {
+
+  static final Map<String, BigDecimal> PRECIOS = Map.of(
+      "BTC", new BigDecimal("65000.00"),
+      "ETH", new BigDecimal("3200.00"),
+      "DOGE", new BigDecimal("0.15"));
+
+  @Bean
+  @Primary
+  public CoinbaseClient coinbaseClientSimulado(@Value("${carga.coinbase.latenciaMs:20}") long latenciaMs) {
+    return new Cliente(latenciaMs);
+  }
+
+  static class Cliente extends CoinbaseClient {
+
+    private final long latenciaMs;
+
+    Cliente(long latenciaMs) {
+      this.latenciaMs = latenciaMs;
+    }
+
+    @Override
+    public BigDecimal getSpotPrice(String crypto) {
+      if (latenciaMs > 0) {
+        try {
+          Thread.sleep(latenciaMs);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      return PRECIOS.getOrDefault(crypto, BigDecimal.ONE);
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package com.sena.app_backend.carga;
+
+/**
+ * Parámetros de la prueba de carga, leídos de propiedades del sistema {@code carga.*}
+ * (p.ej. {@code mvn -Pcarga verify -Dcarga.hilos=32 -Dcarga.duracionSeg=60}).
+ *
+ * @param usuarios            usuarios sembrados (cada uno con cuenta, monedero e historial)
+ * @param maquinasPorNivel    máquinas DISPONIBLE por nivel de recursos
+ * @param historialPorUsuario movimientos de plataforma y de monedero sembrados por usuario
+ * @param alquileresPorUsuario alquileres CERRADO sembrados por usuario
+ * @param sesiones            usuarios sembrados que inician sesión y generan tráfico; el resto
+ *                            solo aporta volumen de datos
+ * @param hilos               usuarios virtuales concurrentes
+ * @param calentamientoSeg    segundos iniciales que no se miden
+ * @param duracionSeg         segundos medidos
+ * @param maxErrores          fracción máxima de respuestas no 2xx (0.01 = 1 %)
+ * @param maxP95Ms            p95 máximo por endpoint (0 = sin límite, por defecto: los tiempos
+ *                            sobre H2 dependen de la máquina y solo {@code base} compara)
+ * @param maxP99Ms            p99 máximo por endpoint (0 = sin límite, por defecto)
+ * @param minRps              peticiones por segundo totales mínimas (0 = sin límite)
+ * @param base                reporte JSON de una ejecución anterior para comparar (vacío = no compara)
+ * @param toleranciaPct       empeoramiento admitido frente a la base en p95 y throughput
+ */
+record ParametrosCarga(int usuarios, int maquinasPorNivel, int historialPorUsuario, int alquileresPorUsuario,
+                       int sesiones, int hilos, int calentamientoSeg, int duracionSeg, double maxErrores, long maxP95Ms,
+                       long maxP99Ms, double minRps, String base, double toleranciaPct) {
+
+  static ParametrosCarga desdeSistema() {
+    return new ParametrosCarga(
+        Integer.getInteger("carga.usuarios", 500),
+        Integer.getInteger("carga.maquinasPorNivel", 2000),
+        Integer.getInteger("carga.historialPorUsuario", 40),
+        Integer.getInteger("carga.alquileresPorUsuario", 5),
+        Integer.getInteger("carga.sesiones", 64),
+        Integer.getInteger("carga.hilos", 16),
+        Integer.getInteger("carga.calentamientoSeg", 10),
+        Integer.getInteger("carga.duracionSeg", 30),
+        Double.parseDouble(System.getProperty("carga.maxErrores", "0.01")),
+        Long.getLong("carga.maxP95Ms", 0),
+        Long.getLong("carga.maxP99Ms", 0),
+        Double.parseDouble(System.getProperty("carga.minRps", "0")),
+        System.getProperty("carga.base", ""),
+        Double.parseDouble(System.getProperty("carga.toleranciaPct", "25")));
+  }
+}
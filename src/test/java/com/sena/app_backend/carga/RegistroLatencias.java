@@ -0,0 +1,160 @@
+package com.sena.app_backend.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Latencias por endpoint de la ventana medida, y el reporte que se calcula con ellas:
+ * throughput, errores y p50/p95/p99. El reporte se escribe en JSON y se compara contra
+ * los umbrales de {@link ParametrosCarga} y, si se indica, contra un reporte anterior.
+ */
+class RegistroLatencias {
+
+  /** Resumen de un endpoint (tiempos en ms). */
+  record Resumen(long peticiones, long errores, double rps, double p50Ms, double p95Ms, double p99Ms,
+                 double maxMs) {
+  }
+
+  private final Map<String, long[]> latencias = new TreeMap<>();
+  private final Map<String, Integer> cantidades = new HashMap<>();
+  private final Map<String, Long> errores = new HashMap<>();
+  private volatile boolean midiendo;
+
+  void iniciarMedicion() {
+    midiendo = true;
+  }
+
+  void detenerMedicion() {
+    midiendo = false;
+  }
+
+  /** Registra una petición; fuera de la ventana medida (calentamiento) se descarta. */
+  synchronized void registrar(String endpoint, long nanos, boolean ok) {
+    if (!midiendo) {
+      return;
+    }
+    int n = cantidades.getOrDefault(endpoint, 0);
+    long[] valores = latencias.computeIfAbsent(endpoint, k -> new long[1024]);
+    if (n == valores.length) {
+      valores = Arrays.copyOf(valores, n * 2);
+      latencias.put(endpoint, valores);
+    }
+    valores[n] = nanos;
+    cantidades.put(endpoint, n + 1);
+    if (!ok) {
+      errores.merge(endpoint, 1L, Long::sum);
+    }
+  }
+
+  synchronized Map<String, Resumen> resumir(double segundos) {
+    Map<String, Resumen> resumen = new TreeMap<>();
+    long[] todas = new long[0];
+    long erroresTotales = 0;
+    for (Map.Entry<String, long[]> e : latencias.entrySet()) {
+      int n = cantidades.get(e.getKey());
+      long[] v = Arrays.copyOf(e.getValue(), n);
+      long err = errores.getOrDefault(e.getKey(), 0L);
+      resumen.put(e.getKey(), resumir(v, err, segundos));
+      todas = concatenar(todas, v);
+      erroresTotales += err;
+    }
+    resumen.put(TOTAL, resumir(todas, erroresTotales, segundos));
+    return resumen;
+  }
+
+  static final String TOTAL = "TOTAL";
+
+  private static Resumen resumir(long[] v, long errores, double segundos) {
+    Arrays.sort(v);
+    return new Resumen(v.length, errores, v.length / segundos,
+        ms(percentil(v, 0.50)), ms(percentil(v, 0.95)), ms(percentil(v, 0.99)),
+        ms(v.length == 0 ? 0 : v[v.length - 1]));
+  }
+
+  /** Percentil por rango más cercano sobre valores ordenados. */
+  static long percentil(long[] ordenados, double p) {
+    if (ordenados.length == 0) {
+      return 0;
+    }
+    int i = (int) Math.ceil(p * ordenados.length) - 1;
+    return ordenados[Math.max(0, Math.min(i, ordenados.length - 1))];
+  }
+
+  private static double ms(long nanos) {
+    return Math.round(nanos / 10_000.0) / 100.0;
+  }
+
+  private static long[] concatenar(long[] a, long[] b) {
+    long[] r = Arrays.copyOf(a, a.length + b.length);
+    System.arraycopy(b, 0, r, a.length, b.length);
+    return r;
+  }
+
+  static void imprimir(Map<String, Resumen> resumen) {
+    System.out.printf("%-24s %9s %7s %9s %9s %9s %9s %9s%n",
+        "endpoint", "peticiones", "errores", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+    resumen.forEach((k, r) -> System.out.printf("%-24s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+        k, r.peticiones(), r.errores(), r.rps(), r.p50Ms(), r.p95Ms(), r.p99Ms(), r.maxMs()));
+  }
+
+  static void escribir(Map<String, Resumen> resumen, Path archivo) throws IOException {
+    Files.createDirectories(archivo.getParent());
+    new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(archivo.toFile(), resumen);
+  }
+
+  /**
+   * Umbrales incumplidos: errores, p95/p99 por endpoint, throughput mínimo y, con un reporte
+   * base, empeoramiento de p95 por endpoint o del throughput total mayor que la tolerancia.
+   */
+  static List<String> verificar(Map<String, Resumen> resumen, ParametrosCarga p) throws IOException {
+    List<String> fallos = new ArrayList<>();
+    Resumen total = resumen.get(TOTAL);
+    if (total.peticiones() == 0) {
+      fallos.add("No se midió ninguna petición");
+      return fallos;
+    }
+    double tasaErrores = (double) total.errores() / total.peticiones();
+    if (tasaErrores > p.maxErrores()) {
+      fallos.add(String.format("Errores %.2f%% > %.2f%%", tasaErrores * 100, p.maxErrores() * 100));
+    }
+    if (p.minRps() > 0 && total.rps() < p.minRps()) {
+      fallos.add(String.format("Throughput %.1f req/s < %.1f", total.rps(), p.minRps()));
+    }
+    resumen.forEach((k, r) -> {
+      if (p.maxP95Ms() > 0 && r.p95Ms() > p.maxP95Ms()) {
+        fallos.add(String.format("%s: p95 %.2f ms > %d ms", k, r.p95Ms(), p.maxP95Ms()));
+      }
+      if (p.maxP99Ms() > 0 && r.p99Ms() > p.maxP99Ms()) {
+        fallos.add(String.format("%s: p99 %.2f ms > %d ms", k, r.p99Ms(), p.maxP99Ms()));
+      }
+    });
+    if (!p.base().isBlank()) {
+      JsonNode base = new ObjectMapper().readTree(Path.of(p.base()).toFile());
+      double factor = p.toleranciaPct() / 100.0;
+      resumen.forEach((k, r) -> {
+        JsonNode b = base.get(k);
+        if (b == null) {
+          return;
+        }
+        double p95Base = b.get("p95Ms").asDouble();
+        if (p95Base > 0 && r.p95Ms() > p95Base * (1 + factor)) {
+          fallos.add(String.format("%s: p95 %.2f ms empeoró más de %.0f%% frente a la base (%.2f ms)",
+              k, r.p95Ms(), p.toleranciaPct(), p95Base));
+        }
+        // El throughput por endpoint depende del sorteo de operaciones; solo se compara el total
+        double rpsBase = b.get("rps").asDouble();
+        if (TOTAL.equals(k) && rpsBase > 0 && r.rps() < rpsBase * (1 - factor)) {
+          fallos.add(String.format("%s: %.1f req/s cayó más de %.0f%% frente a la base (%.1f req/s)",
+              k, r.rps(), p.toleranciaPct(), rpsBase));
+        }
+      });
+    }
+    return fallos;
+  }
+}
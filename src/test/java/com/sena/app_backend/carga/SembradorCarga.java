@@ -0,0 +1,111 @@
+package com.sena.app_backend.carga;
+
+import com.sena.app_backend.model.NivelRecursos;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Siembra con lotes JDBC los datos de la prueba: planes, máquinas, usuarios con cuenta de
+ * plataforma, un monedero BTC, historial de movimientos de los últimos 90 días y alquileres
+ * cerrados. Los ids los genera la base para no adelantarse a los de la aplicación.
+ */
+class SembradorCarga {
+
+  static final String CLAVE = "clave-carga";
+  static final BigDecimal BALANCE_INICIAL = new BigDecimal("1000000.0000");
+
+  /** Usuario sembrado, con los ids que usa el tráfico. */
+  record UsuarioSembrado(long id, String email, long monederoId) {
+  }
+
+  private final JdbcTemplate jdbc;
+  private final String hashClave;
+  private final SplittableRandom rnd = new SplittableRandom(42L);
+
+  SembradorCarga(JdbcTemplate jdbc, String hashClave) {
+    this.jdbc = jdbc;
+    this.hashClave = hashClave;
+  }
+
+  List<UsuarioSembrado> sembrar(ParametrosCarga p) {
+    LocalDateTime ahora = LocalDateTime.now();
+    List<Object[]> filas = new ArrayList<>();
+
+    for (String[] plan : new String[][]{
+        {"Basic", "5.0000", "8.0000", "30"}, {"Gold", "12.3456", "18.7654", "30"},
+        {"Premium", "25.0000", "40.0000", "60"}, {"VIP", "60.0000", "90.0000", "90"}}) {
+      filas.add(new Object[]{plan[0], new BigDecimal(plan[1]), new BigDecimal(plan[2]), new BigDecimal(plan[3])});
+    }
+    jdbc.batchUpdate("INSERT INTO plan (nombre, ganancia_min, ganancia_max, duracion_dias) VALUES (?, ?, ?, ?)", filas);
+    List<Long> planes = jdbc.queryForList("SELECT id FROM plan ORDER BY id", Long.class);
+
+    filas.clear();
+    for (NivelRecursos nivel : NivelRecursos.values()) {
+      for (int i = 0; i < p.maquinasPorNivel(); i++) {
+        filas.add(new Object[]{"CARGA-" + nivel + "-" + i, "DISPONIBLE", nivel.name(), "{\"nucleos\":8}"});
+      }
+    }
+    jdbc.batchUpdate("INSERT INTO maquina (serial, estado, recursos, especificaciones) VALUES (?, ?, ?, ?)", filas);
+    List<Long> maquinas = jdbc.queryForList("SELECT id FROM maquina ORDER BY id", Long.class);
+
+    filas.clear();
+    for (int i = 0; i < p.usuarios(); i++) {
+      filas.add(new Object[]{"Carga" + i, "Prueba", "carga" + i + "@correo.com", hashClave, "USUARIO", false});
+    }
+    jdbc.batchUpdate("INSERT INTO usuario (nombre, apellido, email, password, rol, eliminacion_pendiente) "
+        + "VALUES (?, ?, ?, ?, ?, ?)", filas);
+    List<Long> usuarios = jdbc.queryForList("SELECT id FROM usuario ORDER BY id", Long.class);
+
+    filas.clear();
+    for (Long u : usuarios) {
+      filas.add(new Object[]{u, BALANCE_INICIAL});
+    }
+    jdbc.batchUpdate("INSERT INTO platforma_fondos_cuenta (usuario_id, balance) VALUES (?, ?)", filas);
+    filas.clear();
+    for (Long u : usuarios) {
+      filas.add(new Object[]{"Principal", u, "BTC", new BigDecimal("10.0000")});
+    }
+    jdbc.batchUpdate("INSERT INTO monedero (alias, usuario_id, moneda, saldo_actual) VALUES (?, ?, ?, ?)", filas);
+
+    List<Long> cuentas = jdbc.queryForList("SELECT id FROM platforma_fondos_cuenta ORDER BY usuario_id", Long.class);
+    List<Long> monederos = jdbc.queryForList("SELECT id FROM monedero ORDER BY usuario_id", Long.class);
+    List<Object[]> movimientos = new ArrayList<>();
+    List<Object[]> cripto = new ArrayList<>();
+    List<Object[]> alquileres = new ArrayList<>();
+    for (int i = 0; i < usuarios.size(); i++) {
+      for (int k = 0; k < p.historialPorUsuario(); k++) {
+        Timestamp fecha = Timestamp.valueOf(ahora.minusMinutes(rnd.nextLong(1, 90L * 24 * 60)));
+        movimientos.add(new Object[]{cuentas.get(i), k % 2 == 0 ? "RECARGA_PLATAFORMA" : "PAGO_ALQUILER",
+            BigDecimal.valueOf(rnd.nextLong(1_0000, 500_0000), 4), BALANCE_INICIAL, fecha});
+        cripto.add(new Object[]{monederos.get(i), k % 2 == 0 ? "RECARGA_DESDE_PLATAFORMA" : "PASO_A_PLATAFORMA",
+            BigDecimal.valueOf(rnd.nextLong(1, 10_000), 4), fecha});
+      }
+      for (int k = 0; k < p.alquileresPorUsuario(); k++) {
+        LocalDateTime fin = ahora.minusDays(rnd.nextLong(1, 80));
+        alquileres.add(new Object[]{usuarios.get(i), maquinas.get(rnd.nextInt(maquinas.size())),
+            planes.get(rnd.nextInt(planes.size())), Timestamp.valueOf(fin.minusDays(30)), Timestamp.valueOf(fin),
+            new BigDecimal("420.1234"), new BigDecimal("466.8038"), "CERRADO", BigDecimal.ZERO,
+            new BigDecimal("46.6804")});
+      }
+    }
+    jdbc.batchUpdate("INSERT INTO platforma_transaccion_cuenta (account_id, tipo, monto, balance_posterior, "
+        + "fecha_transaccion) VALUES (?, ?, ?, ?, ?)", movimientos);
+    jdbc.batchUpdate("INSERT INTO transaccion (monedero_id, tipo, monto, fecha_transaccion) VALUES (?, ?, ?, ?)", cripto);
+    jdbc.batchUpdate("INSERT INTO alquiler (usuario_id, maquina_id, plan_id, fecha_inicio, fecha_fin, precio_alquiler, "
+        + "costo_total, estado, monto_devuelto, ganancia_plataforma) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", alquileres);
+
+    List<UsuarioSembrado> sembrados = new ArrayList<>();
+    for (int i = 0; i < usuarios.size(); i++) {
+      sembrados.add(new UsuarioSembrado(usuarios.get(i), "carga" + i + "@correo.com", monederos.get(i)));
+    }
+    System.out.printf("Carga: sembrados %d usuarios, %d máquinas, %d movimientos, %d alquileres cerrados%n",
+        usuarios.size(), maquinas.size(), movimientos.size() + cripto.size(), alquileres.size());
+    return sembrados;
+  }
+}
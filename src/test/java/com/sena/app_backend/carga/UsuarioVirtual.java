@@ -0,0 +1,160 @@
+package com.sena.app_backend.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Un hilo de tráfico. Recorre sus propios usuarios sembrados (así los refresh tokens no se
+ * pisan entre hilos) y en cada paso elige una operación según {@link Operacion#peso}.
+ */
+class UsuarioVirtual implements Runnable {
+
+  /** Mezcla de tráfico; el peso es relativo. */
+  enum Operacion {
+    LOGIN(8),
+    REFRESH(7),
+    CREAR_ALQUILER(8),
+    MOVER_FONDOS(12),
+    CUENTA(10),
+    HISTORIAL_PLATAFORMA(18),
+    HISTORIAL_MONEDERO(15),
+    ALQUILERES_CERRADOS(12),
+    PLANES(10);
+
+    final int peso;
+
+    Operacion(int peso) {
+      this.peso = peso;
+    }
+  }
+
+  private static final int PESO_TOTAL = java.util.Arrays.stream(Operacion.values()).mapToInt(o -> o.peso).sum();
+
+  /** Sesión de un usuario sembrado. */
+  private static final class Sesion {
+    final SembradorCarga.UsuarioSembrado usuario;
+    String token;
+    String refreshToken;
+
+    Sesion(SembradorCarga.UsuarioSembrado usuario) {
+      this.usuario = usuario;
+    }
+  }
+
+  private final HttpClient http;
+  private final String base;
+  private final ObjectMapper json = new ObjectMapper();
+  private final RegistroLatencias registro;
+  private final Sesion[] sesiones;
+  private final List<Long> planes;
+  private final SplittableRandom rnd;
+  private final long finNanos;
+
+  UsuarioVirtual(HttpClient http, String base, RegistroLatencias registro, List<SembradorCarga.UsuarioSembrado> propios,
+                 List<Long> planes, long semilla, long finNanos) {
+    this.http = http;
+    this.base = base;
+    this.registro = registro;
+    this.sesiones = propios.stream().map(Sesion::new).toArray(Sesion[]::new);
+    this.planes = planes;
+    this.rnd = new SplittableRandom(semilla);
+    this.finNanos = finNanos;
+  }
+
+  @Override
+  public void run() {
+    while (System.nanoTime() < finNanos) {
+      Sesion s = sesiones[rnd.nextInt(sesiones.length)];
+      try {
+        if (s.token == null) {
+          login(s);
+          continue;
+        }
+        ejecutar(elegir(), s);
+      } catch (Exception e) {
+        registro.registrar("EXCEPCION", 0, false);
+      }
+    }
+  }
+
+  private Operacion elegir() {
+    int r = rnd.nextInt(PESO_TOTAL);
+    for (Operacion o : Operacion.values()) {
+      r -= o.peso;
+      if (r < 0) {
+        return o;
+      }
+    }
+    return Operacion.PLANES;
+  }
+
+  private void ejecutar(Operacion o, Sesion s) throws Exception {
+    long uid = s.usuario.id();
+    long monedero = s.usuario.monederoId();
+    switch (o) {
+      case LOGIN -> login(s);
+      case REFRESH -> {
+        JsonNode r = enviar(o, post("/api/auth/refresh", null, "{\"refreshToken\":\"" + s.refreshToken + "\"}"));
+        guardarTokens(s, r);
+      }
+      case CREAR_ALQUILER -> enviar(o, post("/api/alquileres", s.token,
+          "{\"planId\":" + planes.get(rnd.nextInt(planes.size())) + "}"));
+      case MOVER_FONDOS -> enviar(o, post("/api/monedero/" + monedero + "/transacciones", s.token,
+          "{\"tipo\":\"RECARGA_DESDE_PLATAFORMA\",\"usdAmount\":25.00}"));
+      case CUENTA -> enviar(o, get("/api/plataforma/cuenta/" + uid, s.token));
+      case HISTORIAL_PLATAFORMA -> enviar(o, get("/api/plataforma/cuenta/" + uid + "/transacciones", s.token));
+      case HISTORIAL_MONEDERO -> enviar(o, get("/api/monedero/" + monedero + "/transacciones", s.token));
+      case ALQUILERES_CERRADOS -> enviar(o, get("/api/alquileres/usuario/" + uid + "/cerradas", s.token));
+      case PLANES -> enviar(o, get("/api/planes", null));
+    }
+  }
+
+  private void login(Sesion s) throws Exception {
+    JsonNode r = enviar(Operacion.LOGIN, post("/api/auth/login", null,
+        "{\"username\":\"" + s.usuario.email() + "\",\"password\":\"" + SembradorCarga.CLAVE + "\"}"));
+    guardarTokens(s, r);
+  }
+
+  private static void guardarTokens(Sesion s, JsonNode r) {
+    if (r != null && r.hasNonNull("token")) {
+      s.token = r.get("token").asText();
+      s.refreshToken = r.get("refreshToken").asText();
+    }
+  }
+
+  /** Envía y registra la latencia; devuelve el cuerpo JSON de las respuestas 2xx. */
+  private JsonNode enviar(Operacion o, HttpRequest req) throws Exception {
+    long inicio = System.nanoTime();
+    HttpResponse<String> resp = http.send(req, HttpResponse.BodyHandlers.ofString());
+    long nanos = System.nanoTime() - inicio;
+    boolean ok = resp.statusCode() / 100 == 2;
+    registro.registrar(o.name(), nanos, ok);
+    if (!ok || resp.body().isEmpty() || !resp.body().startsWith("{")) {
+      return null;
+    }
+    return json.readTree(resp.body());
+  }
+
+  private HttpRequest get(String ruta, String token) {
+    HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(base + ruta)).GET();
+    return autorizar(b, token).build();
+  }
+
+  private HttpRequest post(String ruta, String token, String cuerpo) {
+    HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(base + ruta))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(cuerpo));
+    return autorizar(b, token).build();
+  }
+
+  private static HttpRequest.Builder autorizar(HttpRequest.Builder b, String token) {
+    return token == null ? b : b.header("Authorization", "Bearer " + token);
+  }
+}
@@ -0,0 +1,43 @@
+package com.sena.app_backend.config;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.mapping.ForeignKey;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ClavesForaneasParticionadasTest {
+
+  @Test
+  void desactivaLaCreacionDeLasFkDeLasTablasParticionadas() {
+    Metadata metadata = mock(Metadata.class);
+    Map<Class<?>, ForeignKey> fks = new HashMap<>();
+    for (Class<?> entidad : ClavesForaneasParticionadas.ENTIDADES) {
+      ForeignKey fk = new ForeignKey();
+      Table tabla = mock(Table.class);
+      PersistentClass binding = mock(PersistentClass.class);
+      doReturn(Map.of("fk", fk)).when(tabla).getForeignKeys();
+      when(binding.getTable()).thenReturn(tabla);
+      when(metadata.getEntityBinding(entidad.getName())).thenReturn(binding);
+      fks.put(entidad, fk);
+    }
+    Map<String, Object> propiedades = new HashMap<>();
+
+    new ClavesForaneasParticionadas().customize(propiedades);
+    List<Integrator> integradores = ((IntegratorProvider) propiedades.get("hibernate.integrator_provider")).getIntegrators();
+    integradores.forEach(i -> i.integrate(metadata, (BootstrapContext) null, null));
+
+    assertEquals(1, integradores.size());
+    fks.values().forEach(fk -> assertFalse(fk.isCreationEnabled()));
+  }
+}
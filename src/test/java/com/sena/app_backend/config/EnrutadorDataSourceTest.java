@@ -0,0 +1,115 @@
+package com.sena.app_backend.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EnrutadorDataSourceTest {
+
+  private final DataSource primaria = fuente();
+  private final DataSource replica1 = fuente();
+  private final DataSource replica2 = fuente();
+
+  private static DataSource fuente() {
+    try {
+      DataSource ds = mock(DataSource.class);
+      Connection con = mock(Connection.class);
+      when(con.getAutoCommit()).thenReturn(true);
+      when(con.getTransactionIsolation()).thenReturn(Connection.TRANSACTION_REPEATABLE_READ);
+      when(ds.getConnection()).thenReturn(con);
+      return ds;
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Con los valores por defecto fijados el proxy no pide una conexión para consultarlos. */
+  private static DataSource proxy(EnrutadorDataSource enrutador) {
+    LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(enrutador);
+    proxy.setDefaultAutoCommit(true);
+    proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+    return proxy;
+  }
+
+  /** Abre una conexión como lo haría un método con o sin @Transactional(readOnly). */
+  private static void usar(DataSource ds, boolean transaccion, boolean soloLectura) throws Exception {
+    if (transaccion) {
+      TransactionSynchronizationManager.initSynchronization();
+      TransactionSynchronizationManager.setActualTransactionActive(true);
+      TransactionSynchronizationManager.setCurrentTransactionReadOnly(soloLectura);
+    }
+    try (Connection con = ds.getConnection()) {
+      con.createStatement();
+    } finally {
+      if (transaccion) {
+        TransactionSynchronizationManager.clear();
+      }
+    }
+  }
+
+  @AfterEach
+  void limpiar() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void soloLecturaVaALasReplicasPorTurnos() throws Exception {
+    DataSource ds = proxy(new EnrutadorDataSource(primaria, List.of(replica1, replica2), 0));
+
+    usar(ds, true, true);
+    usar(ds, true, true);
+    usar(ds, true, true);
+
+    verify(replica1, times(2)).getConnection();
+    verify(replica2).getConnection();
+    verify(primaria, never()).getConnection();
+  }
+
+  @Test
+  void escriturasYSinTransaccionVanALaPrimaria() throws Exception {
+    DataSource ds = proxy(new EnrutadorDataSource(primaria, List.of(replica1), 0));
+
+    usar(ds, true, false);
+    usar(ds, false, false);
+
+    verify(primaria, times(2)).getConnection();
+    verify(replica1, never()).getConnection();
+  }
+
+  @Test
+  void leeSusPropiasEscriturasEnLaPrimariaDuranteLaVentana() throws Exception {
+    DataSource ds = proxy(new EnrutadorDataSource(primaria, List.of(replica1), 60_000));
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken("ana@correo.com", null, List.of()));
+
+    usar(ds, true, false);
+    usar(ds, true, true);
+    verify(primaria, times(2)).getConnection();
+    verify(replica1, never()).getConnection();
+
+    // Otro usuario sigue leyendo de la réplica
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken("luis@correo.com", null, List.of()));
+    usar(ds, true, true);
+    verify(replica1).getConnection();
+  }
+
+  @Test
+  void sinReplicasTodoVaALaPrimaria() throws Exception {
+    DataSource ds = proxy(new EnrutadorDataSource(primaria, List.of(), 0));
+
+    usar(ds, true, true);
+
+    verify(primaria).getConnection();
+  }
+}
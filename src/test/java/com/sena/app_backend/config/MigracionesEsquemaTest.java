@@ -0,0 +1,59 @@
+package com.sena.app_backend.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MigracionesEsquemaTest {
+
+  private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+
+  private MigracionesEsquema migraciones(boolean habilitado) {
+    return new MigracionesEsquema(jdbc, mock(EntityManagerFactory.class), habilitado);
+  }
+
+  @Test
+  void aplicaLasPendientesEnOrdenYLasRegistra() {
+    when(jdbc.queryForList(anyString(), eq(String.class))).thenReturn(List.of());
+
+    migraciones(true).aplicar();
+
+    var orden = inOrder(jdbc);
+    for (Resource script : MigracionesEsquema.scripts()) {
+      orden.verify(jdbc).update(startsWith("INSERT IGNORE INTO migracion_esquema"),
+          eq(MigracionesEsquema.version(script)));
+    }
+    verify(jdbc).execute("ALTER TABLE alquiler MODIFY estado VARCHAR(20) NOT NULL");
+    verify(jdbc).execute("ALTER TABLE platforma_transaccion_cuenta MODIFY tipo VARCHAR(30) NOT NULL");
+  }
+
+  @Test
+  void lasYaRegistradasNoSeVuelvenAAplicar() {
+    List<String> todas = MigracionesEsquema.scripts().stream().map(MigracionesEsquema::version).toList();
+    when(jdbc.queryForList(anyString(), eq(String.class))).thenReturn(todas);
+
+    migraciones(true).aplicar();
+
+    verify(jdbc, never()).execute(startsWith("ALTER"));
+    verify(jdbc, never()).update(anyString(), any(Object[].class));
+  }
+
+  @Test
+  void deshabilitadasNoTocanLaBase() {
+    migraciones(false).aplicar();
+    verifyNoInteractions(jdbc);
+  }
+
+  @Test
+  void separaSentenciasYQuitaComentarios() {
+    assertEquals(List.of("ALTER TABLE a MODIFY x INT", "UPDATE a SET x = 1"),
+        MigracionesEsquema.sentencias("-- comentario\nALTER TABLE a MODIFY x INT;\n\nUPDATE a SET x = 1;\n"));
+  }
+}
@@ -0,0 +1,27 @@
+package com.sena.app_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolConexionesConfigTest {
+
+  @Test
+  void tamanoPorNucleosLimitadoPorConcurrencia() {
+    assertEquals(9, PoolConexionesConfig.tamanoPool(4, 50));
+    assertEquals(6, PoolConexionesConfig.tamanoPool(16, 6));
+    assertEquals(3, PoolConexionesConfig.tamanoPool(0, 50));
+    assertEquals(2, PoolConexionesConfig.tamanoPool(4, 1));
+  }
+
+  @Test
+  void dejaElPoolFijo() {
+    HikariDataSource ds = new HikariDataSource();
+    Object bean = new PoolConexionesConfig(8, 100).postProcessBeforeInitialization(ds, "dataSource");
+
+    assertSame(ds, bean);
+    assertEquals(17, ds.getMaximumPoolSize());
+    assertEquals(17, ds.getMinimumIdle());
+  }
+}
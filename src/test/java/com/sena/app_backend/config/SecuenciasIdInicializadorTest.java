@@ -0,0 +1,29 @@
+package com.sena.app_backend.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SecuenciasIdInicializadorTest {
+
+  private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+
+  @Test
+  void siembraPorEncimaDelMayorIdEntreTablaYArchivo() {
+    when(jdbc.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+    when(jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM transaccion", Long.class)).thenReturn(120L);
+    when(jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM transaccion_archivo", Long.class)).thenReturn(900L);
+
+    new SecuenciasIdInicializador(jdbc, mock(EntityManagerFactory.class)).sembrar();
+
+    verify(jdbc).update(startsWith("INSERT INTO secuencia_id"), eq("transaccion"),
+        eq(900L + SecuenciasIdInicializador.TAMANO_BLOQUE));
+    verify(jdbc).update(startsWith("INSERT INTO secuencia_id"), eq("refresh_tokens"),
+        eq((long) SecuenciasIdInicializador.TAMANO_BLOQUE));
+    verify(jdbc, times(SecuenciasIdInicializador.TABLAS.size())).update(startsWith("INSERT INTO secuencia_id"),
+        anyString(), anyLong());
+  }
+}
@@ -0,0 +1,58 @@
+package com.sena.app_backend.metricas;
+
+import com.sena.app_backend.dto.request.NuevaTransaccionMonederoRequest;
+import com.sena.app_backend.dto.request.NuevaTransaccionRequest;
+import com.sena.app_backend.exception.InsufficientFundsException;
+import com.sena.app_backend.model.TipoTransaccionMonedero;
+import com.sena.app_backend.model.TipoTransaccionPlataforma;
+import com.sena.app_backend.service.MonederoService;
+import com.sena.app_backend.service.PlataformaCuentaService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MetricasNegocioTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @SuppressWarnings("unchecked")
+  private <T> T instrumentar(T objetivo) {
+    AspectJProxyFactory f = new AspectJProxyFactory(objetivo);
+    f.addAspect(new MetricasNegocio(registry));
+    return (T) f.getProxy();
+  }
+
+  @Test
+  void transaccionDePlataformaSeMidePorTipoYResultado() {
+    PlataformaCuentaService service = instrumentar(mock(PlataformaCuentaService.class));
+    NuevaTransaccionRequest req = new NuevaTransaccionRequest();
+    req.setTipo(TipoTransaccionPlataforma.RECARGA_PLATAFORMA);
+
+    service.crearTransaccion(7L, req);
+    service.crearTransaccion(7L, req);
+
+    assertEquals(2, registry.get(MetricasNegocio.TRANSACCION_PLATAFORMA)
+        .tags("tipo", "RECARGA_PLATAFORMA", "resultado", "exito", "excepcion", "ninguna").timer().count());
+  }
+
+  @Test
+  void fondosInsuficientesCuentaElRechazoYRelanzaLaExcepcion() {
+    MonederoService mock = mock(MonederoService.class);
+    when(mock.moverFondos(any(), anyLong(), any())).thenThrow(new InsufficientFundsException());
+    MonederoService service = instrumentar(mock);
+    NuevaTransaccionMonederoRequest req = new NuevaTransaccionMonederoRequest();
+    req.setTipo(TipoTransaccionMonedero.PASO_A_PLATAFORMA);
+
+    assertThrows(InsufficientFundsException.class, () -> service.moverFondos(null, 3L, req));
+
+    assertEquals(1, registry.get(MetricasNegocio.MOVIMIENTO_MONEDERO)
+        .tags("tipo", "PASO_A_PLATAFORMA", "resultado", "error", "excepcion", "InsufficientFundsException")
+        .timer().count());
+    assertEquals(1.0, registry.get(MetricasNegocio.FONDOS_INSUFICIENTES)
+        .tags("operacion", MetricasNegocio.MOVIMIENTO_MONEDERO).counter().count());
+  }
+}
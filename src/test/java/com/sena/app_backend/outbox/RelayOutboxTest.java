@@ -0,0 +1,79 @@
+package com.sena.app_backend.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sena.app_backend.model.EventoOutbox;
+import com.sena.app_backend.repository.EventoOutboxRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RelayOutboxTest {
+
+  private final EventoOutboxRepository repo = mock(EventoOutboxRepository.class);
+
+  private static List<EventoOutbox> eventos(long desde, long hasta) {
+    return LongStream.rangeClosed(desde, hasta)
+        .mapToObj(id -> EventoOutbox.builder()
+            .id(id).tipo("TRANSACCION_PLATAFORMA").agregadoId(3L).usuarioId(1L)
+            .payload("{\"id\":" + id + "}").creado(LocalDateTime.now()).build())
+        .toList();
+  }
+
+  @Test
+  void publicaLotesEnOrdenHastaVaciar() {
+    when(repo.findPendientes(any()))
+        .thenReturn(eventos(1, 2), eventos(3, 3), List.of());
+    EventoMemoriaSink sink = new EventoMemoriaSink(100);
+    RelayOutbox relay = new RelayOutbox(repo, sink, mock(PlatformTransactionManager.class), 2, 72);
+
+    assertEquals(3, relay.publicarPendientes());
+    assertEquals(List.of(1L, 2L, 3L), sink.recientes().stream().map(EventoPublicado::id).toList());
+    verify(repo).marcarPublicados(eq(List.of(1L, 2L)), any());
+    verify(repo).marcarPublicados(eq(List.of(3L)), any());
+  }
+
+  @Test
+  void siElSinkFallaNoMarcaElLote() {
+    when(repo.findPendientes(any())).thenReturn(eventos(1, 2));
+    EventoSink roto = lote -> {
+      throw new java.io.IOException("disco lleno");
+    };
+    RelayOutbox relay = new RelayOutbox(repo, roto, mock(PlatformTransactionManager.class), 2, 72);
+
+    assertEquals(0, relay.publicarPendientes());
+    verify(repo, never()).marcarPublicados(any(), any());
+  }
+
+  @Test
+  void memoriaConservaSoloLosUltimos() {
+    EventoMemoriaSink sink = new EventoMemoriaSink(2);
+    sink.publicar(eventos(1, 3).stream()
+        .map(e -> new EventoPublicado(e.getId(), e.getTipo(), null, null, null, e.getPayload()))
+        .toList());
+    assertEquals(List.of(2L, 3L), sink.recientes().stream().map(EventoPublicado::id).toList());
+  }
+
+  @Test
+  void archivoEscribeUnaLineaJsonPorEvento(@TempDir Path dir) throws Exception {
+    Path ruta = dir.resolve("eventos.ndjson");
+    ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    EventoArchivoSink sink = new EventoArchivoSink(mapper, ruta.toString());
+    sink.publicar(List.of(new EventoPublicado(1L, "ALQUILER_CERRADO", 10L, 1L, null, "{\"id\":10}")));
+    sink.publicar(List.of(new EventoPublicado(2L, "ALQUILER_CERRADO", 11L, 1L, null, "{\"id\":11}")));
+
+    List<String> lineas = Files.readAllLines(ruta);
+    assertEquals(2, lineas.size());
+    assertEquals(11, mapper.readTree(lineas.get(1)).path("payload").path("id").asInt());
+  }
+}
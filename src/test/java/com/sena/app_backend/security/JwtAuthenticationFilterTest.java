@@ -0,0 +1,80 @@
+package com.sena.app_backend.security;
+
+import com.sena.app_backend.repository.TrabajoEliminacionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+  private final TrabajoEliminacionRepository trabajoRepo = mock(TrabajoEliminacionRepository.class);
+  private final UsuariosBloqueados bloqueados = new UsuariosBloqueados(trabajoRepo, 3_600_000);
+  private final JwtUtil jwtUtil = new JwtUtil();
+  private final JwtAuthenticationFilter filtro = new JwtAuthenticationFilter(jwtUtil, bloqueados);
+
+  JwtAuthenticationFilterTest() {
+    ReflectionTestUtils.setField(jwtUtil, "secret", "secreto-de-prueba");
+    ReflectionTestUtils.setField(jwtUtil, "expirationMs", 60_000L);
+  }
+
+  @AfterEach
+  void limpiar() {
+    SecurityContextHolder.clearContext();
+  }
+
+  private Authentication filtrar(Long usuarioId) throws Exception {
+    MockHttpServletRequest req = new MockHttpServletRequest();
+    req.addHeader("Authorization", "Bearer " + jwtUtil.generateToken("ana@x.com", "USUARIO", usuarioId));
+    MockFilterChain chain = new MockFilterChain();
+    filtro.doFilter(req, new MockHttpServletResponse(), chain);
+    assertNotNull(chain.getRequest(), "la cadena debe continuar");
+    return SecurityContextHolder.getContext().getAuthentication();
+  }
+
+  @Test
+  void tokenValidoAutentica() throws Exception {
+    Authentication auth = filtrar(7L);
+    assertEquals(7L, ((UsuarioPrincipal) auth.getPrincipal()).getId());
+  }
+
+  @Test
+  void usuarioBloqueadoEnEsteNodoQuedaAnonimo() throws Exception {
+    bloqueados.bloquear(7L);
+    assertNull(filtrar(7L));
+  }
+
+  @Test
+  void usuarioBloqueadoEnOtroNodoSeRechazaTrasRecargar() throws Exception {
+    when(trabajoRepo.findUsuariosBloqueados(any())).thenReturn(List.of(7L));
+    assertNotNull(filtrar(7L));
+    SecurityContextHolder.clearContext();
+
+    bloqueados.refrescar();
+
+    assertNull(filtrar(7L));
+  }
+
+  @Test
+  void recargaNoPierdeBloqueosLocalesNiFallaConErrorDeBd() {
+    bloqueados.bloquear(7L);
+    when(trabajoRepo.findUsuariosBloqueados(any())).thenReturn(List.of());
+    bloqueados.refrescar();
+    assertTrue(bloqueados.estaBloqueado(7L));
+
+    when(trabajoRepo.findUsuariosBloqueados(any())).thenThrow(new RuntimeException("bd caida"));
+    bloqueados.refrescar();
+    assertTrue(bloqueados.estaBloqueado(7L));
+    assertFalse(bloqueados.estaBloqueado(8L));
+  }
+}
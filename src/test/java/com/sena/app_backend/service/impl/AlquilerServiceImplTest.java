@@ -0,0 +1,126 @@
+package com.sena.app_backend.service.impl;
+
+import com.sena.app_backend.cache.CatalogoPlanes;
+import com.sena.app_backend.dto.request.NuevaTransaccionRequest;
+import com.sena.app_backend.exception.ResourceNotFoundException;
+import com.sena.app_backend.model.*;
+import com.sena.app_backend.repository.*;
+import com.sena.app_backend.security.SecurityService;
+import com.sena.app_backend.service.ArchivadoService;
+import com.sena.app_backend.service.EventoOutboxService;
+import com.sena.app_backend.service.PlataformaCuentaService;
+import com.sena.app_backend.service.ReporteIngresosService;
+import com.sena.app_backend.util.CalculadorDevengo;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AlquilerServiceImplTest {
+
+  private final AlquilerRepository alquilerRepo = mock(AlquilerRepository.class);
+  private final PlataformaCuentaService plataformaService = mock(PlataformaCuentaService.class);
+  private final AlquilerServiceImpl service = new AlquilerServiceImpl(alquilerRepo, mock(SecurityService.class),
+      mock(MaquinaRepository.class), mock(PlanRepository.class), mock(CatalogoPlanes.class), plataformaService,
+      mock(TrabajoProvisionamientoRepository.class), mock(EventoOutboxService.class),
+      mock(ReporteIngresosService.class), mock(AlquilerArchivoRepository.class), mock(ArchivadoService.class));
+
+  /** Alquiler de 30 días a 2.5000 diarios (costoTotal 75) con {@code diasDevengados} días ya devengados. */
+  private Alquiler alquiler(LocalDateTime inicio, int diasDevengados) {
+    Usuario u = new Usuario();
+    u.setId(7L);
+    Plan plan = new Plan();
+    plan.setId(3L);
+    Maquina m = new Maquina();
+    m.setId(5L);
+    long[] ganancia4 = new long[1];
+    long acumulado4 = 0;
+    for (int d = 0; d < diasDevengados; d++) {
+      CalculadorDevengo.calcular(new long[]{40L}, new long[]{25_000L}, new long[]{0L},
+          new long[]{CalculadorDevengo.SEGUNDOS_DIA}, inicio.toLocalDate().plusDays(d).toEpochDay(), ganancia4, 1);
+      acumulado4 += ganancia4[0];
+    }
+    Alquiler a = Alquiler.builder()
+        .id(40L).usuario(u).plan(plan).maquina(m)
+        .fechaInicio(inicio).fechaFin(inicio.plusDays(30))
+        .precioAlquiler(new BigDecimal("60.0000"))
+        .costoTotal(new BigDecimal("75.0000"))
+        .estado(EstadoAlquiler.ACTIVO)
+        .gananciaAcumulada(BigDecimal.valueOf(acumulado4, 4))
+        .build();
+    when(alquilerRepo.bloquear(40L)).thenReturn(Optional.of(a));
+    return a;
+  }
+
+  private List<NuevaTransaccionRequest> transacciones() {
+    ArgumentCaptor<NuevaTransaccionRequest> req = ArgumentCaptor.forClass(NuevaTransaccionRequest.class);
+    verify(plataformaService, atLeast(0)).crearTransaccion(eq(7L), req.capture());
+    return req.getAllValues();
+  }
+
+  @Test
+  void cierreCompletoSoloAbonaLoQueElDevengoNoPago() {
+    Alquiler a = alquiler(LocalDateTime.now().minusDays(31), 20);
+
+    service.cerrarAlquiler(40L);
+
+    List<NuevaTransaccionRequest> txs = transacciones();
+    assertEquals(1, txs.size());
+    assertEquals(TipoTransaccionPlataforma.GANANCIA_ALQUILER, txs.get(0).getTipo());
+    assertEquals(0, a.getCostoTotal().compareTo(a.getGananciaAcumulada().add(txs.get(0).getMonto())),
+        "devengo + liquidación debe ser igual a costoTotal");
+    assertEquals(EstadoAlquiler.CERRADO, a.getEstado());
+  }
+
+  @Test
+  void cierreCompletoSinDevengoAbonaElCostoTotal() {
+    Alquiler a = alquiler(LocalDateTime.now().minusDays(31), 0);
+
+    service.cerrarAlquiler(40L);
+
+    assertEquals(0, a.getCostoTotal().compareTo(transacciones().get(0).getMonto()));
+  }
+
+  @Test
+  void cierreAnticipadoDescuentaLoDevengadoDeLaGananciaProporcional() {
+    Alquiler a = alquiler(LocalDateTime.now().minusDays(15), 2);
+
+    service.cerrarAlquiler(40L);
+
+    BigDecimal ganancia = BigDecimal.ZERO;
+    for (NuevaTransaccionRequest t : transacciones()) {
+      if (t.getTipo() == TipoTransaccionPlataforma.GANANCIA_ALQUILER) {
+        ganancia = ganancia.add(t.getMonto());
+      }
+    }
+    assertEquals(0, a.getGananciaPlataforma().compareTo(a.getGananciaAcumulada().add(ganancia)));
+  }
+
+  @Test
+  void devengoMayorQueLaGananciaNoAbonaNada() {
+    Alquiler a = alquiler(LocalDateTime.now().minusDays(31), 0);
+    a.setGananciaAcumulada(new BigDecimal("80.0000"));
+
+    service.cerrarAlquiler(40L);
+
+    assertTrue(transacciones().isEmpty());
+  }
+
+  @Test
+  void alquilerAjenoEsNoEncontradoConUnaSolaConsulta() {
+    when(alquilerRepo.findByIdAndUsuarioId(40L, 8L)).thenReturn(Optional.empty());
+
+    assertThrows(ResourceNotFoundException.class, () -> service.obtenerAlquilerDeUsuario(40L, 8L));
+    assertThrows(ResourceNotFoundException.class, () -> service.obtenerEstado(40L, 8L));
+
+    verify(alquilerRepo, times(2)).findByIdAndUsuarioId(40L, 8L);
+    verifyNoMoreInteractions(alquilerRepo);
+  }
+}
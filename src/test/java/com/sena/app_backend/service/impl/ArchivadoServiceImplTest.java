@@ -0,0 +1,84 @@
+package com.sena.app_backend.service.impl;
+
+import com.sena.app_backend.model.AlquilerArchivo;
+import com.sena.app_backend.repository.*;
+import jakarta.persistence.Column;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ArchivadoServiceImplTest {
+
+  private final AlquilerRepository alquilerRepo = mock(AlquilerRepository.class);
+  private final AlquilerArchivoRepository alquilerArchivoRepo = mock(AlquilerArchivoRepository.class);
+  private final TrabajoProvisionamientoRepository trabajoRepo = mock(TrabajoProvisionamientoRepository.class);
+  private final PlataformaTransaccionCuentaRepository ptcRepo = mock(PlataformaTransaccionCuentaRepository.class);
+  private final TransaccionPlataformaArchivoRepository ptcArchivoRepo = mock(TransaccionPlataformaArchivoRepository.class);
+  private final TransaccionRepository txRepo = mock(TransaccionRepository.class);
+  private final TransaccionArchivoRepository txArchivoRepo = mock(TransaccionArchivoRepository.class);
+
+  private ArchivadoServiceImpl service(int lote) {
+    return new ArchivadoServiceImpl(alquilerRepo, alquilerArchivoRepo, trabajoRepo, ptcRepo, ptcArchivoRepo,
+        txRepo, txArchivoRepo, mock(PlatformTransactionManager.class), true, 365, lote, 0, 100);
+  }
+
+  @Test
+  void mueveLotesHastaQueQuedaUnoIncompleto() {
+    when(ptcArchivoRepo.idsArchivables(any(), eq(2))).thenReturn(List.of(1L, 2L), List.of(3L));
+    when(ptcArchivoRepo.copiar(anyList(), any())).thenAnswer(i -> ((List<?>) i.getArgument(0)).size());
+    when(ptcRepo.deleteByIds(anyList())).thenAnswer(i -> ((List<?>) i.getArgument(0)).size());
+
+    assertEquals(3, service(2).archivar());
+    verify(ptcRepo).deleteByIds(List.of(1L, 2L));
+    verify(ptcRepo).deleteByIds(List.of(3L));
+    verify(alquilerRepo, never()).deleteByIds(any());
+  }
+
+  @Test
+  void alquileresBorranSusTrabajosAntesDeMoverse() {
+    when(alquilerArchivoRepo.idsArchivables(any(), anyInt())).thenReturn(List.of(10L));
+    when(alquilerArchivoRepo.copiar(anyList(), any())).thenReturn(1);
+    when(alquilerRepo.deleteByIds(anyList())).thenReturn(1);
+
+    assertEquals(1, service(100).archivar());
+    var orden = inOrder(trabajoRepo, alquilerArchivoRepo, alquilerRepo);
+    orden.verify(trabajoRepo).deleteByAlquilerIds(List.of(10L));
+    orden.verify(alquilerArchivoRepo).copiar(eq(List.of(10L)), any());
+    orden.verify(alquilerRepo).deleteByIds(List.of(10L));
+  }
+
+  @Test
+  void loteInconsistenteSeAborta() {
+    when(txArchivoRepo.idsArchivables(any(), anyInt())).thenReturn(List.of(1L, 2L));
+    when(txArchivoRepo.copiar(anyList(), any())).thenReturn(1);
+    when(txRepo.deleteByIds(anyList())).thenReturn(2);
+
+    assertThrows(IllegalStateException.class, () -> service(100).archivar());
+  }
+
+  @Test
+  void soloRangosAntiguosLeenElArchivo() {
+    ArchivadoServiceImpl s = service(100);
+    assertTrue(s.incluyeArchivo(LocalDateTime.now().minusDays(400)));
+    assertFalse(s.incluyeArchivo(LocalDateTime.now().minusDays(30)));
+  }
+
+  @Test
+  void copiarAlquileresIncluyeTodasLasColumnasDelArchivo() throws Exception {
+    String sql = AlquilerArchivoRepository.class.getMethod("copiar", List.class, LocalDateTime.class)
+        .getAnnotation(Query.class).value();
+    for (Field f : AlquilerArchivo.class.getDeclaredFields()) {
+      Column c = f.getAnnotation(Column.class);
+      String columna = c == null || c.name().isEmpty() ? f.getName() : c.name();
+      assertTrue(sql.contains(columna), "copiar no incluye " + columna);
+    }
+  }
+}
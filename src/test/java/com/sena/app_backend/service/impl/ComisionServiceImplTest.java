@@ -0,0 +1,59 @@
+package com.sena.app_backend.service.impl;
+
+import com.sena.app_backend.dto.request.ComisionRequest;
+import com.sena.app_backend.model.ComisionPlan;
+import com.sena.app_backend.model.Plan;
+import com.sena.app_backend.repository.ComisionPlanRepository;
+import com.sena.app_backend.repository.PlanRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ComisionServiceImplTest {
+
+  private final ComisionPlanRepository repo = mock(ComisionPlanRepository.class);
+  private final PlanRepository planRepo = mock(PlanRepository.class);
+  private final ComisionServiceImpl service =
+      new ComisionServiceImpl(repo, planRepo, mock(ApplicationEventPublisher.class));
+
+  @Test
+  void desactivaLasDemasAntesDeActivar() {
+    ComisionPlan existente = ComisionPlan.builder().id(7L).tasa(new BigDecimal("0.1000")).build();
+    when(repo.findById(7L)).thenReturn(Optional.of(existente));
+    when(planRepo.findById(3L)).thenReturn(Optional.of(Plan.builder().id(3L).build()));
+    when(repo.save(any())).thenAnswer(inv -> {
+      // La desactivación ya corrió cuando la entidad se guarda como activa
+      verify(repo).desactivarOtras(7L, 3L);
+      return inv.getArgument(0);
+    });
+
+    service.actualizarComision(7L, new ComisionRequest(3L, new BigDecimal("0.0500"), true, null));
+
+    InOrder orden = inOrder(repo);
+    orden.verify(repo).desactivarOtras(7L, 3L);
+    orden.verify(repo).save(existente);
+  }
+
+  @Test
+  void noDesactivaOtrasSiQuedaInactiva() {
+    when(repo.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+    service.crearComision(new ComisionRequest(null, new BigDecimal("0.0800"), false, null));
+
+    verify(repo, never()).desactivarOtras(any(), any());
+  }
+
+  @Test
+  void rechazaTasaDeUno() {
+    assertThrows(RuntimeException.class,
+        () -> service.crearComision(new ComisionRequest(null, BigDecimal.ONE, true, null)));
+    verify(repo, never()).save(any());
+  }
+}
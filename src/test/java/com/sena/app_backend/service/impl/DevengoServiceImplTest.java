@@ -0,0 +1,120 @@
+package com.sena.app_backend.service.impl;
+
+import com.sena.app_backend.dto.request.LoteTransaccionesRequest;
+import com.sena.app_backend.dto.response.LoteTransaccionesResponse;
+import com.sena.app_backend.model.CheckpointDevengo;
+import com.sena.app_backend.model.EstadoTrabajo;
+import com.sena.app_backend.model.Plan;
+import com.sena.app_backend.model.TipoTransaccionPlataforma;
+import com.sena.app_backend.repository.CheckpointDevengoRepository;
+import com.sena.app_backend.repository.PlanRepository;
+import com.sena.app_backend.service.LoteTransaccionesService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DevengoServiceImplTest {
+
+  private static final LocalDate DIA = LocalDate.of(2026, 3, 10);
+
+  private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+  private final CheckpointDevengoRepository checkpointRepo = mock(CheckpointDevengoRepository.class);
+  private final PlanRepository planRepo = mock(PlanRepository.class);
+  private final LoteTransaccionesService loteService = mock(LoteTransaccionesService.class);
+  private final DevengoServiceImpl service = new DevengoServiceImpl(jdbc, checkpointRepo, planRepo, loteService,
+      mock(PlatformTransactionManager.class), true, 10, 7);
+
+  private CheckpointDevengo checkpoint(EstadoTrabajo estado) {
+    return CheckpointDevengo.builder().id(1L).dia(DIA).estado(estado).total(BigDecimal.ZERO).build();
+  }
+
+  /** Entrega una página con un alquiler activo todo el día y luego una vacía. */
+  private void unaPagina(long alquilerId, long usuarioId, long planId) throws Exception {
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.getLong(1)).thenReturn(alquilerId);
+    when(rs.getLong(2)).thenReturn(usuarioId);
+    when(rs.getLong(3)).thenReturn(planId);
+    when(rs.getObject(4, LocalDateTime.class)).thenReturn(DIA.minusDays(3).atStartOfDay());
+    when(rs.getObject(5, LocalDateTime.class)).thenReturn(DIA.plusDays(20).atStartOfDay());
+    int[] llamadas = {0};
+    doAnswer(i -> {
+      if (llamadas[0]++ == 0) {
+        ((RowCallbackHandler) i.getArgument(1)).processRow(rs);
+      }
+      return null;
+    }).when(jdbc).query(eq(DevengoServiceImpl.PAGINA), any(RowCallbackHandler.class), any(Object[].class));
+  }
+
+  @Test
+  void abonaLaGananciaDelDiaYCompletaElCheckpoint() throws Exception {
+    Plan plan = new Plan();
+    plan.setId(3L);
+    plan.setGananciaMin(new BigDecimal("2.50"));
+    plan.setGananciaMax(new BigDecimal("2.50"));
+    when(planRepo.findAll()).thenReturn(List.of(plan));
+    CheckpointDevengo c = checkpoint(EstadoTrabajo.PROCESANDO);
+    when(checkpointRepo.bloquear(DIA)).thenReturn(Optional.of(c));
+    unaPagina(40L, 7L, 3L);
+    when(loteService.aplicarEnTransaccion(any())).thenReturn(LoteTransaccionesResponse.builder()
+        .resultados(List.of(LoteTransaccionesResponse.Resultado.builder().indice(0).usuarioId(7L).transaccionId(1L).build()))
+        .build());
+
+    assertEquals(1, service.devengar(DIA));
+
+    ArgumentCaptor<LoteTransaccionesRequest> req = ArgumentCaptor.forClass(LoteTransaccionesRequest.class);
+    verify(loteService).aplicarEnTransaccion(req.capture());
+    LoteTransaccionesRequest.Entrada e = req.getValue().getEntradas().get(0);
+    assertEquals(7L, e.getUsuarioId());
+    assertEquals(TipoTransaccionPlataforma.GANANCIA_MINERIA, e.getTipo());
+    assertEquals(new BigDecimal("2.5000"), e.getMonto());
+    verify(jdbc).batchUpdate(eq(DevengoServiceImpl.ACUMULAR), anyList());
+    verify(checkpointRepo).crear(eq(DIA), any());
+    assertEquals(40L, c.getUltimoAlquilerId());
+    assertEquals(1, c.getAlquileres());
+    assertEquals(new BigDecimal("2.5000"), c.getTotal());
+    assertEquals(EstadoTrabajo.COMPLETADO, c.getEstado());
+  }
+
+  @Test
+  void falloDeUnGrupoRevierteLaPaginaSinAvanzarElCursor() throws Exception {
+    Plan plan = new Plan();
+    plan.setId(3L);
+    plan.setGananciaMin(new BigDecimal("2.50"));
+    plan.setGananciaMax(new BigDecimal("2.50"));
+    when(planRepo.findAll()).thenReturn(List.of(plan));
+    CheckpointDevengo c = checkpoint(EstadoTrabajo.PROCESANDO);
+    when(checkpointRepo.bloquear(DIA)).thenReturn(Optional.of(c));
+    unaPagina(40L, 7L, 3L);
+    when(loteService.aplicarEnTransaccion(any())).thenThrow(new RuntimeException("deadlock"));
+
+    assertThrows(RuntimeException.class, () -> service.devengar(DIA));
+
+    verify(loteService, never()).aplicar(any());
+    verify(jdbc, never()).batchUpdate(eq(DevengoServiceImpl.ACUMULAR), anyList());
+    verify(checkpointRepo, never()).save(any());
+    assertEquals(0L, c.getUltimoAlquilerId());
+  }
+
+  @Test
+  void diaCompletadoNoVuelveAAbonar() {
+    when(checkpointRepo.bloquear(DIA)).thenReturn(Optional.of(checkpoint(EstadoTrabajo.COMPLETADO)));
+
+    assertEquals(0, service.devengar(DIA));
+
+    verifyNoInteractions(loteService);
+    verify(jdbc, never()).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+  }
+}
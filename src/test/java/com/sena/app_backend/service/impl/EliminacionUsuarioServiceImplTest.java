@@ -0,0 +1,121 @@
+package com.sena.app_backend.service.impl;
+
+import com.sena.app_backend.dto.response.EstadoEliminacionResponse;
+import com.sena.app_backend.model.EstadoTrabajo;
+import com.sena.app_backend.model.TrabajoEliminacion;
+import com.sena.app_backend.model.Usuario;
+import com.sena.app_backend.repository.RefreshTokenRepository;
+import com.sena.app_backend.repository.TrabajoEliminacionRepository;
+import com.sena.app_backend.repository.UsuarioRepository;
+import com.sena.app_backend.security.UsuariosBloqueados;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EliminacionUsuarioServiceImplTest {
+
+  private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+  private final TrabajoEliminacionRepository trabajoRepo = mock(TrabajoEliminacionRepository.class);
+  private final UsuarioRepository usuarioRepo = mock(UsuarioRepository.class);
+  private final RefreshTokenRepository refreshTokenRepo = mock(RefreshTokenRepository.class);
+  private final UsuariosBloqueados usuariosBloqueados = mock(UsuariosBloqueados.class);
+  private final EliminacionUsuarioServiceImpl service = new EliminacionUsuarioServiceImpl(jdbc, trabajoRepo,
+      usuarioRepo, refreshTokenRepo, usuariosBloqueados, mock(PlatformTransactionManager.class), 2, 0, 3, 300);
+
+  private TrabajoEliminacion trabajo(String paso) {
+    return TrabajoEliminacion.builder().id(1L).usuarioId(7L).estado(EstadoTrabajo.PENDIENTE).paso(paso).build();
+  }
+
+  @Test
+  void solicitarBloqueaAlUsuarioYEncola() {
+    Usuario u = new Usuario();
+    u.setId(7L);
+    when(usuarioRepo.findById(7L)).thenReturn(Optional.of(u));
+    when(trabajoRepo.findByUsuarioId(7L)).thenReturn(Optional.empty());
+    when(trabajoRepo.save(any())).thenAnswer(i -> i.getArgument(0));
+
+    EstadoEliminacionResponse r = service.solicitar(7L);
+
+    assertTrue(u.isEliminacionPendiente());
+    verify(refreshTokenRepo).borrarPorUsuario(7L);
+    verify(usuariosBloqueados).bloquear(7L);
+    assertEquals(EstadoTrabajo.PENDIENTE, r.getEstado());
+    assertEquals("MAQUINAS", r.getPaso());
+    assertEquals(1, r.getNumeroPaso());
+  }
+
+  @Test
+  void solicitarUsuarioInexistenteFalla() {
+    when(usuarioRepo.findById(7L)).thenReturn(Optional.empty());
+    assertThrows(RuntimeException.class, () -> service.solicitar(7L));
+    verify(trabajoRepo, never()).save(any());
+  }
+
+  @Test
+  void borraPorLotesHastaUnoIncompletoYTerminaConElUsuario() {
+    when(trabajoRepo.findTop10ByEstadoOrderByIdAsc(EstadoTrabajo.PENDIENTE)).thenReturn(List.of(trabajo("MONEDEROS")));
+    when(trabajoRepo.tomar(eq(1L), any())).thenReturn(1);
+    when(jdbc.update(startsWith("DELETE FROM platforma_transaccion_cuenta WHERE"), eq(7L), eq(2)))
+        .thenReturn(2, 2, 1);
+    TrabajoEliminacion guardado = trabajo("USUARIO");
+    when(trabajoRepo.findById(1L)).thenReturn(Optional.of(guardado));
+
+    assertEquals(1, service.procesarPendientes());
+
+    verify(jdbc, times(3)).update(startsWith("DELETE FROM platforma_transaccion_cuenta WHERE"), eq(7L), eq(2));
+    verify(jdbc, never()).update(startsWith("DELETE FROM alquiler "), eq(7L), eq(2));
+    verify(jdbc).update(startsWith("DELETE FROM usuario"), eq(7L), eq(2));
+    verify(trabajoRepo, times(3)).avanzar(eq(1L), eq("TRANSACCIONES_PLATAFORMA"), anyLong(), any());
+    assertEquals(EstadoTrabajo.COMPLETADO, guardado.getEstado());
+  }
+
+  @Test
+  void cadaLoteDeAlquileresLiberaMaquinasAntesDeBorrar() {
+    when(trabajoRepo.findTop10ByEstadoOrderByIdAsc(EstadoTrabajo.PENDIENTE)).thenReturn(List.of(trabajo("ALQUILERES")));
+    when(trabajoRepo.tomar(eq(1L), any())).thenReturn(1);
+    when(jdbc.update(startsWith("DELETE FROM alquiler "), eq(7L), eq(2))).thenReturn(2, 0);
+    when(trabajoRepo.findById(1L)).thenReturn(Optional.of(trabajo("USUARIO")));
+
+    service.procesarPendientes();
+
+    var orden = inOrder(jdbc);
+    for (int i = 0; i < 2; i++) {
+      orden.verify(jdbc).update(startsWith("UPDATE maquina"), eq(7L));
+      orden.verify(jdbc).update(startsWith("DELETE FROM trabajo_provisionamiento"), eq(7L));
+      orden.verify(jdbc).update(startsWith("DELETE FROM alquiler "), eq(7L), eq(2));
+    }
+  }
+
+  @Test
+  void errorVuelveAPendienteDesdeElPrimerPaso() {
+    when(trabajoRepo.findTop10ByEstadoOrderByIdAsc(EstadoTrabajo.PENDIENTE)).thenReturn(List.of(trabajo("CUENTA")));
+    when(trabajoRepo.tomar(eq(1L), any())).thenReturn(1);
+    when(jdbc.update(startsWith("DELETE FROM platforma_fondos_cuenta"), eq(7L), eq(2)))
+        .thenThrow(new RuntimeException("fk"));
+    TrabajoEliminacion guardado = trabajo("CUENTA");
+    when(trabajoRepo.findById(1L)).thenReturn(Optional.of(guardado));
+
+    assertEquals(0, service.procesarPendientes());
+
+    assertEquals(EstadoTrabajo.PENDIENTE, guardado.getEstado());
+    assertEquals(1, guardado.getIntentos());
+    assertEquals("MAQUINAS", guardado.getPaso());
+    assertEquals("fk", guardado.getError());
+  }
+
+  @Test
+  void trabajoTomadoPorOtroNodoNoSeProcesa() {
+    when(trabajoRepo.findTop10ByEstadoOrderByIdAsc(EstadoTrabajo.PENDIENTE)).thenReturn(List.of(trabajo("MAQUINAS")));
+    when(trabajoRepo.tomar(eq(1L), any())).thenReturn(0);
+
+    assertEquals(0, service.procesarPendientes());
+    verifyNoInteractions(jdbc);
+  }
+}
@@ -0,0 +1,208 @@
+package com.sena.app_backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sena.app_backend.dto.request.NuevoAlquilerRequest;
+import com.sena.app_backend.dto.response.AlquilerResponse;
+import com.sena.app_backend.model.EstadoIdempotencia;
+import com.sena.app_backend.model.RegistroIdempotencia;
+import com.sena.app_backend.repository.RegistroIdempotenciaRepository;
+import com.sena.app_backend.service.IdempotenciaService;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class IdempotenciaServiceImplTest {
+
+  private final Map<String, RegistroIdempotencia> filas = new ConcurrentHashMap<>();
+  private final PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+
+  private static String llave(RegistroIdempotencia r) {
+    return r.getUsuarioId() + ":" + r.getOperacion() + ":" + r.getClave();
+  }
+
+  private Optional<RegistroIdempotencia> porId(Long id) {
+    return filas.values().stream().filter(r -> r.getId().equals(id)).findFirst();
+  }
+
+  /** Repositorio en memoria que respeta la clave única (usuario, operación, clave). */
+  private RegistroIdempotenciaRepository repoEnMemoria() {
+    AtomicLong ids = new AtomicLong();
+    RegistroIdempotenciaRepository repo = mock(RegistroIdempotenciaRepository.class);
+    when(repo.findByUsuarioIdAndOperacionAndClave(anyLong(), anyString(), anyString()))
+        .thenAnswer(i -> Optional.ofNullable(filas.get(i.getArgument(0) + ":" + i.getArgument(1) + ":" + i.getArgument(2))));
+    when(repo.saveAndFlush(any())).thenAnswer(i -> {
+      RegistroIdempotencia r = i.getArgument(0);
+      r.setId(ids.incrementAndGet());
+      if (filas.putIfAbsent(llave(r), r) != null) {
+        throw new org.springframework.dao.DataIntegrityViolationException("duplicada");
+      }
+      return r;
+    });
+    when(repo.completar(anyLong(), anyString(), any(), any(), any())).thenAnswer(i -> porId(i.getArgument(0))
+        .filter(r -> r.getEstado() == EstadoIdempotencia.EN_CURSO)
+        .map(r -> {
+          r.setEstado(EstadoIdempotencia.COMPLETADO);
+          r.setRespuesta(i.getArgument(1));
+          r.setExpira(i.getArgument(2));
+          return 1;
+        }).orElse(0));
+    when(repo.borrarSiVencido(anyLong(), any())).thenAnswer(i -> porId(i.getArgument(0))
+        .filter(r -> r.getExpira().isBefore(i.getArgument(1)))
+        .map(r -> filas.remove(llave(r)) != null ? 1 : 0).orElse(0));
+    when(repo.liberar(anyLong(), any())).thenAnswer(i -> porId(i.getArgument(0))
+        .filter(r -> r.getEstado() == EstadoIdempotencia.EN_CURSO)
+        .map(r -> filas.remove(llave(r)) != null ? 1 : 0).orElse(0));
+    return repo;
+  }
+
+  private final RegistroIdempotenciaRepository repo = repoEnMemoria();
+
+  private final IdempotenciaServiceImpl servicio =
+      new IdempotenciaServiceImpl(repo, new ObjectMapper().findAndRegisterModules(), txManager, 24, 300, 5);
+
+  private final NuevoAlquilerRequest req = new NuevoAlquilerRequest(3L);
+
+  @Test
+  void reintentoDevuelveResultadoGuardadoSinEjecutar() {
+    AtomicInteger ejecuciones = new AtomicInteger();
+    IdempotenciaService.Resultado<AlquilerResponse> primero = servicio.ejecutar("k1", 1L, "OP", req,
+        AlquilerResponse.class, () -> AlquilerResponse.builder().id((long) ejecuciones.incrementAndGet()).build());
+    IdempotenciaService.Resultado<AlquilerResponse> segundo = servicio.ejecutar("k1", 1L, "OP", req,
+        AlquilerResponse.class, () -> AlquilerResponse.builder().id((long) ejecuciones.incrementAndGet()).build());
+
+    assertFalse(primero.repetido());
+    assertTrue(segundo.repetido());
+    assertEquals(1L, segundo.valor().getId());
+    assertEquals(1, ejecuciones.get());
+  }
+
+  @Test
+  void claveReutilizadaConOtraSolicitudSeRechaza() {
+    servicio.ejecutar("k2", 1L, "OP", req, AlquilerResponse.class, () -> new AlquilerResponse());
+    assertThrows(RuntimeException.class, () -> servicio.ejecutar("k2", 1L, "OP", new NuevoAlquilerRequest(4L),
+        AlquilerResponse.class, () -> new AlquilerResponse()));
+  }
+
+  @Test
+  void fallaBorraElRegistroYPermiteReintentar() {
+    assertThrows(RuntimeException.class, () -> servicio.ejecutar("k3", 1L, "OP", req, AlquilerResponse.class,
+        () -> { throw new RuntimeException("sin fondos"); }));
+    IdempotenciaService.Resultado<AlquilerResponse> r = servicio.ejecutar("k3", 1L, "OP", req,
+        AlquilerResponse.class, () -> AlquilerResponse.builder().id(9L).build());
+    assertFalse(r.repetido());
+    assertEquals(9L, r.valor().getId());
+  }
+
+  @Test
+  void duplicadoConcurrenteEsperaAlPrimero() throws Exception {
+    CountDownLatch dentro = new CountDownLatch(1);
+    CountDownLatch liberar = new CountDownLatch(1);
+    AtomicInteger ejecuciones = new AtomicInteger();
+    ExecutorService pool = Executors.newFixedThreadPool(2);
+    try {
+      Future<IdempotenciaService.Resultado<AlquilerResponse>> primero = pool.submit(() ->
+          servicio.ejecutar("k4", 1L, "OP", req, AlquilerResponse.class, () -> {
+            ejecuciones.incrementAndGet();
+            dentro.countDown();
+            try {
+              liberar.await();
+            } catch (InterruptedException e) {
+              throw new IllegalStateException(e);
+            }
+            return AlquilerResponse.builder().id(7L).build();
+          }));
+      dentro.await();
+      Future<IdempotenciaService.Resultado<AlquilerResponse>> segundo = pool.submit(() ->
+          servicio.ejecutar("k4", 1L, "OP", req, AlquilerResponse.class, () -> {
+            ejecuciones.incrementAndGet();
+            return AlquilerResponse.builder().id(8L).build();
+          }));
+      Thread.sleep(50);
+      liberar.countDown();
+
+      assertEquals(7L, primero.get(5, TimeUnit.SECONDS).valor().getId());
+      assertEquals(7L, segundo.get(5, TimeUnit.SECONDS).valor().getId());
+      assertTrue(segundo.get().repetido());
+      assertEquals(1, ejecuciones.get());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  void duplicadoConcurrenteConOtraSolicitudSeRechazaSinEsperar() {
+    RuntimeException[] rechazo = new RuntimeException[1];
+    servicio.ejecutar("k7", 1L, "OP", req, AlquilerResponse.class, () -> {
+      // Mientras la primera sigue en curso en este nodo
+      rechazo[0] = assertThrows(RuntimeException.class, () -> servicio.ejecutar("k7", 1L, "OP",
+          new NuevoAlquilerRequest(4L), AlquilerResponse.class, () -> new AlquilerResponse()));
+      return AlquilerResponse.builder().id(1L).build();
+    });
+    assertEquals("Idempotency-Key ya usada con una solicitud distinta", rechazo[0].getMessage());
+  }
+
+  @Test
+  void completaElRegistroEnLaMismaTransaccionQueLaAccion() {
+    servicio.ejecutar("k5", 1L, "OP", req, AlquilerResponse.class, () -> {
+      // La acción corre dentro de la transacción y antes de completar el registro
+      verify(txManager).getTransaction(any());
+      verify(repo, never()).completar(anyLong(), anyString(), any(), any(), any());
+      return AlquilerResponse.builder().id(1L).build();
+    });
+
+    InOrder orden = inOrder(txManager, repo);
+    orden.verify(repo).completar(anyLong(), anyString(), any(), any(), any());
+    orden.verify(txManager).commit(any());
+  }
+
+  @Test
+  void enCursoVencidoReclamadoPorOtroNodoRevierteLaEjecucionOriginal() {
+    IdempotenciaServiceImpl otroNodo =
+        new IdempotenciaServiceImpl(repo, new ObjectMapper().findAndRegisterModules(), txManager, 24, 300, 5);
+    AtomicInteger ejecuciones = new AtomicInteger();
+    RuntimeException ex = assertThrows(RuntimeException.class, () -> servicio.ejecutar("k6", 1L, "OP", req,
+        AlquilerResponse.class, () -> {
+          ejecuciones.incrementAndGet();
+          // Mientras tanto el registro vence y otro nodo lo reclama y completa
+          filas.get("1:OP:k6").setExpira(Instant.now().minusSeconds(1));
+          IdempotenciaService.Resultado<AlquilerResponse> otro = otroNodo.ejecutar("k6", 1L, "OP", req,
+              AlquilerResponse.class, () -> {
+                ejecuciones.incrementAndGet();
+                return AlquilerResponse.builder().id(3L).build();
+              });
+          assertFalse(otro.repetido());
+          return AlquilerResponse.builder().id(1L).build();
+        }));
+
+    assertTrue(ex.getMessage().contains("venció"));
+    verify(txManager).rollback(any());
+    // Solo queda confirmada la ejecución del nodo que reclamó el registro vencido
+    IdempotenciaService.Resultado<AlquilerResponse> reintento = servicio.ejecutar("k6", 1L, "OP", req,
+        AlquilerResponse.class, () -> AlquilerResponse.builder().id(4L).build());
+    assertTrue(reintento.repetido());
+    assertEquals(3L, reintento.valor().getId());
+    assertEquals(2, ejecuciones.get());
+  }
+
+  @Test
+  void enCursoVencidoYaCompletadoNoSeVuelveAEjecutar() {
+    servicio.ejecutar("k7", 1L, "OP", req, AlquilerResponse.class, () -> AlquilerResponse.builder().id(5L).build());
+    RegistroIdempotencia r = filas.get("1:OP:k7");
+    // borrarSiVencido no encuentra la fila vencida: el reintento recibe la respuesta guardada
+    assertEquals(0, repo.borrarSiVencido(r.getId(), Instant.now()));
+    assertTrue(servicio.ejecutar("k7", 1L, "OP", req, AlquilerResponse.class,
+        () -> AlquilerResponse.builder().id(6L).build()).repetido());
+  }
+}
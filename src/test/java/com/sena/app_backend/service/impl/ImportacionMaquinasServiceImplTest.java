@@ -0,0 +1,108 @@
+package com.sena.app_backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sena.app_backend.dto.response.ImportacionMaquinasResponse;
+import com.sena.app_backend.dto.response.ImportacionMaquinasResponse.Resultado;
+import com.sena.app_backend.model.EstadoMaquina;
+import com.sena.app_backend.repository.MaquinaRepository;
+import com.sena.app_backend.service.ImportacionMaquinasService.Formato;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ImportacionMaquinasServiceImplTest {
+
+  private final MaquinaRepository repo = mock(MaquinaRepository.class);
+  private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+
+  private ImportacionMaquinasServiceImpl service(int lote) {
+    return new ImportacionMaquinasServiceImpl(repo, jdbc, new ObjectMapper(), mock(PlatformTransactionManager.class),
+        lote);
+  }
+
+  private static ByteArrayInputStream archivo(String texto) {
+    return new ByteArrayInputStream(texto.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<List<ImportacionMaquinasServiceImpl.FilaMaquina>> lotesInsertados() {
+    var captor = org.mockito.ArgumentCaptor.forClass(Collection.class);
+    verify(jdbc, atLeastOnce()).batchUpdate(eq(ImportacionMaquinasServiceImpl.INSERT), captor.capture(), anyInt(),
+        any(ParameterizedPreparedStatementSetter.class));
+    return captor.getAllValues().stream().map(c -> List.copyOf((Collection<ImportacionMaquinasServiceImpl.FilaMaquina>) c)).toList();
+  }
+
+  @Test
+  void csvPorLotesConReportePorFila() {
+    when(repo.findSerialesExistentes(anyCollection())).thenReturn(List.of("S2"));
+    String csv = "serial,recursos,estado,especificaciones\n"
+        + "S1,bajos,,\"8 GB, 4 núcleos\"\n"
+        + "S2,MEDIOS,DISPONIBLE,\n"
+        + "S3,ALTOS,MANTENIMIENTO,\n"
+        + "S1,ALTOS,,\n"
+        + ",ALTOS,,\n"
+        + "S4,GIGANTES,,\n";
+
+    ImportacionMaquinasResponse r = service(2).importar(archivo(csv), Formato.CSV, false);
+
+    assertEquals(6, r.getTotal());
+    assertEquals(2, r.getCreadas());
+    assertEquals(4, r.getRechazadas());
+    List<List<ImportacionMaquinasServiceImpl.FilaMaquina>> lotes = lotesInsertados();
+    assertEquals(List.of("S1"), lotes.get(0).stream().map(ImportacionMaquinasServiceImpl.FilaMaquina::serial).toList());
+    assertEquals("8 GB, 4 núcleos", lotes.get(0).get(0).especificaciones());
+    assertEquals(EstadoMaquina.DISPONIBLE, lotes.get(0).get(0).estado());
+    assertEquals(List.of("S3"), lotes.get(1).stream().map(ImportacionMaquinasServiceImpl.FilaMaquina::serial).toList());
+    assertEquals(Resultado.DUPLICADA, r.getFilas().stream().filter(f -> f.getLinea() == 3).findFirst().orElseThrow()
+        .getResultado());
+    assertEquals(Resultado.INVALIDA, r.getFilas().stream().filter(f -> f.getLinea() == 7).findFirst().orElseThrow()
+        .getResultado());
+  }
+
+  @Test
+  void ndjsonSoloErrores() {
+    when(repo.findSerialesExistentes(anyCollection())).thenReturn(List.of());
+    String nd = "{\"serial\":\"N1\",\"recursos\":\"SUPERIORES\"}\n"
+        + "no es json\n"
+        + "{\"serial\":\"N2\",\"recursos\":\"BAJOS\",\"estado\":\"RENTADA\"}\n";
+
+    ImportacionMaquinasResponse r = service(1000).importar(archivo(nd), Formato.NDJSON, true);
+
+    assertEquals(3, r.getTotal());
+    assertEquals(2, r.getCreadas());
+    assertEquals(1, r.getFilas().size());
+    assertEquals(2, r.getFilas().get(0).getLinea());
+    assertEquals(2, lotesInsertados().get(0).size());
+  }
+
+  @Test
+  void serialCreadoPorOtraPeticionSeReintentaSinEl() {
+    when(repo.findSerialesExistentes(anyCollection())).thenReturn(List.of(), List.of("A"));
+    when(jdbc.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+        .thenThrow(new DuplicateKeyException("A"))
+        .thenReturn(new int[][]{{1}});
+
+    ImportacionMaquinasResponse r = service(10).importar(archivo("serial,recursos\nA,BAJOS\nB,BAJOS\n"),
+        Formato.CSV, false);
+
+    assertEquals(1, r.getCreadas());
+    assertEquals(1, r.getRechazadas());
+  }
+
+  @Test
+  void encabezadoSinRecursosSeRechaza() {
+    assertThrows(RuntimeException.class,
+        () -> service(10).importar(archivo("serial,estado\nX,DISPONIBLE\n"), Formato.CSV, false));
+  }
+}
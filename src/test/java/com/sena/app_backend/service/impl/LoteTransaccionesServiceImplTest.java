@@ -0,0 +1,133 @@
+package com.sena.app_backend.service.impl;
+
+import com.sena.app_backend.dto.request.LoteTransaccionesRequest;
+import com.sena.app_backend.dto.request.LoteTransaccionesRequest.Entrada;
+import com.sena.app_backend.dto.response.LoteTransaccionesResponse;
+import com.sena.app_backend.model.PlataformaFondosCuenta;
+import com.sena.app_backend.model.PlataformaTransaccionCuenta;
+import com.sena.app_backend.model.TipoTransaccionPlataforma;
+import com.sena.app_backend.repository.PlataformaFondosCuentaRepository;
+import com.sena.app_backend.repository.PlataformaTransaccionCuentaRepository;
+import com.sena.app_backend.repository.UsuarioRepository;
+import com.sena.app_backend.service.EventoOutboxService;
+import com.sena.app_backend.service.ReporteIngresosService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LoteTransaccionesServiceImplTest {
+
+  private final PlataformaFondosCuentaRepository cuentaRepo = mock(PlataformaFondosCuentaRepository.class);
+  private final PlataformaTransaccionCuentaRepository transRepo = mock(PlataformaTransaccionCuentaRepository.class);
+  private final UsuarioRepository usuarioRepo = mock(UsuarioRepository.class);
+  private final EventoOutboxService outbox = mock(EventoOutboxService.class);
+  private final ReporteIngresosService reporte = mock(ReporteIngresosService.class);
+  private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+  private final LoteTransaccionesServiceImpl service = new LoteTransaccionesServiceImpl(cuentaRepo, transRepo,
+      usuarioRepo, outbox, reporte, jdbc, mock(PlatformTransactionManager.class), 2, 100);
+
+  private static Entrada entrada(long usuarioId, TipoTransaccionPlataforma tipo, String monto) {
+    return new Entrada(usuarioId, tipo, new BigDecimal(monto));
+  }
+
+  @SuppressWarnings("unchecked")
+  private void guardarConIds() {
+    AtomicLong ids = new AtomicLong(100);
+    when(transRepo.saveAll(anyList())).thenAnswer(i -> {
+      List<PlataformaTransaccionCuenta> l = new ArrayList<>((List<PlataformaTransaccionCuenta>) i.getArgument(0));
+      l.forEach(t -> t.setId(ids.incrementAndGet()));
+      return l;
+    });
+    when(cuentaRepo.getReferenceById(anyLong())).thenAnswer(i -> PlataformaFondosCuenta.builder()
+        .id(i.getArgument(0)).build());
+  }
+
+  @Test
+  void aplicaEnOrdenPorCuentaYReportaFallosSinAbortar() {
+    guardarConIds();
+    when(cuentaRepo.bloquearPorUsuarios(List.of(1L, 2L))).thenReturn(List.of(
+        new Object[]{10L, 1L, new BigDecimal("5.0000")},
+        new Object[]{20L, 2L, new BigDecimal("0.0000")}));
+    LoteTransaccionesRequest req = new LoteTransaccionesRequest(List.of(
+        entrada(1, TipoTransaccionPlataforma.GANANCIA_ALQUILER, "10"),
+        entrada(2, TipoTransaccionPlataforma.RETIRO_WALLET, "1"),
+        entrada(1, TipoTransaccionPlataforma.RETIRO_WALLET, "12"),
+        entrada(2, TipoTransaccionPlataforma.GANANCIA_ALQUILER, "-3")));
+
+    LoteTransaccionesResponse r = service.aplicar(req);
+
+    assertEquals(4, r.getTotal());
+    assertEquals(2, r.getAplicadas());
+    assertEquals(new BigDecimal("15.0000"), r.getResultados().get(0).getBalancePosterior());
+    assertEquals("Saldo insuficiente para retiro", r.getResultados().get(1).getError());
+    assertEquals(new BigDecimal("3.0000"), r.getResultados().get(2).getBalancePosterior());
+    assertNotNull(r.getResultados().get(3).getError());
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+    verify(jdbc).batchUpdate(eq(LoteTransaccionesServiceImpl.ACTUALIZAR_BALANCE), updates.capture());
+    assertEquals(1, updates.getValue().size());
+    assertArrayEquals(new Object[]{new BigDecimal("3.0000"), 10L}, updates.getValue().get(0));
+    verify(outbox, times(2)).registrar(eq(EventoOutboxService.TRANSACCION_PLATAFORMA), eq(10L), eq(1L), any());
+    verify(reporte).registrarTransacciones(eq(TipoTransaccionPlataforma.GANANCIA_ALQUILER),
+        eq(new BigDecimal("10")), eq(1L), any());
+    verify(reporte).registrarTransacciones(eq(TipoTransaccionPlataforma.RETIRO_WALLET),
+        eq(new BigDecimal("12")), eq(1L), any());
+  }
+
+  @Test
+  void grupoRevertidoSoloAfectaASusCuentas() {
+    guardarConIds();
+    when(cuentaRepo.bloquearPorUsuarios(List.of(1L, 2L))).thenThrow(new RuntimeException("timeout"));
+    List<Object[]> cuenta3 = new ArrayList<>();
+    cuenta3.add(new Object[]{30L, 3L, BigDecimal.ZERO});
+    when(cuentaRepo.bloquearPorUsuarios(List.of(3L))).thenReturn(cuenta3);
+
+    LoteTransaccionesResponse r = service.aplicar(new LoteTransaccionesRequest(List.of(
+        entrada(1, TipoTransaccionPlataforma.RECARGA_PLATAFORMA, "1"),
+        entrada(2, TipoTransaccionPlataforma.RECARGA_PLATAFORMA, "1"),
+        entrada(3, TipoTransaccionPlataforma.RECARGA_PLATAFORMA, "1"))));
+
+    assertEquals(1, r.getAplicadas());
+    assertTrue(r.getResultados().get(0).getError().contains("timeout"));
+    assertNull(r.getResultados().get(2).getError());
+  }
+
+  @Test
+  void enTransaccionUnGrupoFallidoSePropagaSinAplicarLosSiguientes() {
+    guardarConIds();
+    when(cuentaRepo.bloquearPorUsuarios(List.of(1L, 2L))).thenThrow(new RuntimeException("timeout"));
+
+    RuntimeException ex = assertThrows(RuntimeException.class, () -> service.aplicarEnTransaccion(
+        new LoteTransaccionesRequest(List.of(
+            entrada(1, TipoTransaccionPlataforma.GANANCIA_MINERIA, "1"),
+            entrada(2, TipoTransaccionPlataforma.GANANCIA_MINERIA, "1"),
+            entrada(3, TipoTransaccionPlataforma.GANANCIA_MINERIA, "1")))));
+
+    assertEquals("timeout", ex.getMessage());
+    verify(cuentaRepo, never()).bloquearPorUsuarios(List.of(3L));
+    verifyNoInteractions(jdbc, outbox);
+  }
+
+  @Test
+  void usuarioSinCuentaNiRegistroFalla() {
+    when(cuentaRepo.bloquearPorUsuarios(anyCollection())).thenReturn(List.of());
+    when(usuarioRepo.findAllById(anyIterable())).thenReturn(List.of());
+
+    LoteTransaccionesResponse r = service.aplicar(new LoteTransaccionesRequest(List.of(
+        entrada(9, TipoTransaccionPlataforma.RECARGA_PLATAFORMA, "1"))));
+
+    assertEquals("Usuario no encontrado", r.getResultados().get(0).getError());
+    verifyNoInteractions(jdbc, outbox);
+  }
+}
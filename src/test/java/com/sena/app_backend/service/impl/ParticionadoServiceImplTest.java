@@ -0,0 +1,92 @@
+package com.sena.app_backend.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ParticionadoServiceImplTest {
+
+  @Test
+  void nombresYMeses() {
+    assertEquals("p202510", ParticionadoServiceImpl.nombre(YearMonth.of(2025, 10)));
+    assertEquals(YearMonth.of(2025, 10), ParticionadoServiceImpl.mes("p202510"));
+    assertNull(ParticionadoServiceImpl.mes("pmax"));
+    assertEquals(YearMonth.of(2026, 1),
+        ParticionadoServiceImpl.ultimoMes(List.of("p202511", "p202601", "p202512", "pmax")));
+  }
+
+  @Test
+  void definicionesCruzanElCambioDeAnio() {
+    assertEquals("PARTITION p202512 VALUES LESS THAN ('2026-01-01 00:00:00'), "
+            + "PARTITION p202601 VALUES LESS THAN ('2026-02-01 00:00:00')",
+        ParticionadoServiceImpl.definiciones(YearMonth.of(2025, 12), YearMonth.of(2026, 1)));
+  }
+
+  @Test
+  void creaLosMesesQueFaltanDesdePmax() {
+    JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    YearMonth actual = YearMonth.now();
+    List<String> existentes = List.of(ParticionadoServiceImpl.nombre(actual), "pmax");
+    when(jdbc.queryForList(anyString(), eq(String.class), anyString())).thenReturn(existentes);
+
+    new ParticionadoServiceImpl(jdbc, true, 2, 13).mantener();
+
+    String esperado = "REORGANIZE PARTITION pmax INTO (PARTITION " + ParticionadoServiceImpl.nombre(actual.plusMonths(1));
+    verify(jdbc, times(2)).execute(contains(esperado));
+    verify(jdbc).execute(startsWith("ALTER TABLE transaccion "));
+  }
+
+  @Test
+  void noEliminaParticionesAntiguasConFilas() {
+    JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    YearMonth actual = YearMonth.now();
+    String vieja = ParticionadoServiceImpl.nombre(actual.minusMonths(20));
+    String vacia = ParticionadoServiceImpl.nombre(actual.minusMonths(19));
+    when(jdbc.queryForList(anyString(), eq(String.class), anyString()))
+        .thenReturn(List.of(vieja, vacia, ParticionadoServiceImpl.nombre(actual.plusMonths(3)), "pmax"));
+    when(jdbc.queryForObject(contains(vieja), eq(Boolean.class))).thenReturn(true);
+    when(jdbc.queryForObject(contains(vacia), eq(Boolean.class))).thenReturn(false);
+
+    new ParticionadoServiceImpl(jdbc, true, 3, 13).mantener();
+
+    verify(jdbc, never()).execute(contains("DROP PARTITION " + vieja));
+    verify(jdbc, times(2)).execute(contains("DROP PARTITION " + vacia));
+  }
+
+  @Test
+  void elMantenimientoNoMigraTablasSinParticiones() {
+    JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    when(jdbc.queryForList(anyString(), eq(String.class), anyString())).thenReturn(List.of());
+
+    new ParticionadoServiceImpl(jdbc, true, 3, 13).mantener();
+
+    verify(jdbc, never()).execute(anyString());
+  }
+
+  @Test
+  void migrarParticionaSoloLasTablasPendientes() {
+    JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    when(jdbc.queryForList(contains("PARTITIONS"), eq(String.class), eq("platforma_transaccion_cuenta")))
+        .thenReturn(List.of(ParticionadoServiceImpl.nombre(YearMonth.now()), "pmax"));
+    when(jdbc.queryForList(contains("PARTITIONS"), eq(String.class), eq("transaccion"))).thenReturn(List.of());
+    when(jdbc.queryForList(contains("FOREIGN KEY"), eq(String.class), eq("transaccion"))).thenReturn(List.of("fk_monedero"));
+
+    assertEquals(List.of("transaccion"), new ParticionadoServiceImpl(jdbc, true, 3, 13).migrar());
+    verify(jdbc).execute("ALTER TABLE transaccion DROP FOREIGN KEY fk_monedero");
+    verify(jdbc).execute(startsWith("ALTER TABLE transaccion PARTITION BY RANGE COLUMNS"));
+    verify(jdbc, never()).execute(contains("platforma_transaccion_cuenta"));
+  }
+
+  @Test
+  void migrarExigeElParticionadoHabilitado() {
+    JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    assertThrows(RuntimeException.class, () -> new ParticionadoServiceImpl(jdbc, false, 3, 13).migrar());
+    verifyNoInteractions(jdbc);
+  }
+}
@@ -0,0 +1,66 @@
+package com.sena.app_backend.service.impl;
+
+import com.sena.app_backend.dto.request.NuevaTransaccionRequest;
+import com.sena.app_backend.dto.response.TransaccionPlataformaResponse;
+import com.sena.app_backend.exception.InsufficientFundsException;
+import com.sena.app_backend.model.PlataformaFondosCuenta;
+import com.sena.app_backend.model.PlataformaTransaccionCuenta;
+import com.sena.app_backend.model.TipoTransaccionPlataforma;
+import com.sena.app_backend.repository.PlataformaFondosCuentaRepository;
+import com.sena.app_backend.repository.PlataformaTransaccionCuentaRepository;
+import com.sena.app_backend.repository.TransaccionPlataformaArchivoRepository;
+import com.sena.app_backend.repository.UsuarioRepository;
+import com.sena.app_backend.service.ArchivadoService;
+import com.sena.app_backend.service.EventoOutboxService;
+import com.sena.app_backend.service.ReporteIngresosService;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PlataformaCuentaServiceImplTest {
+
+  private final PlataformaFondosCuentaRepository cuentaRepo = mock(PlataformaFondosCuentaRepository.class);
+  private final PlataformaTransaccionCuentaRepository transRepo = mock(PlataformaTransaccionCuentaRepository.class);
+  private final PlataformaCuentaServiceImpl service = new PlataformaCuentaServiceImpl(cuentaRepo, transRepo,
+      mock(UsuarioRepository.class), mock(EventoOutboxService.class), mock(ReporteIngresosService.class),
+      mock(TransaccionPlataformaArchivoRepository.class), mock(ArchivadoService.class));
+
+  private static NuevaTransaccionRequest req(TipoTransaccionPlataforma tipo, String monto) {
+    NuevaTransaccionRequest r = new NuevaTransaccionRequest();
+    r.setTipo(tipo);
+    r.setMonto(new BigDecimal(monto));
+    return r;
+  }
+
+  @Test
+  void crearTransaccionLeeElBalanceConLaCuentaBloqueada() {
+    PlataformaFondosCuenta cuenta = PlataformaFondosCuenta.builder().id(10L).balance(new BigDecimal("5")).build();
+    when(cuentaRepo.bloquearPorUsuarioId(7L)).thenReturn(Optional.of(cuenta));
+    when(transRepo.save(any())).thenAnswer(i -> {
+      PlataformaTransaccionCuenta t = i.getArgument(0);
+      t.setId(1L);
+      return t;
+    });
+
+    TransaccionPlataformaResponse r = service.crearTransaccion(7L, req(TipoTransaccionPlataforma.PAGO_ALQUILER, "3"));
+
+    assertEquals(0, new BigDecimal("2").compareTo(r.getBalancePosterior()));
+    verify(cuentaRepo, never()).findByUsuarioId(any());
+  }
+
+  @Test
+  void crearTransaccionSinSaldoNoModificaLaCuenta() {
+    PlataformaFondosCuenta cuenta = PlataformaFondosCuenta.builder().id(10L).balance(new BigDecimal("1")).build();
+    when(cuentaRepo.bloquearPorUsuarioId(7L)).thenReturn(Optional.of(cuenta));
+
+    assertThrows(InsufficientFundsException.class,
+        () -> service.crearTransaccion(7L, req(TipoTransaccionPlataforma.PAGO_ALQUILER, "3")));
+    verify(cuentaRepo, never()).save(any());
+    verify(transRepo, never()).save(any());
+  }
+}
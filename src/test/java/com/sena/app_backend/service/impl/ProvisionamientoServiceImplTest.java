@@ -0,0 +1,96 @@
+package com.sena.app_backend.service.impl;
+
+import com.sena.app_backend.exception.InsufficientFundsException;
+import com.sena.app_backend.model.*;
+import com.sena.app_backend.repository.AlquilerRepository;
+import com.sena.app_backend.repository.MaquinaRepository;
+import com.sena.app_backend.repository.TrabajoProvisionamientoRepository;
+import com.sena.app_backend.service.PlataformaCuentaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ProvisionamientoServiceImplTest {
+
+  private final TrabajoProvisionamientoRepository trabajoRepo = mock(TrabajoProvisionamientoRepository.class);
+  private final AlquilerRepository alquilerRepo = mock(AlquilerRepository.class);
+  private final PlataformaCuentaService plataformaService = mock(PlataformaCuentaService.class);
+  private final ProvisionamientoServiceImpl worker = new ProvisionamientoServiceImpl(
+      trabajoRepo, alquilerRepo, mock(MaquinaRepository.class), plataformaService,
+      mock(PlatformTransactionManager.class), 3, 5, 300);
+
+  private Alquiler alquiler;
+  private TrabajoProvisionamiento trabajo;
+
+  @BeforeEach
+  void setUp() {
+    alquiler = Alquiler.builder()
+        .id(10L)
+        .usuario(Usuario.builder().id(1L).build())
+        .maquina(Maquina.builder().id(5L).estado(EstadoMaquina.RENTADA).build())
+        .plan(Plan.builder().id(2L).duracionDias(new BigDecimal("30")).build())
+        .precioAlquiler(new BigDecimal("100.0000"))
+        .estado(EstadoAlquiler.PENDIENTE)
+        .build();
+    trabajo = TrabajoProvisionamiento.builder()
+        .id(7L).alquiler(alquiler).estado(EstadoTrabajo.PENDIENTE).build();
+    when(trabajoRepo.findTop50ByEstadoAndDisponibleDesdeLessThanEqualOrderByIdAsc(any(), any()))
+        .thenReturn(List.of(trabajo));
+    when(trabajoRepo.tomar(eq(7L), any())).thenReturn(1);
+    when(trabajoRepo.findById(7L)).thenReturn(Optional.of(trabajo));
+    when(alquilerRepo.reclamarActivacion(10L)).thenReturn(1);
+  }
+
+  @Test
+  void cobraYActivaElAlquiler() {
+    assertEquals(1, worker.procesarPendientes());
+    assertEquals(EstadoAlquiler.ACTIVO, alquiler.getEstado());
+    assertEquals(EstadoTrabajo.COMPLETADO, trabajo.getEstado());
+    assertTrue(alquiler.getFechaFin().isAfter(LocalDateTime.now().plusDays(29)));
+  }
+
+  @Test
+  void sinFondosFallaYLiberaLaMaquina() {
+    when(plataformaService.crearTransaccion(anyLong(), any())).thenThrow(new InsufficientFundsException());
+    worker.procesarPendientes();
+    assertEquals(EstadoAlquiler.FALLIDO, alquiler.getEstado());
+    assertEquals(EstadoMaquina.DISPONIBLE, alquiler.getMaquina().getEstado());
+    assertEquals(EstadoTrabajo.FALLIDO, trabajo.getEstado());
+  }
+
+  @Test
+  void trabajoTomadoPorOtroNodoNoSeProcesa() {
+    when(trabajoRepo.tomar(eq(7L), any())).thenReturn(0);
+    assertEquals(0, worker.procesarPendientes());
+    verifyNoInteractions(plataformaService);
+  }
+
+  @Test
+  void errorTransitorioDelDebitoSeReintenta() {
+    when(plataformaService.crearTransaccion(anyLong(), any()))
+        .thenThrow(new RuntimeException("Lock wait timeout exceeded"));
+    worker.procesarPendientes();
+    assertEquals(EstadoAlquiler.PENDIENTE, alquiler.getEstado());
+    assertEquals(EstadoMaquina.RENTADA, alquiler.getMaquina().getEstado());
+    assertEquals(EstadoTrabajo.PENDIENTE, trabajo.getEstado());
+    assertEquals(1, trabajo.getIntentos());
+    assertTrue(trabajo.getDisponibleDesde().isAfter(LocalDateTime.now()));
+  }
+
+  @Test
+  void alquilerYaActivadoPorOtroWorkerNoSeCobraDeNuevo() {
+    when(alquilerRepo.reclamarActivacion(10L)).thenReturn(0);
+    worker.procesarPendientes();
+    verifyNoInteractions(plataformaService);
+    assertEquals(EstadoTrabajo.COMPLETADO, trabajo.getEstado());
+  }
+}
@@ -0,0 +1,84 @@
+package com.sena.app_backend.service.impl;
+
+import com.sena.app_backend.dto.response.IngresoAgregadoResponse;
+import com.sena.app_backend.model.*;
+import com.sena.app_backend.repository.AgregadoIngresoRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReporteIngresosServiceImplTest {
+
+  private final AgregadoIngresoRepository repo = mock(AgregadoIngresoRepository.class);
+  private final ReporteIngresosServiceImpl service = new ReporteIngresosServiceImpl(repo, 16);
+
+  @Test
+  void transaccionSumaAlDiaYAlMes() {
+    BigDecimal monto = new BigDecimal("12.5000");
+    service.registrarTransaccion(TipoTransaccionPlataforma.GANANCIA_ALQUILER, monto,
+        LocalDateTime.of(2025, 3, 17, 23, 59));
+
+    int slot = service.slotActual();
+    InOrder orden = inOrder(repo);
+    orden.verify(repo).sumar("DIA", "TIPO", LocalDate.of(2025, 3, 17), "GANANCIA_ALQUILER", slot, monto, 1);
+    orden.verify(repo).sumar("MES", "TIPO", LocalDate.of(2025, 3, 1), "GANANCIA_ALQUILER", slot, monto, 1);
+  }
+
+  @Test
+  void cierreSumaPorPlanYIgnoraGananciaNula() {
+    BigDecimal ganancia = new BigDecimal("3.0000");
+    service.registrarCierre(4L, ganancia, LocalDateTime.of(2025, 1, 31, 10, 0));
+    service.registrarCierre(4L, null, LocalDateTime.of(2025, 1, 31, 10, 0));
+
+    int slot = service.slotActual();
+    verify(repo).sumar("DIA", "PLAN", LocalDate.of(2025, 1, 31), "4", slot, ganancia, 1);
+    verify(repo).sumar("MES", "PLAN", LocalDate.of(2025, 1, 1), "4", slot, ganancia, 1);
+    verifyNoMoreInteractions(repo);
+  }
+
+  @Test
+  void consultaMensualAlineaElInicioDelRango() {
+    List<Object[]> filas = List.<Object[]>of(new Object[]{LocalDate.of(2025, 2, 1), "4", BigDecimal.TEN, 2L});
+    when(repo.totalesPorPeriodo(eq(Granularidad.MES), eq(DimensionIngreso.PLAN), any(), any())).thenReturn(filas);
+
+    List<IngresoAgregadoResponse> r = service.consultar(Granularidad.MES, DimensionIngreso.PLAN, null,
+        LocalDate.of(2025, 2, 14), LocalDate.of(2025, 6, 30));
+
+    verify(repo).totalesPorPeriodo(
+        Granularidad.MES, DimensionIngreso.PLAN, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 6, 30));
+    assertEquals(1, r.size());
+    assertEquals(2, r.get(0).getCantidad());
+  }
+
+  @Test
+  void hilosDistintosEscribenEnSlotsDistintos() throws Exception {
+    Set<Integer> usados = ConcurrentHashMap.newKeySet();
+    for (int i = 0; i < 16; i++) {
+      Thread t = new Thread(() -> {
+        int slot = service.slotActual();
+        assertEquals(slot, service.slotActual(), "el slot no cambia dentro del hilo");
+        usados.add(slot);
+      });
+      t.start();
+      t.join();
+    }
+    assertTrue(usados.size() > 1);
+    assertTrue(usados.stream().allMatch(s -> s >= 0 && s < 16));
+  }
+
+  @Test
+  void rangoInvertidoEsError() {
+    assertThrows(RuntimeException.class, () -> service.consultar(Granularidad.DIA, DimensionIngreso.TIPO,
+        null, LocalDate.of(2025, 5, 1), LocalDate.of(2025, 4, 1)));
+  }
+}
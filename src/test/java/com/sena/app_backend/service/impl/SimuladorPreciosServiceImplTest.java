@@ -0,0 +1,109 @@
+package com.sena.app_backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sena.app_backend.cache.TablaComisiones;
+import com.sena.app_backend.dto.request.EscenarioSimulacion;
+import com.sena.app_backend.dto.request.SimulacionPreciosRequest;
+import com.sena.app_backend.dto.response.PreciosPlan;
+import com.sena.app_backend.dto.response.SimulacionPrecioResponse;
+import com.sena.app_backend.repository.ComisionPlanRepository;
+import com.sena.app_backend.util.CalculadorPreciosPlan;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class SimuladorPreciosServiceImplTest {
+
+  private final ObjectMapper mapper = new ObjectMapper();
+  private static final BigDecimal COMISION_POR_DEFECTO = new BigDecimal("0.12");
+  private final SimuladorPreciosServiceImpl simulador = new SimuladorPreciosServiceImpl(
+      mapper, new TablaComisiones(mock(ComisionPlanRepository.class), COMISION_POR_DEFECTO), 1_000, 100, 7);
+
+  private static List<BigDecimal> valores(String... v) {
+    return java.util.Arrays.stream(v).map(BigDecimal::new).toList();
+  }
+
+  @Test
+  void grillaSeRecorreEnOrdenYCoincideConCalculador() {
+    SimulacionPreciosRequest req = SimulacionPreciosRequest.builder()
+        .escenarios(List.of(new EscenarioSimulacion(
+            new BigDecimal("1.0000"), new BigDecimal("2.0000"), new BigDecimal("30"), null)))
+        .gananciasMin(valores("1.5", "2"))
+        .gananciasMax(valores("3", "4.25", "5"))
+        .duracionesDias(valores("7", "30"))
+        .comisiones(valores("0.10", "0.05"))
+        .build();
+
+    List<SimulacionPrecioResponse> r = simulador.simular(req);
+    assertEquals(1 + 2 * 3 * 2 * 2, r.size());
+    assertEquals(COMISION_POR_DEFECTO, r.get(0).getComision());
+
+    int i = 1;
+    for (BigDecimal min : req.getGananciasMin()) {
+      for (BigDecimal max : req.getGananciasMax()) {
+        for (BigDecimal dias : req.getDuracionesDias()) {
+          for (BigDecimal com : req.getComisiones()) {
+            SimulacionPrecioResponse s = r.get(i++);
+            PreciosPlan p = CalculadorPreciosPlan.calculate(min, max, dias, com);
+            assertEquals(min, s.getGananciaMin());
+            assertEquals(com, s.getComision());
+            assertEquals(p.getPrecioAlquiler(), s.getPrecioAlquiler());
+            assertEquals(p.getGananciaMaxUsuario(), s.getGananciaMaxUsuario());
+            assertEquals(p.getIngresoPlataforma(), s.getIngresoPlataforma());
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  void escenarioInvalidoSeInformaSinAbortar() {
+    SimulacionPreciosRequest req = SimulacionPreciosRequest.builder()
+        .escenarios(List.of(
+            new EscenarioSimulacion(new BigDecimal("5"), new BigDecimal("2"), new BigDecimal("30"), null),
+            new EscenarioSimulacion(new BigDecimal("1"), new BigDecimal("2"), new BigDecimal("30"), new BigDecimal("1.5"))))
+        .build();
+    List<SimulacionPrecioResponse> r = simulador.simular(req);
+    assertNotNull(r.get(0).getError());
+    assertNull(r.get(0).getPrecioAlquiler());
+    assertNotNull(r.get(1).getError());
+  }
+
+  @Test
+  void streamEscribeUnaLineaPorEscenarioEnOrden() throws Exception {
+    SimulacionPreciosRequest req = SimulacionPreciosRequest.builder()
+        .gananciasMin(valores("1", "2", "3", "4", "5"))
+        .gananciasMax(valores("6", "7", "8", "9"))
+        .duracionesDias(valores("30"))
+        .build();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    simulador.simular(req, out);
+
+    String[] lineas = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(20, lineas.length);
+    List<SimulacionPrecioResponse> enLista = simulador.simular(req);
+    for (int i = 0; i < lineas.length; i++) {
+      SimulacionPrecioResponse s = mapper.readValue(lineas[i], SimulacionPrecioResponse.class);
+      assertEquals(0, enLista.get(i).getPrecioAlquiler().compareTo(s.getPrecioAlquiler()));
+    }
+  }
+
+  @Test
+  void rechazaGrillasIncompletasOGrandes() {
+    assertThrows(RuntimeException.class, () -> simulador.contarEscenarios(
+        SimulacionPreciosRequest.builder().gananciasMin(valores("1")).build()));
+    SimulacionPreciosRequest grande = SimulacionPreciosRequest.builder()
+        .gananciasMin(valores("1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11"))
+        .gananciasMax(valores("20", "21", "22", "23", "24", "25", "26", "27", "28", "29", "30"))
+        .duracionesDias(valores("30"))
+        .build();
+    assertEquals(121, simulador.contarEscenarios(grande));
+    assertThrows(RuntimeException.class, () -> simulador.simular(grande));
+  }
+}
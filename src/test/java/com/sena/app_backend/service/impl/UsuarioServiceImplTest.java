@@ -0,0 +1,65 @@
+package com.sena.app_backend.service.impl;
+
+import com.sena.app_backend.repository.*;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UsuarioServiceImplTest {
+
+  private final UsuarioRepository repo = mock(UsuarioRepository.class);
+  private final PlataformaFondosCuentaRepository cuentaRepo = mock(PlataformaFondosCuentaRepository.class);
+  private final RefreshTokenRepository refreshTokenRepo = mock(RefreshTokenRepository.class);
+  private final MonederoRepository monederoRepo = mock(MonederoRepository.class);
+  private final PlataformaTransaccionCuentaRepository transRepo = mock(PlataformaTransaccionCuentaRepository.class);
+  private final AlquilerRepository alquilerRepo = mock(AlquilerRepository.class);
+  private final TransaccionRepository txRepo = mock(TransaccionRepository.class);
+  private final TrabajoProvisionamientoRepository trabajoRepo = mock(TrabajoProvisionamientoRepository.class);
+  private final MaquinaRepository maquinaRepo = mock(MaquinaRepository.class);
+  private final RegistroIdempotenciaRepository idempotenciaRepo = mock(RegistroIdempotenciaRepository.class);
+  private final AlquilerArchivoRepository alquilerArchivoRepo = mock(AlquilerArchivoRepository.class);
+  private final TransaccionPlataformaArchivoRepository ptcArchivoRepo = mock(TransaccionPlataformaArchivoRepository.class);
+  private final TransaccionArchivoRepository txArchivoRepo = mock(TransaccionArchivoRepository.class);
+
+  private final UsuarioServiceImpl service = new UsuarioServiceImpl(repo, cuentaRepo, refreshTokenRepo,
+      monederoRepo, transRepo, alquilerRepo, txRepo, trabajoRepo, maquinaRepo, idempotenciaRepo,
+      alquilerArchivoRepo, ptcArchivoRepo, txArchivoRepo);
+
+  @Test
+  void eliminaConSentenciasMasivasEnOrdenDeClavesForaneas() {
+    when(repo.existsById(7L)).thenReturn(true);
+    when(monederoRepo.findIdsByUsuarioId(7L)).thenReturn(List.of(3L, 4L));
+    when(cuentaRepo.findIdByUsuarioId(7L)).thenReturn(Optional.of(9L));
+
+    service.eliminarUsuario(7L);
+
+    InOrder orden = inOrder(maquinaRepo, trabajoRepo, alquilerRepo, txRepo, monederoRepo, transRepo, cuentaRepo, repo);
+    orden.verify(maquinaRepo).liberarPorUsuario(7L);
+    orden.verify(trabajoRepo).borrarPorUsuario(7L);
+    orden.verify(alquilerRepo).borrarPorUsuario(7L);
+    orden.verify(txRepo).borrarPorUsuario(7L);
+    orden.verify(monederoRepo).borrarPorUsuario(7L);
+    orden.verify(transRepo).borrarPorUsuario(7L);
+    orden.verify(cuentaRepo).borrarPorUsuario(7L);
+    orden.verify(repo).borrarPorId(7L);
+    verify(txArchivoRepo).borrarPorMonederos(List.of(3L, 4L));
+    verify(ptcArchivoRepo).borrarPorCuenta(9L);
+    verify(refreshTokenRepo).borrarPorUsuario(7L);
+    // Nada se carga en memoria para borrarlo fila a fila
+    verify(transRepo, never()).findByAccountId(any());
+    verify(alquilerRepo, never()).findByUsuarioId(any());
+    verify(monederoRepo, never()).deleteAll(anyIterable());
+  }
+
+  @Test
+  void usuarioInexistente() {
+    assertThrows(RuntimeException.class, () -> service.eliminarUsuario(1L));
+    verify(repo, never()).borrarPorId(any());
+  }
+}
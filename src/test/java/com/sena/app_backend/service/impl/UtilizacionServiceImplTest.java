@@ -0,0 +1,61 @@
+package com.sena.app_backend.service.impl;
+
+import com.sena.app_backend.model.EstadoMaquina;
+import com.sena.app_backend.model.NivelRecursos;
+import com.sena.app_backend.repository.MaquinaRepository;
+import com.sena.app_backend.repository.MuestraUtilizacionRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UtilizacionServiceImplTest {
+
+  private final MaquinaRepository maquinaRepo = mock(MaquinaRepository.class);
+  private final MuestraUtilizacionRepository muestraRepo = mock(MuestraUtilizacionRepository.class);
+  private final UtilizacionServiceImpl service =
+      new UtilizacionServiceImpl(maquinaRepo, muestraRepo, 60_000, 48, 730, 366);
+
+  @Test
+  void muestraTodasLasCombinacionesIncluyendoCeros() {
+    when(maquinaRepo.contarPorRecursosYEstado()).thenReturn(List.of(
+        new Object[]{NivelRecursos.ALTOS, EstadoMaquina.RENTADA, 7L},
+        new Object[]{NivelRecursos.BAJOS, EstadoMaquina.DISPONIBLE, 2L}));
+
+    int filas = service.muestrear();
+
+    assertEquals(NivelRecursos.values().length * EstadoMaquina.values().length, filas);
+    verify(muestraRepo).registrar(any(), eq(60), eq("ALTOS"), eq("RENTADA"), eq(7));
+    verify(muestraRepo).registrar(any(), eq(60), eq("BAJOS"), eq("DISPONIBLE"), eq(2));
+    verify(muestraRepo).registrar(any(), eq(60), eq("MEDIOS"), eq("MANTENIMIENTO"), eq(0));
+  }
+
+  @Test
+  void alineaAlIntervalo() {
+    assertEquals(LocalDateTime.of(2025, 5, 1, 10, 15),
+        UtilizacionServiceImpl.alinear(LocalDateTime.of(2025, 5, 1, 10, 15, 42, 5), 60));
+    assertEquals(LocalDateTime.of(2025, 5, 1, 10, 0),
+        UtilizacionServiceImpl.alinear(LocalDateTime.of(2025, 5, 1, 10, 59, 59), 3600));
+  }
+
+  @Test
+  void reduceAHorasYLuegoBorraElDetalle() {
+    service.reducirAntiguas();
+
+    var orden = inOrder(muestraRepo);
+    orden.verify(muestraRepo).reducirAHoras(eq(60), argThat(t -> t.getMinute() == 0 && t.getSecond() == 0));
+    orden.verify(muestraRepo).deleteAnteriores(eq(60), any());
+    orden.verify(muestraRepo).deleteAnteriores(eq(3600), any());
+  }
+
+  @Test
+  void rangoDemasiadoLargoEsError() {
+    LocalDateTime hasta = LocalDateTime.now();
+    assertThrows(RuntimeException.class, () -> service.consultar(hasta.minusDays(400), hasta, null));
+    verifyNoInteractions(muestraRepo);
+  }
+}
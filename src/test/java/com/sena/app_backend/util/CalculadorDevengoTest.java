@@ -0,0 +1,74 @@
+package com.sena.app_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalculadorDevengoTest {
+
+  private static long[] uno(long v) {
+    return new long[]{v};
+  }
+
+  @Test
+  void diaCompletoQuedaEntreMinimoYMaximoYEsDeterminista() {
+    SplittableRandom rnd = new SplittableRandom(11L);
+    int n = 10_000;
+    long[] ids = new long[n], min4 = new long[n], rango4 = new long[n], seg = new long[n];
+    for (int i = 0; i < n; i++) {
+      ids[i] = i + 1;
+      min4[i] = rnd.nextLong(0, 1_000_000_000L);
+      rango4[i] = rnd.nextLong(0, 1_000_000_000L);
+      seg[i] = CalculadorDevengo.SEGUNDOS_DIA;
+    }
+    long[] a = new long[n];
+    long[] b = new long[n];
+    CalculadorDevengo.calcular(ids, min4, rango4, seg, 20_000, a, n);
+    CalculadorDevengo.calcular(ids, min4, rango4, seg, 20_000, b, n);
+    assertArrayEquals(a, b);
+    for (int i = 0; i < n; i++) {
+      assertTrue(a[i] >= min4[i] && a[i] <= min4[i] + rango4[i], "alquiler " + ids[i]);
+    }
+  }
+
+  @Test
+  void cambiaSegunElDia() {
+    long[] a = new long[1];
+    long[] b = new long[1];
+    CalculadorDevengo.calcular(uno(5), uno(0), uno(1_000_000), uno(CalculadorDevengo.SEGUNDOS_DIA), 1, a, 1);
+    CalculadorDevengo.calcular(uno(5), uno(0), uno(1_000_000), uno(CalculadorDevengo.SEGUNDOS_DIA), 2, b, 1);
+    assertNotEquals(a[0], b[0]);
+  }
+
+  @Test
+  void prorrateaPorSegundosActivosConRedondeoHalfUp() {
+    long[] s = new long[1];
+    CalculadorDevengo.calcular(uno(1), uno(10_000), uno(0), uno(43_200), 0, s, 1);
+    assertEquals(5_000, s[0]);
+    // 3 × 28800 / 86400 = 1
+    CalculadorDevengo.calcular(uno(1), uno(3), uno(0), uno(28_800), 0, s, 1);
+    assertEquals(1, s[0]);
+    // 1 × 43200 / 86400 = 0.5 → 1
+    CalculadorDevengo.calcular(uno(1), uno(1), uno(0), uno(43_200), 0, s, 1);
+    assertEquals(1, s[0]);
+    CalculadorDevengo.calcular(uno(1), uno(10_000), uno(0), uno(0), 0, s, 1);
+    assertEquals(0, s[0]);
+  }
+
+  @Test
+  void rangoMaximoNoDesborda() {
+    long[] s = new long[1];
+    long max = CalculadorDevengo.MAX_RANGO;
+    CalculadorDevengo.calcular(uno(9), uno(max), uno(max), uno(CalculadorDevengo.SEGUNDOS_DIA), 3, s, 1);
+    assertTrue(s[0] >= max && s[0] <= 2 * max);
+  }
+
+  @Test
+  void validarRangoRechazaNegativosYExcesos() {
+    assertThrows(ArithmeticException.class, () -> CalculadorDevengo.validarRango(-1, 0));
+    assertThrows(ArithmeticException.class, () -> CalculadorDevengo.validarRango(0, CalculadorDevengo.MAX_RANGO + 1));
+    assertDoesNotThrow(() -> CalculadorDevengo.validarRango(0, CalculadorDevengo.MAX_RANGO));
+  }
+}
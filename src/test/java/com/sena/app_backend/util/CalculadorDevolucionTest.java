@@ -0,0 +1,41 @@
+package com.sena.app_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CalculadorDevolucionTest {
+
+  @Test
+  void puntoFijoCoincideConBigDecimal() {
+    SplittableRandom rnd = new SplittableRandom(7L);
+    for (int i = 0; i < 200_000; i++) {
+      long total = rnd.nextLong(1, 400L * 24 * 3600);
+      long usados = rnd.nextLong(0, total + 1);
+      BigDecimal fraccion = CalculadorDevolucion.fraccionUsada(usados, total);
+      assertEquals(CalculadorDevolucion.fraccionUsadaBigDecimal(usados, total), fraccion);
+
+      BigDecimal monto = BigDecimal.valueOf(rnd.nextLong(-10_000_000_000L, 10_000_000_000L), rnd.nextInt(0, 5));
+      assertEquals(CalculadorDevolucion.proporcionBigDecimal(monto, fraccion),
+          CalculadorDevolucion.proporcion(monto, fraccion), () -> monto + " " + fraccion);
+      assertEquals(CalculadorDevolucion.noConsumidoBigDecimal(monto, fraccion),
+          CalculadorDevolucion.noConsumido(monto, fraccion), () -> monto + " " + fraccion);
+
+      BigDecimal costo = monto.add(BigDecimal.valueOf(rnd.nextLong(0, 1_000_000_000L), 4));
+      assertEquals(CalculadorDevolucion.cierreAnticipadoBigDecimal(monto, costo, fraccion),
+          CalculadorDevolucion.cierreAnticipado(monto, costo, fraccion),
+          () -> monto + " " + costo + " " + fraccion);
+    }
+  }
+
+  @Test
+  void usaBigDecimalConEscalasNoSoportadas() {
+    BigDecimal monto = new BigDecimal("10.123456");
+    BigDecimal fraccion = new BigDecimal("0.5");
+    assertEquals(new BigDecimal("5.0617"), CalculadorDevolucion.proporcion(monto, fraccion));
+    assertEquals(new BigDecimal("5.0617"), CalculadorDevolucion.noConsumido(monto, fraccion));
+  }
+}
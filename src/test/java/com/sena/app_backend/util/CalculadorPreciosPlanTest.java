@@ -0,0 +1,78 @@
+package com.sena.app_backend.util;
+
+import com.sena.app_backend.dto.response.PreciosPlan;
+import com.sena.app_backend.model.Plan;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Verifica que el camino de punto fijo da exactamente lo mismo (valor y escala)
+ * que el cálculo de referencia con BigDecimal.
+ */
+class CalculadorPreciosPlanTest {
+
+  private static final BigDecimal COMISION = new BigDecimal("0.10");
+
+  @Test
+  void puntoFijoCoincideConBigDecimal() {
+    SplittableRandom rnd = new SplittableRandom(2024L);
+    for (int i = 0; i < 200_000; i++) {
+      BigDecimal min = aleatorio(rnd, 1_000_000L);
+      BigDecimal max = min.add(aleatorio(rnd, 1_000_000L));
+      BigDecimal dias = BigDecimal.valueOf(rnd.nextLong(1, 3_650), rnd.nextInt(0, 3));
+      BigDecimal comision = BigDecimal.valueOf(rnd.nextLong(0, 10_001), 4);
+
+      PreciosPlan esperado = CalculadorPreciosPlan.calcularBigDecimal(min, max, dias, comision);
+      PreciosPlan obtenido = CalculadorPreciosPlan.calcularFijo(min, max, dias, comision);
+      assertEquals(esperado, obtenido, () -> min + " " + max + " " + dias + " " + comision);
+    }
+  }
+
+  @Test
+  void calculateUsaBigDecimalConEscalasNoSoportadas() {
+    Plan plan = Plan.builder()
+        .gananciaMin(new BigDecimal("1.123456"))
+        .gananciaMax(new BigDecimal("2.5"))
+        .duracionDias(new BigDecimal("30"))
+        .build();
+    assertEquals(
+        CalculadorPreciosPlan.calcularBigDecimal(
+            plan.getGananciaMin(), plan.getGananciaMax(), plan.getDuracionDias(), COMISION),
+        CalculadorPreciosPlan.calculate(plan, COMISION));
+  }
+
+  @Test
+  void calculateConPlanTipico() {
+    Plan plan = Plan.builder()
+        .gananciaMin(new BigDecimal("10.0000"))
+        .gananciaMax(new BigDecimal("15.0000"))
+        .duracionDias(new BigDecimal("30"))
+        .build();
+    PreciosPlan p = CalculadorPreciosPlan.calculate(plan, COMISION);
+    assertEquals(new BigDecimal("12.5000"), p.getGananciaPromedioDiaria());
+    assertEquals(new BigDecimal("375.0000"), p.getPrecioBruto());
+    assertEquals(new BigDecimal("337.5000"), p.getPrecioAlquiler());
+    assertEquals(new BigDecimal("112.5000"), p.getGananciaMaxUsuario());
+  }
+
+  @Test
+  void validarComisionAdmiteDeCeroHastaMenosDeUno() {
+    assertNull(CalculadorPreciosPlan.validarComision(BigDecimal.ZERO));
+    assertNull(CalculadorPreciosPlan.validarComision(new BigDecimal("0.9999")));
+    assertNotNull(CalculadorPreciosPlan.validarComision(BigDecimal.ONE));
+    assertNotNull(CalculadorPreciosPlan.validarComision(new BigDecimal("-0.01")));
+    assertNotNull(CalculadorPreciosPlan.validarComision(null));
+  }
+
+  /** Monto aleatorio con entre 0 y 4 decimales. */
+  private static BigDecimal aleatorio(SplittableRandom rnd, long tope) {
+    int escala = rnd.nextInt(0, 5);
+    return BigDecimal.valueOf(rnd.nextLong(0, tope * DineroFijo.potencia10(escala)), escala);
+  }
+}
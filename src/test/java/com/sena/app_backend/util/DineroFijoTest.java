@@ -0,0 +1,62 @@
+package com.sena.app_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DineroFijoTest {
+
+  private static final int ITERACIONES = 200_000;
+
+  @Test
+  void dividirRedondeaComoHalfUp() {
+    SplittableRandom rnd = new SplittableRandom(30L);
+    for (int i = 0; i < ITERACIONES; i++) {
+      long a = rnd.nextLong(-1_000_000_000_000L, 1_000_000_000_000L);
+      long d = rnd.nextLong(1, 1_000_000L) * (rnd.nextBoolean() ? 1 : -1);
+      long esperado = BigDecimal.valueOf(a).divide(BigDecimal.valueOf(d), 0, RoundingMode.HALF_UP)
+          .longValueExact();
+      assertEquals(esperado, DineroFijo.dividir(a, d), a + " / " + d);
+    }
+  }
+
+  @Test
+  void multiplicarDividirCoincideConBigInteger() {
+    SplittableRandom rnd = new SplittableRandom(31L);
+    for (int i = 0; i < ITERACIONES; i++) {
+      // Mezcla productos pequeños y productos de más de 64 bits
+      long a = rnd.nextBoolean() ? rnd.nextLong(-10_000_000L, 10_000_000L)
+          : rnd.nextLong(-Long.MAX_VALUE / 4, Long.MAX_VALUE / 4);
+      long b = rnd.nextLong(-100_000_000L, 100_000_000L);
+      long d = rnd.nextBoolean() ? DineroFijo.UNIDAD_8 : rnd.nextLong(1, Long.MAX_VALUE);
+      BigDecimal exacto = new BigDecimal(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)))
+          .divide(BigDecimal.valueOf(d), 0, RoundingMode.HALF_UP);
+      if (bitLength(exacto) < 63) {
+        assertEquals(exacto.longValueExact(), DineroFijo.multiplicarDividir(a, b, d),
+            a + " * " + b + " / " + d);
+      } else {
+        assertThrows(ArithmeticException.class, () -> DineroFijo.multiplicarDividir(a, b, d));
+      }
+    }
+  }
+
+  @Test
+  void conversionesConservanEscala() {
+    assertEquals(123_456L, DineroFijo.aUnidades(new BigDecimal("12.3456")));
+    assertEquals(120_000L, DineroFijo.aUnidades(new BigDecimal("12")));
+    assertEquals(new BigDecimal("12.34"), DineroFijo.aBigDecimal(123_400L, 4, 2));
+    assertEquals(new BigDecimal("12.34560000"), DineroFijo.aBigDecimal(123_456L, 4, 8));
+    assertThrows(ArithmeticException.class, () -> DineroFijo.aUnidades(new BigDecimal("1.23456")));
+    assertThrows(ArithmeticException.class, () -> DineroFijo.aBigDecimal(123_456L, 4, 2));
+  }
+
+  private static int bitLength(BigDecimal v) {
+    return v.toBigIntegerExact().bitLength();
+  }
+}